@@ -2,8 +2,10 @@ package com.sparta.tdd;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan // coffeeshop.* 설정 클래스(@ConfigurationProperties) 자동 등록
 //@EnableRetry 
 public class CoffeeOrderSystemApplication {
 
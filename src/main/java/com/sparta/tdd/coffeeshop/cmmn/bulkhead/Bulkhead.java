@@ -0,0 +1,105 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 구획별 요청 자리(request)와 커넥션 자리(connection)를 세마포어로 관리합니다.
+ *
+ * 메트릭 (태그: partition, resource=request|connection)
+ * - coffeeshop.bulkhead.rejected: 자리가 없어 거절된 건수
+ * - coffeeshop.bulkhead.active: 현재 사용 중인 자리 수
+ */
+@Component
+public class Bulkhead {
+
+    private static final class Compartment {
+        final Semaphore requests;
+        final Semaphore connections;
+        final int maxConcurrent;
+        final int maxConnections;
+        final long maxWaitMillis;
+        final long connectionWaitMillis;
+        Counter requestRejected;
+        Counter connectionRejected;
+
+        Compartment(BulkheadProperties.Partition config) {
+            this.maxConcurrent = Math.max(1, config.getMaxConcurrent());
+            this.maxConnections = Math.max(1, config.getMaxConnections());
+            this.maxWaitMillis = config.getMaxWaitMillis();
+            this.connectionWaitMillis = config.getConnectionWaitMillis();
+            this.requests = new Semaphore(maxConcurrent, true);
+            this.connections = new Semaphore(maxConnections, true);
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<BulkheadPartition, Compartment> compartments = new EnumMap<>(BulkheadPartition.class);
+
+    public Bulkhead(BulkheadProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        for (BulkheadPartition partition : BulkheadPartition.values()) {
+            Compartment compartment = new Compartment(properties.partition(partition));
+            compartment.requestRejected = rejectedCounter(registry, partition, "request");
+            compartment.connectionRejected = rejectedCounter(registry, partition, "connection");
+            Gauge.builder("coffeeshop.bulkhead.active", compartment, c -> c.maxConcurrent - c.requests.availablePermits())
+                    .description("격벽 구획별 사용 중인 자리 수")
+                    .tag("partition", partition.getTag())
+                    .tag("resource", "request")
+                    .register(registry);
+            Gauge.builder("coffeeshop.bulkhead.active", compartment, c -> c.maxConnections - c.connections.availablePermits())
+                    .description("격벽 구획별 사용 중인 자리 수")
+                    .tag("partition", partition.getTag())
+                    .tag("resource", "connection")
+                    .register(registry);
+            compartments.put(partition, compartment);
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, BulkheadPartition partition, String resource) {
+        return Counter.builder("coffeeshop.bulkhead.rejected")
+                .description("격벽 구획에 자리가 없어 거절된 건수")
+                .tag("partition", partition.getTag())
+                .tag("resource", resource)
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 요청 자리를 얻으면 true. true를 받은 호출자는 반드시 releaseRequest를 호출해야 합니다.
+    public boolean tryAcquireRequest(BulkheadPartition partition) throws InterruptedException {
+        Compartment compartment = compartments.get(partition);
+        if (compartment.requests.tryAcquire(compartment.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        compartment.requestRejected.increment();
+        return false;
+    }
+
+    public void releaseRequest(BulkheadPartition partition) {
+        compartments.get(partition).requests.release();
+    }
+
+    public boolean tryAcquireConnection(BulkheadPartition partition) throws InterruptedException {
+        Compartment compartment = compartments.get(partition);
+        if (compartment.connections.tryAcquire(compartment.connectionWaitMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        compartment.connectionRejected.increment();
+        return false;
+    }
+
+    public void releaseConnection(BulkheadPartition partition) {
+        compartments.get(partition).connections.release();
+    }
+}
@@ -0,0 +1,24 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+/**
+ * 현재 요청 스레드가 속한 격벽 구획. BulkheadFilter가 설정하고, BulkheadDataSource가 커넥션 구획을 고를 때 읽습니다.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadPartition> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static BulkheadPartition current() {
+        return CURRENT.get();
+    }
+
+    static void set(BulkheadPartition partition) {
+        CURRENT.set(partition);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,94 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 하나의 커넥션 풀을 격벽 구획별로 나눠 씁니다. 현재 스레드의 구획(BulkheadContext)이 있으면
+ * 그 구획의 커넥션 자리를 얻은 뒤에만 풀에서 커넥션을 빌리고, close 시 자리를 돌려줍니다.
+ * 구획 밖의 호출(스케줄러, 배치, 기동 시 초기화 등)은 제한 없이 풀을 그대로 사용합니다.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource target, Bulkhead bulkhead) {
+        super(target);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return partitioned(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return partitioned(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private Connection partitioned(ConnectionSupplier supplier) throws SQLException {
+        BulkheadPartition partition = BulkheadContext.current();
+        if (partition == null) {
+            return supplier.get();
+        }
+        try {
+            if (!bulkhead.tryAcquireConnection(partition)) {
+                throw new SQLTransientConnectionException("격벽 구획의 커넥션 자리가 없습니다: " + partition);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("커넥션 자리 대기 중 인터럽트: " + partition, e);
+        }
+        try {
+            return releasingOnClose(supplier.get(), partition);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.releaseConnection(partition);
+            throw e;
+        }
+    }
+
+    private Connection releasingOnClose(Connection target, BulkheadPartition partition) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return target;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                target.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) { // close가 여러 번 불려도 한 번만 반납
+                                    bulkhead.releaseConnection(partition);
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
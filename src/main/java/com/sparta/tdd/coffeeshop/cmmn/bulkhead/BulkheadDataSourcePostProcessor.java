@@ -0,0 +1,31 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 격벽을 켜면 애플리케이션이 쓰는 기본 DataSource("dataSource" 빈)를 BulkheadDataSource로 감쌉니다.
+ * 읽기/쓰기 라우팅을 켠 경우에는 라우팅 데이터소스 바깥을 감싸므로 primary/replica 구분 없이 구획별로 제한됩니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coffeeshop.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Bulkhead> bulkhead;
+
+    public BulkheadDataSourcePostProcessor(ObjectProvider<Bulkhead> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+            return new BulkheadDataSource(dataSource, bulkhead.getObject());
+        }
+        return bean;
+    }
+}
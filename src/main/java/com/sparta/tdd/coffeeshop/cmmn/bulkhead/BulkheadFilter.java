@@ -0,0 +1,70 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorResponseWriter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청을 구획(BulkheadPartition)으로 분류해 구획별 동시 처리 수를 제한합니다.
+ * 자리가 없으면 워커 스레드를 오래 붙잡지 않고 503(SERVICE_UNAVAILABLE)으로 바로 돌려보냅니다.
+ * 메트릭 필터(http.server.requests) 다음에 실행되므로 거절 응답도 응답 시간 분포에 포함됩니다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkhead bulkhead;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !bulkhead.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BulkheadPartition partition = BulkheadPartition.classify(request);
+        if (partition == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquireRequest(partition);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("격벽 구획이 가득 차 요청을 거절합니다: partition={}, uri={}", partition, request.getRequestURI());
+            response.setHeader("Retry-After", "1");
+            errorResponseWriter.write(response, ErrorCode.SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        BulkheadContext.set(partition);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.clear();
+            bulkhead.releaseRequest(partition);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 격벽(bulkhead) 구획. 엔드포인트를 성격별로 나눠 한 구획의 폭주가 다른 구획의 스레드/커넥션을 잠식하지 못하게 합니다.
+ */
+public enum BulkheadPartition {
+    ORDER_WRITE("order_write"),   // POST /api/orders
+    POINT_CHARGE("point_charge"), // /api/user/points/** (충전, 대량 적립)
+    CATALOG_READ("catalog_read"), // GET /api/menus, /api/menus/{id}
+    ANALYTICS("analytics");       // 인기 메뉴 집계, /api/test/**, /api/admin/**
+
+    private final String tag;
+
+    BulkheadPartition(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    // 구획에 속하지 않는 요청(actuator 등)은 null
+    public static BulkheadPartition classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if (uri.startsWith("/api/test/") || uri.startsWith("/api/admin/") || uri.equals("/api/menus/popular")) {
+            return ANALYTICS;
+        }
+        if (uri.equals("/api/orders") && "POST".equals(method)) {
+            return ORDER_WRITE;
+        }
+        if (uri.startsWith("/api/user/points/")) {
+            return POINT_CHARGE;
+        }
+        if (uri.startsWith("/api/menus") && "GET".equals(method)) {
+            return CATALOG_READ;
+        }
+        return null;
+    }
+}
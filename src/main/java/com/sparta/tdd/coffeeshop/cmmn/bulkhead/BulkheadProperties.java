@@ -0,0 +1,74 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 격벽 설정 (coffeeshop.bulkhead.*)
+ * 구획별 maxConnections 합계는 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size, 기본 10) 이하로 잡아야
+ * 구획끼리 커넥션을 빼앗지 않습니다. 기본값 합계 = 5 + 2 + 2 + 1 = 10
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = false;
+
+    // 예) coffeeshop.bulkhead.partitions.analytics.max-concurrent=2
+    // 지정하지 않은 항목은 구획별 기본값을 씁니다. (바인딩은 키 단위로 새 Partition을 만들므로 partition()에서 기본값과 합칩니다.)
+    private Map<BulkheadPartition, Partition> partitions = new EnumMap<>(BulkheadPartition.class);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Partition {
+        // 동시에 처리하는 요청 수 (Tomcat 워커 스레드 점유 상한)
+        private Integer maxConcurrent;
+        // 자리가 없을 때 기다리는 시간 (밀리초). 0이면 즉시 503
+        private Long maxWaitMillis;
+        // 동시에 쥘 수 있는 DB 커넥션 수
+        private Integer maxConnections;
+        // 커넥션 자리를 기다리는 시간 (밀리초). 넘으면 SQLTransientConnectionException
+        private Long connectionWaitMillis;
+
+        public Partition(int maxConcurrent, long maxWaitMillis, int maxConnections, long connectionWaitMillis) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+            this.maxConnections = maxConnections;
+            this.connectionWaitMillis = connectionWaitMillis;
+        }
+
+        private Partition withDefaults(Partition defaults) {
+            return new Partition(
+                    maxConcurrent != null ? maxConcurrent : defaults.maxConcurrent,
+                    maxWaitMillis != null ? maxWaitMillis : defaults.maxWaitMillis,
+                    maxConnections != null ? maxConnections : defaults.maxConnections,
+                    connectionWaitMillis != null ? connectionWaitMillis : defaults.connectionWaitMillis);
+        }
+    }
+
+    /**
+     * 설정한 항목에 구획별 기본값을 채운 설정을 반환합니다.
+     */
+    public Partition partition(BulkheadPartition partition) {
+        Partition defaults = defaults().get(partition);
+        Partition configured = partitions.get(partition);
+        return configured != null ? configured.withDefaults(defaults) : defaults;
+    }
+
+    private static Map<BulkheadPartition, Partition> defaults() {
+        Map<BulkheadPartition, Partition> map = new EnumMap<>(BulkheadPartition.class);
+        map.put(BulkheadPartition.ORDER_WRITE, new Partition(100, 50, 5, 1000));
+        map.put(BulkheadPartition.POINT_CHARGE, new Partition(50, 50, 2, 1000));
+        map.put(BulkheadPartition.CATALOG_READ, new Partition(100, 0, 2, 500));
+        map.put(BulkheadPartition.ANALYTICS, new Partition(4, 0, 1, 500));
+        return map;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sparta.tdd.coffeeshop.cmmn.client; // 인터페이스와 동일한 패키지 사용
 
+import com.sparta.tdd.coffeeshop.cmmn.jfr.DataCollectionSendEvent;
+
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
@@ -26,6 +28,12 @@ public class DataCollectionPlatformClientImpl implements DataCollectionPlatformC
         Long menuId = (Long) orderData.get("menuId");
         Long paymentAmount = (Long) orderData.get("paymentAmount");
 
+        DataCollectionSendEvent jfrEvent = new DataCollectionSendEvent(); // JFR 녹화 중이 아니면 기록되지 않음
+        jfrEvent.begin();
+        jfrEvent.userId = userId;
+        jfrEvent.menuId = menuId != null ? menuId : 0L;
+        jfrEvent.orderId = (String) orderData.get("orderId");
+
         log.info("[데이터 수집 플랫폼] 주문 데이터 전송 시작: userId={}, menuId={}, paymentAmount={}",
                 userId, menuId, paymentAmount);
         try {
@@ -34,6 +42,7 @@ public class DataCollectionPlatformClientImpl implements DataCollectionPlatformC
             Thread.sleep(100); // 100ms 지연 시뮬레이션
 
             log.info("[데이터 수집 플랫폼] 주문 데이터 전송 성공: userId={}", userId);
+            jfrEvent.success = true;
         } catch (InterruptedException e) {
             // 스레드 인터럽트 시 예외 처리
             Thread.currentThread().interrupt(); // 인터럽트 상태 복원
@@ -42,6 +51,8 @@ public class DataCollectionPlatformClientImpl implements DataCollectionPlatformC
             // 그 외 전송 중 발생할 수 있는 모든 예외 처리
             log.error("[데이터 수집 플랫폼] 주문 데이터 전송 실패: userId={}, 에러 메시지={}", userId, e.getMessage(), e);
             // 실제 시스템에서는 전송 실패 시 재시도 로직, 데드레터 큐(DLQ) 저장 등을 고려해야 합니다.
+        } finally {
+            jfrEvent.commit(); // 녹화 중이 아니거나 임계값 미만이면 내부에서 무시됨
         }
     }
 }
\ No newline at end of file
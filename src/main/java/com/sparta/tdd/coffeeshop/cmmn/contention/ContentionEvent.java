@@ -0,0 +1,10 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+/**
+ * 사용자 행(users) 경합 이벤트 종류
+ */
+public enum ContentionEvent {
+    CONFLICT,  // 낙관적 락 충돌 (409 CONCURRENCY_FAILURE)
+    LOCK_WAIT, // 행 락 대기가 임계값(lockWaitThresholdMillis)을 넘은 경우
+    RETRY      // 충돌 직후(retryWindowMillis 이내) 같은 사용자의 재요청
+}
@@ -0,0 +1,33 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 경합 추적기 설정 (coffeeshop.contention.*)
+ * 기본값 기준 메모리 사용량은 버킷 60개 × 사용자 128명 정도로 고정됩니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.contention")
+public class ContentionProperties {
+
+    private boolean enabled = true;
+
+    // 버킷(시간 구간) 하나가 추적하는 최대 사용자 수. 넘치면 가장 적게 집계된 사용자를 밀어냅니다. (Space-Saving)
+    private int capacity = 128;
+
+    // 버킷 하나의 길이 (초)
+    private int bucketSeconds = 5;
+
+    // 보관하는 버킷 수. 조회 가능한 최대 구간 = bucketSeconds × bucketCount (기본 5분)
+    private int bucketCount = 60;
+
+    // 행 락 대기가 이 시간 이상이면 LOCK_WAIT으로 기록 (밀리초)
+    private long lockWaitThresholdMillis = 50;
+
+    // 충돌 후 이 시간 안에 같은 사용자의 요청이 다시 오면 RETRY로 기록 (밀리초)
+    private long retryWindowMillis = 2000;
+}
@@ -0,0 +1,30 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 경합 추적 결과 (최근 windowSeconds 동안)
+ * 키별 count는 Space-Saving 추정치이므로 errorBound와 함께 봐야 합니다. totals는 정확한 값입니다.
+ */
+@Getter
+@Builder
+public class ContentionReport {
+    private int windowSeconds;
+    private Map<ContentionEvent, Long> totals;           // 이벤트 종류별 전체 건수 (정확한 값)
+    private Map<ContentionEvent, Double> ratesPerSecond; // totals / windowSeconds
+    private List<HotKey> hotKeys;
+
+    @Getter
+    @Builder
+    public static class HotKey {
+        private String userId;
+        private long count;       // 전체 이벤트 건수 추정치
+        private long errorBound;  // 추정 오차 상한 (실제 값은 count ± errorBound 범위)
+        private double ratePerSecond;
+        private Map<ContentionEvent, Long> events; // 이벤트 종류별 건수 (이 키가 추적된 동안 집계된 값)
+    }
+}
@@ -0,0 +1,215 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 행(users) 경합이 어느 userId에 몰리는지 추적합니다. (낙관적 락 충돌, 행 락 대기, 충돌 후 재요청)
+ *
+ * 시간을 bucketSeconds 단위 버킷으로 나누고, 버킷마다 고정 크기 Space-Saving 구조로 상위 키만 보관하는
+ * 슬라이딩 윈도우 방식입니다. 메모리는 capacity × bucketCount로 고정되고, 기록은 경합이 실제로 발생했을 때만
+ * 일어나므로(정상 요청은 recordAttempt의 빈 맵 확인 한 번) 운영 환경에서 계속 켜 두어도 됩니다.
+ */
+@Component
+public class ContentionTracker {
+
+    private static final class Bucket {
+        long epoch = -1; // 이 버킷이 담고 있는 구간 번호 (현재시각 / bucketMillis)
+        final SpaceSavingSketch sketch;
+
+        Bucket(int capacity) {
+            this.sketch = new SpaceSavingSketch(capacity);
+        }
+    }
+
+    private final boolean enabled;
+    private final int bucketSeconds;
+    private final long bucketMillis;
+    private final long lockWaitThresholdNanos;
+    private final long retryWindowMillis;
+    private final int maxRecentConflicts;
+    private final Bucket[] buckets;
+    private final LongSupplier clock;
+
+    // 최근 충돌한 userId → 충돌 시각(ms). 재요청(RETRY) 판정용이며 크기는 maxRecentConflicts로 제한합니다.
+    private final Map<String, Long> recentConflicts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ContentionTracker(ContentionProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    // 테스트에서 시계를 주입하기 위한 생성자
+    ContentionTracker(ContentionProperties properties, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        this.bucketSeconds = Math.max(1, properties.getBucketSeconds());
+        this.bucketMillis = TimeUnit.SECONDS.toMillis(bucketSeconds);
+        this.lockWaitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLockWaitThresholdMillis());
+        this.retryWindowMillis = properties.getRetryWindowMillis();
+        this.maxRecentConflicts = properties.getCapacity() * 8;
+        this.buckets = new Bucket[Math.max(1, properties.getBucketCount())];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket(properties.getCapacity());
+        }
+        this.clock = clock;
+    }
+
+    public void record(String userId, ContentionEvent event) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long epoch = now / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) { // 한 바퀴 돌아온 오래된 버킷은 비우고 재사용
+                bucket.sketch.clear();
+                bucket.epoch = epoch;
+            }
+            bucket.sketch.add(userId, event);
+        }
+        if (event == ContentionEvent.CONFLICT) {
+            rememberConflict(userId, now);
+        }
+    }
+
+    public void recordConflict(String userId) {
+        record(userId, ContentionEvent.CONFLICT);
+    }
+
+    // 행 락을 잡는 구간의 소요 시간을 넘겨주면 임계값 이상일 때만 기록합니다.
+    public void recordLockWait(String userId, long waitedNanos) {
+        if (waitedNanos >= lockWaitThresholdNanos) {
+            record(userId, ContentionEvent.LOCK_WAIT);
+        }
+    }
+
+    // 요청 시작 시 호출. 직전에 충돌한 사용자의 요청이면 RETRY로 기록하고 true를 반환합니다.
+    public boolean recordAttempt(String userId) {
+        if (!enabled || userId == null || recentConflicts.isEmpty()) {
+            return false;
+        }
+        Long conflictedAt = recentConflicts.remove(userId);
+        if (conflictedAt != null && clock.getAsLong() - conflictedAt <= retryWindowMillis) {
+            record(userId, ContentionEvent.RETRY);
+            return true;
+        }
+        return false;
+    }
+
+    private void rememberConflict(String userId, long now) {
+        if (recentConflicts.size() >= maxRecentConflicts) {
+            recentConflicts.values().removeIf(at -> now - at > retryWindowMillis);
+            if (recentConflicts.size() >= maxRecentConflicts) {
+                return; // 재시도 판정보다 메모리 상한이 우선
+            }
+        }
+        recentConflicts.put(userId, now);
+    }
+
+    /**
+     * 최근 windowSeconds 동안의 상위 경합 키를 집계합니다.
+     *
+     * @param windowSeconds 조회 구간 (버킷 길이 단위로 올림, 최대 bucketSeconds × bucketCount)
+     * @param top           반환할 최대 키 수
+     * @param sortBy        정렬 기준 이벤트 (null이면 전체 이벤트 합계 기준)
+     */
+    public ContentionReport report(int windowSeconds, int top, ContentionEvent sortBy) {
+        int bucketsToMerge = (int) Math.min(buckets.length, Math.max(1, (windowSeconds + bucketSeconds - 1) / bucketSeconds));
+        int coveredSeconds = bucketsToMerge * bucketSeconds;
+        long currentEpoch = clock.getAsLong() / bucketMillis;
+
+        Map<String, MergedKey> merged = new HashMap<>();
+        long[] totals = new long[ContentionEvent.values().length];
+        long missingBound = 0; // 병합한 버킷들의 minCount 합. 어떤 버킷에 없던 키는 그 버킷에서 최대 minCount만큼 놓쳤을 수 있음
+
+        for (int i = 0; i < bucketsToMerge; i++) {
+            long epoch = currentEpoch - i;
+            if (epoch < 0) {
+                break;
+            }
+            Bucket bucket = buckets[(int) (epoch % buckets.length)];
+            synchronized (bucket) {
+                if (bucket.epoch != epoch) {
+                    continue; // 해당 구간에 기록된 이벤트 없음
+                }
+                long minCount = bucket.sketch.minCount();
+                missingBound += minCount;
+                for (ContentionEvent event : ContentionEvent.values()) {
+                    totals[event.ordinal()] += bucket.sketch.total(event);
+                }
+                for (SpaceSavingSketch.Entry entry : bucket.sketch.entries()) {
+                    MergedKey key = merged.computeIfAbsent(entry.key, MergedKey::new);
+                    key.count += entry.count;
+                    key.error += entry.error;
+                    key.presentMinCount += minCount;
+                    for (int e = 0; e < totals.length; e++) {
+                        key.eventCounts[e] += entry.eventCounts[e];
+                    }
+                }
+            }
+        }
+
+        Comparator<MergedKey> order = sortBy == null
+                ? Comparator.comparingLong((MergedKey k) -> k.count)
+                : Comparator.comparingLong((MergedKey k) -> k.eventCounts[sortBy.ordinal()]);
+        List<MergedKey> sorted = new ArrayList<>(merged.values());
+        sorted.sort(order.reversed().thenComparing(k -> k.userId));
+
+        List<ContentionReport.HotKey> hotKeys = new ArrayList<>();
+        for (MergedKey key : sorted.subList(0, Math.min(Math.max(0, top), sorted.size()))) {
+            hotKeys.add(ContentionReport.HotKey.builder()
+                    .userId(key.userId)
+                    .count(key.count)
+                    .errorBound(key.error + (missingBound - key.presentMinCount))
+                    .ratePerSecond((double) key.count / coveredSeconds)
+                    .events(toMap(key.eventCounts))
+                    .build());
+        }
+
+        Map<ContentionEvent, Double> rates = new EnumMap<>(ContentionEvent.class);
+        for (ContentionEvent event : ContentionEvent.values()) {
+            rates.put(event, (double) totals[event.ordinal()] / coveredSeconds);
+        }
+        return ContentionReport.builder()
+                .windowSeconds(coveredSeconds)
+                .totals(toMap(totals))
+                .ratesPerSecond(rates)
+                .hotKeys(hotKeys)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static Map<ContentionEvent, Long> toMap(long[] counts) {
+        Map<ContentionEvent, Long> map = new EnumMap<>(ContentionEvent.class);
+        for (ContentionEvent event : ContentionEvent.values()) {
+            map.put(event, counts[event.ordinal()]);
+        }
+        return map;
+    }
+
+    private static final class MergedKey {
+        final String userId;
+        long count;
+        long error;
+        long presentMinCount;
+        final long[] eventCounts = new long[ContentionEvent.values().length];
+
+        MergedKey(String userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving 알고리즘으로 빈도 상위 키를 추적하는 고정 크기 구조. (Metwally et al.)
+ * 최대 capacity개의 키만 보관하며, 꽉 찬 상태에서 새 키가 들어오면 가장 작은 카운트의 키를 밀어내고
+ * 그 카운트를 이어받습니다(error). 따라서 count는 실제 빈도의 상한, count - error는 하한입니다.
+ *
+ * 스레드 안전하지 않으므로 호출하는 쪽(ContentionTracker)에서 버킷 단위로 동기화합니다.
+ */
+class SpaceSavingSketch {
+
+    static final class Entry {
+        final String key;
+        long count;
+        long error;
+        final long[] eventCounts = new long[ContentionEvent.values().length]; // 이 키로 들어온 이벤트 종류별 건수
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private final long[] totals = new long[ContentionEvent.values().length]; // 밀려난 키를 포함한 전체 건수
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    void add(String key, ContentionEvent event) {
+        totals[event.ordinal()]++;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key);
+            if (entries.size() >= capacity) {
+                // 최소 카운트 키를 찾는 선형 탐색은 "새 키 + 꽉 찬 상태"에서만 발생 (capacity가 작아 부담 없음)
+                Entry min = null;
+                for (Entry candidate : entries.values()) {
+                    if (min == null || candidate.count < min.count) {
+                        min = candidate;
+                    }
+                }
+                entries.remove(min.key);
+                entry.count = min.count;
+                entry.error = min.count;
+            }
+            entries.put(key, entry);
+        }
+        entry.count++;
+        entry.eventCounts[event.ordinal()]++;
+    }
+
+    // 보관 중인 키가 없을 때 0, 꽉 찬 경우에는 보관되지 않은 키의 빈도 상한
+    long minCount() {
+        if (entries.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (Entry entry : entries.values()) {
+            min = Math.min(min, entry.count);
+        }
+        return min;
+    }
+
+    Iterable<Entry> entries() {
+        return entries.values();
+    }
+
+    long total(ContentionEvent event) {
+        return totals[event.ordinal()];
+    }
+
+    void clear() {
+        entries.clear();
+        Arrays.fill(totals, 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 읽기/쓰기 데이터소스 라우팅 설정 (coffeeshop.datasource.routing.*)
+ * 켜면 spring.datasource.* 는 primary(쓰기), replica.* 는 읽기 전용 트랜잭션용 풀로 사용됩니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // true면 @Transactional(readOnly = true) 트랜잭션을 replica로 보냅니다.
+    private boolean enabled = false;
+
+    // 쓰기 직후 같은 사용자의 읽기를 primary로 고정하는 시간 (밀리초). 복제 지연 상한보다 길게 잡습니다.
+    private long pinMillis = 2000;
+
+    // primary 고정 중인 사용자 수 상한. 넘치면 만료된 항목부터 정리합니다.
+    private int maxPinnedUsers = 10_000;
+
+    private Replica replica = new Replica();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 트랜잭션의 readOnly 여부로 primary / replica 커넥션 풀을 고릅니다.
+ *
+ * 트랜잭션 매니저는 readOnly 플래그를 커넥션을 얻은 뒤에 설정하므로, 이 데이터소스는 반드시
+ * LazyConnectionDataSourceProxy로 감싸서 첫 SQL 실행 시점에 실제 커넥션을 고르도록 해야 합니다.
+ * (RoutingDataSourceConfig 참고)
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String userId = UserRoutingContext.get();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (lagGuard.isPinned(userId)) {
+                log.debug("최근 쓰기가 있어 읽기를 primary로 보냅니다: userId={}", userId);
+                return Route.PRIMARY;
+            }
+            return Route.REPLICA;
+        }
+        // 쓰기 트랜잭션: 커밋되면 해당 사용자의 이후 읽기를 잠시 primary로 고정
+        if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.markWritten(userId);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
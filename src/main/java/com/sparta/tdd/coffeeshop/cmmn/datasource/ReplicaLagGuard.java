@@ -0,0 +1,56 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 복제 지연 가드. 사용자가 쓰기를 커밋하면 pinMillis 동안 그 사용자의 읽기 전용 트랜잭션을 primary로 보내
+ * "방금 충전/주문했는데 조회 결과에 없다"(read-your-writes 위반)를 막습니다.
+ * 고정 목록은 maxPinnedUsers로 크기를 제한하며, 넘치면 만료된 항목을 먼저 정리하고 그래도 넘치면 새 고정을 건너뜁니다.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private final long pinMillis;
+    private final int maxPinnedUsers;
+
+    // userId → primary 고정 만료 시각(ms)
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(DataSourceRoutingProperties properties) {
+        this.pinMillis = properties.getPinMillis();
+        this.maxPinnedUsers = properties.getMaxPinnedUsers();
+    }
+
+    // 쓰기 트랜잭션 커밋 후 호출
+    public void markWritten(String userId) {
+        if (userId == null || pinMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() >= maxPinnedUsers && !pinnedUntil.containsKey(userId)) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+            if (pinnedUntil.size() >= maxPinnedUsers) {
+                return; // 메모리 상한이 우선 (이 사용자는 replica 지연을 감수)
+            }
+        }
+        pinnedUntil.put(userId, now + pinMillis);
+    }
+
+    public boolean isPinned(String userId) {
+        if (userId == null || pinnedUntil.isEmpty()) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            pinnedUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
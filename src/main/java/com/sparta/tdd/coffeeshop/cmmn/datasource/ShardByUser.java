@@ -0,0 +1,17 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 샤딩을 켜면 이 메서드를 userId 해시로 고른 샤드에서 실행합니다. (ShardRoutingAspect)
+ * userId는 UserScopedRequest 인자(OrderRequest 등) 또는 이름이 userId인 String 인자에서 찾습니다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardByUser {
+}
@@ -0,0 +1,25 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. ShardRouter가 작업 동안만 설정하고 끝나면 이전 값으로 되돌립니다.
+ * 비어 있으면 0번 샤드를 씁니다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+
+    public static Integer get() {
+        return CURRENT_SHARD.get();
+    }
+}
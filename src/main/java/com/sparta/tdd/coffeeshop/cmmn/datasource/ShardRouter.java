@@ -0,0 +1,128 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자 해시 샤드 선택과 전체 샤드 조회(scatter-gather).
+ *
+ * - 샤드 = floorMod(userId.hashCode(), 샤드 수). 사용자 행과 그 사용자의 주문/통계가 같은 샤드에 있어 주문 한 건이 샤드 하나에서 끝납니다.
+ * - scatter: 샤드마다 작업을 scatterThreads개 스레드로 동시에 실행하고 결과를 샤드 번호 순서로 돌려줍니다. 합치기는 호출한 쪽에서 합니다.
+ *
+ * 샤딩을 끄면 샤드는 하나(0번)이고 모든 작업을 호출한 스레드에서 그대로 실행합니다.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final long scatterTimeoutMillis;
+    private final ExecutorService scatterPool;
+
+    public ShardRouter(ShardingProperties properties) {
+        this.shardCount = properties.isEnabled() ? 1 + properties.getShards().size() : 1;
+        this.scatterTimeoutMillis = properties.getScatterTimeoutMillis();
+        AtomicInteger threadNo = new AtomicInteger();
+        this.scatterPool = shardCount == 1 ? null
+                : Executors.newFixedThreadPool(Math.max(1, properties.getScatterThreads()), runnable -> {
+                    Thread thread = new Thread(runnable, "shard-scatter-" + threadNo.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public boolean isEnabled() {
+        return shardCount > 1;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String userId) {
+        return Math.floorMod(userId.hashCode(), shardCount);
+    }
+
+    public <T> T onUser(String userId, Supplier<T> work) {
+        return onShard(shardOf(userId), work);
+    }
+
+    /**
+     * work를 지정한 샤드에서 실행합니다. 이미 다른 샤드에서 트랜잭션이 진행 중이면 한 트랜잭션이 두 샤드에 걸치므로 거절합니다.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.get();
+        if (previous != null && previous != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("샤드 " + previous + " 트랜잭션 안에서 샤드 " + shard + "를 사용할 수 없습니다.");
+        }
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * 모든 샤드에서 task(샤드 번호)를 동시에 실행하고 샤드 번호 순서로 결과를 모읍니다.
+     * 샤드 하나라도 실패하거나 scatterTimeoutMillis 안에 답하지 않으면 부분 결과를 돌려주지 않고 실패합니다.
+     */
+    public <T> List<T> scatter(IntFunction<T> task) {
+        if (!isEnabled()) {
+            List<T> single = new ArrayList<>(1);
+            single.add(task.apply(0));
+            return single;
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterPool.submit(() -> onShard(target, () -> task.apply(target))));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                results.add(futures.get(shard).get(scatterTimeoutMillis, TimeUnit.MILLISECONDS));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "샤드 조회가 중단되었습니다.");
+        } catch (TimeoutException e) {
+            log.warn("샤드 조회 시간 초과: {}ms", scatterTimeoutMillis);
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "샤드 조회가 시간 안에 끝나지 않았습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CustomException custom) {
+                throw custom;
+            }
+            log.error("샤드 조회 실패", e.getCause());
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "샤드 조회 중 오류가 발생했습니다.");
+        } finally {
+            futures.forEach(future -> future.cancel(true)); // 실패 시 남은 샤드 작업 정리 (끝난 작업에는 영향 없음)
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+}
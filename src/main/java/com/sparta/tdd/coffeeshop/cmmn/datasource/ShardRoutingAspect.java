@@ -0,0 +1,64 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.sparta.tdd.coffeeshop.cmmn.ratelimit.UserScopedRequest;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @ShardByUser 메서드를 사용자의 샤드에서 실행합니다.
+ * @Transactional보다 먼저(바깥에서) 실행되어야 트랜잭션의 커넥션이 사용자 샤드에서 열리고,
+ * 커밋 후 이벤트 리스너(사용자 주문 통계)도 같은 샤드에 씁니다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+    private final ShardRouter shardRouter;
+
+    @Around("@annotation(com.sparta.tdd.coffeeshop.cmmn.datasource.ShardByUser)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        String userId = shardRouter.isEnabled() ? userIdOf(joinPoint) : null;
+        if (userId == null) {
+            return joinPoint.proceed(); // 샤딩을 끈 경우, 또는 userId가 없어 서비스 검증에서 거절될 요청
+        }
+        try {
+            return shardRouter.onUser(userId, () -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private static String userIdOf(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof UserScopedRequest request) {
+                return request.getUserId();
+            }
+            if (args[i] instanceof String value && names != null && "userId".equals(names[i])) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
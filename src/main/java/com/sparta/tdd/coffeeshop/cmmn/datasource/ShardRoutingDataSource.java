@@ -0,0 +1,34 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.util.List;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * ShardContext의 샤드 번호로 커넥션 풀을 고릅니다. (없으면 0번)
+ *
+ * 트랜잭션은 첫 SQL 시점의 샤드 커넥션 하나에 묶이므로 LazyConnectionDataSourceProxy로 감싸 쓰고,
+ * 샤드 번호는 트랜잭션 시작 전에 정해야 합니다. (ShardRoutingAspect가 @Transactional보다 바깥에서 설정)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<HikariDataSource> ownedPools; // 빈으로 등록되지 않은 1번 이후 샤드 풀 (종료 시 닫음)
+
+    public ShardRoutingDataSource(List<HikariDataSource> ownedPools) {
+        this.ownedPools = ownedPools;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.get();
+        return shard == null ? 0 : shard;
+    }
+
+    @Override
+    public void destroy() {
+        ownedPools.forEach(HikariDataSource::close);
+    }
+}
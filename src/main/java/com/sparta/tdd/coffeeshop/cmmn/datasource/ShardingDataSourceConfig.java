@@ -0,0 +1,98 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderFulfillmentProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionProperties;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngineProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * coffeeshop.datasource.sharding.enabled=true 일 때만 기본 DataSource 자동 구성을 대체합니다.
+ * 0번 샤드: spring.datasource.* (+ spring.datasource.hikari.*), i+1번 샤드: coffeeshop.datasource.sharding.shards[i].*
+ *
+ * 샤드를 모르는 구성 요소(0번 샤드만 보는 백그라운드 작업, 메모리 잔액 엔진 등)와 함께 켜면 다른 샤드의 데이터를
+ * 조용히 놓치므로 기동 시 거절합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coffeeshop.datasource.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource shard0DataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0-pool");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(@Qualifier("shard0DataSource") DataSource shard0DataSource,
+                                                         ShardingProperties properties,
+                                                         DataSourceRoutingProperties routingProperties,
+                                                         BalanceEngineProperties balanceEngineProperties,
+                                                         OrderIntakeProperties intakeProperties,
+                                                         OrderFulfillmentProperties fulfillmentProperties,
+                                                         OrderArchiveProperties archiveProperties,
+                                                         OrderPartitionProperties partitionProperties) {
+        Map<String, Boolean> shardUnaware = new LinkedHashMap<>();
+        shardUnaware.put("coffeeshop.datasource.routing", routingProperties.isEnabled());
+        shardUnaware.put("coffeeshop.balance-engine", balanceEngineProperties.isEnabled());
+        shardUnaware.put("coffeeshop.order.intake", intakeProperties.isEnabled());
+        shardUnaware.put("coffeeshop.fulfillment", fulfillmentProperties.isEnabled());
+        shardUnaware.put("coffeeshop.order.archive", archiveProperties.isEnabled());
+        shardUnaware.put("coffeeshop.order.partition", partitionProperties.isEnabled());
+        shardUnaware.forEach((prefix, enabled) -> {
+            if (enabled) {
+                throw new IllegalStateException("coffeeshop.datasource.sharding과 " + prefix + "은(는) 함께 켤 수 없습니다.");
+            }
+        });
+        List<HikariDataSource> pools = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, shard0DataSource);
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .driverClassName(shard.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("shard-" + (i + 1) + "-pool");
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            pools.add(dataSource);
+            targets.put(i + 1, dataSource);
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(pools);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shard0DataSource);
+        routing.setLenientFallback(false); // 없는 샤드 번호를 0번으로 보내지 않음
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,40 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 사용자 해시 샤딩 설정 (coffeeshop.datasource.sharding.*)
+ * 켜면 spring.datasource.* 가 0번 샤드, shards[i] 가 i+1번 샤드가 됩니다. 읽기/쓰기 라우팅(routing)과 함께 켤 수 없습니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // 0번 샤드(spring.datasource) 다음 샤드들. 순서가 곧 샤드 번호이므로 운영 중에 바꾸면 사용자가 다른 샤드로 갑니다.
+    private List<Shard> shards = new ArrayList<>();
+
+    // 전체 샤드 조회(scatter-gather)를 동시에 실행할 스레드 수
+    private int scatterThreads = 8;
+
+    // 샤드 하나의 응답을 기다리는 최대 시간 (밀리초)
+    private long scatterTimeoutMillis = 5000;
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+/**
+ * 현재 요청의 userId를 스레드에 보관합니다. 복제 지연 가드(ReplicaLagGuard)가 "방금 쓴 사용자"의 읽기를
+ * primary로 보낼지 판단하는 데 사용합니다. 요청이 끝나면 UserRoutingInterceptor가 비웁니다.
+ */
+public final class UserRoutingContext {
+
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+
+    private UserRoutingContext() {
+    }
+
+    public static void set(String userId) {
+        if (userId == null) {
+            CURRENT_USER.remove();
+        } else {
+            CURRENT_USER.set(userId);
+        }
+    }
+
+    public static String get() {
+        return CURRENT_USER.get();
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+}
@@ -0,0 +1,30 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 헤더(X-User-Id) 또는 쿼리 파라미터(userId)에서 사용자를 꺼내 UserRoutingContext에 담고,
+ * 요청이 끝나면 비웁니다. 본문에 userId가 있는 쓰기 API는 컨트롤러에서 직접 UserRoutingContext.set을 호출합니다.
+ */
+public class UserRoutingInterceptor implements HandlerInterceptor {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId == null || userId.isBlank()) {
+            userId = request.getParameter("userId");
+        }
+        UserRoutingContext.set(userId == null || userId.isBlank() ? null : userId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        UserRoutingContext.clear(); // 스레드 풀 재사용 시 다른 요청으로 새지 않도록
+    }
+}
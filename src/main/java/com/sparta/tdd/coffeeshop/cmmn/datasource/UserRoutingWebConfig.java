@@ -0,0 +1,15 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 라우팅을 끈 상태에서도 컨트롤러가 설정한 UserRoutingContext가 요청 종료 시 비워지도록 항상 등록합니다.
+@Configuration
+public class UserRoutingWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new UserRoutingInterceptor()).addPathPatterns("/api/**");
+    }
+}
@@ -20,8 +20,28 @@ public enum ErrorCode{
     // 409 Conflict (동시성 문제 등)
     CONCURRENCY_FAILURE(HttpStatus.CONFLICT, "CONCURRENCY_FAILURE", "동시성 충돌이 발생했습니다. 다시 시도해주세요."),
 
+    // 429 Too Many Requests (사용자/단말별 요청 속도 제한)
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS", "요청이 너무 잦습니다. 잠시 후 다시 시도해주세요."),
+
+    // 503 Service Unavailable (과부하 보호: 격벽/동시성 제한에서 거절)
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+
     // --- 메뉴 관련 에러 ---
-    MENU_NOT_FOUND(HttpStatus.NOT_FOUND, "MENU_NOT_FOUND", "메뉴를 찾을 수 없습니다.");
+    MENU_NOT_FOUND(HttpStatus.NOT_FOUND, "MENU_NOT_FOUND", "메뉴를 찾을 수 없습니다."),
+    MENU_SOLD_OUT(HttpStatus.CONFLICT, "MENU_SOLD_OUT", "메뉴 재고가 부족합니다."),
+
+    // --- 주문 관련 에러 ---
+    ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND", "주문을 찾을 수 없습니다."),
+    INVALID_ORDER_STATE(HttpStatus.CONFLICT, "INVALID_ORDER_STATE", "현재 주문 상태에서는 처리할 수 없습니다."),
+    ADMISSION_REQUIRED(HttpStatus.FORBIDDEN, "ADMISSION_REQUIRED", "대기열 입장 후 주문할 수 있습니다."),
+
+    // --- 테스트 데이터 관련 에러 ---
+    FIXTURES_DISABLED(HttpStatus.FORBIDDEN, "FIXTURES_DISABLED", "테스트 데이터 초기화가 꺼져 있습니다. (coffeeshop.fixtures.enabled)"),
+
+    // --- 대량 작업 관련 에러 ---
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "JOB_NOT_FOUND", "작업을 찾을 수 없습니다."),
+    JOB_ALREADY_RUNNING(HttpStatus.CONFLICT, "JOB_ALREADY_RUNNING", "이미 실행 중인 작업입니다."),
+    ORDER_HISTORY_INCOMPLETE(HttpStatus.CONFLICT, "ORDER_HISTORY_INCOMPLETE", "보관하지 않고 삭제된 주문이 있어 전체 이력으로 집계할 수 없습니다.");
 
     // --- 필드 정의 ---
     private final HttpStatus httpStatus; // HTTP 상태 코드 (enum 타입)
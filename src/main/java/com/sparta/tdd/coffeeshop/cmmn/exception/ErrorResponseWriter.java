@@ -0,0 +1,34 @@
+package com.sparta.tdd.coffeeshop.cmmn.exception;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.tdd.coffeeshop.cmmn.ErrorResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * DispatcherServlet 앞단(서블릿 필터 등)에서 요청을 거절할 때 GlobalExceptionHandler와 같은 형식의
+ * ErrorResponse JSON을 직접 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public void write(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        write(response, errorCode, errorCode.getMessage());
+    }
+
+    public void write(HttpServletResponse response, ErrorCode errorCode, String message) throws IOException {
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(errorCode.getCode(), message));
+    }
+}
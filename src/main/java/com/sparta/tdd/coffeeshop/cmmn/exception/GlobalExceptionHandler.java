@@ -1,17 +1,25 @@
 package com.sparta.tdd.coffeeshop.cmmn.exception;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException; // ❗ 이 임포트 추가
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.sparta.tdd.coffeeshop.cmmn.ErrorResponse;
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
+import com.sparta.tdd.coffeeshop.domain.user.User;
 
 @RestControllerAdvice
 @Slf4j // 로깅을 위해 Lombok의 @Slf4j 사용
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ContentionTracker contentionTracker;
+
     /**
      * 애플리케이션 정의 CustomException 처리
      * @param e 발생한 CustomException
@@ -24,6 +32,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, e.getErrorCode().getHttpStatus());
     }
 
+    /**
+     * 요청 속도 제한 초과 처리
+     * 429 TOO_MANY_REQUESTS와 함께 다시 시도해도 되는 시점을 Retry-After 헤더(초)로 알려줍니다.
+     * @param e 발생한 RateLimitExceededException
+     * @return 429 상태 코드와 ErrorResponse DTO
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException e) {
+        log.warn("RateLimitExceededException: retryAfter={}s", e.getRetryAfterSeconds()); // 빈번할 수 있으므로 스택 트레이스 생략
+        ErrorResponse errorResponse = new ErrorResponse(e.getErrorCode().getCode(), e.getMessage());
+        return ResponseEntity.status(e.getErrorCode().getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * 낙관적 락 충돌 시 발생하는 OptimisticLockingFailureException 처리
      * 동시성 충돌 시 409 CONFLICT 상태 코드를 반환합니다.
@@ -33,6 +56,11 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(OptimisticLockingFailureException.class) // ❗ 이 핸들러를 추가
     public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
         log.error("Optimistic Locking Failure: {}", e.getMessage(), e);
+        // 커밋 시점 flush에서 난 충돌은 서비스의 catch를 거치지 않으므로 여기서 경합 사용자를 기록
+        if (e instanceof ObjectOptimisticLockingFailureException ole
+                && User.class.getName().equals(ole.getPersistentClassName()) && ole.getIdentifier() != null) {
+            contentionTracker.recordConflict(ole.getIdentifier().toString());
+        }
         // ErrorCode.CONCURRENCY_FAILURE를 정의했다고 가정하고 사용합니다.
         ErrorResponse errorResponse = new ErrorResponse(ErrorCode.CONCURRENCY_FAILURE.getCode(), ErrorCode.CONCURRENCY_FAILURE.getMessage());
         return new ResponseEntity<>(errorResponse, ErrorCode.CONCURRENCY_FAILURE.getHttpStatus());
@@ -0,0 +1,19 @@
+package com.sparta.tdd.coffeeshop.cmmn.exception;
+
+import lombok.Getter;
+
+/**
+ * 요청 속도 제한 초과. GlobalExceptionHandler가 429와 함께 Retry-After 헤더를 붙여 응답합니다.
+ */
+@Getter
+public class RateLimitExceededException extends CustomException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(ErrorCode.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.sparta.tdd.coffeeshop.cmmn.fixture;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 테스트/데모 데이터 초기화 설정 (coffeeshop.fixtures.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.fixtures")
+public class FixtureProperties {
+
+    // 테이블을 비우는 초기화/스냅샷/복원 허용 여부. 운영 환경에서는 켜지 마세요.
+    private boolean enabled = false;
+}
@@ -0,0 +1,17 @@
+package com.sparta.tdd.coffeeshop.cmmn.fixture;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 테스트/데모 데이터 초기화, 스냅샷, 복원 결과
+ */
+@Getter
+@Builder
+public class FixtureResetResponse {
+    private String snapshot;          // 기본 데이터로 초기화했으면 null
+    private Map<String, Integer> rows; // 테이블별 행 수 (초기화/복원 후, 또는 스냅샷에 담긴 수)
+    private long elapsedMillis;
+}
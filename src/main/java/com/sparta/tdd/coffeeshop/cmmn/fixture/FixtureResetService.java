@@ -0,0 +1,273 @@
+package com.sparta.tdd.coffeeshop.cmmn.fixture;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceCatalog;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 테스트/데모 데이터 초기화. 엔티티를 하나씩 읽어 지우지 않고 커넥션 하나에서 SQL로 처리합니다.
+ *
+ * - 초기화: 사용자/주문/메뉴와 이에 딸린 테이블을 TRUNCATE(자동 증가 값도 처음으로)하고 기본 사용자/메뉴를 배치 INSERT
+ * - 스냅샷: 같은 테이블의 현재 행을 메모리에 복사해 이름으로 보관 (벤치마크용 대량 데이터를 한 번 적재해 두는 용도)
+ * - 복원: TRUNCATE 후 스냅샷 행을 배치 INSERT하고 자동 증가 값을 최댓값 다음으로 맞춤
+ *
+ * coffeeshop.fixtures.enabled=true 일 때만 실행하며, 꺼져 있으면 FIXTURES_DISABLED로 거절합니다.
+ * (테스트 데이터 API와 동시 주문 테스트 API의 사전 초기화 모두 이 검사를 거침)
+ * MySQL의 TRUNCATE는 DDL이라 트랜잭션으로 묶이지 않으므로, 실행 중인 요청이 없을 때 호출하세요. 운영 환경에서 호출해서는 안 됩니다.
+ * 메모리 가격 카탈로그와 재고 품절 플래그는 다시 읽고, 잔액 엔진(켠 경우)의 메모리 잔액은 다시 읽지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixtureResetService {
+
+    // 사용자/주문/메뉴와 이에 딸린 테이블 (참조하는 쪽 먼저)
+    // balance_checkpoint는 잔액 엔진 저널 파일과 짝이므로 제외합니다. 비우거나 예전 값으로 되돌리면 재기동 시
+    // 저널 전체(또는 그 사이 기록)를 초기화된 users에 다시 적용합니다.
+    static final List<String> TABLES = List.of(
+            "point_restoration", "user_menu_order_count", "user_order_stats", "orders",
+            "menu_stock_shard", "menu_price_version", "point_credit_checkpoint", "point_credit_job", "users", "menu");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuPriceCatalog menuPriceCatalog;
+    private final MenuStockService menuStockService;
+    private final FixtureProperties properties;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record TableImage(String table, List<String> columns, List<Object[]> rows) {
+    }
+
+    private record Snapshot(List<TableImage> tables) {
+    }
+
+    private enum Database {
+        MYSQL, H2, OTHER
+    }
+
+    /**
+     * 모든 사용자/주문/메뉴를 지우고 동시성 테스트용 기본 사용자와 메뉴(아메리카노 id 1, 카페 라떼 id 2)를 넣습니다.
+     */
+    public synchronized FixtureResetResponse reset() {
+        requireEnabled();
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            truncate(connection);
+            insert(connection, "users", List.of("user_id", "user_name", "point", "version"), List.of(
+                    new Object[]{"testUser1", "테스트 사용자1", 1_000_000L, 0L},
+                    new Object[]{"testUser2", "테스트 사용자2", 1_000_000L, 0L},
+                    new Object[]{"user001", "테스트 사용자001", 1_000_000L, 0L},
+                    new Object[]{"concurrentUser", "동시성테스트용", 1_000_000L, 0L},
+                    new Object[]{"eodnjsdl", "당신_사용자", 1_000_000L, 0L}));
+            insert(connection, "menu", List.of("name", "price"), List.of(
+                    new Object[]{"아메리카노", 4000},
+                    new Object[]{"카페 라떼", 4500}));
+            return null;
+        });
+        return done(null, start);
+    }
+
+    /**
+     * 현재 데이터를 name으로 보관합니다. 같은 이름이 있으면 덮어씁니다.
+     */
+    public synchronized FixtureResetResponse snapshot(String name) {
+        requireEnabled();
+        long start = System.nanoTime();
+        List<TableImage> images = jdbcTemplate.execute((ConnectionCallback<List<TableImage>>) connection -> {
+            List<TableImage> tables = new ArrayList<>();
+            for (String table : TABLES) {
+                tables.add(read(connection, table));
+            }
+            return tables;
+        });
+        snapshots.put(name, new Snapshot(images));
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        images.forEach(image -> rows.put(image.table(), image.rows().size()));
+        log.info("테스트 데이터 스냅샷 저장: {} {}", name, rows);
+        return FixtureResetResponse.builder()
+                .snapshot(name)
+                .rows(rows)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * name 스냅샷 시점의 데이터로 되돌립니다.
+     */
+    public synchronized FixtureResetResponse restore(String name) {
+        requireEnabled();
+        Snapshot snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "스냅샷이 없습니다: " + name);
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            truncate(connection);
+            for (TableImage image : snapshot.tables()) {
+                insert(connection, image.table(), image.columns(), image.rows());
+            }
+            if (databaseOf(connection) == Database.H2) {
+                restartH2Identities(connection); // 값을 지정해 넣은 행은 H2 IDENTITY 시퀀스를 올리지 않음
+            }
+            return null;
+        });
+        return done(name, start);
+    }
+
+    private void requireEnabled() {
+        if (!properties.isEnabled()) {
+            throw new CustomException(ErrorCode.FIXTURES_DISABLED);
+        }
+    }
+
+    private FixtureResetResponse done(String snapshot, long start) {
+        menuPriceCatalog.reload();
+        menuStockService.refresh();
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            rows.put(table, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class));
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        log.info("테스트 데이터 {}: {}ms {}", snapshot == null ? "초기화" : "복원(" + snapshot + ")", elapsed, rows);
+        return FixtureResetResponse.builder()
+                .snapshot(snapshot)
+                .rows(rows)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // 외래 키 검사를 잠시 끄고 TRUNCATE (자동 증가 값 초기화). TRUNCATE를 모르는 DB는 DELETE
+    private static void truncate(Connection connection) throws SQLException {
+        Database database = databaseOf(connection);
+        try (Statement statement = connection.createStatement()) {
+            switch (database) {
+                case MYSQL -> statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                case H2 -> statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                default -> { }
+            }
+            try {
+                for (String table : TABLES) {
+                    statement.execute(switch (database) {
+                        case MYSQL -> "TRUNCATE TABLE " + table;
+                        case H2 -> "TRUNCATE TABLE " + table + " RESTART IDENTITY";
+                        case OTHER -> "DELETE FROM " + table;
+                    });
+                }
+            } finally {
+                switch (database) {
+                    case MYSQL -> statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+                    case H2 -> statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                    default -> { }
+                }
+            }
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static TableImage read(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM " + table)) {
+            ResultSetMetaData meta = rs.getMetaData();
+            List<String> columns = new ArrayList<>(meta.getColumnCount());
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnName(i));
+            }
+            List<Object[]> rows = new ArrayList<>();
+            while (rs.next()) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                rows.add(row);
+            }
+            return new TableImage(table, List.copyOf(columns), Collections.unmodifiableList(rows));
+        }
+    }
+
+    private static void insert(Connection connection, String table, List<String> columns, List<Object[]> rows)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static void restartH2Identities(Connection connection) throws SQLException {
+        for (String table : TABLES) {
+            List<String> identityColumns = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?) AND IS_IDENTITY = 'YES'")) {
+                statement.setString(1, table);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        identityColumns.add(rs.getString(1));
+                    }
+                }
+            }
+            for (String column : identityColumns) {
+                long next;
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    next = rs.getLong(1);
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    private static Database databaseOf(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        if (product.contains("mysql")) {
+            return Database.MYSQL;
+        }
+        return product.contains("h2") ? Database.H2 : Database.OTHER;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sparta.tdd.coffeeshop.cmmn.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 데이터 수집 플랫폼 전송 한 건의 JFR 이벤트
+ */
+@Name("coffeeshop.DataCollectionSend")
+@Label("Data Collection Send")
+@Category({"Coffee Shop", "External"})
+@Description("외부 데이터 수집 플랫폼으로 주문 내역 전송")
+@StackTrace(false)
+public class DataCollectionSendEvent extends Event {
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("Menu Id")
+    public long menuId;
+
+    @Label("Order Id")
+    public String orderId;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,70 @@
+package com.sparta.tdd.coffeeshop.cmmn.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * OrderService.placeOrder 한 건의 JFR 이벤트. 이벤트 구간(duration)은 메서드 전체이고, 단계별 소요 시간은 필드로 남깁니다.
+ * 커밋(flush) 구간은 메서드가 끝난 뒤 실행되므로 포함되지 않습니다. (GC, 스레드 park 이벤트와 시간축으로 대조)
+ */
+@Name("coffeeshop.OrderPlaced")
+@Label("Order Placed")
+@Category({"Coffee Shop", "Order"})
+@Description("주문 처리 (단계별 소요 시간 포함)")
+@StackTrace(false)
+public class OrderPlacedEvent extends Event {
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("Menu Id")
+    public long menuId;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Total Price")
+    public long totalPrice;
+
+    @Label("Retry")
+    @Description("직전 충돌 후 같은 사용자의 재요청으로 판정된 주문이면 1")
+    public int retryCount;
+
+    @Label("Outcome")
+    @Description("SUCCESS 또는 ErrorCode")
+    public String outcome;
+
+    @Label("User Fetch")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userFetch;
+
+    @Label("Menu Fetch")
+    @Timespan(Timespan.NANOSECONDS)
+    public long menuFetch;
+
+    @Label("User Save")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userSave;
+
+    @Label("Order Insert")
+    @Timespan(Timespan.NANOSECONDS)
+    public long orderInsert;
+
+    @Label("Data Collection")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dataCollection;
+
+    // 구간을 닫고, 녹화 중이며 임계값을 넘은 경우에만 결과를 채워 기록합니다.
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
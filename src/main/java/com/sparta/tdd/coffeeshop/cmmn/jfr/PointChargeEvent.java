@@ -0,0 +1,46 @@
+package com.sparta.tdd.coffeeshop.cmmn.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 포인트 충전 한 건(병합 충전이면 한 배치)의 JFR 이벤트. lockWait은 사용자 행 락을 잡는 조회/UPDATE에 걸린 시간입니다.
+ */
+@Name("coffeeshop.PointCharge")
+@Label("Point Charge")
+@Category({"Coffee Shop", "Point"})
+@Description("포인트 충전 (행 락 대기 시간 포함)")
+@StackTrace(false)
+public class PointChargeEvent extends Event {
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("Amount")
+    public long amount;
+
+    @Label("Batch Size")
+    @Description("병합 충전으로 한 번에 반영된 요청 수 (일반 충전은 1)")
+    public int batchSize;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lockWait;
+
+    @Label("Outcome")
+    @Description("SUCCESS 또는 ErrorCode")
+    public String outcome;
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
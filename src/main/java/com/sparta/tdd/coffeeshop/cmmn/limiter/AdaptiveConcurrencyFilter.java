@@ -0,0 +1,123 @@
+package com.sparta.tdd.coffeeshop.cmmn.limiter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorResponseWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문/포인트 충전 API 앞에서 AimdLimiter로 동시 처리 수를 제한합니다. 한도를 넘는 요청은 503 + Retry-After로 즉시 거절합니다.
+ *
+ * 메트릭 (태그: endpoint=order|point_charge)
+ * - coffeeshop.limiter.limit: 현재 한도
+ * - coffeeshop.limiter.inflight: 처리 중인 요청 수
+ * - coffeeshop.limiter.rejected: 한도 초과로 거절된 건수
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20) // 격벽(BulkheadFilter) 안쪽
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    enum Endpoint {
+        ORDER("order"),
+        POINT_CHARGE("point_charge");
+
+        private final String tag;
+
+        Endpoint(String tag) {
+            this.tag = tag;
+        }
+
+        static Endpoint classify(HttpServletRequest request) {
+            if (!"POST".equals(request.getMethod())) {
+                return null;
+            }
+            return switch (request.getRequestURI()) {
+                case "/api/orders" -> ORDER;
+                case "/api/user/points/charge" -> POINT_CHARGE;
+                default -> null;
+            };
+        }
+    }
+
+    private final boolean enabled;
+    private final String retryAfter;
+    private final Map<Endpoint, AimdLimiter> limiters = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> rejectedCounters = new EnumMap<>(Endpoint.class);
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public AdaptiveConcurrencyFilter(AdaptiveLimiterProperties properties, MeterRegistry registry,
+                                     ErrorResponseWriter errorResponseWriter) {
+        this.enabled = properties.isEnabled();
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+        this.errorResponseWriter = errorResponseWriter;
+        for (Endpoint endpoint : Endpoint.values()) {
+            AimdLimiter limiter = new AimdLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                    properties.getMaxLimit(), properties.getBackoffRatio(),
+                    TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThresholdMillis()));
+            limiters.put(endpoint, limiter);
+            Gauge.builder("coffeeshop.limiter.limit", limiter, AimdLimiter::getLimit)
+                    .description("적응형 동시성 한도")
+                    .tag("endpoint", endpoint.tag)
+                    .register(registry);
+            Gauge.builder("coffeeshop.limiter.inflight", limiter, AimdLimiter::getInFlight)
+                    .description("처리 중인 요청 수")
+                    .tag("endpoint", endpoint.tag)
+                    .register(registry);
+            rejectedCounters.put(endpoint, Counter.builder("coffeeshop.limiter.rejected")
+                    .description("동시성 한도 초과로 거절된 요청 수")
+                    .tag("endpoint", endpoint.tag)
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Endpoint endpoint = Endpoint.classify(request);
+        if (endpoint == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AimdLimiter limiter = limiters.get(endpoint);
+        if (!limiter.tryAcquire()) {
+            rejectedCounters.get(endpoint).increment();
+            log.warn("동시성 한도 초과로 요청을 거절합니다: endpoint={}, limit={}", endpoint, limiter.getLimit());
+            response.setHeader("Retry-After", retryAfter);
+            errorResponseWriter.write(response, ErrorCode.SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.onComplete(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sparta.tdd.coffeeshop.cmmn.limiter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 적응형 동시성 제한 설정 (coffeeshop.limiter.*)
+ * 주문(POST /api/orders)과 포인트 충전(POST /api/user/points/charge)에 각각 독립된 제한이 적용됩니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.limiter")
+public class AdaptiveLimiterProperties {
+
+    private boolean enabled = false;
+
+    // 시작 동시 처리 한도
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    // 응답 시간이 이 값을 넘거나 5xx로 끝나면 과부하 신호로 보고 한도를 줄입니다. (밀리초, 주문 SLA 기준)
+    private long latencyThresholdMillis = 200;
+
+    // 과부하 신호 시 한도에 곱하는 비율 (multiplicative decrease)
+    private double backoffRatio = 0.9;
+
+    // 거절 응답의 Retry-After 헤더 값 (초)
+    private int retryAfterSeconds = 1;
+}
@@ -0,0 +1,64 @@
+package com.sparta.tdd.coffeeshop.cmmn.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD(additive increase / multiplicative decrease) 동시성 제한.
+ *
+ * 응답이 빠르고 한도의 절반 이상을 실제로 쓰고 있으면 한도를 1씩 올리고, 응답이 느리거나(latencyThreshold 초과)
+ * 실패하면 backoffRatio를 곱해 줄입니다. DB가 느려지면 한도가 같이 내려가 대기열이 쌓이는 대신 초과분을 바로 거절하므로,
+ * 과부하 상황에서도 처리되는 요청의 응답 시간(goodput)이 유지됩니다.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    // 자리를 얻으면 true. true를 받은 호출자는 처리 후 반드시 onComplete를 호출해야 합니다.
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onComplete(long latencyNanos, boolean failed) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        adjust(latencyNanos, failed, inFlightBeforeRelease);
+    }
+
+    private synchronized void adjust(long latencyNanos, boolean failed, int inFlightAtCompletion) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            // 한도를 충분히 쓰고 있을 때만 늘림 (한가할 때 한도가 무한정 커지는 것 방지)
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
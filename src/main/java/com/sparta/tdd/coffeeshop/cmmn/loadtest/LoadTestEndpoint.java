@@ -0,0 +1,11 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+/**
+ * 부하 테스트 대상 엔드포인트
+ */
+public enum LoadTestEndpoint {
+    CHARGE,         // POST /api/user/points/charge
+    ORDER,          // POST /api/orders
+    MENU_LIST,      // GET /api/menus
+    POPULAR_MENUS   // GET /api/menus/popular
+}
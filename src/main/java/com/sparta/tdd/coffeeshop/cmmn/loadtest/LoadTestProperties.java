@@ -0,0 +1,28 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 부하 생성기 설정 (coffeeshop.loadtest.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.loadtest")
+public class LoadTestProperties {
+
+    // 대상 서버 주소. 비어 있으면 현재 애플리케이션(http://localhost:{실제 포트})을 대상으로 합니다.
+    private String baseUrl;
+
+    // 한 번의 실행에서 허용하는 최대 시간 (초)
+    private int maxDurationSeconds = 300;
+
+    // 동시에 응답을 기다릴 수 있는 최대 요청 수. 초과분은 보내지 않고 saturated로 집계하며,
+    // 응답 시간 히스토그램에는 requestTimeoutSeconds 값으로 기록합니다. (생성기 자체의 메모리 보호용)
+    private int maxInFlight = 5000;
+
+    // 개별 요청 타임아웃 (초)
+    private int requestTimeoutSeconds = 30;
+}
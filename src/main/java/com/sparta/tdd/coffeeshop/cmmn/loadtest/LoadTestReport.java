@@ -0,0 +1,47 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 부하 테스트 결과.
+ * responseTime은 "보내려고 계획한 시각"부터 응답 완료까지의 시간(coordinated omission 보정값)이고,
+ * serviceTime은 실제 전송 시각부터 응답 완료까지의 시간입니다. 두 값의 차이가 생성기/서버 앞단의 대기 시간입니다.
+ */
+@Getter
+@Builder
+public class LoadTestReport {
+    private double targetRps;
+    private double achievedRps; // 실제로 완료된 요청 수 / 경과 시간
+    private double elapsedSeconds;
+    private long totalRequests;
+    private List<EndpointReport> endpoints;
+
+    @Getter
+    @Builder
+    public static class EndpointReport {
+        private LoadTestEndpoint endpoint;
+        private long requests;   // 완료된 요청 수 (성공 + 실패)
+        private long success;    // 2xx 응답 수
+        private long failure;    // 2xx 이외 응답 또는 I/O 오류 수
+        private long saturated;  // maxInFlight 초과로 보내지 못한 요청 수 (responseTimeMillis에는 타임아웃 값으로 포함)
+        private double throughput; // 완료 요청 수 / 경과 시간
+        private Map<String, Long> statusCounts; // HTTP 상태 코드(또는 예외 이름)별 건수
+        private Percentiles responseTimeMillis; // coordinated omission 보정
+        private Percentiles serviceTimeMillis;  // 보정 전
+    }
+
+    @Getter
+    @Builder
+    public static class Percentiles {
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+        private double mean;
+    }
+}
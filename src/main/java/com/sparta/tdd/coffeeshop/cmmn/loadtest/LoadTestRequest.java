@@ -0,0 +1,38 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestRequest {
+
+    @DecimalMin(value = "0.1", message = "목표 처리량은 0.1 rps 이상이어야 합니다.")
+    private double targetRps; // 초당 목표 요청 수 (응답 속도와 무관하게 이 간격으로 보냄)
+
+    @Min(value = 1, message = "실행 시간은 1초 이상이어야 합니다.")
+    private int durationSeconds;
+
+    private String baseUrl; // 비어 있으면 coffeeshop.loadtest.base-url 또는 현재 서버
+
+    private Map<LoadTestEndpoint, Integer> mix; // 엔드포인트별 가중치 (비어 있으면 모든 엔드포인트 동일 비율)
+
+    private List<String> userIds; // 충전/주문 요청에 무작위로 사용할 사용자 ID (기본 user001)
+
+    private Long menuId; // 주문 요청의 메뉴 ID (ORDER 가중치가 있으면 필수)
+
+    @Builder.Default
+    private int quantity = 1;
+
+    @Builder.Default
+    private long chargeAmount = 100L;
+}
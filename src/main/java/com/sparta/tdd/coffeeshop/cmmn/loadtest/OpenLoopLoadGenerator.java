@@ -0,0 +1,292 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeRequest;
+
+/**
+ * 개방형(open-loop) HTTP 부하 생성기.
+ *
+ * 응답을 기다린 뒤 다음 요청을 보내는 폐쇄형(closed-loop) 방식은 서버가 느려지면 요청 자체를 덜 보내게 되어
+ * 대기 지연이 측정에서 빠집니다(coordinated omission). 이 생성기는 목표 rps로 미리 정해진 시각에 요청을 비동기로 보내고,
+ * 지연 시간을 "계획된 전송 시각"부터 측정해 HDR 히스토그램에 기록합니다.
+ */
+@Component
+@Slf4j
+public class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    public OpenLoopLoadGenerator(LoadTestProperties properties, ObjectMapper objectMapper, Environment environment) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    /**
+     * 부하를 생성하고 모든 응답이 끝날 때까지 기다린 뒤 결과를 반환합니다.
+     *
+     * @throws CustomException 요청 값이 유효하지 않을 때 (ErrorCode.INVALID_INPUT)
+     */
+    public LoadTestReport run(LoadTestRequest request) {
+        validate(request);
+        String baseUrl = resolveBaseUrl(request);
+        Map<LoadTestEndpoint, Integer> mix = resolveMix(request);
+        List<String> userIds = (request.getUserIds() == null || request.getUserIds().isEmpty())
+                ? List.of("user001") : request.getUserIds();
+
+        Map<LoadTestEndpoint, EndpointStats> stats = new EnumMap<>(LoadTestEndpoint.class);
+        mix.keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+        LoadTestEndpoint[] endpoints = mix.keySet().toArray(new LoadTestEndpoint[0]);
+        int[] cumulativeWeights = new int[endpoints.length];
+        int weightSum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            weightSum += mix.get(endpoints[i]);
+            cumulativeWeights[i] = weightSum;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+        long totalRequests = (long) (request.getTargetRps() * request.getDurationSeconds());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / request.getTargetRps();
+
+        log.info("개방형 부하 테스트 시작: target={}rps, duration={}s, requests={}, baseUrl={}, mix={}",
+                request.getTargetRps(), request.getDurationSeconds(), totalRequests, baseUrl, mix);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            // 계획된 전송 시각. 생성기가 밀려도(GC 등) 이 시각을 기준으로 지연을 측정하므로 밀린 만큼이 결과에 반영됩니다.
+            long intended = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadTestEndpoint endpoint = pick(endpoints, cumulativeWeights, weightSum);
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (!inFlight.tryAcquire()) {
+                // 보내지 못한 요청을 빼면 과부하 구간의 지연이 사라져 백분위가 오히려 좋아 보이므로, 타임아웃으로 간주해 기록합니다.
+                endpointStats.recordSaturated(TimeUnit.SECONDS.toMicros(properties.getRequestTimeoutSeconds()));
+                continue;
+            }
+
+            HttpRequest httpRequest = buildRequest(endpoint, baseUrl, request, userIds);
+            long sent = System.nanoTime();
+            client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long completed = System.nanoTime();
+                        endpointStats.record(intended, sent, completed,
+                                response != null ? String.valueOf(response.statusCode()) : error.getClass().getSimpleName(),
+                                response != null && response.statusCode() / 100 == 2);
+                        inFlight.release();
+                    });
+        }
+
+        // 남은 응답 대기
+        try {
+            if (!inFlight.tryAcquire(properties.getMaxInFlight(), properties.getRequestTimeoutSeconds() + 5L, TimeUnit.SECONDS)) {
+                log.warn("부하 테스트 종료 시점에 응답을 기다리는 요청이 남아 있습니다: {}건",
+                        properties.getMaxInFlight() - inFlight.availablePermits());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        LoadTestReport report = buildReport(request.getTargetRps(), elapsedSeconds, totalRequests, stats);
+        log.info("개방형 부하 테스트 완료: achieved={}rps, elapsed={}s", report.getAchievedRps(), report.getElapsedSeconds());
+        return report;
+    }
+
+    private void validate(LoadTestRequest request) {
+        if (request.getTargetRps() <= 0 || request.getDurationSeconds() <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "목표 rps와 실행 시간은 0보다 커야 합니다.");
+        }
+        if (request.getDurationSeconds() > properties.getMaxDurationSeconds()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "실행 시간은 최대 " + properties.getMaxDurationSeconds() + "초입니다.");
+        }
+        Map<LoadTestEndpoint, Integer> mix = request.getMix();
+        if (mix != null && mix.values().stream().anyMatch(weight -> weight == null || weight < 0)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "엔드포인트 가중치는 0 이상이어야 합니다.");
+        }
+        if (resolveMix(request).containsKey(LoadTestEndpoint.ORDER) && request.getMenuId() == null) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "주문 부하를 생성하려면 menuId가 필요합니다.");
+        }
+    }
+
+    private Map<LoadTestEndpoint, Integer> resolveMix(LoadTestRequest request) {
+        Map<LoadTestEndpoint, Integer> mix = new EnumMap<>(LoadTestEndpoint.class);
+        if (request.getMix() == null || request.getMix().isEmpty()) {
+            for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+                mix.put(endpoint, 1);
+            }
+        } else {
+            request.getMix().forEach((endpoint, weight) -> {
+                if (weight != null && weight > 0) {
+                    mix.put(endpoint, weight);
+                }
+            });
+        }
+        if (mix.isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "가중치가 0보다 큰 엔드포인트가 하나 이상 필요합니다.");
+        }
+        return mix;
+    }
+
+    private String resolveBaseUrl(LoadTestRequest request) {
+        if (request.getBaseUrl() != null && !request.getBaseUrl().isBlank()) {
+            return request.getBaseUrl();
+        }
+        if (properties.getBaseUrl() != null && !properties.getBaseUrl().isBlank()) {
+            return properties.getBaseUrl();
+        }
+        // 하드코딩된 8080 대신 실제로 바인딩된 포트를 사용
+        String port = environment.getProperty("local.server.port", environment.getProperty("server.port", "8080"));
+        return "http://localhost:" + port;
+    }
+
+    private static LoadTestEndpoint pick(LoadTestEndpoint[] endpoints, int[] cumulativeWeights, int weightSum) {
+        int r = ThreadLocalRandom.current().nextInt(weightSum);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private HttpRequest buildRequest(LoadTestEndpoint endpoint, String baseUrl, LoadTestRequest request, List<String> userIds) {
+        String userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(properties.getRequestTimeoutSeconds()));
+
+        return switch (endpoint) {
+            case CHARGE -> builder.uri(URI.create(baseUrl + "/api/user/points/charge"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(new PointChargeRequest(userId, request.getChargeAmount()))))
+                    .build();
+            case ORDER -> builder.uri(URI.create(baseUrl + "/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(new OrderRequest(userId, request.getMenuId(), request.getQuantity()))))
+                    .build();
+            case MENU_LIST -> builder.uri(URI.create(baseUrl + "/api/menus")).GET().build();
+            case POPULAR_MENUS -> builder.uri(URI.create(baseUrl + "/api/menus/popular")).GET().build();
+        };
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("부하 테스트 요청 본문 직렬화 실패", e);
+        }
+    }
+
+    private static LoadTestReport buildReport(double targetRps, double elapsedSeconds, long totalRequests,
+                                              Map<LoadTestEndpoint, EndpointStats> stats) {
+        List<LoadTestReport.EndpointReport> endpointReports = new ArrayList<>();
+        long completed = 0;
+        for (Map.Entry<LoadTestEndpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            long requests = s.success.sum() + s.failure.sum();
+            completed += requests;
+
+            Map<String, Long> statusCounts = new TreeMap<>();
+            s.statusCounts.forEach((status, count) -> statusCounts.put(status, count.sum()));
+
+            endpointReports.add(LoadTestReport.EndpointReport.builder()
+                    .endpoint(entry.getKey())
+                    .requests(requests)
+                    .success(s.success.sum())
+                    .failure(s.failure.sum())
+                    .saturated(s.saturated.sum())
+                    .throughput(round(requests / elapsedSeconds))
+                    .statusCounts(statusCounts)
+                    .responseTimeMillis(percentiles(s.responseTime))
+                    .serviceTimeMillis(percentiles(s.serviceTime))
+                    .build());
+        }
+        return LoadTestReport.builder()
+                .targetRps(targetRps)
+                .achievedRps(round(completed / elapsedSeconds))
+                .elapsedSeconds(round(elapsedSeconds))
+                .totalRequests(totalRequests)
+                .endpoints(endpointReports)
+                .build();
+    }
+
+    private static LoadTestReport.Percentiles percentiles(Histogram histogram) {
+        return LoadTestReport.Percentiles.builder()
+                .p50(toMillis(histogram.getValueAtPercentile(50.0)))
+                .p90(toMillis(histogram.getValueAtPercentile(90.0)))
+                .p99(toMillis(histogram.getValueAtPercentile(99.0)))
+                .p999(toMillis(histogram.getValueAtPercentile(99.9)))
+                .max(toMillis(histogram.getMaxValue()))
+                .mean(round(histogram.getMean() / 1000.0))
+                .build();
+    }
+
+    private static double toMillis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    // 엔드포인트별 집계. 응답 콜백이 여러 스레드에서 호출되므로 모두 동시성 안전한 구조를 사용합니다.
+    static final class EndpointStats {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder success = new LongAdder();
+        final LongAdder failure = new LongAdder();
+        final LongAdder saturated = new LongAdder();
+        final Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        void record(long intendedNanos, long sentNanos, long completedNanos, String status, boolean ok) {
+            responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos)));
+            serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos)));
+            (ok ? success : failure).increment();
+            statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        void recordSaturated(long timeoutMicros) {
+            responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, timeoutMicros));
+            saturated.increment();
+        }
+    }
+}
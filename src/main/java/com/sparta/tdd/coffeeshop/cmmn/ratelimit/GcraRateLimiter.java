@@ -0,0 +1,87 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * GCRA(Generic Cell Rate Algorithm) 방식의 토큰 버킷. 키마다 "다음 요청이 도착해야 할 이론적 시각(TAT)" 하나만
+ * AtomicLong으로 보관하고 CAS로 갱신하므로 락이 없습니다.
+ *
+ * 키 수는 maxKeys로 제한합니다. 상한에 닿으면 버킷이 가득 찬 채 idle 시간이 지난 키를 한 스레드가 정리하고,
+ * 그래도 자리가 없으면 새 키는 추적하지 않고 통과시킵니다. (속도 제한보다 메모리 상한이 우선)
+ */
+class GcraRateLimiter {
+
+    private final int maxKeys;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> theoreticalArrivals = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    GcraRateLimiter(int maxKeys, long idleSeconds, LongSupplier nanoClock) {
+        this.maxKeys = maxKeys;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 허용이면 0, 거절이면 다음 요청이 허용될 때까지 남은 시간(나노초)
+     */
+    long tryAcquire(String key, double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long tolerance = interval * Math.max(1, burst);
+
+        AtomicLong tat = theoreticalArrivals.get(key);
+        if (tat == null) {
+            if (theoreticalArrivals.size() >= maxKeys && !evictIdle(now)) {
+                return 0;
+            }
+            tat = theoreticalArrivals.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > tolerance) {
+                return next - now - tolerance;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire로 허용된 요청 1건을 되돌립니다. (뒤이은 다른 검사에서 거절된 경우)
+     */
+    void release(String key, double ratePerSecond) {
+        AtomicLong tat = theoreticalArrivals.get(key);
+        if (ratePerSecond <= 0 || tat == null) {
+            return;
+        }
+        tat.addAndGet(-(long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+    }
+
+    // 자리가 생겼으면 true
+    private boolean evictIdle(long now) {
+        if (evicting.compareAndSet(false, true)) {
+            try {
+                theoreticalArrivals.values().removeIf(tat -> now - tat.get() > idleNanos);
+            } finally {
+                evicting.set(false);
+            }
+        }
+        return theoreticalArrivals.size() < maxKeys;
+    }
+
+    int size() {
+        return theoreticalArrivals.size();
+    }
+}
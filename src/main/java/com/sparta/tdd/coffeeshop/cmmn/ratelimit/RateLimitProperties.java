@@ -0,0 +1,90 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 요청 속도 제한 설정 (coffeeshop.rate-limit.*)
+ * 예) coffeeshop.rate-limit.endpoints.order.user.rate-per-second=5
+ *     coffeeshop.rate-limit.endpoints.order.client.burst=100
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    // 동시에 추적하는 키(엔드포인트 × userId/단말) 수 상한
+    private int maxKeys = 100_000;
+
+    // 버킷이 가득 찬 뒤 이 시간 동안 요청이 없으면 정리 대상 (초)
+    private long idleSeconds = 60;
+
+    // 단말 식별 헤더. 없으면 접속 IP를 사용합니다.
+    private String clientHeader = "X-Terminal-Id";
+
+    // 지정하지 않은 항목은 엔드포인트별 기본값을 씁니다. (바인딩은 키 단위로 새 Endpoint를 만들므로 endpoint()에서 기본값과 합칩니다.)
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        private Limit user;   // userId 단위
+        private Limit client; // 단말(클라이언트) 단위
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Limit {
+        // 초당 허용 요청 수 (0 이하면 제한 없음)
+        private Double ratePerSecond;
+        // 순간적으로 허용하는 최대 요청 수 (버킷 크기)
+        private Integer burst;
+
+        public Limit(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+
+        private static Limit merge(Limit configured, Limit defaults) {
+            if (configured == null) {
+                return defaults;
+            }
+            return new Limit(
+                    configured.ratePerSecond != null ? configured.ratePerSecond : defaults != null ? defaults.ratePerSecond : 0,
+                    configured.burst != null ? configured.burst : defaults != null ? defaults.burst : 1);
+        }
+    }
+
+    /**
+     * 설정한 항목에 기본값을 채운 엔드포인트 설정을 반환합니다. 기본값도 설정도 없는 엔드포인트면 null
+     */
+    public Endpoint endpoint(String name) {
+        Endpoint defaults = defaults().get(name);
+        Endpoint configured = endpoints.get(name);
+        if (configured == null) {
+            return defaults;
+        }
+        return new Endpoint(
+                Limit.merge(configured.getUser(), defaults != null ? defaults.getUser() : null),
+                Limit.merge(configured.getClient(), defaults != null ? defaults.getClient() : null));
+    }
+
+    private static Map<String, Endpoint> defaults() {
+        Map<String, Endpoint> map = new HashMap<>();
+        map.put("order", new Endpoint(new Limit(5, 10), new Limit(50, 100)));
+        map.put("point-charge", new Endpoint(new Limit(5, 10), new Limit(50, 100)));
+        return map;
+    }
+}
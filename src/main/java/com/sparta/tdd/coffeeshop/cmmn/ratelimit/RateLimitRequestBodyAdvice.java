@@ -0,0 +1,99 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @RateLimited 컨트롤러 메서드의 요청 본문을 읽은 직후(서비스 호출 전, DB 작업 전)에 userId / 단말 단위 속도 제한을 검사합니다.
+ * 초과하면 RateLimitExceededException → 429 TOO_MANY_REQUESTS + Retry-After
+ *
+ * 메트릭: coffeeshop.ratelimit.rejected (태그: endpoint, scope=user|client)
+ */
+@Slf4j
+@ControllerAdvice
+public class RateLimitRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final RateLimitProperties properties;
+    private final GcraRateLimiter limiter;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public RateLimitRequestBodyAdvice(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, new GcraRateLimiter(properties.getMaxKeys(), properties.getIdleSeconds(), System::nanoTime));
+    }
+
+    // 테스트에서 시계를 주입하기 위한 생성자
+    RateLimitRequestBodyAdvice(RateLimitProperties properties, MeterRegistry registry, GcraRateLimiter limiter) {
+        this.properties = properties;
+        this.registry = registry;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled() && methodParameter.hasMethodAnnotation(RateLimited.class);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String endpointName = parameter.getMethodAnnotation(RateLimited.class).value();
+        RateLimitProperties.Endpoint endpoint = properties.endpoint(endpointName);
+        if (endpoint == null) {
+            return body;
+        }
+        String userKey = null;
+        if (endpoint.getUser() != null && body instanceof UserScopedRequest request && request.getUserId() != null) {
+            userKey = endpointName + ":user:" + request.getUserId();
+            check(endpointName, "user", userKey, endpoint.getUser());
+        }
+        String client = currentClient();
+        if (endpoint.getClient() != null && client != null) {
+            try {
+                check(endpointName, "client", endpointName + ":client:" + client, endpoint.getClient());
+            } catch (RateLimitExceededException e) {
+                // 단말 한도로 거절된 요청이 사용자 버킷을 소모하지 않도록 되돌립니다.
+                if (userKey != null) {
+                    limiter.release(userKey, endpoint.getUser().getRatePerSecond());
+                }
+                throw e;
+            }
+        }
+        return body;
+    }
+
+    private void check(String endpointName, String scope, String key, RateLimitProperties.Limit limit) {
+        long waitNanos = limiter.tryAcquire(key, limit.getRatePerSecond(), limit.getBurst());
+        if (waitNanos > 0) {
+            registry.counter("coffeeshop.ratelimit.rejected", "endpoint", endpointName, "scope", scope).increment();
+            log.warn("요청 속도 제한 초과: {}", key);
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+    }
+
+    private String currentClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String terminal = request.getHeader(properties.getClientHeader());
+        return terminal != null && !terminal.isBlank() ? terminal : request.getRemoteAddr();
+    }
+}
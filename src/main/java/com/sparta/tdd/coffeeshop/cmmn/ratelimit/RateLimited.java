@@ -0,0 +1,16 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드에 붙이면 요청 본문(UserScopedRequest)의 userId와 클라이언트(단말) 단위로 요청 속도를 제한합니다.
+ * value는 coffeeshop.rate-limit.endpoints.<value> 설정 키입니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
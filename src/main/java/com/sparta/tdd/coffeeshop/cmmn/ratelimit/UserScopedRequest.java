@@ -0,0 +1,6 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+// 사용자 단위 속도 제한 대상 요청 본문. (OrderRequest, PointChargeRequest)
+public interface UserScopedRequest {
+    String getUserId();
+}
@@ -0,0 +1,33 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionEvent;
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionReport;
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/contention")
+@RequiredArgsConstructor
+public class ContentionAdminController {
+
+    private final ContentionTracker contentionTracker;
+
+    @Operation(summary = "경합 상위 사용자 조회", description = "최근 구간에서 낙관적 락 충돌/행 락 대기/재요청이 많은 userId 상위 N개와 초당 발생률을 반환합니다.")
+    @GetMapping("/hot-keys")
+    public ResponseEntity<ContentionReport> getHotKeys(
+            @RequestParam(defaultValue = "60") int windowSeconds,
+            @RequestParam(defaultValue = "10") int top,
+            @RequestParam(required = false) ContentionEvent event) {
+        return ResponseEntity.ok(contentionTracker.report(windowSeconds, top, event));
+    }
+}
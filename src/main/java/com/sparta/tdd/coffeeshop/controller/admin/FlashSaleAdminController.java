@@ -0,0 +1,46 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleRequest;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.FlashSaleService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/menus/{menuId}/flash-sale")
+@RequiredArgsConstructor
+public class FlashSaleAdminController {
+
+    private final FlashSaleService flashSaleService;
+
+    @Operation(summary = "한정 메뉴 대기열 열기", description = "재고가 설정된 메뉴의 주문을 대기열로 받습니다. 입장권은 남은 재고만큼만 발급하고 초당 ratePerSecond개씩 입장시킵니다.")
+    @PutMapping
+    public ResponseEntity<FlashSaleResponse> open(@PathVariable Long menuId, @RequestBody FlashSaleRequest request) {
+        return ResponseEntity.ok(flashSaleService.open(menuId, request));
+    }
+
+    @Operation(summary = "한정 메뉴 대기열 조회", description = "이 노드의 발급/대기 입장권 수와 품절 여부를 반환합니다.")
+    @GetMapping
+    public ResponseEntity<FlashSaleResponse> getStatus(@PathVariable Long menuId) {
+        return ResponseEntity.ok(flashSaleService.getStatus(menuId));
+    }
+
+    @Operation(summary = "한정 메뉴 대기열 닫기", description = "발급한 입장권을 모두 무효로 하고 바로 주문을 받습니다.")
+    @DeleteMapping
+    public ResponseEntity<Void> close(@PathVariable Long menuId) {
+        flashSaleService.close(menuId);
+        return ResponseEntity.noContent().build();
+    }
+}
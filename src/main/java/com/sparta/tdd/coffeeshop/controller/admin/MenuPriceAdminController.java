@@ -0,0 +1,41 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import java.util.List;
+
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuPriceChangeRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuPriceVersionResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/menus/{menuId}/prices")
+@RequiredArgsConstructor
+public class MenuPriceAdminController {
+
+    private final MenuPriceService menuPriceService;
+
+    @Operation(summary = "메뉴 가격 변경/예약", description = "가격 버전을 추가합니다. effectiveFrom을 비우면 즉시, 지정하면 그 시각부터 모든 노드에서 적용됩니다.")
+    @PostMapping
+    public ResponseEntity<MenuPriceVersionResponse> changePrice(@PathVariable Long menuId,
+                                                                @RequestBody MenuPriceChangeRequest request) {
+        return ResponseEntity.ok(menuPriceService.changePrice(menuId, request));
+    }
+
+    @Operation(summary = "메뉴 가격 이력", description = "예약된 변경을 포함한 가격 버전을 최신 적용 시각순으로 반환합니다.")
+    @GetMapping
+    public ResponseEntity<List<MenuPriceVersionResponse>> getPriceHistory(@PathVariable Long menuId) {
+        return ResponseEntity.ok(menuPriceService.getPriceHistory(menuId));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/menus/{menuId}/stock")
+@RequiredArgsConstructor
+public class MenuStockAdminController {
+
+    private final MenuStockService menuStockService;
+
+    @Operation(summary = "메뉴 재고 설정", description = "남은 재고를 덮어쓰고 shards개 행으로 나눕니다. 0이면 품절, 0보다 크면 품절 해제입니다.")
+    @PutMapping
+    public ResponseEntity<MenuStockResponse> setStock(@PathVariable Long menuId, @RequestBody MenuStockRequest request) {
+        return ResponseEntity.ok(menuStockService.setStock(menuId, request));
+    }
+
+    @Operation(summary = "메뉴 재고 조회", description = "조각 합계와 이 노드의 품절 플래그를 반환합니다.")
+    @GetMapping
+    public ResponseEntity<MenuStockResponse> getStock(@PathVariable Long menuId) {
+        return ResponseEntity.ok(menuStockService.getStock(menuId));
+    }
+
+    @Operation(summary = "메뉴 재고 제한 해제", description = "재고 조각을 삭제해 수량 제한 없이 판매합니다.")
+    @DeleteMapping
+    public ResponseEntity<Void> removeStock(@PathVariable Long menuId) {
+        menuStockService.removeStock(menuId);
+        return ResponseEntity.noContent().build();
+    }
+}
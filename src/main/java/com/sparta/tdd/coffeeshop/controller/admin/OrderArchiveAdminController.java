@@ -0,0 +1,51 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveAggregateResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveSegmentResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/orders/archive")
+@RequiredArgsConstructor
+public class OrderArchiveAdminController {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Operation(summary = "주문 보관 실행", description = "보관 기준보다 오래된 주문을 열 단위 압축 세그먼트 파일로 옮기고 DB에서 삭제합니다.")
+    @PostMapping
+    public ResponseEntity<OrderArchiveResponse> archive() {
+        return ResponseEntity.ok(orderArchiveService.archive());
+    }
+
+    @Operation(summary = "보관 세그먼트 목록", description = "세그먼트 파일별 주문 수, 주문 일시 범위, 포함된 메뉴를 반환합니다.")
+    @GetMapping("/segments")
+    public ResponseEntity<List<OrderArchiveSegmentResponse>> segments() {
+        return ResponseEntity.ok(orderArchiveService.getSegments());
+    }
+
+    @Operation(summary = "보관 주문 집계", description = "보관된 주문을 [from, to) 기간, 메뉴별로 집계합니다. menuId를 주면 해당 메뉴만 집계합니다.")
+    @GetMapping("/aggregate")
+    public ResponseEntity<OrderArchiveAggregateResponse> aggregate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long menuId) {
+        return ResponseEntity.ok(orderArchiveService.aggregate(from, to, menuId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionManager;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/orders/partitions")
+@RequiredArgsConstructor
+public class OrderPartitionAdminController {
+
+    private final OrderPartitionManager orderPartitionManager;
+
+    @Operation(summary = "주문 파티션 점검", description = "현재 orders 파티션과 다음 관리 때 실행할 DDL을 반환합니다. (실행하지 않음)")
+    @GetMapping
+    public ResponseEntity<OrderPartitionResponse> inspect() {
+        return ResponseEntity.ok(orderPartitionManager.inspect());
+    }
+
+    @Operation(summary = "주문 파티션 관리 실행", description = "앞으로 쓸 월 파티션을 만들고 보관 기간이 지난 파티션(파티션이 없으면 행)을 삭제합니다.")
+    @PostMapping
+    public ResponseEntity<OrderPartitionResponse> run() {
+        return ResponseEntity.ok(orderPartitionManager.run());
+    }
+}
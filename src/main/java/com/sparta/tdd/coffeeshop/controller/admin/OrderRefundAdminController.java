@@ -0,0 +1,30 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderBulkRefundRequest;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderBulkRefundResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderRefundService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/orders")
+@RequiredArgsConstructor
+public class OrderRefundAdminController {
+
+    private final OrderRefundService orderRefundService;
+
+    @Operation(summary = "주문 대량 환불", description = "장애 보상 등으로 여러 주문을 한 번에 환불합니다. 포인트 복원은 사용자별로 합산되어 배치 단위로 반영됩니다.")
+    @PostMapping("/refund")
+    public ResponseEntity<OrderBulkRefundResponse> refundAll(@RequestBody OrderBulkRefundRequest request) {
+        return ResponseEntity.ok(orderRefundService.refundAll(request.getOrderIds()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.sparta.tdd.coffeeshop.controller.admin;
+
+import com.sparta.tdd.coffeeshop.domain.user.dto.UserOrderStatsRebuildResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserOrderStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 API", description = "운영 진단용 조회 API")
+@RestController
+@RequestMapping("/api/admin/user-stats")
+@RequiredArgsConstructor
+public class UserStatsAdminController {
+
+    private final UserOrderStatsService userOrderStatsService;
+
+    @Operation(summary = "사용자 주문 통계 재구축", description = "orders 이력을 userId 범위 파티션으로 나누어 병렬 집계해 읽기 모델을 다시 채웁니다. 완료될 때까지 기다립니다.")
+    @PostMapping("/rebuild")
+    public ResponseEntity<UserOrderStatsRebuildResponse> rebuild(@RequestParam(required = false) Integer partitions) {
+        return ResponseEntity.ok(userOrderStatsService.rebuild(partitions));
+    }
+}
@@ -1,5 +1,7 @@
 package com.sparta.tdd.coffeeshop.controller.domain;
 
+import com.sparta.tdd.coffeeshop.cmmn.fixture.FixtureResetResponse;
+import com.sparta.tdd.coffeeshop.cmmn.fixture.FixtureResetService;
 import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuResponse;
 import com.sparta.tdd.coffeeshop.domain.menu.dto.PopularMenuResponse;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
@@ -35,6 +37,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 
+/**
+ * 고정 스레드 풀로 N개의 요청을 한꺼번에 보내는 폐쇄형 동시성 재현용 API입니다.
+ * 응답 지연이 측정에 반영되지 않으므로 용량 산정에는 POST /api/test/load (OpenLoopLoadGenerator)를 사용하세요.
+ */
+@Deprecated
 @RestController
 @RequestMapping("/api/test")
 @RequiredArgsConstructor
@@ -43,6 +50,7 @@ public class ConcurrentTestController {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final FixtureResetService fixtureResetService;
 
     private final RestTemplate restTemplate = new RestTemplate();
 
@@ -59,9 +67,7 @@ public class ConcurrentTestController {
 
         if (resetUserPoint) {
             log.info("테스트 전 사용자 {}의 포인트와 버전을 초기화합니다.", userId);
-            userService.resetUserPointAndVersion(userId);
-            
-            TimeUnit.MILLISECONDS.sleep(100);
+            userService.resetUserPointAndVersion(userId); // 트랜잭션이 커밋된 뒤 반환되므로 기다릴 필요 없음
         }
 
         log.info("동시성 포인트 충전 테스트 시작 - 스레드 수: {}, 사용자: {}, 충전 금액: {}", numberOfThreads, userId, amount);
@@ -149,9 +155,8 @@ public class ConcurrentTestController {
         if (resetOrdersBeforeTest) {
             log.info("테스트 전 모든 사용자 및 주문 내역을 초기화하고 기본 데이터를 생성합니다.");
             try {
-                userService.resetUsersAndOrdersForConcurrentOrderTest();
-                log.info("모든 사용자 및 주문 내역 초기화 완료.");
-                TimeUnit.MILLISECONDS.sleep(500); // DB 반영 시간 확보 (충분히 대기)
+                FixtureResetResponse reset = fixtureResetService.reset(); // TRUNCATE + 배치 INSERT (반환 시점에 이미 반영됨)
+                log.info("모든 사용자 및 주문 내역 초기화 완료: {}ms", reset.getElapsedMillis());
             } catch (Exception e) {
                 log.error("주문 초기화 중 오류 발생: {}", e.getMessage(), e);
                 return "초기화 실패: " + e.getMessage();
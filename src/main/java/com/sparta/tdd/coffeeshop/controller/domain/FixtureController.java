@@ -0,0 +1,46 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import com.sparta.tdd.coffeeshop.cmmn.fixture.FixtureResetResponse;
+import com.sparta.tdd.coffeeshop.cmmn.fixture.FixtureResetService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 테이블을 통째로 비우는 API이므로 coffeeshop.fixtures.enabled=true 일 때만 등록합니다. (개발/테스트 환경 전용)
+ */
+@Tag(name = "테스트 데이터 API", description = "테스트/데모 데이터 초기화, 스냅샷, 복원 (개발/테스트 환경 전용)")
+@RestController
+@ConditionalOnProperty(prefix = "coffeeshop.fixtures", name = "enabled", havingValue = "true")
+@RequestMapping("/api/test/fixtures")
+@RequiredArgsConstructor
+public class FixtureController {
+
+    private final FixtureResetService fixtureResetService;
+
+    @Operation(summary = "테스트 데이터 초기화", description = "사용자/주문/메뉴 테이블을 TRUNCATE하고 기본 사용자와 메뉴를 넣습니다.")
+    @PostMapping("/reset")
+    public ResponseEntity<FixtureResetResponse> reset() {
+        return ResponseEntity.ok(fixtureResetService.reset());
+    }
+
+    @Operation(summary = "테스트 데이터 스냅샷", description = "현재 사용자/주문/메뉴 데이터를 이름을 붙여 메모리에 보관합니다.")
+    @PostMapping("/snapshots/{name}")
+    public ResponseEntity<FixtureResetResponse> snapshot(@PathVariable String name) {
+        return ResponseEntity.ok(fixtureResetService.snapshot(name));
+    }
+
+    @Operation(summary = "테스트 데이터 복원", description = "스냅샷 시점의 데이터로 되돌립니다.")
+    @PostMapping("/snapshots/{name}/restore")
+    public ResponseEntity<FixtureResetResponse> restore(@PathVariable String name) {
+        return ResponseEntity.ok(fixtureResetService.restore(name));
+    }
+}
@@ -0,0 +1,31 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import com.sparta.tdd.coffeeshop.cmmn.loadtest.LoadTestReport;
+import com.sparta.tdd.coffeeshop.cmmn.loadtest.LoadTestRequest;
+import com.sparta.tdd.coffeeshop.cmmn.loadtest.OpenLoopLoadGenerator;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "부하 테스트 API", description = "개방형 부하 생성 및 지연 시간 분포 측정 (개발/테스트 환경 전용)")
+@RestController
+@RequestMapping("/api/test")
+@RequiredArgsConstructor
+public class LoadTestController {
+
+    private final OpenLoopLoadGenerator openLoopLoadGenerator;
+
+    @Operation(summary = "개방형 부하 테스트", description = "목표 rps로 충전/주문/메뉴 API에 요청을 보내고 엔드포인트별 p50/p90/p99/p999와 처리량을 반환합니다.")
+    @PostMapping("/load")
+    public ResponseEntity<LoadTestReport> runLoadTest(@Valid @RequestBody LoadTestRequest request) {
+        return ResponseEntity.ok(openLoopLoadGenerator.run(request));
+    }
+}
@@ -2,13 +2,22 @@ package com.sparta.tdd.coffeeshop.controller.domain;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sparta.tdd.coffeeshop.cmmn.datasource.UserRoutingContext;
+import com.sparta.tdd.coffeeshop.cmmn.ratelimit.RateLimited;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleTicketResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderIntakeResponse;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.FlashSaleService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeService;
 import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
 
 @RestController // 이 어노테이션이 있어야 컨트롤러로 인식됩니다.
@@ -17,10 +26,44 @@ import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final FlashSaleService flashSaleService;
 
     @PostMapping("/orders") // POST 요청, 
-    public ResponseEntity<OrderResponse> placeOrder(@RequestBody OrderRequest request) {
+    @RateLimited("order") // userId/단말별 요청 속도 제한 (coffeeshop.rate-limit.enabled=true 일 때)
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequest request,
+                                        @RequestHeader(value = FlashSaleService.ADMISSION_TOKEN_HEADER, required = false) String admissionToken) {
+        if (flashSaleService.isActive(request.getMenuId())) { // 대기열이 열린 한정 메뉴: 입장권 없이는 줄만 세우고 202로 응답
+            if (admissionToken == null) {
+                return ResponseEntity.accepted().body(flashSaleService.enqueue(request));
+            }
+            // 입장권은 주문이 실제로 반영된 뒤에만 사용 처리되어야 하므로 접수 모드여도 바로 반영
+            return flashSaleService.withAdmission(admissionToken, request, () -> placeNow(request));
+        }
+        return place(request);
+    }
+
+    private ResponseEntity<?> place(OrderRequest request) {
+        if (orderIntakeService.isEnabled()) { // 접수 모드: 로컬 로그에 기록되면 202로 응답, DB 반영은 백그라운드
+            OrderIntakeResponse accepted = orderIntakeService.accept(request);
+            return ResponseEntity.accepted().body(accepted);
+        }
+        return placeNow(request);
+    }
+
+    private ResponseEntity<?> placeNow(OrderRequest request) {
+        UserRoutingContext.set(request.getUserId()); // 커밋 후 이 사용자의 읽기를 잠시 primary로 고정 (읽기/쓰기 라우팅 사용 시)
         OrderResponse response = orderService.placeOrder(request);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/orders/flash-sale/{ticketId}") // 대기열 입장권 상태(순번/예상 대기 시간) 조회
+    public ResponseEntity<FlashSaleTicketResponse> getTicketStatus(@PathVariable String ticketId) {
+        return ResponseEntity.ok(flashSaleService.status(ticketId));
+    }
+
+    @GetMapping("/orders/intake/{intakeId}") // 접수 모드에서 반영 결과 조회
+    public ResponseEntity<OrderIntakeResponse> getIntakeStatus(@PathVariable String intakeId) {
+        return ResponseEntity.ok(orderIntakeService.status(intakeId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderDetailResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderHistoryResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderQueryService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderQueryController {
+
+    private final OrderQueryService orderQueryService;
+
+    // 사용자 주문 내역 (최신순, 프로젝션 조회)
+    @GetMapping
+    public ResponseEntity<OrderHistoryResponse> getHistory(@RequestParam String userId,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderQueryService.getHistory(userId, page, size));
+    }
+
+    // 주문 상세 (기본키 조회)
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderDetailResponse> getOrder(@PathVariable String orderId) {
+        return ResponseEntity.ok(orderQueryService.getOrder(orderId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRefundResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderRefundService;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderRefundController {
+
+    private final OrderRefundService orderRefundService;
+
+    // 처리 전(PENDING) 주문 취소. 포인트는 복원 대기열을 거쳐 일괄 반영됩니다.
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<OrderRefundResponse> cancel(@PathVariable String orderId) {
+        return ResponseEntity.ok(orderRefundService.cancel(orderId));
+    }
+
+    // 완료(COMPLETED) 주문 환불
+    @PostMapping("/{orderId}/refund")
+    public ResponseEntity<OrderRefundResponse> refund(@PathVariable String orderId) {
+        return ResponseEntity.ok(orderRefundService.refund(orderId));
+    }
+}
@@ -0,0 +1,59 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointCreditJobResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointCreditJobService;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/user/points/bulk-credit")
+@RequiredArgsConstructor
+public class PointCreditJobController {
+
+    private final PointCreditJobService pointCreditJobService;
+
+    // 요청 본문을 스트림으로 받는 방식 (text/plain 또는 text/csv, 한 줄에 "userId,amount")
+    @PostMapping(consumes = {MediaType.TEXT_PLAIN_VALUE, "text/csv"})
+    public ResponseEntity<PointCreditJobResponse> submitStream(
+            @RequestParam(required = false) String jobId,
+            @RequestParam(required = false) Integer workers,
+            InputStream body) {
+        PointCreditJobResponse response = pointCreditJobService.submit(jobId, workers, body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    // 파일 업로드 방식 (multipart/form-data, 필드명 file)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PointCreditJobResponse> submitFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String jobId,
+            @RequestParam(required = false) Integer workers) {
+        try (InputStream input = file.getInputStream()) {
+            PointCreditJobResponse response = pointCreditJobService.submit(jobId, workers, input);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "업로드 파일을 읽을 수 없습니다.");
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PointCreditJobResponse> getProgress(@PathVariable String jobId) {
+        return ResponseEntity.ok(pointCreditJobService.getProgress(jobId));
+    }
+}
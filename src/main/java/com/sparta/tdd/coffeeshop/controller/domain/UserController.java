@@ -1,7 +1,10 @@
 package com.sparta.tdd.coffeeshop.controller.domain;
 
+import com.sparta.tdd.coffeeshop.cmmn.datasource.UserRoutingContext;
+import com.sparta.tdd.coffeeshop.cmmn.ratelimit.RateLimited;
 import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeRequest;
 import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointChargeCoalescer;
 import com.sparta.tdd.coffeeshop.domain.user.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -17,10 +20,16 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final PointChargeCoalescer pointChargeCoalescer;
 
     @PostMapping("/points/charge") 
+    @RateLimited("point-charge") // userId/단말별 요청 속도 제한 (coffeeshop.rate-limit.enabled=true 일 때)
     public ResponseEntity<PointChargeResponse> chargePoint(@RequestBody PointChargeRequest request) {
-        PointChargeResponse response = userService.chargePoint(request.getUserId(), request.getAmount());
+        UserRoutingContext.set(request.getUserId()); // 커밋 후 이 사용자의 읽기를 잠시 primary로 고정 (읽기/쓰기 라우팅 사용 시)
+        // 병합 모드에서는 같은 사용자의 동시 충전을 모아 한 번의 UPDATE로 반영
+        PointChargeResponse response = pointChargeCoalescer.isEnabled()
+                ? pointChargeCoalescer.charge(request.getUserId(), request.getAmount())
+                : userService.chargePoint(request.getUserId(), request.getAmount());
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.sparta.tdd.coffeeshop.controller.domain;
+
+import com.sparta.tdd.coffeeshop.domain.user.dto.UserOrderStatsResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserOrderStatsService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserStatsController {
+
+    private final UserOrderStatsService userOrderStatsService;
+
+    // 사용자 주문 통계 (읽기 모델 기본키 조회, orders 집계 없음)
+    @GetMapping("/{userId}/stats")
+    public ResponseEntity<UserOrderStatsResponse> getStats(@PathVariable String userId) {
+        return ResponseEntity.ok(userOrderStatsService.getStats(userId));
+    }
+}
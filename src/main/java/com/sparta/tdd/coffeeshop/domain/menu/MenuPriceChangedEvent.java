@@ -0,0 +1,8 @@
+package com.sparta.tdd.coffeeshop.domain.menu;
+
+/**
+ * 메뉴 가격 버전이 추가되었음을 알립니다. 커밋 후 이 노드의 가격 카탈로그를 즉시 다시 읽는 데 씁니다.
+ * (다른 노드는 MenuPriceCatalog의 주기적 변경 확인으로 반영)
+ */
+public record MenuPriceChangedEvent(Long menuId) {
+}
@@ -0,0 +1,49 @@
+package com.sparta.tdd.coffeeshop.domain.menu;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메뉴 가격 버전. effective_from부터 다음 버전 전까지 적용됩니다. (버전이 없는 메뉴는 menu.price)
+ * 이력이므로 수정하지 않고, 가격을 바꾸거나 예약한 변경을 되돌릴 때도 새 버전을 추가합니다.
+ * 같은 시각에 적용되는 버전이 여러 개면 나중에 추가된(id가 큰) 버전이 우선합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "menu_price_version", indexes = @Index(name = "idx_menu_price_version_menu", columnList = "menu_id, effective_from"))
+public class MenuPriceVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_id", nullable = false, updatable = false)
+    private Long menuId;
+
+    @Column(nullable = false, updatable = false)
+    private int price;
+
+    @Column(name = "effective_from", nullable = false, updatable = false)
+    private LocalDateTime effectiveFrom;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public MenuPriceVersion(Long menuId, int price, LocalDateTime effectiveFrom) {
+        this.menuId = menuId;
+        this.price = price;
+        this.effectiveFrom = effectiveFrom;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,38 @@
+package com.sparta.tdd.coffeeshop.domain.menu;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한정 수량 메뉴의 재고 조각. 메뉴 재고를 shard_no별 여러 행에 나누어 두어, 동시 주문이 서로 다른 행을 잠그게 합니다.
+ * 메뉴의 남은 재고 = 조각 quantity의 합. 조각 행이 없는 메뉴는 재고 제한이 없습니다.
+ * 행 변경은 MenuStockService가 JDBC로 직접 하므로 이 엔티티는 스키마 정의용입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "menu_stock_shard",
+       uniqueConstraints = @UniqueConstraint(name = "uk_menu_stock_shard", columnNames = {"menu_id", "shard_no"}))
+public class MenuStockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "menu_id", nullable = false, updatable = false)
+    private Long menuId;
+
+    @Column(name = "shard_no", nullable = false, updatable = false)
+    private int shardNo;
+
+    @Column(nullable = false)
+    private long quantity;
+}
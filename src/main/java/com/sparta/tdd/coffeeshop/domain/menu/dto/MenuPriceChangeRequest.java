@@ -0,0 +1,18 @@
+package com.sparta.tdd.coffeeshop.domain.menu.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class MenuPriceChangeRequest {
+    private int price;
+    private LocalDateTime effectiveFrom; // 적용 시각. 비우면 즉시 적용
+
+    public MenuPriceChangeRequest(int price, LocalDateTime effectiveFrom) {
+        this.price = price;
+        this.effectiveFrom = effectiveFrom;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sparta.tdd.coffeeshop.domain.menu.dto;
+
+import java.time.LocalDateTime;
+
+import com.sparta.tdd.coffeeshop.domain.menu.MenuPriceVersion;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MenuPriceVersionResponse {
+    private Long id;
+    private Long menuId;
+    private int price;
+    private LocalDateTime effectiveFrom;
+    private LocalDateTime createdAt;
+
+    public static MenuPriceVersionResponse from(MenuPriceVersion version) {
+        return MenuPriceVersionResponse.builder()
+                .id(version.getId())
+                .menuId(version.getMenuId())
+                .price(version.getPrice())
+                .effectiveFrom(version.getEffectiveFrom())
+                .createdAt(version.getCreatedAt())
+                .build();
+    }
+}
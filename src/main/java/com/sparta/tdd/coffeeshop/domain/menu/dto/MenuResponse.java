@@ -14,10 +14,15 @@ public class MenuResponse {
 
     // Menu 엔티티로부터 MenuResponse 객체를 생성하는 팩토리 메서드
     public static MenuResponse from(Menu menu) {
+        return from(menu, menu.getPrice());
+    }
+
+    // 가격 버전이 적용된 현재 가격으로 응답할 때
+    public static MenuResponse from(Menu menu, int currentPrice) {
         return MenuResponse.builder()
                 .id(menu.getId())
                 .menuName(menu.getName())
-                .price(menu.getPrice())
+                .price(currentPrice)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sparta.tdd.coffeeshop.domain.menu.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class MenuStockRequest {
+    private long quantity; // 남은 재고로 설정할 수량 (추가가 아니라 덮어쓰기)
+    private Integer shards; // 재고를 나눌 행 수. 비우면 coffeeshop.menu.stock.default-shards
+
+    public MenuStockRequest(long quantity, Integer shards) {
+        this.quantity = quantity;
+        this.shards = shards;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sparta.tdd.coffeeshop.domain.menu.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MenuStockResponse {
+    private Long menuId;
+    private boolean limited;  // false면 재고 제한 없음
+    private long remaining;   // 조각 합계
+    private int shards;
+    private boolean soldOut;  // 이 노드의 품절 플래그
+}
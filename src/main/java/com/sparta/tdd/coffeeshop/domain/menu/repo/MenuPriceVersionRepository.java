@@ -0,0 +1,13 @@
+package com.sparta.tdd.coffeeshop.domain.menu.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.sparta.tdd.coffeeshop.domain.menu.MenuPriceVersion;
+
+public interface MenuPriceVersionRepository extends JpaRepository<MenuPriceVersion, Long> {
+
+    // 관리자 조회용 가격 이력 (최신 적용 시각순)
+    List<MenuPriceVersion> findByMenuIdOrderByEffectiveFromDescIdDesc(Long menuId);
+}
@@ -18,16 +18,20 @@ public interface MenuRepository extends JpaRepository<Menu, Long>{
 	/**
 	 * 최근 7일간 가장 인기 있는 메뉴 상위 N개를 조회합니다.
 	 * 메뉴별 주문 횟수, 이름, 가격을 PopularMenuProjection 형태로 반환합니다.
+	 * menu와 조인하지 않고 orders의 스냅샷 컬럼만 집계하며, 필요한 컬럼이 모두 idx_orders_date_menu에 있어 인덱스만 읽습니다.
+	 * 이름/가격은 주문 시점 값의 최댓값이라 현재 값과 다를 수 있으므로, MenuService가 상위 메뉴만 현재 값으로 바꿔 표시합니다.
+	 * (여기서는 menu 행이 없어졌을 때의 대체값으로만 쓰입니다.)
+	 * order_date 조건이 컬럼 그대로의 범위 비교이므로 orders가 월 단위로 파티션된 경우 최근 파티션만 읽습니다.
 	 *
 	 * @param sevenDaysAgo 현재로부터 7일 전의 기준 시간
 	 * @param pageable 상위 N개 (예: 3개)를 제한하기 위한 Pageable 객체
 	 * @return PopularMenuProjection 객체의 리스트
 	 */
-	@Query(value = "SELECT m.id AS id, m.name AS menuName, m.price AS price, COUNT(o.order_id) AS orderCount " + // SQL 컬럼명 사용
-            "FROM orders o JOIN menu m ON o.menu_id = m.id " + // 실제 테이블명과 컬럼명 사용
+	@Query(value = "SELECT o.menu_id AS id, MAX(o.menu_name) AS menuName, MAX(o.unit_price) AS price, COUNT(*) AS orderCount " +
+            "FROM orders o " +
             "WHERE o.order_date >= :sevenDaysAgo " +
-            "GROUP BY m.id, m.name, m.price " +
-            "ORDER BY COUNT(o.order_id) DESC, m.id ASC", nativeQuery = true)  // JPQL 대신 네이티브 SQL 쿼리 사용
+            "GROUP BY o.menu_id " +
+            "ORDER BY COUNT(*) DESC, o.menu_id ASC", nativeQuery = true)  // JPQL 대신 네이티브 SQL 쿼리 사용
 	List<PopularMenuProjection> findPopularMenuProjectionsInLast7Days(
 	     @Param("sevenDaysAgo") LocalDateTime sevenDaysAgo,
 	     Pageable pageable
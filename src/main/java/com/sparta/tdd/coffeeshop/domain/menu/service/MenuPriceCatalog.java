@@ -0,0 +1,197 @@
+package com.sparta.tdd.coffeeshop.domain.menu.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sparta.tdd.coffeeshop.domain.menu.MenuPriceChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메뉴 가격 버전(menu_price_version)을 메모리에 올려 두고 주문 시점 가격을 DB 조회 없이 계산합니다.
+ *
+ * - 메뉴별로 적용 시각순 배열(타임라인)을 두고 이진 탐색합니다. 예약된 변경도 미리 올라와 있으므로 적용 시각이 되면 그대로 바뀝니다.
+ * - 무효화: 이 노드에서 버전을 추가하면 커밋 직후(MenuPriceChangedEvent) 다시 읽고,
+ *   다른 노드에서 추가한 버전은 refreshMillis마다 (건수, 최대 id)를 비교해 바뀌었을 때만 다시 읽습니다.
+ *   따라서 가격 변경은 최대 refreshMillis 안에 모든 노드에 반영됩니다.
+ * - 다시 읽기는 새 맵을 만든 뒤 참조만 바꾸므로 조회 스레드는 락 없이 읽습니다. 읽기에 실패하면 이전 카탈로그를 계속 씁니다.
+ */
+@Slf4j
+@Component
+public class MenuPriceCatalog implements SmartLifecycle {
+
+    // 한 메뉴의 가격 타임라인. effectiveFrom 오름차순 (같은 시각이면 id 오름차순)
+    private record Timeline(LocalDateTime[] effectiveFrom, int[] prices) {
+
+        OptionalInt priceAt(LocalDateTime at) {
+            int low = 0;
+            int high = effectiveFrom.length - 1;
+            int found = -1;
+            while (low <= high) { // at 이전(포함)에 적용된 마지막 버전
+                int mid = (low + high) >>> 1;
+                if (effectiveFrom[mid].isAfter(at)) {
+                    high = mid - 1;
+                } else {
+                    found = mid;
+                    low = mid + 1;
+                }
+            }
+            return found < 0 ? OptionalInt.empty() : OptionalInt.of(prices[found]);
+        }
+    }
+
+    private record Signature(long count, long maxId) {
+    }
+
+    private record VersionRow(LocalDateTime effectiveFrom, int price) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuPriceProperties properties;
+    private final Counter reloads;
+
+    private volatile Map<Long, Timeline> timelines = Map.of();
+    private volatile Signature loaded;
+    private volatile long lastCheckedMillis = System.currentTimeMillis();
+
+    private Thread refresher;
+    private volatile boolean running;
+
+    public MenuPriceCatalog(JdbcTemplate jdbcTemplate, MenuPriceProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.reloads = meterRegistry.counter("coffeeshop.menu.price.catalog.reloads");
+        Gauge.builder("coffeeshop.menu.price.catalog.age", () -> (System.currentTimeMillis() - lastCheckedMillis) / 1000.0)
+                .description("마지막으로 가격 버전 변경을 확인한 뒤 지난 시간(초)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 지정 시각에 적용되는 가격. 가격 버전이 없는 메뉴(또는 그 시각 이전 버전이 없으면)는 비어 있으며, 이때는 menu.price를 씁니다.
+     */
+    public OptionalInt priceAt(Long menuId, LocalDateTime at) {
+        Timeline timeline = timelines.get(menuId);
+        return timeline == null ? OptionalInt.empty() : timeline.priceAt(at);
+    }
+
+    public OptionalInt currentPrice(Long menuId) {
+        return priceAt(menuId, LocalDateTime.now());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPriceChanged(MenuPriceChangedEvent event) {
+        try {
+            reload();
+        } catch (Exception e) { // 커밋된 요청을 실패시키지 않음. 다음 주기 확인에서 다시 읽음
+            log.warn("가격 카탈로그 즉시 갱신 실패: menuId={}", event.menuId(), e);
+        }
+    }
+
+    /**
+     * 가격 버전이 바뀌었으면 다시 읽습니다.
+     * @return 다시 읽었으면 true
+     */
+    public boolean refreshIfChanged() {
+        Signature current = readSignature();
+        lastCheckedMillis = System.currentTimeMillis();
+        if (current.equals(loaded)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * 가격 버전 전체를 다시 읽어 카탈로그를 교체합니다.
+     */
+    public synchronized void reload() {
+        Signature signature = readSignature(); // 읽기 전에 확인: 그 사이 추가된 버전은 다음 확인에서 다시 읽힘
+        Map<Long, List<VersionRow>> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT menu_id, price, effective_from FROM menu_price_version ORDER BY menu_id, effective_from, id",
+                rs -> {
+                    rows.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                            .add(new VersionRow(rs.getTimestamp(3).toLocalDateTime(), rs.getInt(2)));
+                });
+        Map<Long, Timeline> next = new HashMap<>(rows.size() * 2);
+        rows.forEach((menuId, versions) -> {
+            LocalDateTime[] from = new LocalDateTime[versions.size()];
+            int[] prices = new int[versions.size()];
+            for (int i = 0; i < versions.size(); i++) {
+                from[i] = versions.get(i).effectiveFrom();
+                prices[i] = versions.get(i).price();
+            }
+            next.put(menuId, new Timeline(from, prices));
+        });
+        timelines = next;
+        loaded = signature;
+        lastCheckedMillis = System.currentTimeMillis();
+        reloads.increment();
+        log.info("메뉴 가격 카탈로그 적재: 메뉴 {}개, 버전 {}개", next.size(), signature.count());
+    }
+
+    private Signature readSignature() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), COALESCE(MAX(id), 0) FROM menu_price_version",
+                (rs, rowNum) -> new Signature(rs.getLong(1), rs.getLong(2)));
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Thread.sleep(Math.max(10, properties.getRefreshMillis()));
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                refreshIfChanged();
+            } catch (Exception e) {
+                log.warn("가격 버전 변경 확인 실패. 이전 카탈로그를 계속 사용합니다: {}", e.getMessage());
+            }
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("가격 카탈로그 초기 적재 실패. 버전이 없는 것으로 보고 주기 확인에서 다시 시도합니다: {}", e.getMessage());
+        }
+        running = true;
+        refresher = new Thread(this::runLoop, "menu-price-catalog");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.interrupt(); // 대기 중인 sleep만 깨움 (트랜잭션 없음)
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0; // 주문 처리 백그라운드 작업(phase 1)보다 먼저 적재
+    }
+}
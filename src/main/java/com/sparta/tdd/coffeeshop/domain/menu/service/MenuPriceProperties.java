@@ -0,0 +1,19 @@
+package com.sparta.tdd.coffeeshop.domain.menu.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 메뉴 가격 카탈로그 설정 (coffeeshop.menu.price.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.menu.price")
+public class MenuPriceProperties {
+
+    // 다른 노드에서 추가된 가격 버전을 확인하는 주기 (밀리초). 가격 변경이 모든 노드에 반영되기까지의 최대 지연입니다.
+    // 예약 변경(effectiveFrom이 이 주기보다 뒤)은 미리 적재되므로 모든 노드에서 정확히 그 시각에 바뀝니다.
+    private long refreshMillis = 1000;
+}
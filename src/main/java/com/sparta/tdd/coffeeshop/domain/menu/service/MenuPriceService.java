@@ -0,0 +1,68 @@
+package com.sparta.tdd.coffeeshop.domain.menu.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.MenuPriceChangedEvent;
+import com.sparta.tdd.coffeeshop.domain.menu.MenuPriceVersion;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuPriceChangeRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuPriceVersionResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuPriceVersionRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메뉴 가격 변경(가격 버전 추가)과 이력 조회. 주문 경로의 가격 계산은 MenuPriceCatalog가 메모리에서 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPriceService {
+
+    private final MenuRepository menuRepository;
+    private final MenuPriceVersionRepository menuPriceVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 가격 버전을 추가합니다. effectiveFrom이 없으면 즉시 적용됩니다.
+     *
+     * @throws CustomException 메뉴가 없거나(MENU_NOT_FOUND) 가격이 0 이하이거나 적용 시각이 과거일 때(INVALID_INPUT)
+     */
+    @Transactional
+    public MenuPriceVersionResponse changePrice(Long menuId, MenuPriceChangeRequest request) {
+        if (!menuRepository.existsById(menuId)) {
+            throw new CustomException(ErrorCode.MENU_NOT_FOUND, "메뉴를 찾을 수 없습니다.");
+        }
+        if (request.getPrice() <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "가격은 0보다 커야 합니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime effectiveFrom = request.getEffectiveFrom() != null ? request.getEffectiveFrom() : now;
+        if (effectiveFrom.isBefore(now)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "적용 시각은 현재 이후여야 합니다. (가격 이력은 바꿀 수 없습니다)");
+        }
+
+        MenuPriceVersion version = menuPriceVersionRepository.save(new MenuPriceVersion(menuId, request.getPrice(), effectiveFrom));
+        eventPublisher.publishEvent(new MenuPriceChangedEvent(menuId)); // 커밋 후 이 노드의 카탈로그 즉시 갱신
+        log.info("메뉴 가격 버전 추가: menuId={}, price={}, effectiveFrom={}", menuId, request.getPrice(), effectiveFrom);
+        return MenuPriceVersionResponse.from(version);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MenuPriceVersionResponse> getPriceHistory(Long menuId) {
+        if (!menuRepository.existsById(menuId)) {
+            throw new CustomException(ErrorCode.MENU_NOT_FOUND, "메뉴를 찾을 수 없습니다.");
+        }
+        return menuPriceVersionRepository.findByMenuIdOrderByEffectiveFromDescIdDesc(menuId).stream()
+                .map(MenuPriceVersionResponse::from)
+                .toList();
+    }
+}
@@ -4,14 +4,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // Logback 사용을 위한 Slf4j 임포트
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors; // Collectors 임포트
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort; // Sort 임포트
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
 import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
 import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
 import com.sparta.tdd.coffeeshop.domain.menu.Menu;
@@ -26,6 +31,8 @@ import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
 public class MenuService {
 
     private final MenuRepository menuRepository;    
+    private final MenuPriceCatalog menuPriceCatalog; // 가격 버전이 적용된 현재 가격
+    private final ShardRouter shardRouter; // 샤딩을 켜면 인기 메뉴는 모든 샤드의 집계를 합침
     
     /**
      * 초기 메뉴 데이터를 DB에 삽입합니다.
@@ -55,7 +62,7 @@ public class MenuService {
         log.info("모든 메뉴 조회 서비스 시작.");
         List<Menu> menus = menuRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
         return menus.stream()
-                    .map(MenuResponse::from) // MenuResponse DTO의 from 팩토리 메서드 사용
+                    .map(this::toResponse) // 현재 적용 중인 가격으로 변환
                     .collect(Collectors.toList());
     }
     
@@ -72,7 +79,7 @@ public class MenuService {
         // menuRepository를 사용하여 ID로 메뉴를 찾습니다.
         // Optional이 비어있으면 CustomException을 발생시킵니다.
         MenuResponse menu = menuRepository.findById(id)    
-        		.map(MenuResponse::from) // 찾은 Menu 엔티티를 MenuResponse 팩토리 메서드를 사용하여 DTO로 변환
+        		.map(this::toResponse) // 찾은 Menu 엔티티를 현재 가격의 MenuResponse DTO로 변환
                 .orElseThrow(() -> {
                     log.error("메뉴를 찾을 수 없음: menuId={}", id);
                     return new CustomException(ErrorCode.MENU_NOT_FOUND, "메뉴를 찾을 수 없습니다.");
@@ -87,6 +94,9 @@ public class MenuService {
     public List<PopularMenuResponse> getPopularMenus() {
         log.info("인기 메뉴 조회 요청 시작.");
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+        if (shardRouter.isEnabled()) {
+            return getPopularMenusFromAllShards(sevenDaysAgo);
+        }
 
         // MenuRepository의 JPQL 쿼리에서 이미 정렬을 처리하므로, PageRequest에 Sort를 명시할 필요 없습니다.
         List<PopularMenuResponse.PopularMenuProjection> projections =
@@ -100,8 +110,69 @@ public class MenuService {
             return List.of(); // 빈 리스트 반환
         }
 
-        return projections.stream()
+        return withCurrentMenu(projections.stream()
                 .map(PopularMenuResponse::from)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 집계 결과의 이름/가격을 현재 값(menu 행, 가격 카탈로그)으로 바꿉니다.
+     * 주문 스냅샷의 MAX는 기간 중 가장 큰 값이라 가격이 내린 메뉴도 예전 가격으로 보이므로, 표시는 현재 값을 씁니다.
+     * 상위 몇 개만 기본 키로 읽으므로 집계 쿼리는 그대로 인덱스만 읽습니다. (menu 행이 없으면 스냅샷 값 유지)
+     */
+    private List<PopularMenuResponse> withCurrentMenu(List<PopularMenuResponse> popular) {
+        Map<Long, Menu> menus = menuRepository.findAllById(popular.stream().map(PopularMenuResponse::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Menu::getId, menu -> menu));
+        return popular.stream()
+                .map(p -> {
+                    Menu menu = menus.get(p.getId());
+                    if (menu == null) {
+                        return p;
+                    }
+                    return PopularMenuResponse.builder()
+                            .id(p.getId())
+                            .menuName(menu.getName())
+                            .price(menuPriceCatalog.currentPrice(menu.getId()).orElse(menu.getPrice()))
+                            .orderCount(p.getOrderCount())
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * 샤드마다 메뉴별 주문 수 전체를 동시에 집계하고 합쳐 상위 3개를 고릅니다.
+     * 샤드별 상위 3개만 합치면 모든 샤드에서 4위인 메뉴가 빠질 수 있으므로 잘라내지 않고 받습니다. (메뉴 수만큼의 행)
+     */
+    private List<PopularMenuResponse> getPopularMenusFromAllShards(LocalDateTime since) {
+        Map<Long, PopularMenuResponse> merged = new HashMap<>();
+        for (List<PopularMenuResponse.PopularMenuProjection> shard : shardRouter.scatter(
+                shard -> menuRepository.findPopularMenuProjectionsInLast7Days(since, Pageable.unpaged()))) {
+            for (PopularMenuResponse.PopularMenuProjection projection : shard) {
+                merged.merge(projection.getId(), PopularMenuResponse.from(projection), (a, b) -> PopularMenuResponse.builder()
+                        .id(a.getId())
+                        .menuName(maxName(a.getMenuName(), b.getMenuName())) // 단일 DB 쿼리와 같은 MAX
+                        .price(Math.max(a.getPrice(), b.getPrice()))
+                        .orderCount(a.getOrderCount() + b.getOrderCount())
+                        .build());
+            }
+        }
+        return withCurrentMenu(merged.values().stream()
+                .sorted(Comparator.comparing(PopularMenuResponse::getOrderCount).reversed()
+                        .thenComparing(PopularMenuResponse::getId))
+                .limit(3)
+                .collect(Collectors.toList()));
+    }
+
+    // SQL MAX와 같이 null은 무시
+    private static String maxName(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private MenuResponse toResponse(Menu menu) {
+        return MenuResponse.from(menu, menuPriceCatalog.currentPrice(menu.getId()).orElse(menu.getPrice()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.sparta.tdd.coffeeshop.domain.menu.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 한정 수량 메뉴 재고 설정 (coffeeshop.menu.stock.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.menu.stock")
+public class MenuStockProperties {
+
+    // 재고를 나눌 기본 행 수. 동시에 재고를 차감할 수 있는 주문 트랜잭션 수의 상한이 됩니다.
+    private int defaultShards = 8;
+
+    private int maxShards = 64;
+
+    // 다른 노드의 재고 설정/품절/재입고를 확인하는 주기 (밀리초)
+    private long refreshMillis = 1000;
+}
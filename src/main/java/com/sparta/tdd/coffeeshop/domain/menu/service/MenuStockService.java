@@ -0,0 +1,340 @@
+package com.sparta.tdd.coffeeshop.domain.menu.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardContext;
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한정 수량 메뉴 재고 (menu_stock_shard).
+ *
+ * - 차감: 주문 트랜잭션 안에서 임의의 조각 하나를 "quantity >= 주문 수량" 조건으로 UPDATE합니다. 조각이 N개면 동시에 N개 주문이
+ *   서로 다른 행을 잠그므로, 재고 행 하나가 출시 시점의 가장 뜨거운 행이 되지 않습니다. 주문이 롤백되면 차감도 함께 롤백됩니다.
+ * - 재분배: 고른 조각이 모자라면 다른 주문이 잠그지 않은 조각을 모두 잠가(SKIP LOCKED) 그 합계를 고르게 다시 나눈 뒤 차감합니다.
+ *   (재고가 거의 떨어졌을 때만 일어남) 남은 재고가 다른 주문이 잠근 조각에만 있으면 CONCURRENCY_FAILURE로 재시도를 요청합니다.
+ * - 품절 플래그: 합계가 0인 것을 확인하면 메모리에 표시하고, 이후 주문은 DB에 닿기 전에 거절합니다.
+ *   다른 노드의 품절/재입고/재고 설정은 refreshMillis마다 조각 합계를 읽어 반영합니다.
+ * - 조각 행이 없는 메뉴는 재고 제한이 없으며 DB를 조회하지 않습니다. 따라서 처음 재고를 설정한 메뉴는 최대 refreshMillis 뒤부터
+ *   모든 노드에서 제한되므로, 한정 메뉴는 판매 시작 전에 재고를 설정하세요.
+ * - 샤딩(ShardRouter)을 켜면 재고를 DB 샤드마다 나눠(합계 = 설정한 재고) 각 샤드의 조각 행에 둡니다. 주문은 사용자 샤드의
+ *   트랜잭션 안에서 그 샤드의 몫만 차감하므로 샤드를 넘나들지 않고, 전체 판매량도 재고를 넘지 않습니다.
+ *   대신 한 샤드의 몫이 먼저 떨어지면 그 샤드 사용자는 다른 샤드에 재고가 남아 있어도 MENU_SOLD_OUT을 받습니다.
+ *   품절 플래그도 샤드마다 따로 두며, isSoldOut은 모든 샤드가 품절일 때만 true입니다.
+ */
+@Slf4j
+@Service
+public class MenuStockService implements SmartLifecycle {
+
+    // 이 노드가 알고 있는 한정 메뉴의 조각 수와 품절 여부
+    private record MenuStock(int shards, boolean soldOut) {
+    }
+
+    private record Shard(int shardNo, long quantity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MenuRepository menuRepository;
+    private final MenuStockProperties properties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter soldOutRejections;
+    private final Counter rebalances;
+
+    private volatile List<Map<Long, MenuStock>> stocksByShard; // DB 샤드 번호 순서
+
+    private Thread refresher;
+    private volatile boolean running;
+
+    public MenuStockService(JdbcTemplate jdbcTemplate, MenuRepository menuRepository, MenuStockProperties properties,
+                            ShardRouter shardRouter, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.menuRepository = menuRepository;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        List<Map<Long, MenuStock>> empty = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            empty.add(new ConcurrentHashMap<>());
+        }
+        this.stocksByShard = List.copyOf(empty);
+        this.soldOutRejections = meterRegistry.counter("coffeeshop.menu.stock.soldout.rejected");
+        this.rebalances = meterRegistry.counter("coffeeshop.menu.stock.rebalances");
+    }
+
+    // 현재 스레드가 쓰는 DB 샤드(샤딩을 끄면 0번)의 한정 메뉴 상태
+    private Map<Long, MenuStock> stocks() {
+        Integer shard = ShardContext.get();
+        return stocksByShard.get(shard == null ? 0 : shard);
+    }
+
+    /**
+     * 현재 샤드의 재고가 품절 표시된 메뉴면 바로 거절합니다. (메모리 확인만 하므로 주문 처리 맨 앞에서 호출)
+     */
+    public void checkNotSoldOut(Long menuId) {
+        MenuStock stock = stocks().get(menuId);
+        if (stock != null && stock.soldOut()) {
+            soldOutRejections.increment();
+            throw new CustomException(ErrorCode.MENU_SOLD_OUT, "품절된 메뉴입니다.");
+        }
+    }
+
+    /**
+     * 모든 샤드에서 품절이 확인된 메뉴면 true
+     */
+    public boolean isSoldOut(Long menuId) {
+        for (Map<Long, MenuStock> stocks : stocksByShard) {
+            MenuStock stock = stocks.get(menuId);
+            if (stock == null || !stock.soldOut()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 주문 트랜잭션 안에서 재고를 차감합니다. 재고 제한이 없는 메뉴는 아무것도 하지 않습니다.
+     *
+     * @throws CustomException 재고가 부족할 때(MENU_SOLD_OUT), 재분배 중 락 충돌(CONCURRENCY_FAILURE)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrement(Long menuId, int quantity) {
+        MenuStock stock = stocks().get(menuId);
+        if (stock == null) {
+            return;
+        }
+        checkNotSoldOut(menuId);
+        try {
+            int shardNo = ThreadLocalRandom.current().nextInt(stock.shards());
+            int updated = jdbcTemplate.update("UPDATE menu_stock_shard SET quantity = quantity - ? "
+                    + "WHERE menu_id = ? AND shard_no = ? AND quantity >= ?", quantity, menuId, shardNo, quantity);
+            if (updated == 0) {
+                rebalanceAndDecrement(menuId, quantity);
+            }
+        } catch (PessimisticLockingFailureException e) { // 락 대기 시간 초과 등
+            log.warn("재고 차감 중 락 충돌: menuId={}", menuId);
+            throw new CustomException(ErrorCode.CONCURRENCY_FAILURE, "재고 처리 중 동시성 충돌이 발생했습니다. 다시 시도해주세요.");
+        }
+    }
+
+    // 고른 조각이 모자랄 때. 다른 트랜잭션이 잠근 조각은 건너뛰고(SKIP LOCKED) 잠글 수 있는 조각끼리 재분배합니다.
+    // 여기서 락을 기다리지 않으므로, 먼저 잠근 조각을 쥔 채 서로의 조각을 기다리는 교착이 생기지 않습니다.
+    private void rebalanceAndDecrement(Long menuId, int quantity) {
+        List<Shard> lockable = jdbcTemplate.query(
+                "SELECT shard_no, quantity FROM menu_stock_shard WHERE menu_id = ? ORDER BY shard_no FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new Shard(rs.getInt(1), rs.getLong(2)), menuId);
+        long lockableTotal = lockable.stream().mapToLong(Shard::quantity).sum();
+        if (!lockable.isEmpty() && lockableTotal >= quantity) {
+            redistribute(menuId, lockable, lockableTotal - quantity);
+            rebalances.increment();
+            log.debug("재고 조각 재분배: menuId={}, shards={}, remaining={}", menuId, lockable.size(), lockableTotal - quantity);
+            return;
+        }
+
+        Map<String, Object> committed = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS shards, COALESCE(SUM(quantity), 0) AS remaining FROM menu_stock_shard WHERE menu_id = ?", menuId);
+        int shardCount = ((Number) committed.get("shards")).intValue();
+        long remaining = ((Number) committed.get("remaining")).longValue();
+        if (shardCount == 0) { // 다른 노드에서 재고 제한을 해제함
+            stocks().remove(menuId);
+            return;
+        }
+        if (remaining >= quantity) { // 남은 재고가 다른 주문이 잠근 조각에만 있음 (품절 직전 경합)
+            throw new CustomException(ErrorCode.CONCURRENCY_FAILURE, "재고 처리 중 동시성 충돌이 발생했습니다. 다시 시도해주세요.");
+        }
+        if (lockable.size() == shardCount && lockableTotal == 0) { // 모든 조각을 잠근 상태에서 확인한 품절
+            stocks().put(menuId, new MenuStock(shardCount, true));
+            log.info("메뉴 품절: menuId={}", menuId);
+        }
+        throw new CustomException(ErrorCode.MENU_SOLD_OUT, "메뉴 재고가 부족합니다. 남은 수량: " + remaining);
+    }
+
+    private void redistribute(Long menuId, List<Shard> shards, long remaining) {
+        List<Object[]> args = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            args.add(new Object[]{share(remaining, shards.size(), i), menuId, shards.get(i).shardNo()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE menu_stock_shard SET quantity = ? WHERE menu_id = ? AND shard_no = ?", args);
+    }
+
+    // 남은 수량을 count개 조각에 고르게 나눌 때 index번째 조각의 몫 (앞쪽 조각에 나머지 1씩)
+    private static long share(long remaining, int count, int index) {
+        return remaining / count + (index < remaining % count ? 1 : 0);
+    }
+
+    private void insertShards(Long menuId, int shardCount, long quantity) {
+        List<Object[]> args = new ArrayList<>(shardCount);
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            args.add(new Object[]{menuId, shardNo, share(quantity, shardCount, shardNo)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_stock_shard (menu_id, shard_no, quantity) VALUES (?, ?, ?)", args);
+    }
+
+    // --- 관리 ---
+
+    /**
+     * 메뉴의 남은 재고를 설정(덮어쓰기)하고 조각 수를 다시 정합니다. 0으로 설정하면 품절입니다.
+     * 샤딩을 켜면 재고를 DB 샤드마다 나눠 샤드별 트랜잭션으로 씁니다. 중간에 실패하면 같은 요청을 다시 보내면 됩니다. (덮어쓰기)
+     */
+    public MenuStockResponse setStock(Long menuId, MenuStockRequest request) {
+        if (!menuRepository.existsById(menuId)) {
+            throw new CustomException(ErrorCode.MENU_NOT_FOUND, "메뉴를 찾을 수 없습니다.");
+        }
+        int shardCount = request.getShards() != null ? request.getShards() : properties.getDefaultShards();
+        if (request.getQuantity() < 0 || shardCount < 1 || shardCount > properties.getMaxShards()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT,
+                    "재고는 0 이상, 조각 수는 1 이상 " + properties.getMaxShards() + " 이하여야 합니다.");
+        }
+        int dbShards = shardRouter.getShardCount();
+        for (int shard = 0; shard < dbShards; shard++) {
+            int target = shard;
+            long quantity = share(request.getQuantity(), dbShards, shard);
+            shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                // 진행 중인 차감이 끝난 뒤 교체 (차감과 같은 순서로 잠금)
+                jdbcTemplate.query("SELECT shard_no FROM menu_stock_shard WHERE menu_id = ? ORDER BY shard_no FOR UPDATE",
+                        (rs, rowNum) -> rs.getInt(1), menuId);
+                jdbcTemplate.update("DELETE FROM menu_stock_shard WHERE menu_id = ?", menuId);
+                insertShards(menuId, shardCount, quantity);
+                MenuStock stock = new MenuStock(shardCount, quantity == 0);
+                afterCommit(() -> stocksByShard.get(target).put(menuId, stock));
+                return null;
+            }));
+        }
+        log.info("메뉴 재고 설정: menuId={}, quantity={}, shards={}", menuId, request.getQuantity(), shardCount);
+        return MenuStockResponse.builder()
+                .menuId(menuId)
+                .limited(true)
+                .remaining(request.getQuantity())
+                .shards(shardCount)
+                .soldOut(request.getQuantity() == 0)
+                .build();
+    }
+
+    /**
+     * 메뉴의 재고 제한을 해제합니다.
+     */
+    public void removeStock(Long menuId) {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM menu_stock_shard WHERE menu_id = ?", menuId);
+                afterCommit(() -> stocksByShard.get(target).remove(menuId));
+                return null;
+            }));
+        }
+        log.info("메뉴 재고 제한 해제: menuId={}", menuId);
+    }
+
+    /**
+     * 남은 재고는 모든 샤드의 합계, 조각 수는 샤드 하나의 조각 행 수입니다.
+     */
+    public MenuStockResponse getStock(Long menuId) {
+        List<Map<String, Object>> rows = shardRouter.scatter(shard -> jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS shards, COALESCE(SUM(quantity), 0) AS remaining FROM menu_stock_shard WHERE menu_id = ?", menuId));
+        int shards = rows.stream().mapToInt(row -> ((Number) row.get("shards")).intValue()).max().orElse(0);
+        return MenuStockResponse.builder()
+                .menuId(menuId)
+                .limited(shards > 0)
+                .remaining(rows.stream().mapToLong(row -> ((Number) row.get("remaining")).longValue()).sum())
+                .shards(shards)
+                .soldOut(isSoldOut(menuId))
+                .build();
+    }
+
+    /**
+     * 샤드마다 조각 합계를 읽어 한정 메뉴 목록과 품절 플래그를 다시 만듭니다.
+     */
+    public void refresh() {
+        stocksByShard = List.copyOf(shardRouter.scatter(shard -> {
+            Map<Long, MenuStock> next = new ConcurrentHashMap<>();
+            jdbcTemplate.query("SELECT menu_id, COUNT(*), SUM(quantity) FROM menu_stock_shard GROUP BY menu_id",
+                    rs -> {
+                        next.put(rs.getLong(1), new MenuStock(rs.getInt(2), rs.getLong(3) == 0));
+                    });
+            return next;
+        }));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Thread.sleep(Math.max(10, properties.getRefreshMillis()));
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.warn("메뉴 재고 상태 확인 실패. 이전 상태를 계속 사용합니다: {}", e.getMessage());
+            }
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("메뉴 재고 상태 초기 적재 실패. 주기 확인에서 다시 시도합니다: {}", e.getMessage());
+        }
+        running = true;
+        refresher = new Thread(this::runLoop, "menu-stock-refresh");
+        refresher.setDaemon(true);
+        refresher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (refresher != null) {
+            refresher.interrupt(); // 대기 중인 sleep만 깨움 (트랜잭션 없음)
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0; // 주문 처리 백그라운드 작업(phase 1)보다 먼저 적재
+    }
+}
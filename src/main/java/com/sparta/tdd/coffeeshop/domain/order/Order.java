@@ -1,14 +1,19 @@
 package com.sparta.tdd.coffeeshop.domain.order;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated; // Enum 타입 매핑을 위해 추가
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.EnumType; // Enum 타입 매핑을 위해 추가
 import jakarta.persistence.GeneratedValue; // ID 자동 생성을 위해 추가
 import jakarta.persistence.GenerationType; // ID 자동 생성을 위해 추가
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor; // 모든 필드 생성자를 위해 추가
@@ -21,7 +26,13 @@ import java.time.LocalDateTime;
 import com.sparta.tdd.coffeeshop.domain.menu.Menu;
 
 @Entity
-@Table(name = "orders") // 'order'는 SQL 예약어일 수 있으므로 'orders'로 지정
+@Table(name = "orders", // 'order'는 SQL 예약어일 수 있으므로 'orders'로 지정
+       indexes = {
+           @Index(name = "idx_orders_intake_id", columnList = "intake_id"), // 접수 로그 재적용 시 중복 확인용 (NULL이 많아 UNIQUE 대신 일반 인덱스)
+           @Index(name = "idx_orders_user_date", columnList = "user_id, order_date"), // 사용자 주문 내역(최신순) + 사용자별 집계(통계 재구축) 범위 조회용
+           @Index(name = "idx_orders_status_date", columnList = "status, order_date"), // 제조 대기열(PENDING) 조회용
+           @Index(name = "idx_orders_date_menu", columnList = "order_date, menu_id, menu_name, unit_price") // 인기 메뉴 집계용 커버링 인덱스 (orders 테이블만, 인덱스만 읽음)
+       })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA는 기본 생성자를 필요로 합니다.
 @AllArgsConstructor // Lombok의 @Builder와 함께 사용될 때 모든 필드를 포함하는 생성자를 자동으로 생성합니다.
@@ -30,7 +41,8 @@ public class Order {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID) // JPA가 UUID를 자동으로 생성하여 orderId에 할당합니다.
-    @Column(name = "order_id", nullable = false, unique = true, updatable = false) // ID는 생성 후 변경되지 않음
+    // UUID라 중복되지 않으며, 별도 UNIQUE 제약은 두지 않습니다. (파티션 테이블의 UNIQUE 키는 파티션 키 order_date를 포함해야 함)
+    @Column(name = "order_id", nullable = false, updatable = false) // ID는 생성 후 변경되지 않음
     private String orderId; // 주문 ID (VARCHAR에 매핑)
 
     @Column(name = "user_id", nullable = false)
@@ -39,10 +51,20 @@ public class Order {
     //@Column(name = "menu_id", nullable = false)
     //private Long menuId; // Menu 엔티티의 ID와 연결 (BIGINT에 매핑)
     
-    @ManyToOne // Order(Many) to Menu(One)
-    @JoinColumn(name = "menu_id", nullable = false) // 실제 DB 컬럼명, 모든 주문은 반드시 특정 메뉴에 연결되어야 한다는 비즈니스 규칙을 반영합니다.
+    @ManyToOne(fetch = FetchType.LAZY) // Order(Many) to Menu(One). 목록/집계는 프로젝션, 단건 상세는 EntityGraph로 필요한 만큼만 조회
+    // 실제 DB 컬럼명, 모든 주문은 반드시 특정 메뉴에 연결되어야 한다는 비즈니스 규칙을 반영합니다.
+    // 파티션 테이블은 외래 키를 가질 수 없으므로 DB 제약은 만들지 않습니다. (주문은 메뉴 스냅샷을 가지고 있어 메뉴 행 없이도 조회됨)
+    @JoinColumn(name = "menu_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Menu menu; // Menu 엔티티 참조
 
+    // 주문 시점의 메뉴 이름/단가 스냅샷. 메뉴가 이름이나 가격을 바꿔도 과거 주문의 의미가 바뀌지 않고, 조회 시 menu 조인이 필요 없습니다.
+    // 기존 행은 OrderSnapshotBackfill이 채우므로 스키마상 NULL을 허용합니다.
+    @Column(name = "menu_name", length = 100)
+    private String menuName;
+
+    @Column(name = "unit_price")
+    private Integer unitPrice;
+
     @Column(nullable = false)
     private int quantity; // 주문 수량 (INT에 매핑)
 
@@ -58,7 +80,30 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.PENDING; // 주문 상태 (예: COMPLETED 등)
 
+    @Column(name = "fulfillment_worker", length = 64)
+    private String fulfillmentWorker; // 제조 중인 워커 ID (PREPARING일 때)
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt; // 워커가 가져간 시각 (임대 만료 판정용)
+
+    @Column(name = "intake_id", length = 36, updatable = false)
+    private String intakeId; // 접수 로그(OrderIntakeLog)를 거쳐 들어온 주문의 접수 ID. 직접 주문이면 null
+
     
+    // 빌더에서 스냅샷을 지정하지 않은 경우 연결된 메뉴에서 채웁니다.
+    @PrePersist
+    void snapshotMenu() {
+        if (menu == null) {
+            return;
+        }
+        if (menuName == null) {
+            menuName = menu.getName();
+        }
+        if (unitPrice == null) {
+            unitPrice = menu.getPrice();
+        }
+    }
+
     // 주문 상태 변경 메서드 예시
     public void markAsCompleted() {
         if (this.status != OrderStatus.PENDING) {
@@ -72,10 +117,21 @@ public class Order {
         if (this.status == OrderStatus.COMPLETED || this.status == OrderStatus.REFUNDED) {
             throw new IllegalStateException("완료되거나 환불된 주문은 취소할 수 없습니다.");
         }
+        if (this.status == OrderStatus.CANCELLED) {
+            throw new IllegalStateException("이미 취소된 주문입니다.");
+        }
         this.status = OrderStatus.CANCELLED;
         // 추가적인 로직 (예: 재고 복구, 포인트 환불 처리 등)
     }
 
+    public void markAsRefunded() {
+        if (this.status != OrderStatus.COMPLETED) {
+            throw new IllegalStateException("완료된 주문만 환불할 수 있습니다.");
+        }
+        this.status = OrderStatus.REFUNDED;
+        // 포인트 복원은 PointRestoration으로 적재되어 일괄 반영됩니다.
+    }
+
 	// package-private setOrderId (테스트 및 JPA 내부 사용 목적)
 	// @GeneratedValue가 UUID를 생성하여 이 필드를 설정해야 하므로, 테스트에서 이를 시뮬레이션합니다.
     void setOrderId(String orderId) {
@@ -91,7 +147,8 @@ public class Order {
         PENDING(0),     // 보류 중
         COMPLETED(1),   // 완료
         CANCELLED(2),   // 취소됨
-        REFUNDED(3);    // 환불됨
+        REFUNDED(3),    // 환불됨
+        PREPARING(4);   // 제조 중 (제조 워커가 가져감). ORDINAL 저장이므로 새 상태는 항상 끝에 추가
 
         private final int value;
 
@@ -0,0 +1,15 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문이 완료 상태로 저장되었음을 알리는 애플리케이션 이벤트.
+ * 주문 트랜잭션이 커밋된 뒤(@TransactionalEventListener AFTER_COMMIT) 읽기 모델 갱신 등에 사용합니다.
+ */
+public record OrderCompletedEvent(String orderId, String userId, Long menuId, long totalPrice, LocalDateTime orderDate) {
+
+    public static OrderCompletedEvent from(Order order) {
+        return new OrderCompletedEvent(order.getOrderId(), order.getUserId(), order.getMenu().getId(),
+                order.getTotalPrice(), order.getOrderDate());
+    }
+}
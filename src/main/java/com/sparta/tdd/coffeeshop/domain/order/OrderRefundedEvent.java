@@ -0,0 +1,12 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+/**
+ * 완료되었던 주문이 환불(또는 취소)되었음을 알리는 애플리케이션 이벤트. 커밋 후 읽기 모델에서 해당 주문을 빼는 데 사용합니다.
+ */
+public record OrderRefundedEvent(String orderId, String userId, Long menuId, long totalPrice) {
+
+    public static OrderRefundedEvent from(Order order) {
+        return new OrderRefundedEvent(order.getOrderId(), order.getUserId(), order.getMenu().getId(),
+                order.getTotalPrice());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 취소/환불로 돌려줄 포인트 (아웃박스).
+ * 주문 상태 변경과 같은 트랜잭션에서 적재되고, PointRestorationProcessor가 userId별로 합산해 일괄 반영합니다.
+ * order_id가 UNIQUE이므로 한 주문의 포인트는 한 번만 복원됩니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "point_restoration", indexes = @Index(name = "idx_point_restoration_status", columnList = "status, id"))
+public class PointRestoration {
+
+    public enum Status {
+        PENDING, // 반영 대기
+        APPLIED  // users.point에 반영됨
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true, updatable = false)
+    private String orderId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private String userId;
+
+    @Column(nullable = false, updatable = false)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    public PointRestoration(Order order) {
+        this.orderId = order.getOrderId();
+        this.userId = order.getUserId();
+        this.amount = order.getTotalPrice();
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+}
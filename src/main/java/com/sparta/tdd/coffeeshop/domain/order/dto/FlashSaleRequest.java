@@ -0,0 +1,14 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class FlashSaleRequest {
+    private Double ratePerSecond; // 초당 입장 수. 비우면 coffeeshop.order.flash-sale.default-rate-per-second
+
+    public FlashSaleRequest(Double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+}
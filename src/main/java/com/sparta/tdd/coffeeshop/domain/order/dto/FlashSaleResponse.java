@@ -0,0 +1,19 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 이 노드의 한정 메뉴 대기열 상태
+ */
+@Getter
+@Builder
+public class FlashSaleResponse {
+    private Long menuId;
+    private boolean active;
+    private double ratePerSecond;
+    private long capacity;  // 대기열을 연 시점의 남은 재고 (발급할 수 있는 입장권 수)
+    private long issued;    // 발급한 입장권 수 (만료로 돌려받은 자리는 제외)
+    private long waiting;   // 아직 입장 시각이 오지 않은 입장권 수
+    private boolean soldOut;
+}
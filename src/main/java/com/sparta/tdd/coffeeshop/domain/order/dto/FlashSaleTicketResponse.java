@@ -0,0 +1,32 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한정 메뉴 대기열 입장권. ADMITTED가 되면 ticketId를 X-Admission-Token 헤더에 담아 같은 주문을 다시 보냅니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSaleTicketResponse {
+
+    public enum Status {
+        WAITING,  // 입장 차례를 기다리는 중
+        ADMITTED, // 주문 가능 (expiresInMillis 안에 사용)
+        USED,     // 주문에 사용됨
+        EXPIRED,  // 입장 후 사용하지 않아 만료됨 (또는 알 수 없는 입장권)
+        SOLD_OUT  // 차례가 오기 전에 품절됨
+    }
+
+    private String ticketId;
+    private Long menuId;
+    private Status status;
+    private long position;        // WAITING일 때 앞에 남은 입장 수
+    private long etaMillis;       // WAITING일 때 예상 입장까지 남은 시간
+    private long pollAfterMillis; // 다음 상태 조회까지 기다릴 시간
+    private long expiresInMillis; // ADMITTED일 때 남은 사용 시간
+}
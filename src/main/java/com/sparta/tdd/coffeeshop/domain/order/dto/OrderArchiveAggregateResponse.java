@@ -0,0 +1,33 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 보관된 주문의 기간/메뉴별 집계
+ */
+@Getter
+@Builder
+public class OrderArchiveAggregateResponse {
+
+    @Getter
+    @Builder
+    public static class MenuAggregate {
+        private Long menuId;
+        private String menuName;  // 보관된 주문의 메뉴 이름 스냅샷 (가장 최근 값)
+        private long orderCount;
+        private long quantity;
+        private long totalPrice;
+    }
+
+    private LocalDateTime from;       // 포함
+    private LocalDateTime to;         // 제외
+    private Long menuId;              // null이면 전체 메뉴
+    private int segmentsSkipped;      // 헤더의 날짜/메뉴 범위로 건너뜀
+    private int segmentsFromIndex;    // 세그먼트 전체가 기간 안이라 메뉴 색인만으로 집계
+    private int segmentsScanned;      // 열을 풀어 행 단위로 집계
+    private List<MenuAggregate> menus; // 주문 수 내림차순
+}
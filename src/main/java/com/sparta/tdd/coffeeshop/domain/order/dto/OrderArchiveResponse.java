@@ -0,0 +1,18 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 주문 보관 실행 결과
+ */
+@Getter
+@Builder
+public class OrderArchiveResponse {
+    private LocalDateTime cutoff;    // 이 시각 이전 주문을 보관
+    private int segmentsWritten;
+    private long archivedOrders;     // 세그먼트로 옮기고 DB에서 지운 주문 수
+    private int totalSegments;
+}
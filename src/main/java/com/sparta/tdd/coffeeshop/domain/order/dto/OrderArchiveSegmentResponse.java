@@ -0,0 +1,21 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 보관 세그먼트 하나의 헤더 요약
+ */
+@Getter
+@Builder
+public class OrderArchiveSegmentResponse {
+    private String file;
+    private long bytes;
+    private int orders;
+    private LocalDateTime minOrderDate;
+    private LocalDateTime maxOrderDate;
+    private Set<Long> menuIds;
+}
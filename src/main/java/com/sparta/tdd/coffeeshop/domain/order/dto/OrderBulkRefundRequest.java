@@ -0,0 +1,16 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class OrderBulkRefundRequest {
+    private List<String> orderIds;
+
+    public OrderBulkRefundRequest(List<String> orderIds) {
+        this.orderIds = orderIds;
+    }
+}
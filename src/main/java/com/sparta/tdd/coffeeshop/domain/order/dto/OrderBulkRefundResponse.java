@@ -0,0 +1,16 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrderBulkRefundResponse {
+    private int requested;
+    private int refunded;
+    private long totalRefundAmount;
+    private long pendingRestorations;   // 아직 잔액에 반영되지 않은 복원 건수 (응답 시점)
+    private Map<String, String> failures; // orderId → 오류 코드 (ORDER_NOT_FOUND, INVALID_ORDER_STATE 등)
+}
@@ -0,0 +1,37 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrderDetailResponse {
+    private String orderId;
+    private String userId;
+    private Long menuId;
+    private String menuName;
+    private Integer unitPrice; // 주문 시점 단가
+    private int quantity;
+    private long totalPrice;
+    private LocalDateTime orderDate;
+    private Order.OrderStatus status;
+
+    // 메뉴 정보는 주문 시점 스냅샷을 사용하므로 메뉴 프록시를 초기화하지 않습니다.
+    public static OrderDetailResponse from(Order order) {
+        return OrderDetailResponse.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .menuId(order.getMenu().getId())
+                .menuName(order.getMenuName())
+                .unitPrice(order.getUnitPrice())
+                .quantity(order.getQuantity())
+                .totalPrice(order.getTotalPrice())
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .build();
+    }
+}
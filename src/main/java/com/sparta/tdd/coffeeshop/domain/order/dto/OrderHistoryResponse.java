@@ -0,0 +1,16 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrderHistoryResponse {
+    private String userId;
+    private List<OrderSummary> orders; // 최신순
+    private int page;
+    private int size;
+    private boolean hasNext; // 전체 건수는 세지 않고 다음 페이지 존재 여부만 반환
+}
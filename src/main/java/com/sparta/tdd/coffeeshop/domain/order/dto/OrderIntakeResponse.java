@@ -0,0 +1,28 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 접수 모드 주문 응답. 접수(로컬 로그 기록) 직후에는 ACCEPTED, 이후 상태 조회로 반영 결과를 확인합니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeResponse {
+
+    public enum Status {
+        ACCEPTED,  // 로컬 로그에 내구화됨 (DB 반영 전)
+        PENDING,   // DB 반영 대기 중 (또는 알 수 없는 접수 ID)
+        COMPLETED, // 주문 생성됨
+        FAILED     // 업무 오류로 반영하지 않음 (사용자/메뉴 없음, 포인트 부족 등)
+    }
+
+    private String intakeId;
+    private Status status;
+    private String orderId;   // COMPLETED일 때
+    private String errorCode; // FAILED일 때
+}
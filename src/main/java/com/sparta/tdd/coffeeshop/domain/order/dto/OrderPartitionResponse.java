@@ -0,0 +1,30 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * orders 파티션 점검/관리 결과
+ */
+@Getter
+@Builder
+public class OrderPartitionResponse {
+
+    public enum Mode {
+        PARTITIONED, // MySQL RANGE COLUMNS(order_date) 파티션 테이블: 파티션 추가/삭제
+        FALLBACK     // 파티션 없는 테이블(H2, 전환 전 MySQL): 보관 기간이 지난 행을 청크 단위로 삭제
+    }
+
+    public record Partition(String name, LocalDateTime lessThan) { // lessThan이 null이면 MAXVALUE
+    }
+
+    private Mode mode;
+    private List<Partition> partitions;
+    private List<String> statements;  // 실행했거나(run) 실행할(점검) DDL
+    private LocalDateTime retentionCutoff; // 이 시각 이전 주문을 지움 (보관 기간 미설정이거나 아직 보관(§27)한 주문이 없으면 null)
+    private long deletedRows;         // FALLBACK에서 삭제한 행 수
+    private boolean applied;
+}
@@ -0,0 +1,15 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class OrderRefundResponse {
+    private String orderId;
+    private String userId;
+    private Order.OrderStatus status; // CANCELLED 또는 REFUNDED
+    private long refundAmount;        // 복원 대기열에 적재된 포인트 (일괄 반영 후 잔액에 더해짐)
+}
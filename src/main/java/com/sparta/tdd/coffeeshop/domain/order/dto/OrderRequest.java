@@ -1,5 +1,7 @@
 package com.sparta.tdd.coffeeshop.domain.order.dto;
 
+import com.sparta.tdd.coffeeshop.cmmn.ratelimit.UserScopedRequest;
+
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 //@AllArgsConstructor
-public class OrderRequest {
+public class OrderRequest implements UserScopedRequest {
     @NotBlank(message = "사용자 ID는 필수입니다.")
     private String userId;
 
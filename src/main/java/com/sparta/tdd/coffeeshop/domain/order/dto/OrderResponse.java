@@ -28,7 +28,7 @@ public class OrderResponse {
                 order.getOrderId(),
                 order.getUserId(),
                 order.getMenu().getId(),
-                order.getMenu().getName(), // 메뉴 이름은 별도로 받아서 설정
+                order.getMenuName(), // 주문 시점 메뉴 이름 스냅샷
                 order.getQuantity(),
                 order.getTotalPrice(),
                 remainingPoints,
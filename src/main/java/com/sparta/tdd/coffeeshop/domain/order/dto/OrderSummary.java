@@ -0,0 +1,19 @@
+package com.sparta.tdd.coffeeshop.domain.order.dto;
+
+import java.time.LocalDateTime;
+
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+
+/**
+ * 주문 내역 목록용 인터페이스 프로젝션. 엔티티를 만들지 않고 orders의 필요한 컬럼(메뉴 스냅샷 포함)만 읽습니다.
+ */
+public interface OrderSummary {
+    String getOrderId();
+    Long getMenuId();
+    String getMenuName();
+    Integer getUnitPrice();
+    int getQuantity();
+    long getTotalPrice();
+    LocalDateTime getOrderDate();
+    Order.OrderStatus getStatus();
+}
@@ -1,11 +1,41 @@
 package com.sparta.tdd.coffeeshop.domain.order.repo;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderSummary;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String>{ // <-- String으로 변경!
     // JpaRepository가 기본 CRUD 메서드를 제공합니다 (save, findById, findAll 등)	
+
+    // 접수 로그 재적용 시 이미 반영된 접수인지 확인 (idx_orders_intake_id)
+    boolean existsByIntakeId(String intakeId);
+
+    // 접수 상태 조회용 (주문 ID만 조회)
+    @Query("SELECT o.orderId FROM Order o WHERE o.intakeId = :intakeId")
+    List<String> findOrderIdsByIntakeId(String intakeId);
+
+    // 사용자 주문 내역 (최신순). 주문 시점 스냅샷(menu_name, unit_price)만 읽으므로 menu 조인 없이 idx_orders_user_date 범위 조회 한 번이며,
+    // Slice라 COUNT 쿼리가 없습니다. order_date 하한(since)이 있어 orders가 파티션된 경우 그 이후 파티션만 읽습니다.
+    @Query("SELECT o.orderId AS orderId, o.menu.id AS menuId, o.menuName AS menuName, o.unitPrice AS unitPrice, "
+            + "o.quantity AS quantity, o.totalPrice AS totalPrice, o.orderDate AS orderDate, o.status AS status "
+            + "FROM Order o WHERE o.userId = :userId AND o.orderDate >= :since ORDER BY o.orderDate DESC, o.orderId DESC")
+    Slice<OrderSummary> findSummariesByUserId(String userId, LocalDateTime since, Pageable pageable);
+
+    // 취소/환불 상태 전이용. 같은 주문의 동시 환불 요청을 직렬화합니다. (주문 행 하나만 잠그므로 사용자 행 경합과 무관)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderId = :orderId")
+    Optional<Order> findByOrderIdForUpdate(String orderId);
 }
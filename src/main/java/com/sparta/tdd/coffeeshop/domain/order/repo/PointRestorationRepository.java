@@ -0,0 +1,10 @@
+package com.sparta.tdd.coffeeshop.domain.order.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.sparta.tdd.coffeeshop.domain.order.PointRestoration;
+
+public interface PointRestorationRepository extends JpaRepository<PointRestoration, Long> {
+
+    long countByStatus(PointRestoration.Status status);
+}
@@ -0,0 +1,24 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 한정 메뉴 대기열 설정 (coffeeshop.order.flash-sale.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.order.flash-sale")
+public class FlashSaleProperties {
+
+    // 대기열을 열 때 초당 입장 수를 지정하지 않으면 쓰는 값. 주문 DB가 감당할 초당 주문 수에 맞추세요.
+    private double defaultRatePerSecond = 50;
+
+    // 입장한 뒤 주문에 쓰지 않으면 만료되는 시간 (밀리초). 만료된 자리는 다음 대기자에게 돌아갑니다.
+    private long tokenTtlMillis = 30_000;
+
+    // 대기 중인 클라이언트에게 권하는 상태 조회 간격의 상한 (밀리초)
+    private long maxPollMillis = 2000;
+}
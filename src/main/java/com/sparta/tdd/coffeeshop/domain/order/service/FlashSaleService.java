@@ -0,0 +1,352 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleRequest;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleTicketResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한정 메뉴 대기열 (가상 대기실)
+ *
+ * 대기열이 열린 메뉴의 주문은 바로 OrderService로 가지 않고 입장권을 받습니다. 입장권은 발급 순서대로
+ * 초당 ratePerSecond개씩 입장 시각이 정해지고(이전 입장 시각 + 간격), 입장 시각이 지난 입장권을 헤더에 담은 주문만
+ * 주문 로직으로 넘어갑니다. 출시 순간 몰린 요청은 메모리의 입장권 발급(락 한 번)으로 끝나므로 DB에는 정해진 속도로만 도달합니다.
+ *
+ * - 발급 수는 대기열을 연 시점의 남은 재고로 제한합니다. 자리가 다 차면 이후 요청은 대기 없이 바로 MENU_SOLD_OUT입니다.
+ *   입장 후 tokenTtlMillis 안에 주문하지 않은 입장권은 만료되고, 그 자리는 새로 오는 요청에게 돌아갑니다.
+ * - 입장권으로 한 주문이 포인트 부족 등으로 실패하면 만료 전까지 같은 입장권으로 다시 주문할 수 있습니다.
+ * - 재고 품절(MenuStockService 품절 플래그)이 확인되면 대기 중인 입장권도 모두 SOLD_OUT이 됩니다.
+ *   주문이 재고 부족으로 실패해도 남은 재고가 있으면(수량을 줄이면 가능) 대기열은 닫지 않고 입장권을 돌려줍니다.
+ * - 입장권으로 한 주문은 접수 모드(OrderIntakeService)를 켜도 바로 DB에 반영합니다. 접수만 된 상태로 입장권을 사용 처리하면
+ *   이후 반영이 실패했을 때 사용자에게 쓴 입장권만 남기 때문입니다. (대기열이 이미 DB 도달 속도를 제한함)
+ * - 대기열은 노드마다 따로 있습니다. 여러 노드로 운영하면 노드별 입장 속도의 합이 DB 도달 속도가 되며,
+ *   초과 판매는 재고 조각 카운터가 막습니다.
+ */
+@Slf4j
+@Service
+public class FlashSaleService {
+
+    public static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+
+    private enum TicketState {
+        ISSUED, // 입장 전이거나 입장 후 사용 전
+        IN_USE, // 주문 처리 중
+        USED,
+        EXPIRED
+    }
+
+    private static final class Ticket {
+        final String id;
+        final String userId;
+        final WaitingRoom room;
+        final long admitAt; // System.nanoTime 기준 입장 시각
+        final AtomicReference<TicketState> state = new AtomicReference<>(TicketState.ISSUED);
+
+        Ticket(String id, String userId, WaitingRoom room, long admitAt) {
+            this.id = id;
+            this.userId = userId;
+            this.room = room;
+            this.admitAt = admitAt;
+        }
+    }
+
+    private static final class WaitingRoom {
+        final Long menuId;
+        final long capacity;
+        volatile long intervalNanos;
+        volatile boolean soldOut;
+        // 아래는 this로 보호
+        long issued;
+        long lastAdmitAt;
+        final Map<String, Ticket> byUser = new HashMap<>(); // 사용자당 유효한 입장권 하나
+        // 발급 순서 = 입장 시각 순서 = 만료 시각 순서이므로 앞에서부터만 확인하면 됩니다.
+        final Deque<Ticket> issueOrder = new ArrayDeque<>();
+
+        WaitingRoom(Long menuId, long capacity, long intervalNanos, long now) {
+            this.menuId = menuId;
+            this.capacity = capacity;
+            this.intervalNanos = intervalNanos;
+            this.lastAdmitAt = now - intervalNanos; // 첫 입장권은 바로 입장
+        }
+    }
+
+    private final FlashSaleProperties properties;
+    private final MenuStockService menuStockService;
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Counter issuedTickets;
+    private final Counter rejectedTickets;
+    private final Counter usedTickets;
+    private final Counter expiredTickets;
+
+    public FlashSaleService(FlashSaleProperties properties, MenuStockService menuStockService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.menuStockService = menuStockService;
+        this.issuedTickets = meterRegistry.counter("coffeeshop.order.flash-sale.tickets", "result", "issued");
+        this.rejectedTickets = meterRegistry.counter("coffeeshop.order.flash-sale.tickets", "result", "rejected");
+        this.usedTickets = meterRegistry.counter("coffeeshop.order.flash-sale.tickets", "result", "used");
+        this.expiredTickets = meterRegistry.counter("coffeeshop.order.flash-sale.tickets", "result", "expired");
+    }
+
+    public boolean isActive(Long menuId) {
+        return menuId != null && !rooms.isEmpty() && rooms.containsKey(menuId);
+    }
+
+    /**
+     * 대기열에 줄을 세우고 입장권을 발급합니다. 같은 사용자가 다시 요청하면 가지고 있는 입장권을 그대로 돌려줍니다.
+     */
+    public FlashSaleTicketResponse enqueue(OrderRequest request) {
+        if (request.getUserId() == null || request.getUserId().isBlank() || request.getQuantity() <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "사용자 ID와 1 이상의 수량이 필요합니다.");
+        }
+        WaitingRoom room = rooms.get(request.getMenuId());
+        if (room == null) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "대기열이 열려 있지 않은 메뉴입니다.");
+        }
+        if (checkSoldOut(room)) {
+            rejectedTickets.increment();
+            throw new CustomException(ErrorCode.MENU_SOLD_OUT, "품절된 메뉴입니다.");
+        }
+        long now = System.nanoTime();
+        Ticket ticket;
+        synchronized (room) {
+            sweepExpired(room, now);
+            Ticket existing = room.byUser.get(request.getUserId());
+            if (existing != null && !expired(existing, now)) {
+                return view(existing, now);
+            }
+            if (existing != null) {
+                expire(existing);
+            }
+            if (room.issued >= room.capacity) {
+                rejectedTickets.increment();
+                throw new CustomException(ErrorCode.MENU_SOLD_OUT, "대기열이 마감되었습니다. (남은 재고만큼 입장권 발급 완료)");
+            }
+            long admitAt = Math.max(now, room.lastAdmitAt + room.intervalNanos);
+            room.lastAdmitAt = admitAt;
+            room.issued++;
+            ticket = new Ticket(UUID.randomUUID().toString(), request.getUserId(), room, admitAt);
+            room.byUser.put(ticket.userId, ticket);
+            room.issueOrder.addLast(ticket);
+        }
+        tickets.put(ticket.id, ticket);
+        issuedTickets.increment();
+        return view(ticket, now);
+    }
+
+    public FlashSaleTicketResponse status(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return FlashSaleTicketResponse.builder()
+                    .ticketId(ticketId)
+                    .status(FlashSaleTicketResponse.Status.EXPIRED)
+                    .build();
+        }
+        checkSoldOut(ticket.room);
+        return view(ticket, System.nanoTime());
+    }
+
+    /**
+     * 입장한 입장권으로 주문을 실행합니다. 입장권의 사용자/메뉴가 주문과 같아야 하고, 성공하면 입장권은 사용 처리됩니다.
+     * order는 주문을 실제로 반영하고 반환해야 합니다. (접수만 하고 반환하면 안 됨)
+     *
+     * @throws CustomException 입장권이 없거나 아직 차례가 아닐 때, 만료/사용되었을 때(ADMISSION_REQUIRED)
+     */
+    public <T> T withAdmission(String ticketId, OrderRequest request, Supplier<T> order) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.userId.equals(request.getUserId()) || !ticket.room.menuId.equals(request.getMenuId())) {
+            throw new CustomException(ErrorCode.ADMISSION_REQUIRED, "유효하지 않은 입장권입니다.");
+        }
+        long now = System.nanoTime();
+        if (now - ticket.admitAt < 0) {
+            throw new CustomException(ErrorCode.ADMISSION_REQUIRED, "아직 입장 차례가 아닙니다.");
+        }
+        if (expired(ticket, now)) {
+            synchronized (ticket.room) {
+                expire(ticket);
+            }
+            throw new CustomException(ErrorCode.ADMISSION_REQUIRED, "입장권이 만료되었습니다. 다시 줄을 서주세요.");
+        }
+        if (!ticket.state.compareAndSet(TicketState.ISSUED, TicketState.IN_USE)) {
+            throw new CustomException(ErrorCode.ADMISSION_REQUIRED, "이미 사용했거나 처리 중인 입장권입니다.");
+        }
+        try {
+            T result = order.get();
+            ticket.state.set(TicketState.USED);
+            usedTickets.increment();
+            return result;
+        } catch (CustomException e) {
+            // 남은 재고가 이 주문 수량보다 적을 때도 MENU_SOLD_OUT이므로, 모든 조각이 0임을 확인한 품절 플래그로만 마감
+            if (e.getErrorCode() == ErrorCode.MENU_SOLD_OUT && menuStockService.isSoldOut(ticket.room.menuId)) {
+                ticket.state.set(TicketState.USED);
+                ticket.room.soldOut = true;
+                log.info("한정 메뉴 품절로 대기열 마감: menuId={}", ticket.room.menuId);
+            } else {
+                ticket.state.set(TicketState.ISSUED); // 만료 전까지 같은 입장권으로 재시도 가능
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            ticket.state.set(TicketState.ISSUED);
+            throw e;
+        }
+    }
+
+    // --- 관리 ---
+
+    /**
+     * 메뉴의 대기열을 엽니다. 이미 열려 있으면 이후 발급분의 입장 속도만 바꿉니다.
+     */
+    public FlashSaleResponse open(Long menuId, FlashSaleRequest request) {
+        double rate = request.getRatePerSecond() != null ? request.getRatePerSecond() : properties.getDefaultRatePerSecond();
+        if (rate <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "초당 입장 수는 0보다 커야 합니다.");
+        }
+        MenuStockResponse stock = menuStockService.getStock(menuId);
+        if (!stock.isLimited()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "재고를 먼저 설정해야 대기열을 열 수 있습니다.");
+        }
+        long intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        WaitingRoom room = rooms.compute(menuId, (id, existing) -> {
+            if (existing == null) {
+                return new WaitingRoom(id, stock.getRemaining(), intervalNanos, System.nanoTime());
+            }
+            existing.intervalNanos = intervalNanos;
+            return existing;
+        });
+        log.info("한정 메뉴 대기열 열림: menuId={}, ratePerSecond={}, capacity={}", menuId, rate, room.capacity);
+        return describe(room);
+    }
+
+    public FlashSaleResponse getStatus(Long menuId) {
+        WaitingRoom room = rooms.get(menuId);
+        if (room == null) {
+            return FlashSaleResponse.builder().menuId(menuId).active(false).build();
+        }
+        checkSoldOut(room);
+        return describe(room);
+    }
+
+    /**
+     * 대기열을 닫습니다. 발급한 입장권은 모두 무효가 되고, 메뉴는 다시 바로 주문할 수 있습니다.
+     */
+    public void close(Long menuId) {
+        WaitingRoom room = rooms.remove(menuId);
+        if (room == null) {
+            return;
+        }
+        synchronized (room) {
+            room.byUser.values().forEach(ticket -> tickets.remove(ticket.id));
+        }
+        tickets.values().removeIf(ticket -> ticket.room == room); // 사용 처리된 입장권
+        log.info("한정 메뉴 대기열 닫힘: menuId={}, issued={}", menuId, room.issued);
+    }
+
+    // --- 내부 ---
+
+    private boolean checkSoldOut(WaitingRoom room) {
+        if (!room.soldOut && menuStockService.isSoldOut(room.menuId)) {
+            room.soldOut = true;
+        }
+        return room.soldOut;
+    }
+
+    private boolean expired(Ticket ticket, long now) {
+        TicketState state = ticket.state.get();
+        return state == TicketState.EXPIRED
+                || (state == TicketState.ISSUED && now - (ticket.admitAt + TimeUnit.MILLISECONDS.toNanos(properties.getTokenTtlMillis())) > 0);
+    }
+
+    // room 락 안에서 호출. 사용하지 않은 자리를 돌려받습니다.
+    private void expire(Ticket ticket) {
+        if (ticket.state.compareAndSet(TicketState.ISSUED, TicketState.EXPIRED)) {
+            ticket.room.issued--;
+            expiredTickets.increment();
+        }
+        if (ticket.state.get() == TicketState.EXPIRED) {
+            ticket.room.byUser.remove(ticket.userId, ticket);
+            tickets.remove(ticket.id);
+        }
+    }
+
+    // room 락 안에서 호출. 앞쪽의 사용/만료된 입장권을 정리하고, 사용하지 않고 만료된 자리를 돌려받습니다.
+    private void sweepExpired(WaitingRoom room, long now) {
+        Ticket head;
+        while ((head = room.issueOrder.peekFirst()) != null) {
+            TicketState state = head.state.get();
+            if (state == TicketState.ISSUED && expired(head, now)) {
+                expire(head);
+            } else if (state != TicketState.USED && state != TicketState.EXPIRED) {
+                return; // 아직 유효하거나 주문 처리 중
+            }
+            room.issueOrder.pollFirst();
+        }
+    }
+
+    private FlashSaleTicketResponse view(Ticket ticket, long now) {
+        FlashSaleTicketResponse.FlashSaleTicketResponseBuilder builder = FlashSaleTicketResponse.builder()
+                .ticketId(ticket.id)
+                .menuId(ticket.room.menuId);
+        TicketState state = ticket.state.get();
+        if (state == TicketState.USED) {
+            return builder.status(FlashSaleTicketResponse.Status.USED).build();
+        }
+        if (expired(ticket, now)) {
+            return builder.status(FlashSaleTicketResponse.Status.EXPIRED).build();
+        }
+        if (ticket.room.soldOut) {
+            return builder.status(FlashSaleTicketResponse.Status.SOLD_OUT).build();
+        }
+        long waitNanos = ticket.admitAt - now;
+        if (waitNanos <= 0) {
+            long expiresAt = ticket.admitAt + TimeUnit.MILLISECONDS.toNanos(properties.getTokenTtlMillis());
+            return builder.status(FlashSaleTicketResponse.Status.ADMITTED)
+                    .expiresInMillis(TimeUnit.NANOSECONDS.toMillis(expiresAt - now))
+                    .build();
+        }
+        long etaMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        return builder.status(FlashSaleTicketResponse.Status.WAITING)
+                .position((waitNanos + ticket.room.intervalNanos - 1) / ticket.room.intervalNanos)
+                .etaMillis(etaMillis)
+                .pollAfterMillis(Math.min(etaMillis + 1, properties.getMaxPollMillis()))
+                .build();
+    }
+
+    private FlashSaleResponse describe(WaitingRoom room) {
+        long now = System.nanoTime();
+        long issued;
+        long waiting;
+        synchronized (room) {
+            issued = room.issued;
+            waiting = Math.max(0, (room.lastAdmitAt - now + room.intervalNanos - 1) / room.intervalNanos);
+        }
+        return FlashSaleResponse.builder()
+                .menuId(room.menuId)
+                .active(true)
+                .ratePerSecond((double) TimeUnit.SECONDS.toNanos(1) / room.intervalNanos)
+                .capacity(room.capacity)
+                .issued(issued)
+                .waiting(waiting)
+                .soldOut(room.soldOut)
+                .build();
+    }
+}
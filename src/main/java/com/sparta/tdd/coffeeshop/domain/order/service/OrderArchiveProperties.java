@@ -0,0 +1,36 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 오래된 주문 보관(archive) 설정 (coffeeshop.order.archive.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.order.archive")
+public class OrderArchiveProperties {
+
+    // 백그라운드 보관 실행 여부. 꺼져 있어도 관리자 API로 실행/조회할 수 있습니다.
+    private boolean enabled = false;
+
+    // 세그먼트 파일 디렉터리 (로컬 디스크)
+    private String dir = "./data/order-archive";
+
+    // 이보다 오래된(개월) 주문을 DB에서 세그먼트 파일로 옮깁니다.
+    private int ageMonths = 12;
+
+    // 세그먼트 하나에 담을 주문 수
+    private int segmentRows = 100_000;
+
+    // DB에서 옮긴 주문을 지울 때 한 문장에 지울 주문 수
+    private int deleteChunkSize = 1000;
+
+    // 보관 주기 (분)
+    private long checkMinutes = 60;
+
+    // 보관 조회 시 세그먼트를 동시에 읽을 스레드 수
+    private int scanThreads = 4;
+}
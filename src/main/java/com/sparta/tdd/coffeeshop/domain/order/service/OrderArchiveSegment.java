@@ -0,0 +1,254 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 보관(archive) 주문 세그먼트 파일. 한 파일에 (order_date, order_id) 순으로 연속된 주문 묶음을 열 단위로 저장합니다.
+ *
+ * 파일: [magic int][version int][헤더 길이 int][헤더][열 블록...]
+ * - 헤더(비압축): 행 수, 최소/최대 order_date, 마지막 행 order_id(최대 일시와 함께 이어서 보관할 위치), 메뉴별 색인(행 수/수량/금액 합계/최소·최대 일시/이름),
+ *   열 목록(이름, 헤더 뒤 기준 오프셋, 길이). 조회는 헤더만 읽고 날짜/메뉴 범위 밖 세그먼트를 건너뛰며,
+ *   세그먼트 전체가 조회 기간 안이면 메뉴별 색인만으로 집계합니다.
+ * - 열 블록: 열마다 따로 gzip. 필요한 열만 읽어 풉니다. (집계는 order_date, menu_id, menu_name, quantity, total_price,
+ *   사용자 통계 재구축은 user_id, menu_id, total_price, order_date, status)
+ *
+ * 일시는 DB의 DATETIME 값을 시간대 변환 없이 epoch 마이크로초로 저장합니다.
+ */
+final class OrderArchiveSegment {
+
+    static final String PREFIX = "orders-";
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x4F415243; // "OARC"
+    private static final int VERSION = 1;
+
+    static final String ORDER_ID = "order_id";
+    static final String USER_ID = "user_id";
+    static final String MENU_ID = "menu_id";
+    static final String MENU_NAME = "menu_name";
+    static final String UNIT_PRICE = "unit_price";
+    static final String QUANTITY = "quantity";
+    static final String TOTAL_PRICE = "total_price";
+    static final String ORDER_DATE = "order_date";
+    static final String STATUS = "status";
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    record Row(String orderId, String userId, long menuId, String menuName, Integer unitPrice, int quantity,
+               long totalPrice, LocalDateTime orderDate, int status) {
+    }
+
+    record MenuIndex(long menuId, String menuName, int rows, long quantity, long totalPrice, long minDate, long maxDate) {
+    }
+
+    record Column(String name, long offset, int length) {
+    }
+
+    // 마지막 행 키 = (maxDate, lastOrderId)
+    record Header(Path path, long seq, int rowCount, long minDate, long maxDate, String lastOrderId,
+                  Map<Long, MenuIndex> menus, Map<String, Column> columns, int dataStart) {
+    }
+
+    private OrderArchiveSegment() {
+    }
+
+    static String fileName(long seq) {
+        return PREFIX + String.format("%010d", seq) + SUFFIX;
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * rows(키 순서)를 세그먼트 파일로 씁니다. 임시 파일에 쓰고 fsync한 뒤 이름을 바꾸므로, 파일이 보이면 내용이 완전합니다.
+     */
+    static Path write(Path directory, long seq, List<Row> rows) throws IOException {
+        int n = rows.size();
+        Map<String, byte[]> blocks = new LinkedHashMap<>();
+        blocks.put(ORDER_ID, column(out -> { for (Row r : rows) out.writeUTF(r.orderId()); }));
+        blocks.put(USER_ID, column(out -> { for (Row r : rows) out.writeUTF(r.userId()); }));
+        blocks.put(MENU_ID, column(out -> { for (Row r : rows) out.writeLong(r.menuId()); }));
+        blocks.put(MENU_NAME, column(out -> {
+            for (Row r : rows) {
+                out.writeBoolean(r.menuName() != null);
+                if (r.menuName() != null) {
+                    out.writeUTF(r.menuName());
+                }
+            }
+        }));
+        blocks.put(UNIT_PRICE, column(out -> { for (Row r : rows) out.writeInt(r.unitPrice() != null ? r.unitPrice() : NULL_INT); }));
+        blocks.put(QUANTITY, column(out -> { for (Row r : rows) out.writeInt(r.quantity()); }));
+        blocks.put(TOTAL_PRICE, column(out -> { for (Row r : rows) out.writeLong(r.totalPrice()); }));
+        blocks.put(ORDER_DATE, column(out -> { for (Row r : rows) out.writeLong(toMicros(r.orderDate())); }));
+        blocks.put(STATUS, column(out -> { for (Row r : rows) out.writeByte(r.status()); }));
+
+        Map<Long, MenuIndex> menus = new LinkedHashMap<>();
+        for (Row r : rows) {
+            long date = toMicros(r.orderDate());
+            menus.merge(r.menuId(),
+                    new MenuIndex(r.menuId(), r.menuName(), 1, r.quantity(), r.totalPrice(), date, date),
+                    (a, b) -> new MenuIndex(a.menuId(), b.menuName() != null ? b.menuName() : a.menuName(), a.rows() + 1,
+                            a.quantity() + b.quantity(), a.totalPrice() + b.totalPrice(),
+                            Math.min(a.minDate(), b.minDate()), Math.max(a.maxDate(), b.maxDate())));
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(headerBytes)) {
+            Row last = rows.get(n - 1);
+            out.writeInt(n);
+            out.writeLong(toMicros(rows.get(0).orderDate()));
+            out.writeLong(toMicros(last.orderDate())); // 키 순서이므로 마지막 행 = 최대 일시
+            out.writeUTF(last.orderId());
+            out.writeInt(menus.size());
+            for (MenuIndex menu : menus.values()) {
+                out.writeLong(menu.menuId());
+                out.writeBoolean(menu.menuName() != null);
+                if (menu.menuName() != null) {
+                    out.writeUTF(menu.menuName());
+                }
+                out.writeInt(menu.rows());
+                out.writeLong(menu.quantity());
+                out.writeLong(menu.totalPrice());
+                out.writeLong(menu.minDate());
+                out.writeLong(menu.maxDate());
+            }
+            out.writeInt(blocks.size());
+            long offset = 0;
+            for (Map.Entry<String, byte[]> block : blocks.entrySet()) {
+                out.writeUTF(block.getKey());
+                out.writeLong(offset);
+                out.writeInt(block.getValue().length);
+                offset += block.getValue().length;
+            }
+        }
+
+        Path target = directory.resolve(fileName(seq));
+        Path temp = directory.resolve(fileName(seq) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] header = headerBytes.toByteArray();
+            writeFully(channel, ByteBuffer.allocate(12).putInt(MAGIC).putInt(VERSION).putInt(header.length).flip());
+            writeFully(channel, ByteBuffer.wrap(header));
+            for (byte[] block : blocks.values()) {
+                writeFully(channel, ByteBuffer.wrap(block));
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory); // 이름 변경까지 내구화된 뒤에야 호출자가 DB 행을 지웁니다.
+        return target;
+    }
+
+    // 디렉터리 엔트리(rename)를 디스크에 반영. 디렉터리 열기를 지원하지 않는 플랫폼(Windows)은 건너뜁니다.
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            // 디렉터리 fsync를 지원하지 않으면 rename 자체의 원자성에 맡깁니다.
+        }
+    }
+
+    static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("보관 세그먼트 형식이 아닙니다: " + path);
+            }
+            int headerLength = in.readInt();
+            int rowCount = in.readInt();
+            long minDate = in.readLong();
+            long maxDate = in.readLong();
+            String lastOrderId = in.readUTF();
+            int menuCount = in.readInt();
+            Map<Long, MenuIndex> menus = new LinkedHashMap<>();
+            for (int i = 0; i < menuCount; i++) {
+                long menuId = in.readLong();
+                String menuName = in.readBoolean() ? in.readUTF() : null;
+                menus.put(menuId, new MenuIndex(menuId, menuName, in.readInt(), in.readLong(), in.readLong(),
+                        in.readLong(), in.readLong()));
+            }
+            int columnCount = in.readInt();
+            Map<String, Column> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                String name = in.readUTF();
+                columns.put(name, new Column(name, in.readLong(), in.readInt()));
+            }
+            String fileName = path.getFileName().toString();
+            long seq = Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+            return new Header(path, seq, rowCount, minDate, maxDate, lastOrderId, menus, columns, 12 + headerLength);
+        }
+    }
+
+    /**
+     * 열 하나를 풀어 읽을 수 있는 스트림으로 엽니다. 호출한 쪽에서 행 수만큼 읽고 닫습니다.
+     */
+    static DataInputStream openColumn(Header header, String name) throws IOException {
+        Column column = header.columns().get(name);
+        if (column == null) {
+            throw new IOException("보관 세그먼트에 열이 없습니다: " + name + " (" + header.path() + ")");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(column.length());
+        try (FileChannel channel = FileChannel.open(header.path(), StandardOpenOption.READ)) {
+            long position = header.dataStart() + column.offset();
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("보관 세그먼트가 잘렸습니다: " + header.path());
+                }
+            }
+        }
+        return new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(buffer.array()))));
+    }
+
+    static List<String> readOrderIds(Header header) throws IOException {
+        List<String> orderIds = new ArrayList<>(header.rowCount());
+        try (DataInputStream in = openColumn(header, ORDER_ID)) {
+            for (int i = 0; i < header.rowCount(); i++) {
+                orderIds.add(in.readUTF());
+            }
+        }
+        return orderIds;
+    }
+
+    private interface ColumnWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] column(ColumnWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            writer.write(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
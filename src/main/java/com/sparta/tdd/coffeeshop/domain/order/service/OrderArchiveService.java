@@ -0,0 +1,485 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveAggregateResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveSegmentResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveSegment.Header;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveSegment.MenuIndex;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveSegment.Row;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 오래된 주문 보관. ageMonths보다 오래된 주문을 (order_date, order_id) 순서로 segmentRows건씩 열 단위 압축 세그먼트 파일에 쓰고
+ * DB에서 지웁니다. orders에는 최근 주문만 남고, 보관된 주문은 기간/메뉴별 집계 API로 조회합니다.
+ *
+ * - 이어서 보관: 마지막 세그먼트의 마지막 행 키 다음부터 읽으므로 같은 주문이 두 번 보관되지 않습니다.
+ * - 장애 복구: 세그먼트 파일은 fsync 후 이름을 바꿔 완성된 것만 보이고, DB 삭제는 그 다음입니다. 삭제 전에 멈췄다면
+ *   다음 실행 때 마지막 세그먼트의 주문 ID를 다시 지웁니다. (이미 지운 행은 영향 없음)
+ * - 조회: 세그먼트 헤더(최소/최대 일시, 메뉴 색인)로 건너뛸 세그먼트를 고르고, 나머지를 scanThreads개 스레드로 동시에 읽습니다.
+ *
+ * - 사용자 통계 재구축(§18)은 completedTotalsByUser로 보관된 완료 주문을 더하고, 파티션 보관 기간 삭제(§26)는
+ *   archivedThrough 이전까지만 지웁니다.
+ *
+ * 보관한 주문은 주문 상세/내역 조회, 환불의 대상에서 빠집니다.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderArchiveProperties properties;
+    private final ExecutorService scanPool;
+
+    private volatile List<Header> segments; // seq 순서. null이면 디렉터리에서 다시 읽음
+    private Thread worker;
+    private volatile boolean running;
+
+    public OrderArchiveService(JdbcTemplate jdbcTemplate, OrderArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.scanPool = Executors.newFixedThreadPool(Math.max(1, properties.getScanThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "order-archive-scan-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 보관된 주문의 사용자·메뉴별 합계 (완료 주문만)
+     */
+    public record UserMenuTotal(long orders, long totalPrice, LocalDateTime lastOrderAt) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // --- 보관 ---
+
+    /**
+     * 이 시각 이전 주문이 보관 대상입니다.
+     */
+    public LocalDateTime cutoff(LocalDate today) {
+        return today.minusMonths(properties.getAgeMonths()).atStartOfDay();
+    }
+
+    /**
+     * 이 시각보다 앞선 주문은 모두 세그먼트에 있습니다. (키 순서로 보관하므로 마지막 세그먼트의 최대 일시) 세그먼트가 없으면 null
+     */
+    public LocalDateTime archivedThrough() {
+        List<Header> headers = loadSegments();
+        return headers.isEmpty() ? null : OrderArchiveSegment.fromMicros(headers.get(headers.size() - 1).maxDate());
+    }
+
+    /**
+     * 보관 기준보다 오래된 주문을 모두 세그먼트로 옮깁니다.
+     */
+    public synchronized OrderArchiveResponse archive() {
+        LocalDateTime cutoff = cutoff(LocalDate.now());
+        int segmentRows = Math.max(1, properties.getSegmentRows());
+        int written = 0;
+        long archived = 0;
+        try {
+            Path directory = Files.createDirectories(Path.of(properties.getDir()));
+            List<Header> existing = loadSegments();
+            Header last = existing.isEmpty() ? null : existing.get(existing.size() - 1);
+            if (last != null) {
+                deleteOrders(OrderArchiveSegment.readOrderIds(last)); // 직전 실행이 삭제 전에 멈췄을 경우
+            }
+            while (true) {
+                List<Row> rows = readChunk(last, cutoff, segmentRows);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                long seq = last == null ? 1 : last.seq() + 1;
+                Path file = OrderArchiveSegment.write(directory, seq, rows);
+                last = OrderArchiveSegment.readHeader(file);
+                segments = null;
+                deleteOrders(rows.stream().map(Row::orderId).toList());
+                written++;
+                archived += rows.size();
+                log.info("주문 보관 세그먼트 작성: {} ({}건, {} ~ {})", file.getFileName(), rows.size(),
+                        rows.get(0).orderDate(), rows.get(rows.size() - 1).orderDate());
+                if (rows.size() < segmentRows) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 보관 실패: " + properties.getDir(), e);
+        }
+        return OrderArchiveResponse.builder()
+                .cutoff(cutoff)
+                .segmentsWritten(written)
+                .archivedOrders(archived)
+                .totalSegments(loadSegments().size())
+                .build();
+    }
+
+    // 마지막으로 보관한 행 키 다음부터, 기준 시각 이전 주문을 키 순서로 limit건
+    private List<Row> readChunk(Header after, LocalDateTime cutoff, int limit) {
+        String columns = "SELECT order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, order_date, status FROM orders ";
+        if (after == null) {
+            return jdbcTemplate.query(columns + "WHERE order_date < ? ORDER BY order_date, order_id LIMIT ?",
+                    (rs, rowNum) -> toRow(rs), Timestamp.valueOf(cutoff), limit);
+        }
+        Timestamp lastDate = Timestamp.valueOf(OrderArchiveSegment.fromMicros(after.maxDate()));
+        return jdbcTemplate.query(columns + "WHERE order_date < ? AND (order_date > ? OR (order_date = ? AND order_id > ?)) "
+                        + "ORDER BY order_date, order_id LIMIT ?",
+                (rs, rowNum) -> toRow(rs), Timestamp.valueOf(cutoff), lastDate, lastDate, after.lastOrderId(), limit);
+    }
+
+    private static Row toRow(ResultSet rs) throws SQLException {
+        int unitPrice = rs.getInt("unit_price");
+        Integer snapshotPrice = rs.wasNull() ? null : unitPrice;
+        return new Row(rs.getString("order_id"), rs.getString("user_id"), rs.getLong("menu_id"), rs.getString("menu_name"),
+                snapshotPrice, rs.getInt("quantity"), rs.getLong("total_price"),
+                rs.getTimestamp("order_date").toLocalDateTime(), rs.getInt("status"));
+    }
+
+    private void deleteOrders(List<String> orderIds) {
+        int chunkSize = Math.max(1, properties.getDeleteChunkSize());
+        for (int from = 0; from < orderIds.size(); from += chunkSize) {
+            List<String> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + chunkSize));
+            jdbcTemplate.update("DELETE FROM orders WHERE order_id IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")", chunk.toArray());
+        }
+    }
+
+    // --- 조회 ---
+
+    public List<OrderArchiveSegmentResponse> getSegments() {
+        return loadSegments().stream()
+                .map(header -> OrderArchiveSegmentResponse.builder()
+                        .file(header.path().getFileName().toString())
+                        .bytes(header.path().toFile().length())
+                        .orders(header.rowCount())
+                        .minOrderDate(OrderArchiveSegment.fromMicros(header.minDate()))
+                        .maxOrderDate(OrderArchiveSegment.fromMicros(header.maxDate()))
+                        .menuIds(header.menus().keySet())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * 보관된 주문을 [from, to) 기간, 메뉴별로 집계합니다.
+     *
+     * @param menuId null이면 전체 메뉴
+     */
+    public OrderArchiveAggregateResponse aggregate(LocalDateTime from, LocalDateTime to, Long menuId) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "from은 to보다 앞선 시각이어야 합니다.");
+        }
+        long fromMicros = OrderArchiveSegment.toMicros(from);
+        long toMicros = OrderArchiveSegment.toMicros(to);
+
+        int skipped = 0;
+        int fromIndex = 0;
+        Map<Long, long[]> totals = new HashMap<>(); // menuId → [주문 수, 수량, 금액]
+        Map<Long, String> names = new HashMap<>();
+        List<Future<Map<Long, Partial>>> scans = new ArrayList<>();
+        for (Header header : loadSegments()) {
+            if (header.maxDate() < fromMicros || header.minDate() >= toMicros) {
+                skipped++;
+                continue;
+            }
+            List<MenuIndex> menus = menuId == null ? List.copyOf(header.menus().values())
+                    : header.menus().containsKey(menuId) ? List.of(header.menus().get(menuId)) : List.of();
+            menus = menus.stream().filter(m -> m.maxDate() >= fromMicros && m.minDate() < toMicros).toList();
+            if (menus.isEmpty()) {
+                skipped++;
+                continue;
+            }
+            if (menus.stream().allMatch(m -> m.minDate() >= fromMicros && m.maxDate() < toMicros)) {
+                fromIndex++; // 해당 메뉴 행이 모두 기간 안: 색인 합계를 그대로 사용
+                for (MenuIndex m : menus) {
+                    add(totals, names, m.menuId(), m.menuName(), m.rows(), m.quantity(), m.totalPrice());
+                }
+                continue;
+            }
+            scans.add(scanPool.submit(() -> scan(header, fromMicros, toMicros, menuId)));
+        }
+        for (Future<Map<Long, Partial>> scan : scans) {
+            try {
+                scan.get().forEach((id, p) -> add(totals, names, id, p.menuName, p.orders, p.quantity, p.totalPrice));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "보관 주문 조회가 중단되었습니다.");
+            } catch (ExecutionException e) {
+                log.error("보관 세그먼트 읽기 실패", e.getCause());
+                throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "보관 세그먼트를 읽을 수 없습니다.");
+            }
+        }
+
+        List<OrderArchiveAggregateResponse.MenuAggregate> menus = totals.entrySet().stream()
+                .map(e -> OrderArchiveAggregateResponse.MenuAggregate.builder()
+                        .menuId(e.getKey())
+                        .menuName(names.get(e.getKey()))
+                        .orderCount(e.getValue()[0])
+                        .quantity(e.getValue()[1])
+                        .totalPrice(e.getValue()[2])
+                        .build())
+                .sorted(Comparator.comparingLong(OrderArchiveAggregateResponse.MenuAggregate::getOrderCount).reversed()
+                        .thenComparing(OrderArchiveAggregateResponse.MenuAggregate::getMenuId))
+                .toList();
+        return OrderArchiveAggregateResponse.builder()
+                .from(from)
+                .to(to)
+                .menuId(menuId)
+                .segmentsSkipped(skipped)
+                .segmentsFromIndex(fromIndex)
+                .segmentsScanned(scans.size())
+                .menus(menus)
+                .build();
+    }
+
+    /**
+     * 보관을 멈춘 채 work를 실행합니다. 세그먼트와 orders를 함께 읽는 동안 주문이 옮겨져 빠지거나 두 번 집계되지 않게 합니다.
+     * 직전 보관이 DB 삭제 전에 멈췄다면 그 주문을 먼저 지웁니다.
+     */
+    public synchronized <T> T holdArchiving(Supplier<T> work) {
+        List<Header> existing = loadSegments();
+        if (!existing.isEmpty()) {
+            try {
+                deleteOrders(OrderArchiveSegment.readOrderIds(existing.get(existing.size() - 1)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("보관 세그먼트를 읽을 수 없습니다: " + properties.getDir(), e);
+            }
+        }
+        return work.get();
+    }
+
+    /**
+     * 보관된 완료 주문을 사용자·메뉴별로 집계합니다. 사용자 통계 재구축용으로, 모든 세그먼트의 열을 읽습니다.
+     *
+     * @return userId 순서의 사용자별 메뉴 합계
+     */
+    public NavigableMap<String, Map<Long, UserMenuTotal>> completedTotalsByUser() {
+        List<Future<Map<String, Map<Long, long[]>>>> scans = new ArrayList<>();
+        for (Header header : loadSegments()) {
+            scans.add(scanPool.submit(() -> scanCompletedByUser(header)));
+        }
+        Map<String, Map<Long, long[]>> totals = new HashMap<>(); // userId → menuId → [주문 수, 금액, 최대 일시]
+        for (Future<Map<String, Map<Long, long[]>>> scan : scans) {
+            try {
+                scan.get().forEach((userId, menus) -> menus.forEach((menuId, partial) -> {
+                    long[] total = totals.computeIfAbsent(userId, id -> new HashMap<>())
+                            .computeIfAbsent(menuId, id -> new long[]{0, 0, Long.MIN_VALUE});
+                    total[0] += partial[0];
+                    total[1] += partial[1];
+                    total[2] = Math.max(total[2], partial[2]);
+                }));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "보관 주문 조회가 중단되었습니다.");
+            } catch (ExecutionException e) {
+                log.error("보관 세그먼트 읽기 실패", e.getCause());
+                throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "보관 세그먼트를 읽을 수 없습니다.");
+            }
+        }
+        NavigableMap<String, Map<Long, UserMenuTotal>> result = new TreeMap<>();
+        totals.forEach((userId, menus) -> {
+            Map<Long, UserMenuTotal> byMenu = new HashMap<>();
+            menus.forEach((menuId, total) -> byMenu.put(menuId,
+                    new UserMenuTotal(total[0], total[1], OrderArchiveSegment.fromMicros(total[2]))));
+            result.put(userId, byMenu);
+        });
+        return result;
+    }
+
+    // 세그먼트 하나의 완료 주문을 사용자·메뉴별로 집계 (status는 ORDINAL)
+    private static Map<String, Map<Long, long[]>> scanCompletedByUser(Header header) throws IOException {
+        int n = header.rowCount();
+        boolean[] completed = new boolean[n];
+        try (DataInputStream in = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.STATUS)) {
+            for (int i = 0; i < n; i++) {
+                completed[i] = in.readByte() == Order.OrderStatus.COMPLETED.ordinal();
+            }
+        }
+        Map<String, Map<Long, long[]>> partials = new HashMap<>();
+        try (DataInputStream userIds = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.USER_ID);
+             DataInputStream menuIds = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.MENU_ID);
+             DataInputStream prices = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.TOTAL_PRICE);
+             DataInputStream dates = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.ORDER_DATE)) {
+            for (int i = 0; i < n; i++) {
+                String userId = userIds.readUTF();
+                long menuId = menuIds.readLong();
+                long totalPrice = prices.readLong();
+                long date = dates.readLong();
+                if (!completed[i]) {
+                    continue;
+                }
+                long[] partial = partials.computeIfAbsent(userId, id -> new HashMap<>())
+                        .computeIfAbsent(menuId, id -> new long[]{0, 0, Long.MIN_VALUE});
+                partial[0]++;
+                partial[1] += totalPrice;
+                partial[2] = Math.max(partial[2], date);
+            }
+        }
+        return partials;
+    }
+
+    private static final class Partial {
+        String menuName;
+        long orders;
+        long quantity;
+        long totalPrice;
+    }
+
+    // 세그먼트 하나를 행 단위로 집계 (필요한 열만 풂)
+    private static Map<Long, Partial> scan(Header header, long fromMicros, long toMicros, Long menuId) throws IOException {
+        int n = header.rowCount();
+        long[] dates = new long[n];
+        long[] menuIds = new long[n];
+        try (DataInputStream in = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.ORDER_DATE)) {
+            for (int i = 0; i < n; i++) {
+                dates[i] = in.readLong();
+            }
+        }
+        try (DataInputStream in = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.MENU_ID)) {
+            for (int i = 0; i < n; i++) {
+                menuIds[i] = in.readLong();
+            }
+        }
+        Map<Long, Partial> partials = new HashMap<>();
+        try (DataInputStream quantities = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.QUANTITY);
+             DataInputStream prices = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.TOTAL_PRICE);
+             DataInputStream menuNames = OrderArchiveSegment.openColumn(header, OrderArchiveSegment.MENU_NAME)) {
+            for (int i = 0; i < n; i++) {
+                int quantity = quantities.readInt();
+                long totalPrice = prices.readLong();
+                String menuName = menuNames.readBoolean() ? menuNames.readUTF() : null;
+                if (dates[i] < fromMicros || dates[i] >= toMicros || (menuId != null && menuIds[i] != menuId)) {
+                    continue;
+                }
+                Partial partial = partials.computeIfAbsent(menuIds[i], id -> new Partial());
+                partial.orders++;
+                partial.quantity += quantity;
+                partial.totalPrice += totalPrice;
+                if (menuName != null) {
+                    partial.menuName = menuName; // 키 순서이므로 마지막 값이 가장 최근 이름
+                }
+            }
+        }
+        return partials;
+    }
+
+    private static void add(Map<Long, long[]> totals, Map<Long, String> names, long menuId, String menuName,
+                            long orders, long quantity, long totalPrice) {
+        long[] total = totals.computeIfAbsent(menuId, id -> new long[3]);
+        total[0] += orders;
+        total[1] += quantity;
+        total[2] += totalPrice;
+        if (menuName != null) {
+            names.put(menuId, menuName); // 세그먼트를 seq 순서로 더하므로 마지막 값이 가장 최근 이름
+        }
+    }
+
+    private List<Header> loadSegments() {
+        List<Header> cached = segments;
+        if (cached != null) {
+            return cached;
+        }
+        Path directory = Path.of(properties.getDir());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Header> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(OrderArchiveSegment.PREFIX) && name.endsWith(OrderArchiveSegment.SUFFIX);
+            }).sorted().toList()) {
+                loaded.add(OrderArchiveSegment.readHeader(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 세그먼트 목록을 읽을 수 없습니다: " + directory, e);
+        }
+        segments = List.copyOf(loaded);
+        return segments;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                archive();
+            } catch (Exception e) {
+                log.warn("주문 보관 실패. 다음 주기에 다시 시도합니다: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(Math.max(1, properties.getCheckMinutes())));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "order-archiver");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt(); // 대기 중인 sleep만 깨움. 진행 중인 보관은 세그먼트 단위로 이어서 재개됨
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+}
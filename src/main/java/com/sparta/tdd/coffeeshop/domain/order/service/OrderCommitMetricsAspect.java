@@ -0,0 +1,39 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문의 커밋 단계 실패를 실제 예외로 분류합니다.
+ * 커밋 중 예외(flush의 버전 충돌, beforeCommit 실패 등)는 트랜잭션 동기화에 전달되지 않으므로,
+ * @Transactional보다 바깥에서 서비스 호출을 감싸 빠져나온 예외를 OrderMetrics에 넘깁니다.
+ * (ShardRoutingAspect 바로 안쪽)
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class OrderCommitMetricsAspect {
+
+    private final OrderMetrics orderMetrics;
+
+    @Around("execution(public * com.sparta.tdd.coffeeshop.domain.order.service.OrderService.placeOrder(..))")
+    public Object watchCommit(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean[] previous = orderMetrics.openCommitWatch();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            orderMetrics.closeCommitWatch(previous, failure);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 주문 제조(fulfillment) 설정 (coffeeshop.fulfillment.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.fulfillment")
+public class OrderFulfillmentProperties {
+
+    // true면 주문은 PENDING으로 저장되고, 제조 워커가 가져가 PREPARING → COMPLETED로 처리합니다.
+    private boolean enabled = false;
+
+    // 이 노드의 워커 스레드 수 (노드를 늘리면 SKIP LOCKED로 서로 다른 주문을 가져가므로 처리량이 선형으로 늘어남)
+    private int workers = 4;
+
+    // 워커가 한 번에 가져가는 주문 수
+    private int batchSize = 10;
+
+    // 주문 하나를 제조하는 데 걸리는 시간 (밀리초, 실제 제조 대신 대기)
+    private long prepMillis = 0;
+
+    // 대기열이 비었을 때 다시 확인하기까지 쉬는 시간 (밀리초)
+    private long idleMillis = 200;
+
+    // PREPARING 상태로 이 시간(초) 넘게 남은 주문은 워커가 죽은 것으로 보고 PENDING으로 되돌림
+    private long leaseSeconds = 60;
+
+    // 대기열 길이/대기 시간 메트릭 갱신 주기 (밀리초)
+    private long metricsRefreshMillis = 5000;
+}
@@ -0,0 +1,281 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.domain.order.Order.OrderStatus;
+import com.sparta.tdd.coffeeshop.domain.order.OrderCompletedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 제조(fulfillment) 워커. (coffeeshop.fulfillment.enabled=true 일 때만 동작)
+ *
+ * - 가져가기: PENDING 주문을 접수 순으로 batchSize만큼 SELECT ... FOR UPDATE SKIP LOCKED로 잠그고 PREPARING으로 바꾼 뒤 바로 커밋
+ *   다른 워커(다른 노드 포함)가 잠근 행은 기다리지 않고 건너뛰므로, 워커끼리 서로를 막지 않고 서로 다른 주문을 가져갑니다.
+ * - 완료: 상태 조건부 UPDATE(PREPARING이고 내가 가져간 주문일 때만 COMPLETED)로 전이. 그 사이 취소되었거나
+ *   임대가 만료되어 다른 워커에게 넘어간 주문은 0건 갱신으로 감지하고 버립니다. (중복 처리 없음)
+ * - 임대 만료: PREPARING으로 leaseSeconds 넘게 남은 주문(워커 장애)은 PENDING으로 되돌려 다시 처리합니다.
+ * - 메트릭: 대기열 길이(coffeeshop.fulfillment.queue.depth), 가장 오래 기다린 주문의 대기 시간(coffeeshop.fulfillment.queue.age)
+ */
+@Slf4j
+@Service
+public class OrderFulfillmentService implements SmartLifecycle {
+
+    private record Claimed(String orderId, String userId, Long menuId, long totalPrice, LocalDateTime orderDate) {
+    }
+
+    private final OrderFulfillmentProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong queueAgeMillis = new AtomicLong();
+    private final Counter completed;
+    private final Counter conflicts;
+    private final Counter reclaimed;
+    private final Timer waitTime;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public OrderFulfillmentService(OrderFulfillmentProperties properties, JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.completed = meterRegistry.counter("coffeeshop.fulfillment.completed");
+        this.conflicts = meterRegistry.counter("coffeeshop.fulfillment.conflicts");
+        this.reclaimed = meterRegistry.counter("coffeeshop.fulfillment.reclaimed");
+        this.waitTime = Timer.builder("coffeeshop.fulfillment.wait")
+                .description("주문 접수부터 제조 워커가 가져가기까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // PENDING 주문을 최대 batchSize건 가져가 PREPARING으로 바꿈 (한 트랜잭션, 다른 워커가 잠근 행은 건너뜀)
+    private List<Claimed> claim(String workerId) {
+        List<Claimed> claimed = transactionTemplate.execute(status -> {
+            List<Claimed> rows = jdbcTemplate.query(
+                    "SELECT order_id, user_id, menu_id, total_price, order_date FROM orders "
+                            + "WHERE status = ? ORDER BY order_date LIMIT ? FOR UPDATE SKIP LOCKED",
+                    (rs, rowNum) -> new Claimed(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4),
+                            rs.getTimestamp(5).toLocalDateTime()),
+                    OrderStatus.PENDING.ordinal(), properties.getBatchSize());
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            List<Object> args = new ArrayList<>();
+            args.add(OrderStatus.PREPARING.ordinal());
+            args.add(workerId);
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            rows.forEach(row -> args.add(row.orderId()));
+            args.add(OrderStatus.PENDING.ordinal());
+            jdbcTemplate.update("UPDATE orders SET status = ?, fulfillment_worker = ?, claimed_at = ? WHERE order_id IN ("
+                    + String.join(",", Collections.nCopies(rows.size(), "?")) + ") AND status = ?", args.toArray());
+            return rows;
+        });
+        LocalDateTime now = LocalDateTime.now();
+        claimed.forEach(row -> waitTime.record(Duration.between(row.orderDate(), now)));
+        return claimed;
+    }
+
+    /**
+     * PREPARING → COMPLETED. 내가 가져간 주문이 아직 PREPARING일 때만 전이합니다.
+     * @return 전이했으면 true, 그 사이 취소/재할당되었으면 false
+     */
+    private boolean complete(Claimed order, String workerId) {
+        Boolean done = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update("UPDATE orders SET status = ?, fulfillment_worker = NULL "
+                            + "WHERE order_id = ? AND status = ? AND fulfillment_worker = ?",
+                    OrderStatus.COMPLETED.ordinal(), order.orderId(), OrderStatus.PREPARING.ordinal(), workerId);
+            if (updated == 1) {
+                // 완료 시점에 읽기 모델(주문 통계)에 반영 (커밋 후 리스너 실행)
+                eventPublisher.publishEvent(new OrderCompletedEvent(order.orderId(), order.userId(), order.menuId(),
+                        order.totalPrice(), order.orderDate()));
+            }
+            return updated == 1;
+        });
+        if (Boolean.TRUE.equals(done)) {
+            completed.increment();
+            return true;
+        }
+        conflicts.increment();
+        log.info("제조 완료 전이 실패(취소 또는 재할당됨): orderId={}, worker={}", order.orderId(), workerId);
+        return false;
+    }
+
+    /**
+     * 대기열에서 한 배치를 가져와 제조까지 끝냅니다.
+     * @return 완료한 주문 수
+     */
+    public int processBatch(String workerId) {
+        int done = 0;
+        for (Claimed order : claim(workerId)) {
+            prepare();
+            if (complete(order, workerId)) {
+                done++;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * 임대가 만료된 PREPARING 주문을 PENDING으로 되돌립니다.
+     * @return 되돌린 주문 수
+     */
+    public int reclaimExpired() {
+        Timestamp expiredBefore = Timestamp.valueOf(LocalDateTime.now().minusSeconds(properties.getLeaseSeconds()));
+        int count = jdbcTemplate.update("UPDATE orders SET status = ?, fulfillment_worker = NULL, claimed_at = NULL "
+                        + "WHERE status = ? AND claimed_at < ?",
+                OrderStatus.PENDING.ordinal(), OrderStatus.PREPARING.ordinal(), expiredBefore);
+        if (count > 0) {
+            reclaimed.increment(count);
+            log.warn("임대가 만료된 제조 주문을 대기열로 되돌렸습니다: {}건", count);
+        }
+        return count;
+    }
+
+    void refreshQueueMetrics() {
+        jdbcTemplate.query("SELECT COUNT(*), MIN(order_date) FROM orders WHERE status = ?", rs -> {
+            queueDepth.set(rs.getLong(1));
+            Timestamp oldest = rs.getTimestamp(2);
+            queueAgeMillis.set(oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime()));
+        }, OrderStatus.PENDING.ordinal());
+    }
+
+    private void prepare() {
+        if (properties.getPrepMillis() > 0) {
+            try {
+                Thread.sleep(properties.getPrepMillis()); // 실제 제조 대신 대기
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void workerLoop(String workerId) {
+        while (running) {
+            try {
+                if (processBatch(workerId) == 0) {
+                    Thread.sleep(properties.getIdleMillis());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("제조 워커 오류: worker={}", workerId, e);
+                sleepQuietly(properties.getIdleMillis());
+            }
+        }
+    }
+
+    // 임대 만료 회수와 대기열 메트릭 갱신
+    private void housekeepingLoop() {
+        while (running) {
+            try {
+                reclaimExpired();
+                refreshQueueMetrics();
+            } catch (RuntimeException e) {
+                log.warn("제조 대기열 점검 실패", e);
+            }
+            sleepQuietly(properties.getMetricsRefreshMillis());
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        Gauge.builder("coffeeshop.fulfillment.queue.depth", queueDepth, AtomicLong::get)
+                .description("제조 대기(PENDING) 주문 수")
+                .register(meterRegistry);
+        Gauge.builder("coffeeshop.fulfillment.queue.age", queueAgeMillis, a -> a.get() / 1000.0)
+                .description("가장 오래 기다린 제조 대기 주문의 대기 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        running = true;
+        for (int i = 1; i <= properties.getWorkers(); i++) {
+            String workerId = nodeId + "-" + i;
+            Thread thread = new Thread(() -> workerLoop(workerId), "fulfillment-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        Thread housekeeping = new Thread(this::housekeepingLoop, "fulfillment-housekeeping");
+        housekeeping.setDaemon(true);
+        threads.add(housekeeping);
+        threads.forEach(Thread::start);
+        log.info("주문 제조 워커 기동: node={}, workers={}", nodeId, properties.getWorkers());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) { // 진행 중인 배치는 끝까지 처리 (중간에 죽으면 PREPARING 주문은 임대 만료 후 재처리)
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
@@ -0,0 +1,388 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메모리 매핑(mmap) 세그먼트 파일에 주문 접수 레코드를 추가하는 선행 기록 로그.
+ *
+ * - 기록: 매핑된 버퍼에 레코드를 쓰고, 동기화 스레드가 모인 레코드를 한 번의 force(fsync)로 내구화(그룹 커밋)
+ *   append는 자기 레코드가 내구화될 때까지 기다린 뒤 반환합니다.
+ * - 읽기: 반영 워커가 내구화된 레코드만 순서대로 poll (단일 소비자)
+ * - 세그먼트: intake-{첫 seq 20자리}.log, 크기 고정(미리 0으로 채워짐). 길이 0 = 세그먼트 끝
+ *
+ * 레코드: [길이 int][seq long][접수시각 long][intakeId msb long][intakeId lsb long][menuId long][quantity int]
+ *         [userId 길이 short][userId UTF-8][CRC32 int]
+ */
+@Slf4j
+class OrderIntakeLog implements Closeable {
+
+    record Entry(long seq, String intakeId, String userId, long menuId, int quantity, long acceptedAtMillis) {
+    }
+
+    private static final String PREFIX = "intake-";
+    private static final String SUFFIX = ".log";
+    private static final int FIXED_BODY = 8 + 8 + 8 + 8 + 8 + 4 + 2;
+    private static final int MAX_USER_ID_BYTES = 512;
+
+    private static final class Segment {
+        final long firstSeq;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writePosition;
+
+        Segment(long firstSeq, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstSeq = firstSeq;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long groupCommitMillis;
+    private final Object monitor = new Object();
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(4 + FIXED_BODY + MAX_USER_ID_BYTES + 4);
+    private final CRC32 crc = new CRC32();
+
+    // 아래 필드는 monitor로 보호
+    private long lastSeq;
+    private long durableSeq;
+    private int unsyncedFrom; // 현재 세그먼트에서 아직 force되지 않은 시작 위치
+    private boolean closed;
+    private IOException syncFailure;
+
+    // 읽기 커서 (단일 소비자)
+    private int readSegment;
+    private int readPosition;
+
+    private Thread syncer;
+
+    OrderIntakeLog(Path directory, int segmentBytes, long groupCommitMillis) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.groupCommitMillis = groupCommitMillis;
+    }
+
+    /**
+     * 기존 세그먼트를 열고, appliedSeq 다음 레코드부터 읽도록 커서를 맞춘 뒤 동기화 스레드를 시작합니다.
+     */
+    void open(long appliedSeq) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().startsWith(PREFIX)
+                    && p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        long maxSeq = appliedSeq;
+        for (Path file : files) {
+            Segment segment = map(file, firstSeqOf(file));
+            segment.writePosition = scan(segment);
+            segments.add(segment);
+            maxSeq = Math.max(maxSeq, lastSeqIn(segment));
+        }
+        synchronized (monitor) {
+            lastSeq = maxSeq;
+            durableSeq = maxSeq; // 디스크에 있던 레코드는 이미 내구화된 것
+            if (segments.isEmpty()) {
+                segments.add(createSegment(lastSeq + 1));
+            } else {
+                Segment last = segments.get(segments.size() - 1);
+                // 잘린 꼬리 뒤에 남은 바이트가 새 레코드와 섞이지 않도록 지움
+                for (int i = last.writePosition; i < segmentBytes; i++) {
+                    last.buffer.put(i, (byte) 0);
+                }
+                unsyncedFrom = last.writePosition;
+            }
+        }
+        seekAfter(appliedSeq);
+
+        syncer = new Thread(this::syncLoop, "order-intake-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    /**
+     * 레코드를 추가하고 내구화될 때까지 기다립니다.
+     * @return 부여된 seq
+     */
+    long append(String intakeId, String userId, long menuId, int quantity) throws IOException, InterruptedException {
+        byte[] id = userId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_USER_ID_BYTES) {
+            throw new IOException("userId가 너무 깁니다: " + id.length + " bytes");
+        }
+        UUID uuid = UUID.fromString(intakeId);
+        long seq;
+        synchronized (monitor) {
+            if (closed) {
+                throw new IOException("접수 로그가 닫혔습니다.");
+            }
+            seq = lastSeq + 1;
+            scratch.clear();
+            scratch.putInt(FIXED_BODY + id.length + 4)
+                    .putLong(seq).putLong(System.currentTimeMillis())
+                    .putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits())
+                    .putLong(menuId).putInt(quantity).putShort((short) id.length).put(id);
+            crc.reset();
+            crc.update(scratch.array(), 4, FIXED_BODY + id.length);
+            scratch.putInt((int) crc.getValue());
+            scratch.flip();
+
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.writePosition + scratch.remaining() + 4 > segmentBytes) { // 끝 표시(길이 0) 자리까지 확보
+                segment.buffer.force(unsyncedFrom, segment.writePosition - unsyncedFrom);
+                segment = createSegment(seq);
+                segments.add(segment);
+                unsyncedFrom = 0;
+            }
+            segment.buffer.put(segment.writePosition, scratch, 0, scratch.remaining());
+            segment.writePosition += scratch.remaining();
+            lastSeq = seq;
+            monitor.notifyAll(); // 동기화 스레드 깨우기
+
+            while (durableSeq < seq) {
+                if (syncFailure != null) {
+                    throw new IOException("접수 로그 fsync 실패", syncFailure);
+                }
+                if (closed) {
+                    throw new IOException("접수 로그가 닫혔습니다.");
+                }
+                monitor.wait();
+            }
+        }
+        return seq;
+    }
+
+    private void syncLoop() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            synchronized (monitor) {
+                try {
+                    while (!closed && durableSeq == lastSeq) {
+                        monitor.wait();
+                    }
+                    if (closed) {
+                        return;
+                    }
+                    if (groupCommitMillis > 0) {
+                        monitor.wait(groupCommitMillis); // 같은 fsync에 태울 요청을 잠시 더 모음
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                segment = segments.get(segments.size() - 1);
+                from = unsyncedFrom;
+                to = segment.writePosition;
+                target = lastSeq;
+            }
+            try {
+                segment.buffer.force(from, to - from); // 락 밖에서 fsync (그동안 다른 요청은 계속 기록)
+            } catch (RuntimeException e) {
+                synchronized (monitor) {
+                    syncFailure = new IOException(e);
+                    monitor.notifyAll();
+                }
+                log.error("접수 로그 fsync 실패: segment={}", segment.path, e);
+                return;
+            }
+            synchronized (monitor) {
+                if (segments.get(segments.size() - 1) == segment) {
+                    unsyncedFrom = Math.max(unsyncedFrom, to);
+                }
+                durableSeq = Math.max(durableSeq, target);
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 내구화된 다음 레코드. 없으면 최대 waitMillis 동안 기다린 뒤 null
+     */
+    Entry poll(long waitMillis) throws InterruptedException {
+        synchronized (monitor) {
+            if (readableSeq() > durableSeq) {
+                if (waitMillis > 0) {
+                    monitor.wait(waitMillis);
+                }
+                if (readableSeq() > durableSeq) {
+                    return null;
+                }
+            }
+            while (true) {
+                Segment segment = segments.get(readSegment);
+                Entry entry = decode(segment.buffer, readPosition);
+                if (entry != null) {
+                    readPosition += 4 + segment.buffer.getInt(readPosition);
+                    return entry;
+                }
+                if (readSegment + 1 >= segments.size()) {
+                    return null;
+                }
+                readSegment++;
+                readPosition = 0;
+            }
+        }
+    }
+
+    // 다음으로 읽을 레코드의 seq (읽은 레코드 수로 추적하지 않고 위치에서 계산)
+    private long readableSeq() {
+        Segment segment = segments.get(readSegment);
+        Entry entry = decode(segment.buffer, readPosition);
+        if (entry != null) {
+            return entry.seq();
+        }
+        return readSegment + 1 < segments.size() ? segments.get(readSegment + 1).firstSeq : lastSeq + 1;
+    }
+
+    /**
+     * 읽기 커서가 이미 지나간 세그먼트(모든 레코드를 읽어 반영한 세그먼트)를 지웁니다.
+     */
+    void release() throws IOException {
+        List<Segment> obsolete;
+        synchronized (monitor) {
+            obsolete = new ArrayList<>(segments.subList(0, readSegment));
+            segments.subList(0, readSegment).clear();
+            readSegment = 0;
+        }
+        for (Segment segment : obsolete) {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    long lastSeq() {
+        synchronized (monitor) {
+            return lastSeq;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (monitor) {
+            closed = true;
+            monitor.notifyAll();
+        }
+        if (syncer != null) {
+            syncer.interrupt();
+        }
+        synchronized (monitor) {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        }
+    }
+
+    private void seekAfter(long appliedSeq) {
+        synchronized (monitor) {
+            readSegment = 0;
+            readPosition = 0;
+            while (true) {
+                Entry entry = decode(segments.get(readSegment).buffer, readPosition);
+                if (entry != null) {
+                    if (entry.seq() > appliedSeq) {
+                        return;
+                    }
+                    readPosition += 4 + segments.get(readSegment).buffer.getInt(readPosition);
+                } else if (readSegment + 1 < segments.size()) {
+                    readSegment++;
+                    readPosition = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Segment createSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+        return map(path, firstSeq);
+    }
+
+    private Segment map(Path path, long firstSeq) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        return new Segment(firstSeq, path, channel, buffer);
+    }
+
+    private static long firstSeqOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // 유효한 레코드의 끝 위치
+    private int scan(Segment segment) {
+        int position = 0;
+        while (true) {
+            Entry entry = decode(segment.buffer, position);
+            if (entry == null) {
+                if (segment.buffer.getInt(position) != 0) {
+                    log.warn("접수 로그 꼬리가 손상되어 이후 바이트를 무시합니다: segment={}, offset={}", segment.path, position);
+                }
+                return position;
+            }
+            position += 4 + segment.buffer.getInt(position);
+        }
+    }
+
+    private long lastSeqIn(Segment segment) {
+        long seq = segment.firstSeq - 1;
+        int position = 0;
+        Entry entry;
+        while ((entry = decode(segment.buffer, position)) != null) {
+            seq = entry.seq();
+            position += 4 + segment.buffer.getInt(position);
+        }
+        return seq;
+    }
+
+    // position의 레코드를 읽음. 끝(길이 0)이거나 손상되었으면 null
+    private Entry decode(ByteBuffer buffer, int position) {
+        if (position + 4 > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length < FIXED_BODY + 4 || position + 4 + length > buffer.capacity()) {
+            return null;
+        }
+        int idLength = buffer.getShort(position + 4 + FIXED_BODY - 2);
+        if (idLength < 0 || FIXED_BODY + idLength + 4 != length) {
+            return null;
+        }
+        CRC32 check = new CRC32();
+        check.update(buffer.slice(position + 4, FIXED_BODY + idLength));
+        if ((int) check.getValue() != buffer.getInt(position + 4 + FIXED_BODY + idLength)) {
+            return null;
+        }
+        int p = position + 4;
+        long seq = buffer.getLong(p);
+        long acceptedAt = buffer.getLong(p + 8);
+        UUID intakeId = new UUID(buffer.getLong(p + 16), buffer.getLong(p + 24));
+        long menuId = buffer.getLong(p + 32);
+        int quantity = buffer.getInt(p + 40);
+        byte[] id = new byte[idLength];
+        buffer.get(p + FIXED_BODY, id);
+        return new Entry(seq, intakeId.toString(), new String(id, StandardCharsets.UTF_8), menuId, quantity, acceptedAt);
+    }
+}
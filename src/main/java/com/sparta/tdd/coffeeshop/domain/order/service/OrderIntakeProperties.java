@@ -0,0 +1,34 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 주문 접수 로그 설정 (coffeeshop.order.intake.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.order.intake")
+public class OrderIntakeProperties {
+
+    // true면 POST /api/orders가 로컬 로그에 기록되는 즉시 202(ACCEPTED)로 응답하고, DB 반영은 백그라운드에서 처리합니다.
+    private boolean enabled = false;
+
+    // 세그먼트 파일 디렉터리 (로컬 디스크)
+    private String dir = "./data/order-intake";
+
+    // 세그먼트 하나의 크기 (바이트). 가득 차면 다음 세그먼트로 넘어갑니다.
+    private int segmentBytes = 16 * 1024 * 1024;
+
+    // fsync 한 번에 묶을 요청을 모으는 시간 (밀리초). 0이면 대기 없이 바로 fsync
+    private long groupCommitMillis = 2;
+
+    // DB 반영이 실패(장애, 점검)할 때 재시도 간격의 상한 (밀리초)
+    private long maxRetryBackoffMillis = 5000;
+
+    // 한 접수를 반영하려는 최대 시도 횟수. 넘으면 실패 기록(failed.log)에 남기고 다음 접수로 넘어갑니다.
+    // (로그를 순서대로 반영하므로 한 건이 계속 실패하면 뒤의 접수가 모두 막히는 것을 막기 위함)
+    private int maxApplyAttempts = 20;
+}
@@ -0,0 +1,352 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderIntakeResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 접수 모드 (coffeeshop.order.intake.enabled=true 일 때만 동작)
+ *
+ * - 접수: 요청을 로컬 접수 로그(OrderIntakeLog)에 기록하고, 그룹 fsync로 내구화되면 접수 ID와 함께 바로 응답
+ * - 반영: 단일 반영 워커가 로그를 순서대로 읽어 기존 주문 로직(OrderService.placeOrder)으로 DB에 반영
+ * - 재시작: 반영 지점(applied.seq) 이후 레코드부터 다시 반영. 반영 지점 기록 직전에 죽었다면 같은 레코드가 다시 오지만,
+ *   주문 행의 intake_id로 이미 반영된 접수인지 확인해 건너뛰므로 중복 주문/중복 차감이 생기지 않습니다.
+ *
+ * 업무 오류(사용자/메뉴 없음, 포인트 부족)는 재시도해도 같은 결과이므로 실패로 기록하고 넘어가며,
+ * DB 장애나 동시성 충돌은 같은 레코드를 재시도합니다(순서 유지). 재시도가 maxApplyAttempts를 넘으면 실패로 기록하고 넘어갑니다.
+ * 실패는 반영 지점을 옮기기 전에 로그 옆의 실패 기록(failed.log)에 fsync로 남기므로, 재기동 후에도 FAILED로 조회되고
+ * 운영자가 그 내용(사용자, 메뉴, 수량)으로 다시 주문할 수 있습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIntakeService implements SmartLifecycle {
+
+    static final String APPLIED_FILE = "applied.seq";
+    static final String FAILED_FILE = "failed.log";
+    private static final int MAX_FAILURES = 10_000;
+    private static final Set<ErrorCode> FINAL_ERRORS = EnumSet.of(
+            ErrorCode.INVALID_INPUT, ErrorCode.USER_NOT_FOUND, ErrorCode.MENU_NOT_FOUND, ErrorCode.INSUFFICIENT_POINT,
+            ErrorCode.MENU_SOLD_OUT);
+
+    private final OrderIntakeProperties properties;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    // 최근 반영 실패한 접수 ID → 오류 코드 (상태 조회용, 오래된 것부터 버림). 기동 시 failed.log에서 다시 채움
+    private final Map<String, ErrorCode> failures = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ErrorCode> eldest) {
+            return size() > MAX_FAILURES;
+        }
+    });
+
+    private OrderIntakeLog intakeLog;
+    private Thread applier;
+    private volatile long appliedSeq;
+    private volatile boolean running;
+    private Counter accepted;
+    private Counter applied;
+    private Counter duplicates;
+    private Counter failed;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 주문 요청을 접수 로그에 기록하고, 디스크에 내구화되면 반환합니다.
+     * 사용자/메뉴 존재 여부와 포인트는 반영 시점에 확인하므로 여기서는 입력 형식만 검사합니다.
+     */
+    public OrderIntakeResponse accept(OrderRequest request) {
+        if (request.getUserId() == null || request.getUserId().isBlank()
+                || request.getMenuId() == null || request.getQuantity() <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "사용자 ID, 메뉴 ID, 1 이상의 수량이 필요합니다.");
+        }
+        if (!running) {
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "주문 접수 로그가 기동 중이 아닙니다.");
+        }
+        String intakeId = UUID.randomUUID().toString();
+        try {
+            intakeLog.append(intakeId, request.getUserId(), request.getMenuId(), request.getQuantity());
+        } catch (IOException e) {
+            log.error("주문 접수 기록 실패: userId={}, menuId={}", request.getUserId(), request.getMenuId(), e);
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "주문 접수 기록에 실패했습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "주문 접수가 중단되었습니다.");
+        }
+        accepted.increment();
+        return OrderIntakeResponse.builder()
+                .intakeId(intakeId)
+                .status(OrderIntakeResponse.Status.ACCEPTED)
+                .build();
+    }
+
+    public OrderIntakeResponse status(String intakeId) {
+        List<String> orderIds = orderRepository.findOrderIdsByIntakeId(intakeId);
+        if (!orderIds.isEmpty()) {
+            return OrderIntakeResponse.builder()
+                    .intakeId(intakeId)
+                    .status(OrderIntakeResponse.Status.COMPLETED)
+                    .orderId(orderIds.get(0))
+                    .build();
+        }
+        ErrorCode failure = failures.get(intakeId);
+        return OrderIntakeResponse.builder()
+                .intakeId(intakeId)
+                .status(failure != null ? OrderIntakeResponse.Status.FAILED : OrderIntakeResponse.Status.PENDING)
+                .errorCode(failure != null ? failure.getCode() : null)
+                .build();
+    }
+
+    // --- 반영 워커 ---
+
+    private void applyLoop() {
+        while (running) {
+            OrderIntakeLog.Entry entry;
+            try {
+                entry = intakeLog.poll(100);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == null) {
+                continue;
+            }
+            if (!applyWithRetry(entry)) {
+                return; // 종료 중 (반영 지점을 옮기지 않았으므로 다음 기동 때 다시 반영)
+            }
+            markApplied(entry.seq());
+        }
+    }
+
+    private boolean applyWithRetry(OrderIntakeLog.Entry entry) {
+        long backoff = 50;
+        int maxAttempts = Math.max(1, properties.getMaxApplyAttempts());
+        for (int attempt = 1; ; attempt++) {
+            ErrorCode errorCode;
+            try {
+                apply(entry);
+                return true;
+            } catch (CustomException e) {
+                errorCode = e.getErrorCode();
+                if (FINAL_ERRORS.contains(errorCode)) {
+                    log.warn("접수 주문 반영 실패(재시도 안 함): intakeId={}, seq={}, code={}",
+                            entry.intakeId(), entry.seq(), errorCode.getCode());
+                    return recordFailure(entry, errorCode);
+                }
+                log.warn("접수 주문 반영 재시도: intakeId={}, seq={}, code={}, attempt={}, backoff={}ms",
+                        entry.intakeId(), entry.seq(), errorCode.getCode(), attempt, backoff);
+            } catch (RuntimeException e) {
+                errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
+                log.warn("접수 주문 반영 재시도: intakeId={}, seq={}, attempt={}, backoff={}ms",
+                        entry.intakeId(), entry.seq(), attempt, backoff, e);
+            }
+            if (attempt >= maxAttempts) {
+                log.error("접수 주문 반영 재시도 한도 초과로 실패 처리합니다: intakeId={}, seq={}, code={}, attempts={}",
+                        entry.intakeId(), entry.seq(), errorCode.getCode(), attempt);
+                return recordFailure(entry, errorCode);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            if (!running) {
+                return false;
+            }
+            backoff = Math.min(backoff * 2, Math.max(50, properties.getMaxRetryBackoffMillis()));
+        }
+    }
+
+    // 실패 기록을 남긴 뒤에만 반영 지점을 옮깁니다. 기록에 실패하면 종료될 때까지 재시도합니다.
+    private boolean recordFailure(OrderIntakeLog.Entry entry, ErrorCode errorCode) {
+        long backoff = 50;
+        while (true) {
+            try {
+                appendFailure(entry, errorCode);
+                failures.put(entry.intakeId(), errorCode);
+                failed.increment();
+                return true;
+            } catch (IOException e) {
+                log.error("접수 주문 실패 기록 실패: intakeId={}, seq={}", entry.intakeId(), entry.seq(), e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            if (!running) {
+                return false;
+            }
+            backoff = Math.min(backoff * 2, Math.max(50, properties.getMaxRetryBackoffMillis()));
+        }
+    }
+
+    void apply(OrderIntakeLog.Entry entry) {
+        if (orderRepository.existsByIntakeId(entry.intakeId())) {
+            duplicates.increment(); // 반영 지점 기록 전에 재시작된 경우
+            log.info("이미 반영된 접수라 건너뜁니다: intakeId={}, seq={}", entry.intakeId(), entry.seq());
+            return;
+        }
+        orderService.placeOrder(new OrderRequest(entry.userId(), entry.menuId(), entry.quantity()), entry.intakeId());
+        applied.increment();
+    }
+
+    private void markApplied(long seq) {
+        appliedSeq = seq;
+        try {
+            writeAppliedSeq(seq);
+            intakeLog.release();
+        } catch (IOException e) {
+            // 다음 기동 때 조금 더 앞에서부터 재반영될 뿐(intake_id로 중복 제거)이므로 계속 진행
+            log.warn("접수 로그 반영 지점 기록 실패: seq={}", seq, e);
+        }
+    }
+
+    // 한 줄 = intakeId, seq, 오류 코드, userId, menuId, quantity (탭 구분)
+    private void appendFailure(OrderIntakeLog.Entry entry, ErrorCode errorCode) throws IOException {
+        String line = String.join("\t", entry.intakeId(), String.valueOf(entry.seq()), errorCode.name(),
+                entry.userId(), String.valueOf(entry.menuId()), String.valueOf(entry.quantity())) + "\n";
+        try (FileChannel channel = FileChannel.open(failedFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private void loadFailures() throws IOException {
+        Path file = failedFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 3) {
+                continue; // 쓰다 만 마지막 줄
+            }
+            try {
+                failures.put(fields[0], ErrorCode.valueOf(fields[2]));
+            } catch (IllegalArgumentException e) {
+                log.warn("알 수 없는 오류 코드라 건너뜁니다: {}", line);
+            }
+        }
+    }
+
+    private Path failedFile() {
+        return Path.of(properties.getDir()).resolve(FAILED_FILE);
+    }
+
+    private Path appliedFile() {
+        return Path.of(properties.getDir()).resolve(APPLIED_FILE);
+    }
+
+    private long readAppliedSeq() throws IOException {
+        Path file = appliedFile();
+        if (!Files.exists(file)) {
+            return 0L;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0L;
+    }
+
+    private void writeAppliedSeq(long seq) throws IOException {
+        Path file = appliedFile();
+        Path temp = file.resolveSibling(APPLIED_FILE + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(seq).array());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // --- 생명주기: 잔액 엔진(phase 0) 다음에 시작하고, 웹 서버가 멈춘 뒤 잔액 엔진보다 먼저 멈춤 ---
+
+    @Override
+    public void start() {
+        accepted = meterRegistry.counter("coffeeshop.order.intake", "result", "accepted");
+        applied = meterRegistry.counter("coffeeshop.order.intake", "result", "applied");
+        duplicates = meterRegistry.counter("coffeeshop.order.intake", "result", "duplicate");
+        failed = meterRegistry.counter("coffeeshop.order.intake", "result", "failed");
+        try {
+            appliedSeq = readAppliedSeq();
+            intakeLog = new OrderIntakeLog(Path.of(properties.getDir()), properties.getSegmentBytes(),
+                    properties.getGroupCommitMillis());
+            intakeLog.open(appliedSeq);
+            loadFailures();
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 접수 로그를 열 수 없습니다: " + properties.getDir(), e);
+        }
+        Gauge.builder("coffeeshop.order.intake.lag", this, s -> s.intakeLog.lastSeq() - s.appliedSeq)
+                .description("접수되었지만 아직 DB에 반영되지 않은 주문 수")
+                .register(meterRegistry);
+        running = true;
+        log.info("주문 접수 로그 기동: 반영 지점={}, 마지막 접수={}", appliedSeq, intakeLog.lastSeq());
+
+        applier = new Thread(this::applyLoop, "order-intake-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (applier != null) { // 반영 중인 주문 트랜잭션은 끝까지 처리되도록 인터럽트하지 않음
+            try {
+                applier.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            intakeLog.close();
+        } catch (IOException e) {
+            log.warn("주문 접수 로그 닫기 실패", e);
+        }
+        log.info("주문 접수 로그 종료: 반영 지점={}", appliedSeq);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
@@ -0,0 +1,202 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 주문(placeOrder) 단계별 소요 시간과 실패 사유별 건수를 Micrometer로 기록합니다.
+ * /actuator/metrics/coffeeshop.order.stage?tag=stage:user_fetch 처럼 조회할 수 있습니다.
+ *
+ * 태그 값은 아래 enum으로 고정되어 있고 미터는 생성 시점에 모두 만들어 두므로,
+ * 요청 경로에서는 레지스트리 조회 없이 nanoTime 차이만 기록합니다. (userId 같은 고카디널리티 태그는 붙이지 않음)
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Stage {
+        USER_FETCH("user_fetch"),
+        MENU_FETCH("menu_fetch"),
+        USER_SAVE("user_save"),
+        ORDER_INSERT("order_insert"),
+        DATA_COLLECTION("data_collection"),
+        COMMIT("commit"); // flush(버전 검사 UPDATE) + 커밋
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum FailureReason {
+        INVALID_INPUT("invalid_input"),
+        USER_NOT_FOUND("user_not_found"),
+        MENU_NOT_FOUND("menu_not_found"),
+        INSUFFICIENT_POINT("insufficient_point"),
+        SOLD_OUT("sold_out"),
+        OPTIMISTIC_CONFLICT("optimistic_conflict"),
+        UNEXPECTED("unexpected");
+
+        private final String tag;
+
+        FailureReason(String tag) {
+            this.tag = tag;
+        }
+
+        static FailureReason from(ErrorCode errorCode) {
+            return switch (errorCode) {
+                case INVALID_INPUT -> INVALID_INPUT;
+                case USER_NOT_FOUND -> USER_NOT_FOUND;
+                case MENU_NOT_FOUND -> MENU_NOT_FOUND;
+                case INSUFFICIENT_POINT -> INSUFFICIENT_POINT;
+                case MENU_SOLD_OUT -> SOLD_OUT;
+                case CONCURRENCY_FAILURE -> OPTIMISTIC_CONFLICT;
+                default -> UNEXPECTED;
+            };
+        }
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<FailureReason, Counter> failureCounters = new EnumMap<>(FailureReason.class);
+    private final Counter completedCounter;
+    // 서비스 호출(OrderCommitMetricsAspect) 동안 열리는 자리. 커밋 중 롤백되면 true로 표시해 두고 호출한 쪽이 예외로 분류합니다.
+    private final ThreadLocal<boolean[]> commitWatch = new ThreadLocal<>();
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("coffeeshop.order.stage")
+                    .description("주문 처리 단계별 소요 시간")
+                    .tag("stage", stage.tag)
+                    .register(registry));
+        }
+        for (FailureReason reason : FailureReason.values()) {
+            failureCounters.put(reason, Counter.builder("coffeeshop.order.failures")
+                    .description("주문 실패 건수 (사유별)")
+                    .tag("reason", reason.tag)
+                    .register(registry));
+        }
+        completedCounter = Counter.builder("coffeeshop.order.completed")
+                .description("완료된 주문 건수")
+                .register(registry);
+    }
+
+    // 단계 시작 시각. record(stage, start)와 짝으로 사용합니다.
+    public long start() {
+        return System.nanoTime();
+    }
+
+    // 기록한 소요 시간(나노초)을 돌려주므로 JFR 이벤트 필드 등에 그대로 사용할 수 있습니다.
+    public long record(Stage stage, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        stageTimers.get(stage).record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    public void recordFailure(FailureReason reason) {
+        failureCounters.get(reason).increment();
+    }
+
+    public void recordFailure(ErrorCode errorCode) {
+        recordFailure(FailureReason.from(errorCode));
+    }
+
+    public void recordCompleted() {
+        completedCounter.increment();
+    }
+
+    /**
+     * 현재 트랜잭션의 커밋 구간을 COMMIT 단계로 기록합니다.
+     * User 버전 검사 UPDATE는 save() 시점이 아니라 커밋 직전 flush에서 실행되므로, 그 충돌은 서비스 메서드의
+     * try-catch를 벗어난 뒤에 발생합니다. 동기화에서는 실패 예외를 볼 수 없으므로 롤백 사실만 남기고,
+     * 실패 사유는 트랜잭션 바깥에서 실제 예외를 받아 recordCommitFailure로 집계합니다.
+     * (트랜잭션 동기화가 없는 단위 테스트 등에서는 바로 완료로 집계)
+     */
+    public void recordCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordCompleted();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long startNanos;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE; // 다른 beforeCommit(잔액 예약 기록 등)의 실패도 커밋 구간에 포함
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                startNanos = start();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (startNanos == 0) {
+                    return; // 커밋 단계까지 가지 못하고 롤백된 경우 (이미 실패 사유로 집계됨)
+                }
+                record(Stage.COMMIT, startNanos);
+                if (status == STATUS_COMMITTED) {
+                    recordCompleted();
+                    return;
+                }
+                boolean[] rolledBack = commitWatch.get();
+                if (rolledBack != null) {
+                    rolledBack[0] = true;
+                } else {
+                    recordFailure(FailureReason.UNEXPECTED); // 바깥 트랜잭션에 합류해 커밋 예외를 받을 곳이 없는 경우
+                }
+            }
+        });
+    }
+
+    /**
+     * 커밋 실패를 받을 자리를 엽니다. 반환값을 closeCommitWatch에 그대로 넘겨 닫습니다.
+     */
+    boolean[] openCommitWatch() {
+        boolean[] previous = commitWatch.get();
+        commitWatch.set(new boolean[1]);
+        return previous;
+    }
+
+    /**
+     * 자리를 닫고, 그 사이 커밋 중 롤백이 있었다면 전달된 예외로 실패 사유를 집계합니다.
+     *
+     * @param failure 서비스 호출에서 빠져나온 예외 (정상 반환이면 null)
+     */
+    void closeCommitWatch(boolean[] previous, Throwable failure) {
+        boolean rolledBack = commitWatch.get()[0];
+        if (previous != null) {
+            commitWatch.set(previous);
+        } else {
+            commitWatch.remove();
+        }
+        if (rolledBack) {
+            recordCommitFailure(failure);
+        }
+    }
+
+    // 커밋 단계 실패 분류: 버전 충돌만 낙관적 락 충돌로, 그 밖(beforeCommit 실패, 제약 위반 등)은 사유대로
+    void recordCommitFailure(Throwable failure) {
+        if (failure instanceof OptimisticLockingFailureException) {
+            recordFailure(FailureReason.OPTIMISTIC_CONFLICT);
+        } else if (failure instanceof CustomException e) {
+            recordFailure(e.getErrorCode());
+        } else {
+            recordFailure(FailureReason.UNEXPECTED);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse.Mode;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse.Partition;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * orders 월 단위 파티션 관리 (coffeeshop.order.partition.enabled=true 이면 checkMinutes마다 실행)
+ *
+ * - PARTITIONED: MySQL에서 orders가 RANGE COLUMNS(order_date)로 파티션되어 있으면(db/mysql/orders-partitioning.sql로 1회 전환)
+ *   이번 달부터 futureMonths 뒤까지의 월 파티션을 MAXVALUE 파티션을 나눠(REORGANIZE) 미리 만들고,
+ *   보관 기간이 지난 월 파티션은 DROP PARTITION으로 지웁니다. 행 단위 삭제가 없으므로 오래된 데이터 정리가 메타데이터 변경으로 끝납니다.
+ * - FALLBACK: 파티션을 지원하지 않는 DB(H2 테스트)나 전환 전 MySQL에서는 DDL 없이 보관 기간이 지난 행을 청크 단위로 삭제합니다.
+ *
+ * 파티션 정리가 효과를 보려면 조회에 order_date 범위 조건이 있어야 합니다. (인기 메뉴 7일 집계, 주문 내역 historyMonths 하한)
+ *
+ * 주문 보관(OrderArchiveService)이 켜져 있으면 보관 기준 시각이 보관 기간 기준 시각 이후여야 하고(아니면 기동 실패),
+ * 실제로 세그먼트에 옮겨진 시각(archivedThrough) 이전까지만 지웁니다. 보관되지 않은 주문은 지우지 않습니다.
+ */
+@Slf4j
+@Service
+public class OrderPartitionManager implements SmartLifecycle {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderPartitionProperties properties;
+    private final OrderArchiveService archiveService;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public OrderPartitionManager(JdbcTemplate jdbcTemplate, OrderPartitionProperties properties,
+                                 OrderArchiveService archiveService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.archiveService = archiveService;
+        LocalDate today = LocalDate.now();
+        LocalDateTime retentionCutoff = retentionCutoff(today);
+        if (archiveService.isEnabled() && retentionCutoff != null && archiveService.cutoff(today).isBefore(retentionCutoff)) {
+            throw new IllegalStateException("coffeeshop.order.archive.age-months는 coffeeshop.order.partition.retention-months 이하여야 합니다. "
+                    + "(보관되기 전에 주문이 삭제됨)");
+        }
+    }
+
+    /**
+     * 현재 파티션과 실행할 DDL을 보여줍니다. (실행하지 않음)
+     */
+    public OrderPartitionResponse inspect() {
+        return manage(false);
+    }
+
+    /**
+     * 파티션을 만들고 보관 기간이 지난 파티션(또는 행)을 지웁니다.
+     */
+    public OrderPartitionResponse run() {
+        return manage(true);
+    }
+
+    private synchronized OrderPartitionResponse manage(boolean apply) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime cutoff = deleteCutoff(today);
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty()) {
+            long deleted = apply && cutoff != null ? deleteExpiredRows(cutoff) : 0;
+            return OrderPartitionResponse.builder()
+                    .mode(Mode.FALLBACK)
+                    .partitions(partitions)
+                    .statements(List.of())
+                    .retentionCutoff(cutoff)
+                    .deletedRows(deleted)
+                    .applied(apply)
+                    .build();
+        }
+
+        List<String> statements = plan(partitions, today);
+        if (apply && !statements.isEmpty()) {
+            for (String statement : statements) {
+                log.info("주문 파티션 변경: {}", statement);
+                jdbcTemplate.execute(statement);
+            }
+            partitions = loadPartitions();
+        }
+        return OrderPartitionResponse.builder()
+                .mode(Mode.PARTITIONED)
+                .partitions(partitions)
+                .statements(statements)
+                .retentionCutoff(cutoff)
+                .applied(apply)
+                .build();
+    }
+
+    /**
+     * 현재 파티션 목록에서 실행할 DDL을 계산합니다.
+     * 1) 상한이 보관 기준 시각 이하인 파티션 삭제 2) 가장 높은 상한 다음 달부터 (이번 달 + futureMonths)까지 월 파티션 추가
+     */
+    public List<String> plan(List<Partition> partitions, LocalDate today) {
+        List<String> statements = new ArrayList<>();
+        LocalDateTime cutoff = deleteCutoff(today);
+        if (cutoff != null) {
+            List<String> expired = partitions.stream()
+                    .filter(p -> p.lessThan() != null && !p.lessThan().isAfter(cutoff))
+                    .map(Partition::name)
+                    .toList();
+            if (!expired.isEmpty()) {
+                statements.add("ALTER TABLE orders DROP PARTITION " + String.join(", ", expired));
+            }
+        }
+
+        LocalDateTime highest = partitions.stream()
+                .map(Partition::lessThan)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        YearMonth first = highest == null ? YearMonth.from(today) : YearMonth.from(highest);
+        if (highest != null && !highest.equals(first.atDay(1).atStartOfDay())) {
+            first = first.plusMonths(1); // 상한이 월 중간이면 다음 달 1일부터
+        }
+        YearMonth last = YearMonth.from(today).plusMonths(Math.max(0, properties.getFutureMonths()));
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + month.format(PARTITION_NAME)
+                    + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1).atStartOfDay().format(BOUND) + "')");
+        }
+        if (definitions.isEmpty()) {
+            return statements;
+        }
+        String maxPartition = partitions.stream()
+                .filter(p -> p.lessThan() == null)
+                .map(Partition::name)
+                .findFirst()
+                .orElse(null);
+        if (maxPartition != null) { // 다음 달들을 미리 만들어 두므로 MAXVALUE 파티션은 비어 있고, 나눌 때 옮길 행이 없습니다.
+            statements.add("ALTER TABLE orders REORGANIZE PARTITION " + maxPartition + " INTO ("
+                    + String.join(", ", definitions) + ", PARTITION " + maxPartition + " VALUES LESS THAN (MAXVALUE))");
+        } else {
+            statements.add("ALTER TABLE orders ADD PARTITION (" + String.join(", ", definitions) + ")");
+        }
+        return statements;
+    }
+
+    // 실제로 지울 기준 시각. 보관이 켜져 있으면 세그먼트에 옮겨진 시각을 넘지 않고, 아직 보관한 것이 없으면 null (삭제 안 함)
+    private LocalDateTime deleteCutoff(LocalDate today) {
+        LocalDateTime cutoff = retentionCutoff(today);
+        if (cutoff == null || !archiveService.isEnabled()) {
+            return cutoff;
+        }
+        LocalDateTime archivedThrough = archiveService.archivedThrough();
+        if (archivedThrough == null || archivedThrough.isBefore(cutoff)) {
+            log.info("보관되지 않은 주문이 있어 삭제 기준을 늦춥니다: 보관 기간 기준={}, 보관 완료={}", cutoff, archivedThrough);
+            return archivedThrough;
+        }
+        return cutoff;
+    }
+
+    // 보관 기간이 지난 주문의 기준 시각 (이 시각 이전 주문 삭제). retentionMonths가 0이면 null
+    private LocalDateTime retentionCutoff(LocalDate today) {
+        if (properties.getRetentionMonths() <= 0) {
+            return null;
+        }
+        return YearMonth.from(today).minusMonths(properties.getRetentionMonths()).atDay(1).atStartOfDay();
+    }
+
+    private List<Partition> loadPartitions() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase().contains("mysql")) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))));
+    }
+
+    private static LocalDateTime parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value, BOUND);
+    }
+
+    private long deleteExpiredRows(LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, properties.getDeleteChunkSize());
+        long deleted = 0;
+        while (true) {
+            int count = jdbcTemplate.update("DELETE FROM orders WHERE order_date < ? LIMIT ?", cutoff, chunkSize);
+            deleted += count;
+            if (count < chunkSize || !pause()) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 주문 삭제: {}건 (order_date < {})", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                run();
+            } catch (Exception e) {
+                log.warn("주문 파티션 관리 실패. 다음 주기에 다시 시도합니다: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(Math.max(1, properties.getCheckMinutes())));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "order-partition-manager");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+}
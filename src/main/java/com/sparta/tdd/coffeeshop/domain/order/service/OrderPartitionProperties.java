@@ -0,0 +1,36 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * orders 월 단위 파티션 관리 설정 (coffeeshop.order.partition.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.order.partition")
+public class OrderPartitionProperties {
+
+    // 백그라운드 파티션 관리 실행 여부. 꺼져 있어도 관리자 API로 점검/실행할 수 있습니다.
+    private boolean enabled = false;
+
+    // 관리 주기 (분)
+    private long checkMinutes = 60;
+
+    // 이번 달 이후 미리 만들어 둘 월 파티션 수
+    private int futureMonths = 3;
+
+    // 보관할 개월 수. 이보다 오래된 월의 주문은 파티션째 삭제됩니다. (0이면 삭제하지 않음)
+    private int retentionMonths = 0;
+
+    // 파티션이 없는 DB(H2, 전환 전 MySQL)에서 보관 기간이 지난 주문을 지울 때 한 번에 지울 행 수
+    private int deleteChunkSize = 1000;
+
+    // 삭제 청크 사이 대기 시간 (밀리초)
+    private long pauseMillis = 50;
+
+    // 주문 내역 조회 범위 (개월). order_date 하한이 있어야 조회가 최근 파티션만 읽습니다.
+    private int historyMonths = 12;
+}
@@ -0,0 +1,62 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardByUser;
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderDetailResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderHistoryResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderSummary;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 조회 전용 서비스. 용도별로 읽는 모양을 정해 두고 지연 로딩에 기대지 않습니다.
+ * - 내역 목록: 인터페이스 프로젝션(OrderSummary), orders만 읽는 SELECT 한 번 (COUNT 없음), 최근 historyMonths개월만
+ * - 단건 상세: 기본키 SELECT 한 번 (메뉴 이름/단가는 주문 스냅샷). 샤딩을 켜면 주문 ID로는 샤드를 알 수 없으므로 모든 샤드에 동시에 조회
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderPartitionProperties partitionProperties;
+    private final ShardRouter shardRouter;
+
+    @ShardByUser
+    public OrderHistoryResponse getHistory(String userId, int page, int size) {
+        if (userId == null || userId.isBlank() || page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException(ErrorCode.INVALID_INPUT,
+                    "userId는 필수이며 page는 0 이상, size는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        LocalDateTime since = LocalDate.now().minusMonths(partitionProperties.getHistoryMonths()).atStartOfDay();
+        Slice<OrderSummary> slice = orderRepository.findSummariesByUserId(userId, since, PageRequest.of(page, size));
+        return OrderHistoryResponse.builder()
+                .userId(userId)
+                .orders(slice.getContent())
+                .page(page)
+                .size(size)
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    public OrderDetailResponse getOrder(String orderId) {
+        return shardRouter.scatter(shard -> orderRepository.findById(orderId).map(OrderDetailResponse::from)).stream()
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseThrow(() -> new CustomException(ErrorCode.ORDER_NOT_FOUND));
+    }
+}
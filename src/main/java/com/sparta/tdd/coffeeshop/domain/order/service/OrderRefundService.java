@@ -0,0 +1,131 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.OrderRefundedEvent;
+import com.sparta.tdd.coffeeshop.domain.order.PointRestoration;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderBulkRefundResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRefundResponse;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.repo.PointRestorationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 취소/환불.
+ * 주문 상태 전이와 포인트 복원 적재(point_restoration)를 한 트랜잭션에서 처리하고, users.point는 건드리지 않습니다.
+ * 실제 포인트 복원은 PointRestorationProcessor가 userId별로 합산해 일괄 반영하므로, 환불 요청이 사용자 행 락을 잡지 않습니다.
+ * 샤딩을 켜면 주문 ID로는 샤드를 알 수 없으므로 모든 샤드에서 주문을 먼저 찾고, 그 샤드에서 트랜잭션을 엽니다.
+ * (복원 행도 주문과 같은 샤드, 즉 사용자 샤드에 적재됨)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderRefundService {
+
+    private final OrderRepository orderRepository;
+    private final PointRestorationRepository pointRestorationRepository;
+    private final PointRestorationProcessor pointRestorationProcessor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RefundProperties properties;
+    private final ShardRouter shardRouter;
+
+    /**
+     * 처리 전(PENDING) 주문을 취소합니다.
+     * @throws CustomException 주문이 없거나(ORDER_NOT_FOUND) 완료/환불된 주문일 때(INVALID_ORDER_STATE)
+     */
+    public OrderRefundResponse cancel(String orderId) {
+        return transitionOnOwningShard(orderId, Order::markAsCancelled);
+    }
+
+    /**
+     * 완료된 주문을 환불합니다.
+     * @throws CustomException 주문이 없거나(ORDER_NOT_FOUND) 완료 상태가 아닐 때(INVALID_ORDER_STATE)
+     */
+    public OrderRefundResponse refund(String orderId) {
+        return transitionOnOwningShard(orderId, Order::markAsRefunded);
+    }
+
+    /**
+     * 장애 보상 등 대량 환불. 주문마다 별도 트랜잭션으로 처리하며, 실패한 주문은 건너뛰고 사유를 모아 반환합니다.
+     */
+    public OrderBulkRefundResponse refundAll(List<String> orderIds) {
+        if (orderIds == null || orderIds.isEmpty() || orderIds.size() > properties.getMaxBulkOrders()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT,
+                    "주문 ID는 1 ~ " + properties.getMaxBulkOrders() + "건까지 요청할 수 있습니다.");
+        }
+        Map<String, String> failures = new LinkedHashMap<>();
+        int refunded = 0;
+        long totalAmount = 0;
+        for (String orderId : orderIds) {
+            try {
+                OrderRefundResponse response = transitionOnOwningShard(orderId, Order::markAsRefunded);
+                refunded++;
+                totalAmount += response.getRefundAmount();
+            } catch (CustomException e) {
+                failures.put(orderId, e.getErrorCode().getCode());
+            }
+        }
+        log.info("대량 환불 적재 완료: 요청={}, 환불={}, 실패={}, 금액={}", orderIds.size(), refunded, failures.size(), totalAmount);
+        return OrderBulkRefundResponse.builder()
+                .requested(orderIds.size())
+                .refunded(refunded)
+                .totalRefundAmount(totalAmount)
+                .pendingRestorations(shardRouter.scatter(shard -> pointRestorationRepository.countByStatus(PointRestoration.Status.PENDING))
+                        .stream().mapToLong(Long::longValue).sum())
+                .failures(failures)
+                .build();
+    }
+
+    // 주문이 있는 샤드에서 한 트랜잭션으로 상태 전이와 복원 적재를 처리합니다.
+    private OrderRefundResponse transitionOnOwningShard(String orderId, Consumer<Order> change) {
+        int shard = shardRouter.isEnabled() ? owningShard(orderId) : 0;
+        return shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> transition(orderId, change)));
+    }
+
+    private int owningShard(String orderId) {
+        return shardRouter.scatter(shard -> orderRepository.existsById(orderId) ? shard : null).stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new CustomException(ErrorCode.ORDER_NOT_FOUND, "주문을 찾을 수 없습니다."));
+    }
+
+    private OrderRefundResponse transition(String orderId, Consumer<Order> change) {
+        Order order = orderRepository.findByOrderIdForUpdate(orderId)
+                .orElseThrow(() -> new CustomException(ErrorCode.ORDER_NOT_FOUND, "주문을 찾을 수 없습니다."));
+        Order.OrderStatus before = order.getStatus();
+        try {
+            change.accept(order);
+        } catch (IllegalStateException e) {
+            log.warn("주문 상태 전이 거절: orderId={}, status={}, reason={}", orderId, before, e.getMessage());
+            throw new CustomException(ErrorCode.INVALID_ORDER_STATE, e.getMessage());
+        }
+        pointRestorationRepository.save(new PointRestoration(order)); // order_id UNIQUE: 같은 주문은 한 번만 적재
+        if (before == Order.OrderStatus.COMPLETED) {
+            eventPublisher.publishEvent(OrderRefundedEvent.from(order)); // 커밋 후 주문 통계에서 제외
+        }
+        pointRestorationProcessor.wakeUpAfterCommit();
+        log.info("주문 {} 처리: orderId={}, userId={}, 복원 예정 포인트={}",
+                order.getStatus(), orderId, order.getUserId(), order.getTotalPrice());
+        return OrderRefundResponse.builder()
+                .orderId(orderId)
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .refundAmount(order.getTotalPrice())
+                .build();
+    }
+}
@@ -1,23 +1,34 @@
 package com.sparta.tdd.coffeeshop.domain.order.service;
 
 import com.sparta.tdd.coffeeshop.cmmn.client.DataCollectionPlatformClient;
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardByUser;
 import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
 import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.cmmn.jfr.OrderPlacedEvent;
 import com.sparta.tdd.coffeeshop.domain.menu.Menu;
 import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceCatalog;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
 import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.OrderCompletedEvent;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderResponse;
 import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderMetrics.FailureReason;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderMetrics.Stage;
 import com.sparta.tdd.coffeeshop.domain.user.User;
 import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngine;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // log 객체를 위한 Slf4j import
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,8 +41,15 @@ public class OrderService {
 
     private final UserRepository userRepository;
     private final MenuRepository menuRepository;
+    private final MenuPriceCatalog menuPriceCatalog; // 가격 버전을 메모리에서 계산 (주문마다 가격 이력을 조회하지 않음)
+    private final MenuStockService menuStockService; // 한정 수량 메뉴 재고 (조각 행 차감, 품절 플래그)
     private final OrderRepository orderRepository;
     private final DataCollectionPlatformClient dataCollectionPlatformClient; // 인터페이스 타입으로 주입
+    private final OrderMetrics orderMetrics; // 단계별 소요 시간 / 실패 사유 집계
+    private final ContentionTracker contentionTracker; // userId별 경합(충돌/재요청) 추적
+    private final BalanceEngine balanceEngine; // 켜져 있으면 포인트 차감을 메모리 잔액 엔진으로 처리
+    private final ApplicationEventPublisher eventPublisher; // 커밋 후 읽기 모델(사용자 주문 통계) 갱신용 이벤트
+    private final OrderFulfillmentProperties fulfillmentProperties; // 켜져 있으면 주문은 PENDING으로 남고 제조 워커가 완료 처리
 
     /**
      * 커피 주문 및 결제를 처리합니다.
@@ -42,7 +60,23 @@ public class OrderService {
      * @return 주문 처리 결과 DTO (OrderResponse)
      * @throws CustomException 사용자/메뉴를 찾을 수 없거나 포인트 부족, 동시성 충돌 시 발생
      */    
+    @ShardByUser // 샤딩을 켜면 사용자 샤드 하나에서 사용자 조회/차감과 주문 저장을 처리
     public OrderResponse placeOrder(OrderRequest request) {
+        return placeOrder(request, null);
+    }
+
+    /**
+     * 접수 로그(OrderIntakeService)에서 반영하는 주문. 주문 행에 접수 ID를 남겨 재적용 시 중복 반영을 막습니다.
+     *
+     * @param intakeId 접수 ID (직접 주문이면 null)
+     */
+    @ShardByUser
+    public OrderResponse placeOrder(OrderRequest request, String intakeId) {
+        OrderPlacedEvent jfrEvent = new OrderPlacedEvent(); // JFR 녹화 중이 아니면 기록되지 않음
+        jfrEvent.begin();
+        jfrEvent.userId = request.getUserId();
+        jfrEvent.menuId = request.getMenuId() != null ? request.getMenuId() : 0L;
+        jfrEvent.quantity = request.getQuantity();
 
         // 0. 주문 요청 초기 로그 (기존 메시지 유지)
         log.info("주문 요청 시작: userId={}, menuId={}, quantity={}",
@@ -52,36 +86,50 @@ public class OrderService {
         log.debug("주문 수량 유효성 검사 시작: quantity={}", request.getQuantity());
         if (request.getQuantity() <= 0) {
             log.warn("주문 실패: 주문 수량이 유효하지 않음. quantity={}", request.getQuantity());
+            orderMetrics.recordFailure(FailureReason.INVALID_INPUT);
+            jfrEvent.finish(ErrorCode.INVALID_INPUT.getCode());
             throw new CustomException(ErrorCode.INVALID_INPUT, "주문 수량은 0보다 커야 합니다.");
         }
         log.debug("주문 수량 유효성 검사 통과.");
+        if (contentionTracker.recordAttempt(request.getUserId())) { // 직전 충돌 후 재요청이면 RETRY로 기록
+            jfrEvent.retryCount = 1;
+        }
 
         // --- 동시성 충돌 처리를 위한 try-catch 블록 (낙관적 락을 가정) ---
         try {
+            // 품절 표시된 한정 메뉴는 DB 조회 전에 거절
+            menuStockService.checkNotSoldOut(request.getMenuId());
+
 	        // 2. 사용자 조회
 	        log.debug("사용자 조회 시도: userId={}", request.getUserId());
+	        long stageStart = orderMetrics.start();
 	        // 비관적 락을 적용한 findById를 사용하므로, findById(userId)로 충분합니다.
 	        User user = userRepository.findById(request.getUserId())
 	                .orElseThrow(() -> {
 	                    log.error("주문 실패: 사용자를 찾을 수 없음. userId={}", request.getUserId()); // 사용자를 못 찾으면 치명적 오류로 간주하여 ERROR
 	                    return new CustomException(ErrorCode.USER_NOT_FOUND, "사용자를 찾을 수 없습니다.");
 	                });
+	        jfrEvent.userFetch = orderMetrics.record(Stage.USER_FETCH, stageStart);
 	        log.info("사용자 조회 성공: userId={}, currentPoint={}", user.getUserId(), user.getPoint());
 	        log.debug("사용자 버전 확인: version={}", user.getVersion()); // 낙관적 락을 위해 버전 정보도 로그로 남김
 	
 	        // 3. 메뉴 조회
 	        log.debug("메뉴 조회 시도: menuId={}", request.getMenuId());
+	        stageStart = orderMetrics.start();
 	        Menu menu = menuRepository.findById(request.getMenuId())
 	                .orElseThrow(() -> {
 	                    log.error("주문 실패: 메뉴를 찾을 수 없음. menuId={}", request.getMenuId()); // 메뉴를 못 찾으면 치명적 오류로 간주하여 ERROR
 	                    return new CustomException(ErrorCode.MENU_NOT_FOUND, "메뉴를 찾을 수 없습니다.");
 	                });
+	        jfrEvent.menuFetch = orderMetrics.record(Stage.MENU_FETCH, stageStart);
 	        log.info("메뉴 조회 성공: menuId={}, menuName={}, menuPrice={}",
 	                 menu.getId(), menu.getName(), menu.getPrice());
 	
 	        // 4. 총 결제 금액 계산 및 클라이언트 요청 금액과의 비교
-	        log.debug("총 결제 금액 계산 시작: menuPrice={}, quantity={}", menu.getPrice(), request.getQuantity());
-	        long calculatedTotalPrice = (long) menu.getPrice() * request.getQuantity();
+	        // 현재 가격은 메모리의 가격 카탈로그에서 계산 (가격 버전이 없는 메뉴는 menu.price)
+	        int unitPrice = menuPriceCatalog.currentPrice(menu.getId()).orElse(menu.getPrice());
+	        log.debug("총 결제 금액 계산 시작: menuPrice={}, quantity={}", unitPrice, request.getQuantity());
+	        long calculatedTotalPrice = (long) unitPrice * request.getQuantity();
 	
 	        // 클라이언트에서 넘겨준 totalPrice가 있다면, 서버에서 계산한 값과 비교하여 검증
 	        // request.getTotalPrice()가 클라이언트가 보낸 값이라고 가정합니다.
@@ -93,41 +141,68 @@ public class OrderService {
 	            // throw new CustomException(ErrorCode.INVALID_INPUT, "요청된 총 가격이 올바르지 않습니다.");
 	        }*/
 	        log.info("최종 결제 금액 결정: {}원", calculatedTotalPrice);
+	        jfrEvent.totalPrice = calculatedTotalPrice;
 	
 	
 	        // 5. 포인트 잔액 확인 및 차감
-	        log.debug("포인트 잔액 확인: userPoint={}, requiredPrice={}", user.getPoint(), calculatedTotalPrice);
-	        if (user.getPoint() < calculatedTotalPrice) {
-	            log.warn("주문 실패: 포인트 부족. userId={}, 현재 포인트={}, 필요 포인트={}",
-	                     user.getUserId(), user.getPoint(), calculatedTotalPrice);
-	            throw new CustomException(ErrorCode.INSUFFICIENT_POINT, "포인트가 부족합니다.");
-	        }
-	        user.deductPoint(calculatedTotalPrice); // User 엔티티의 deductPoint 메서드 사용
-	        log.info("포인트 차감 완료: userId={}, 차감 후 잔액={}", user.getUserId(), user.getPoint());
+	        long remainingPoint;
+	        AtomicReference<String> placedOrderId = new AtomicReference<>(); // 8단계에서 채움
+	        if (balanceEngine.isEnabled()) {
+	            // 잔액 엔진: 메모리 CAS 차감 + 로컬 저널 기록 (users UPDATE 없음, 트랜잭션 롤백 시 엔진이 되돌림)
+	            // 커밋 직전 저널 예약에 주문 ID를 남겨, 커밋 직후 죽어도 재기동 시 주문 행으로 차감을 정산
+	            stageStart = orderMetrics.start();
+	            remainingPoint = balanceEngine.deduct(user.getUserId(), calculatedTotalPrice, placedOrderId::get); // 부족하면 INSUFFICIENT_POINT
+	            jfrEvent.userSave = orderMetrics.record(Stage.USER_SAVE, stageStart);
+	            log.info("포인트 차감 완료(잔액 엔진): userId={}, 차감 후 잔액={}", user.getUserId(), remainingPoint);
+	        } else {
+		        log.debug("포인트 잔액 확인: userPoint={}, requiredPrice={}", user.getPoint(), calculatedTotalPrice);
+		        if (user.getPoint() < calculatedTotalPrice) {
+		            log.warn("주문 실패: 포인트 부족. userId={}, 현재 포인트={}, 필요 포인트={}",
+		                     user.getUserId(), user.getPoint(), calculatedTotalPrice);
+		            throw new CustomException(ErrorCode.INSUFFICIENT_POINT, "포인트가 부족합니다.");
+		        }
+		        user.deductPoint(calculatedTotalPrice); // User 엔티티의 deductPoint 메서드 사용
+		        log.info("포인트 차감 완료: userId={}, 차감 후 잔액={}", user.getUserId(), user.getPoint());
 	
-	        // 6. 업데이트된 사용자 정보 저장 (낙관적 락의 핵심: 버전 필드를 통한 동시성 검증)
-	        // findById로 조회된 user 엔티티의 변경은 Transactional 덕분에 flush 시점에 업데이트 됩니다.
-            // 여기서는 낙관적 락의 버전 체크와 update를 위해 명시적으로 save를 호출하는 것이 좋습니다.
-            // ObjectOptimisticLockingFailureException은 이 save 호출 또는 flush 시점에서 발생합니다.
-	        userRepository.save(user); // 변경된 User 엔티티를 명시적으로 저장
-	        log.debug("업데이트된 사용자 정보 저장 호출 완료.");
+		        // 6. 업데이트된 사용자 정보 저장 (낙관적 락의 핵심: 버전 필드를 통한 동시성 검증)
+		        // findById로 조회된 user 엔티티의 변경은 Transactional 덕분에 flush 시점에 업데이트 됩니다.
+                // 여기서는 낙관적 락의 버전 체크와 update를 위해 명시적으로 save를 호출하는 것이 좋습니다.
+                // ObjectOptimisticLockingFailureException은 이 save 호출 또는 flush 시점에서 발생합니다.
+		        stageStart = orderMetrics.start();
+		        userRepository.save(user); // 변경된 User 엔티티를 명시적으로 저장
+		        jfrEvent.userSave = orderMetrics.record(Stage.USER_SAVE, stageStart);
+		        log.debug("업데이트된 사용자 정보 저장 호출 완료.");
+		        remainingPoint = user.getPoint();
+	        }
 	
 	
+	        // 6-1. 한정 메뉴 재고 차감 (조각 행 하나만 잠그며, 커밋까지 잡는 락이므로 주문 저장 직전에 수행)
+	        menuStockService.decrement(menu.getId(), request.getQuantity());
+
 	        // 7. 주문 엔티티 생성
 	        log.debug("주문 엔티티 생성 시작...");
 	        Order order = Order.builder()
 	                .userId(request.getUserId())
 	                .menu(menu)
+	                .menuName(menu.getName()) // 주문 시점 메뉴 이름/단가 스냅샷
+	                .unitPrice(unitPrice)
 	                .quantity(request.getQuantity())
 	                .totalPrice(calculatedTotalPrice) // 계산된 최종 가격 사용
+	                .intakeId(intakeId)
 	                // orderDate와 status는 @Builder.Default로 자동 설정
 	                .build();
 	        log.debug("주문 엔티티 생성 완료: 임시 Order ID={}", order.getOrderId()); // ID가 아직 DB에 저장 전이라면 null일 수 있음
 	
 	        // 8. 주문 저장
+	        stageStart = orderMetrics.start();
 	        Order savedOrder = orderRepository.save(order);
+	        placedOrderId.set(savedOrder.getOrderId());
+	        jfrEvent.orderInsert = orderMetrics.record(Stage.ORDER_INSERT, stageStart);
 	        log.info("주문 엔티티 최종 저장 완료: orderId={}", savedOrder.getOrderId()); // DB 저장 후 실제 ID 확인
-	        savedOrder.markAsCompleted();
+	        if (!fulfillmentProperties.isEnabled()) { // 제조 단계를 쓰면 OrderFulfillmentService가 PREPARING → COMPLETED로 전이
+	            savedOrder.markAsCompleted();
+	            eventPublisher.publishEvent(OrderCompletedEvent.from(savedOrder)); // 리스너는 커밋 후(AFTER_COMMIT)에만 실행
+	        }
 	        
 	        // 9. 데이터 수집 플랫폼으로 실시간 전송
 	        // 현재는 동기 호출이지만, "실시간 전송" 요구사항에 따라 메시지 큐를 통한 비동기 처리 고려 가능
@@ -142,29 +217,39 @@ public class OrderService {
             orderDataForCollection.put("orderId", savedOrder.getOrderId());
             orderDataForCollection.put("quantity", savedOrder.getQuantity());
             orderDataForCollection.put("orderDate", savedOrder.getOrderDate().toString()); // LocalDateTime을 String으로 변환
-            orderDataForCollection.put("menuName", savedOrder.getMenu().getName());
+            orderDataForCollection.put("menuName", savedOrder.getMenuName());
             orderDataForCollection.put("userName", user.getUserName()); 
+            stageStart = orderMetrics.start();
             dataCollectionPlatformClient.sendOrderData(orderDataForCollection); // Map 형태로 전달
+            jfrEvent.dataCollection = orderMetrics.record(Stage.DATA_COLLECTION, stageStart);
             log.info("데이터 수집 플랫폼 전송 로직 호출 완료.");
 
 	        
 	        // 10. 응답 DTO 생성 및 반환
-            // OrderResponse.from() 메서드도 Order 엔티티의 변화에 맞게 수정 필요 
-            // (OrderResponse.from 메서드가 savedOrder.getMenu().getName()으로 직접 가져올 수 있습니다.
-            OrderResponse response = OrderResponse.from(savedOrder, user.getPoint());
+            // 메뉴 이름은 주문에 스냅샷된 값을 사용 (OrderResponse.from)
+            OrderResponse response = OrderResponse.from(savedOrder, remainingPoint);
             log.info("주문 처리 최종 완료: orderId={}", response.getOrderId());
+            orderMetrics.recordCommit(); // 버전 검사 UPDATE가 실제로 실행되는 커밋 구간은 트랜잭션 종료 시 기록
+            jfrEvent.finish("SUCCESS");
             return response;
             
 	    } catch (ObjectOptimisticLockingFailureException e) {
 	        // 낙관적 락 충돌 발생 시
 	        log.warn("주문 실패: 낙관적 락 충돌 발생. userId={}, errorMessage={}", request.getUserId(), e.getMessage());
+	        orderMetrics.recordFailure(FailureReason.OPTIMISTIC_CONFLICT);
+	        contentionTracker.recordConflict(request.getUserId());
+	        jfrEvent.finish(ErrorCode.CONCURRENCY_FAILURE.getCode());
 	        throw new CustomException(ErrorCode.CONCURRENCY_FAILURE, "주문 처리 중 동시성 충돌이 발생했습니다. 다시 시도해주세요.");
 	    } catch (CustomException e) {
 	        // 정의된 CustomException은 그대로 다시 던짐
+	        orderMetrics.recordFailure(e.getErrorCode());
+	        jfrEvent.finish(e.getErrorCode().getCode());
 	        throw e;
 	    } catch (Exception e) {
 	        // 그 외 예상치 못한 모든 예외 처리
 	        log.error("주문 처리 중 예상치 못한 오류 발생: userId={}, errorMessage={}", request.getUserId(), e.getMessage(), e);
+	        orderMetrics.recordFailure(FailureReason.UNEXPECTED);
+	        jfrEvent.finish(ErrorCode.INTERNAL_SERVER_ERROR.getCode());
 	        throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "주문 처리 중 예상치 못한 오류가 발생했습니다.");
 	    }
     }
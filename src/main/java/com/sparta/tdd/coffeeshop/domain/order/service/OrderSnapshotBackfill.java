@@ -0,0 +1,96 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스냅샷 컬럼(menu_name, unit_price)이 추가되기 전에 저장된 주문을 채웁니다.
+ *
+ * order_id 키셋 순서로 chunkSize건씩 ID를 읽고, 청크마다 UPDATE 한 문(= 자동 커밋 트랜잭션 하나)으로 반영합니다.
+ * - menu_name: 현재 메뉴 이름 (과거 이름은 남아 있지 않으므로 최선의 값)
+ * - unit_price: total_price / quantity (주문 시점에 실제로 결제한 단가)
+ * 이미 채워진 행은 건드리지 않으므로 여러 번 실행하거나 중간에 멈췄다가 다시 실행해도 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSnapshotBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderSnapshotBackfillProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("주문 스냅샷 백필 실패. 다음 기동 시 남은 행부터 다시 시도합니다.", e);
+            }
+        }, "order-snapshot-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 스냅샷이 비어 있는 주문을 모두 채웁니다.
+     *
+     * @return 채운 주문 수
+     */
+    public long backfill() {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        String lastOrderId = "";
+        long updated = 0;
+        while (true) {
+            List<String> orderIds = jdbcTemplate.queryForList(
+                    "SELECT order_id FROM orders WHERE (menu_name IS NULL OR unit_price IS NULL) AND order_id > ? "
+                            + "ORDER BY order_id LIMIT ?", String.class, lastOrderId, chunkSize);
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            updated += jdbcTemplate.update(
+                    "UPDATE orders o SET "
+                            + "menu_name = COALESCE(o.menu_name, (SELECT m.name FROM menu m WHERE m.id = o.menu_id)), "
+                            + "unit_price = COALESCE(o.unit_price, CASE WHEN o.quantity > 0 THEN FLOOR(o.total_price / o.quantity) "
+                            + "ELSE (SELECT m.price FROM menu m WHERE m.id = o.menu_id) END) "
+                            + "WHERE o.order_id IN (" + String.join(",", Collections.nCopies(orderIds.size(), "?")) + ") "
+                            + "AND (o.menu_name IS NULL OR o.unit_price IS NULL)",
+                    orderIds.toArray());
+            lastOrderId = orderIds.get(orderIds.size() - 1);
+            if (orderIds.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        if (updated > 0) {
+            log.info("주문 스냅샷 백필 완료: {}건", updated);
+        }
+        return updated;
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 주문 메뉴 스냅샷(menu_name, unit_price) 백필 설정 (coffeeshop.order.snapshot-backfill.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.order.snapshot-backfill")
+public class OrderSnapshotBackfillProperties {
+
+    // 애플리케이션 기동 후 백그라운드로 백필 실행 여부. 채울 행이 없으면 조회 한 번으로 끝납니다.
+    private boolean enabled = true;
+
+    // 한 번에(한 UPDATE 문으로) 채울 주문 수. 행 락을 오래 잡지 않도록 작게 유지합니다.
+    private int chunkSize = 1000;
+
+    // 청크 사이 대기 시간 (밀리초). 운영 중 실행 시 복제 지연/락 경합을 줄이기 위한 여유
+    private long pauseMillis = 50;
+}
@@ -0,0 +1,244 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
+import com.sparta.tdd.coffeeshop.domain.order.PointRestoration;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 취소/환불로 적재된 포인트 복원(point_restoration)을 일괄 반영합니다.
+ *
+ * - 대기 중인 복원을 batchSize만큼 읽어 userId별로 합산하고, 한 트랜잭션에서 사용자당 UPDATE 한 번씩(userId 오름차순) 반영
+ *   같은 사용자의 환불이 수천 건이어도 users 행은 배치마다 한 번만 잠기므로, 진행 중인 주문과의 경합이 최소화됩니다.
+ * - 반영할 복원 행을 먼저 APPLIED로 선점(WHERE status = 'PENDING')하므로 여러 인스턴스가 동시에 돌아도 중복 반영되지 않습니다.
+ * - 잔액 엔진을 켠 경우에도 선점과 충전을 같은 DB 트랜잭션으로 커밋하고, 커밋된 뒤 엔진 메모리 잔액에 더합니다.
+ *   (선점만 커밋되고 충전이 빠지는 일이 없도록 BalanceEngine.creditThroughDatabase가 그 사이 반영을 막음)
+ * - 샤딩을 켜면 샤드마다 따로 배치를 반영합니다. 복원 행과 사용자 행이 같은 샤드에 있으므로 한 배치가 샤드 하나에서 끝납니다.
+ * - 환불 트랜잭션이 커밋되면 wakeUp()으로 바로 깨어나고, 그 외에는 pollIntervalMillis마다 대기열을 확인합니다.
+ */
+@Slf4j
+@Component
+public class PointRestorationProcessor implements SmartLifecycle {
+
+    private record Pending(long id, String userId, long amount) {
+    }
+
+    private final RefundProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceEngine balanceEngine;
+    private final ShardRouter shardRouter;
+    private final Counter restored;
+    private final Counter batches;
+
+    private final Object signal = new Object();
+    private boolean signalled; // signal로 보호
+    private Thread worker;
+    private volatile boolean running;
+
+    public PointRestorationProcessor(RefundProperties properties, JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate, BalanceEngine balanceEngine,
+                                     ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.balanceEngine = balanceEngine;
+        this.shardRouter = shardRouter;
+        this.restored = meterRegistry.counter("coffeeshop.refund.restored");
+        this.batches = meterRegistry.counter("coffeeshop.refund.batches");
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 처리기를 깨웁니다. (트랜잭션 밖이면 즉시)
+     */
+    public void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    public void wakeUp() {
+        synchronized (signal) {
+            signalled = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * 대기열이 빌 때까지 반영합니다.
+     * @return 반영한 복원 건수
+     */
+    public int processAll() {
+        int total = 0;
+        int processed;
+        while ((processed = processBatch()) > 0) {
+            total += processed;
+        }
+        return total;
+    }
+
+    /**
+     * 샤드마다 대기 중인 복원을 한 배치씩 반영합니다.
+     * @return 반영한 복원 건수 (0이면 대기열이 비었거나, 다른 인스턴스와 선점 경합이 계속됨)
+     */
+    public int processBatch() {
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            total += shardRouter.onShard(shard, this::processShardBatch);
+        }
+        return total;
+    }
+
+    private int processShardBatch() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            int processed = tryBatch();
+            if (processed >= 0) {
+                return processed;
+            }
+            log.info("포인트 복원 배치를 다른 처리기가 선점해 다시 읽습니다: attempt={}", attempt + 1);
+        }
+        return 0;
+    }
+
+    // @return 반영 건수, 선점 경합으로 포기했으면 -1
+    private int tryBatch() {
+        List<Pending> pending = jdbcTemplate.query(
+                "SELECT id, user_id, amount FROM point_restoration WHERE status = ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Pending(rs.getLong(1), rs.getString(2), rs.getLong(3)),
+                PointRestoration.Status.PENDING.name(), properties.getBatchSize());
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> amounts = new TreeMap<>(); // userId 오름차순 = 락 획득 순서 고정
+        List<Object> claimArgs = new ArrayList<>();
+        claimArgs.add(PointRestoration.Status.APPLIED.name());
+        claimArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        for (Pending p : pending) {
+            amounts.merge(p.userId(), p.amount(), Long::sum);
+            claimArgs.add(p.id());
+        }
+        claimArgs.add(PointRestoration.Status.PENDING.name());
+        String placeholders = String.join(",", Collections.nCopies(pending.size(), "?"));
+
+        boolean applied = balanceEngine.isEnabled()
+                // 잔액 엔진: 선점과 users UPDATE를 같은 트랜잭션으로 커밋한 뒤 엔진 메모리에도 더함
+                ? balanceEngine.creditThroughDatabase(amounts, () -> claimAndCredit(pending, amounts, claimArgs, placeholders))
+                : claimAndCredit(pending, amounts, claimArgs, placeholders);
+        if (!applied) {
+            return -1;
+        }
+        restored.increment(pending.size());
+        batches.increment();
+        log.info("포인트 복원 반영: 복원 {}건, 사용자 {}명", pending.size(), amounts.size());
+        return pending.size();
+    }
+
+    // 복원 행을 APPLIED로 선점하고 같은 트랜잭션에서 사용자별 잔액을 더합니다. 커밋했으면 true
+    private boolean claimAndCredit(List<Pending> pending, Map<String, Long> amounts, List<Object> claimArgs,
+                                   String placeholders) {
+        Boolean committed = transactionTemplate.execute(status -> {
+            int claimed = jdbcTemplate.update("UPDATE point_restoration SET status = ?, applied_at = ? "
+                    + "WHERE id IN (" + placeholders + ") AND status = ?", claimArgs.toArray());
+            if (claimed != pending.size()) {
+                status.setRollbackOnly(); // 다른 인스턴스가 일부를 먼저 가져감 → 이번 배치는 포기하고 다시 읽음
+                return false;
+            }
+            List<Object[]> rows = new ArrayList<>(amounts.size());
+            amounts.forEach((userId, amount) -> rows.add(new Object[]{amount, userId}));
+            int[] updated = jdbcTemplate.batchUpdate(
+                    "UPDATE users SET point = point + ?, version = version + 1 WHERE user_id = ?", rows);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    log.warn("포인트 복원 대상 사용자가 없어 건너뜁니다: userId={}, amount={}", rows.get(i)[1], rows.get(i)[0]);
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(committed);
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                if (processBatch() >= properties.getBatchSize()) {
+                    continue; // 대기열이 더 남아 있을 수 있음
+                }
+            } catch (RuntimeException e) {
+                log.error("포인트 복원 반영 실패 (다음 주기에 재시도)", e);
+            }
+            synchronized (signal) {
+                try {
+                    if (!signalled && running) {
+                        signal.wait(Math.max(1, properties.getPollIntervalMillis()));
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                signalled = false;
+            }
+        }
+    }
+
+    // --- 생명주기 ---
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "point-restoration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp();
+        if (worker != null) {
+            try {
+                worker.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isProcessorEnabled();
+    }
+
+    @Override
+    public int getPhase() {
+        return 1; // 잔액 엔진(phase 0)보다 늦게 시작하고 먼저 멈춤
+    }
+}
@@ -0,0 +1,27 @@
+package com.sparta.tdd.coffeeshop.domain.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 주문 취소/환불 포인트 복원 설정 (coffeeshop.refund.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.refund")
+public class RefundProperties {
+
+    // 포인트 복원 처리기 자동 실행 여부 (false면 processAll()을 직접 호출해야 반영됨)
+    private boolean processorEnabled = true;
+
+    // 한 트랜잭션에서 반영할 복원 건수. 사용자별로 합산한 뒤 userId 순으로 UPDATE하므로 잠그는 users 행 수도 이 이하입니다.
+    private int batchSize = 200;
+
+    // 새 환불 알림이 없을 때 대기열을 확인하는 주기 (밀리초). 다른 인스턴스가 적재한 건도 이 주기로 처리됩니다.
+    private long pollIntervalMillis = 5000;
+
+    // 관리자 일괄 환불 한 번에 받을 수 있는 최대 주문 수
+    private int maxBulkOrders = 10_000;
+}
@@ -0,0 +1,33 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 인메모리 잔액 엔진(BalanceEngine)의 반영 지점.
+ * 잔액 일괄 UPDATE와 같은 트랜잭션에서 갱신되므로, users.point는 항상 저널 lastSeq 이하의 변경까지 정확히 반영된 상태입니다.
+ * 재기동 시 lastSeq 이후의 저널 기록만 다시 적용합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "balance_checkpoint")
+public class BalanceCheckpoint {
+
+    @Id
+    @Column(name = "engine_id", length = 40)
+    private String engineId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    public BalanceCheckpoint(String engineId, long lastSeq) {
+        this.engineId = engineId;
+        this.lastSeq = lastSeq;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 포인트 적립 작업의 파티션별 체크포인트.
+ * 청크 적립과 같은 트랜잭션에서 갱신되므로, 커밋된 lastUserId 이하의 사용자는 이미 적립이 끝난 상태입니다.
+ * 진행률 집계도 작업 행(point_credit_job)이 아니라 이 행들을 합산해서 계산합니다. (작업 행이 핫 로우가 되지 않도록)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "point_credit_checkpoint")
+public class PointCreditCheckpoint {
+
+    @Id
+    @Column(name = "checkpoint_id", length = 80)
+    private String checkpointId; // "{jobId}:{partitionNo}"
+
+    @Column(name = "job_id", nullable = false, length = 64)
+    private String jobId;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    @Column(name = "partition_size", nullable = false)
+    private int partitionSize; // 이 파티션에 배정된 사용자 수
+
+    @Column(name = "last_user_id")
+    private String lastUserId; // 마지막으로 커밋된 청크의 마지막 userId (null이면 아직 시작 전)
+
+    @Column(name = "processed_users", nullable = false)
+    private int processedUsers;
+
+    @Column(name = "credited_users", nullable = false)
+    private int creditedUsers; // 실제로 적립된 사용자 수
+
+    @Column(name = "missing_users", nullable = false)
+    private int missingUsers; // users 테이블에 없어 건너뛴 사용자 수
+
+    public PointCreditCheckpoint(String jobId, int partitionNo, int partitionSize) {
+        this.checkpointId = idOf(jobId, partitionNo);
+        this.jobId = jobId;
+        this.partitionNo = partitionNo;
+        this.partitionSize = partitionSize;
+    }
+
+    public static String idOf(String jobId, int partitionNo) {
+        return jobId + ":" + partitionNo;
+    }
+
+    // 청크 하나가 커밋될 때마다 호출
+    public void advance(String lastUserId, int processed, int credited) {
+        this.lastUserId = lastUserId;
+        this.processedUsers += processed;
+        this.creditedUsers += credited;
+        this.missingUsers += processed - credited;
+    }
+
+    public boolean isDone() {
+        return processedUsers >= partitionSize;
+    }
+}
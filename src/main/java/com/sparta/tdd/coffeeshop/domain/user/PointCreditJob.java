@@ -0,0 +1,89 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대량 포인트 적립(프로모션) 작업.
+ * 입력 전체의 요약값(사용자 수, 총 금액, 파티션 수)을 저장해 두고,
+ * 같은 jobId로 다시 제출되면 이 값으로 동일한 입력인지 확인한 뒤 체크포인트부터 재개합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "point_credit_job")
+public class PointCreditJob {
+
+    @Id
+    @Column(name = "job_id", length = 64)
+    private String jobId;
+
+    @Column(name = "total_users", nullable = false)
+    private int totalUsers; // 중복 userId를 합산한 뒤의 대상 사용자 수
+
+    @Column(name = "total_amount", nullable = false)
+    private long totalAmount; // 적립 총액 (재제출 시 입력 동일성 검증용)
+
+    @Column(name = "partition_count", nullable = false)
+    private int partitionCount; // userId 범위 파티션 수 (재개 시 동일한 범위를 쓰기 위해 고정)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    public PointCreditJob(String jobId, int totalUsers, long totalAmount, int partitionCount) {
+        this.jobId = jobId;
+        this.totalUsers = totalUsers;
+        this.totalAmount = totalAmount;
+        this.partitionCount = partitionCount;
+        this.status = JobStatus.RUNNING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // 같은 입력인지 확인 (사용자 수와 총액이 모두 같아야 재개 가능)
+    public boolean matches(int totalUsers, long totalAmount) {
+        return this.totalUsers == totalUsers && this.totalAmount == totalAmount;
+    }
+
+    public void markRunning() {
+        this.status = JobStatus.RUNNING;
+        this.finishedAt = null;
+        this.errorMessage = null;
+    }
+
+    public void markCompleted() {
+        this.status = JobStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String errorMessage) {
+        this.status = JobStatus.FAILED;
+        this.finishedAt = LocalDateTime.now();
+        // 컬럼 길이를 넘지 않도록 잘라서 저장
+        this.errorMessage = (errorMessage != null && errorMessage.length() > 500) ? errorMessage.substring(0, 500) : errorMessage;
+    }
+
+    public enum JobStatus {
+        RUNNING,    // 처리 중
+        COMPLETED,  // 모든 파티션 완료
+        FAILED      // 중단됨 (같은 jobId로 재제출하면 체크포인트부터 재개)
+    }
+}
@@ -0,0 +1,36 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자 × 메뉴별 주문 건수. 주문 통계(UserOrderStats)의 선호 메뉴를 증분으로 판정하기 위한 보조 테이블입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_menu_order_count",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_menu_order_count", columnNames = {"user_id", "menu_id"}))
+public class UserMenuOrderCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "menu_id", nullable = false)
+    private Long menuId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+}
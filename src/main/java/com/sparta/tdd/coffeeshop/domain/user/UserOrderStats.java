@@ -0,0 +1,41 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자별 주문 통계 읽기 모델 (CQRS). 원본은 orders 테이블이며, 주문 완료 이벤트로 증분 갱신됩니다.
+ * 갱신은 UserOrderStatsService의 SQL(UPSERT)로만 하므로 엔티티는 조회/스키마 생성 용도입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_order_stats")
+public class UserOrderStats {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_spend", nullable = false)
+    private long totalSpend;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(name = "favorite_menu_id")
+    private Long favoriteMenuId; // 가장 많이 주문한 메뉴 (주문 건수 기준)
+
+    @Column(name = "favorite_menu_count", nullable = false)
+    private long favoriteMenuCount;
+}
@@ -1,5 +1,7 @@
 package com.sparta.tdd.coffeeshop.domain.user.dto;
 
+import com.sparta.tdd.coffeeshop.cmmn.ratelimit.UserScopedRequest;
+
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +14,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class PointChargeRequest {
+public class PointChargeRequest implements UserScopedRequest {
 	@NotBlank(message = "사용자 ID는 필수입니다.") // null, 빈 문자열, 공백만 있는 문자열 불가
     private String userId;
 
@@ -0,0 +1,71 @@
+package com.sparta.tdd.coffeeshop.domain.user.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditCheckpoint;
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditJob;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PointCreditJobResponse {
+	private String jobId;
+    private PointCreditJob.JobStatus status;
+    private int totalUsers;
+    private long totalAmount;
+    private int processedUsers;
+    private int creditedUsers;
+    private int missingUsers; // 존재하지 않아 건너뛴 사용자 수
+    private double progressPercent;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+    private List<PartitionProgress> partitions;
+
+    @Getter
+    @Builder
+    public static class PartitionProgress {
+        private int partitionNo;
+        private int partitionSize;
+        private int processedUsers;
+        private String lastUserId;
+    }
+
+    // 작업 행과 파티션 체크포인트들을 합산하여 진행률 DTO 생성
+    public static PointCreditJobResponse from(PointCreditJob job, List<PointCreditCheckpoint> checkpoints) {
+        int processed = 0;
+        int credited = 0;
+        int missing = 0;
+        for (PointCreditCheckpoint checkpoint : checkpoints) {
+            processed += checkpoint.getProcessedUsers();
+            credited += checkpoint.getCreditedUsers();
+            missing += checkpoint.getMissingUsers();
+        }
+        double percent = job.getTotalUsers() == 0 ? 100.0 : (processed * 100.0) / job.getTotalUsers();
+
+        return PointCreditJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus())
+                .totalUsers(job.getTotalUsers())
+                .totalAmount(job.getTotalAmount())
+                .processedUsers(processed)
+                .creditedUsers(credited)
+                .missingUsers(missing)
+                .progressPercent(Math.round(percent * 10) / 10.0)
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .partitions(checkpoints.stream()
+                        .map(c -> PartitionProgress.builder()
+                                .partitionNo(c.getPartitionNo())
+                                .partitionSize(c.getPartitionSize())
+                                .processedUsers(c.getProcessedUsers())
+                                .lastUserId(c.getLastUserId())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.sparta.tdd.coffeeshop.domain.user.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class UserOrderStatsRebuildResponse {
+    private int partitions;
+    private long rebuiltUsers; // 통계 행이 다시 만들어진 사용자 수 (완료 주문이 있는 사용자)
+    private long elapsedMillis;
+}
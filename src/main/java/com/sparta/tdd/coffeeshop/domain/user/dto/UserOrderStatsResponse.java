@@ -0,0 +1,18 @@
+package com.sparta.tdd.coffeeshop.domain.user.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class UserOrderStatsResponse {
+    private String userId;
+    private long orderCount;
+    private long totalSpend;
+    private Long favoriteMenuId;
+    private String favoriteMenuName;
+    private long favoriteMenuOrderCount;
+    private LocalDateTime lastOrderAt;
+}
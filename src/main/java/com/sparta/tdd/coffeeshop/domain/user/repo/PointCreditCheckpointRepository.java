@@ -0,0 +1,13 @@
+package com.sparta.tdd.coffeeshop.domain.user.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditCheckpoint;
+
+public interface PointCreditCheckpointRepository extends JpaRepository<PointCreditCheckpoint, String> {
+
+	// 파티션 번호 순으로 조회 (진행률 응답 및 재개 시 사용)
+	List<PointCreditCheckpoint> findByJobIdOrderByPartitionNoAsc(String jobId);
+}
@@ -0,0 +1,8 @@
+package com.sparta.tdd.coffeeshop.domain.user.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.sparta.tdd.coffeeshop.domain.user.UserOrderStats;
+
+public interface UserOrderStatsRepository extends JpaRepository<UserOrderStats, String> {
+}
@@ -2,7 +2,9 @@ package com.sparta.tdd.coffeeshop.domain.user.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sparta.tdd.coffeeshop.domain.user.User;
 
@@ -18,4 +20,13 @@ public interface UserRepository extends JpaRepository<User, String> {
 	Optional<User> findByUserIdWithPessimisticLock(String userId);
 	
 	Optional<User> findById(String id);    
+	
+	// 합산된 충전 금액을 한 번의 UPDATE로 반영 (point = point + :amount). 낙관적 락 사용 경로와 충돌을 감지하도록 version도 증가시킵니다.
+	@Modifying
+	@Query("UPDATE User u SET u.point = u.point + :amount, u.version = u.version + 1 WHERE u.userId = :userId")
+	int addPoint(@Param("userId") String userId, @Param("amount") long amount);
+	
+	// 영속성 컨텍스트를 거치지 않고 DB의 현재 포인트를 조회
+	@Query("SELECT u.point FROM User u WHERE u.userId = :userId")
+	Optional<Long> findPointByUserId(@Param("userId") String userId);
 }
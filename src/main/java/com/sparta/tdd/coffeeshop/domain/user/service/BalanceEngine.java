@@ -0,0 +1,509 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.BalanceCheckpoint;
+import com.sparta.tdd.coffeeshop.domain.user.repo.BalanceCheckpointRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 포인트 잔액을 메모리에서 관리하는 write-behind 엔진. (coffeeshop.balance-engine.enabled=true 일 때만 동작)
+ *
+ * - 잔액: userId마다 슬롯 번호를 배정하고 AtomicLongArray에 원시 long으로 보관, 차감/충전은 CAS로 처리 (DB 왕복 없음)
+ * - 내구성: 충전은 저널(BalanceJournal)에 먼저 기록한 뒤 잔액에 더하므로, 기록에 실패하면 아무것도 공개되지 않습니다.
+ *   트랜잭션 안의 차감은 잔액에서 먼저 빼 두고(예약), 커밋 직전(beforeCommit)에 주문 ID와 함께 RESERVE를 기록한 뒤
+ *   커밋되면 CONFIRM, 롤백되면 ABORT를 기록합니다. 커밋과 CONFIRM 기록 사이에 죽으면 재기동 시 결과가 없는 예약을
+ *   주문 행이 있는지로 정산하므로(있으면 차감, 없으면 버림), 커밋된 주문의 차감이 유실되거나 없는 주문의 차감이 적용되지 않습니다.
+ *   결과가 없는 예약이 든 저널 세그먼트는 반영 후에도 지우지 않습니다.
+ * - 반영: flushIntervalMillis마다 변경된 사용자의 잔액을 users 테이블에 배치 UPDATE하고, 같은 트랜잭션에서
+ *   반영 지점(BalanceCheckpoint.lastSeq)을 갱신
+ * - 복구: 기동 시 users 잔액을 읽고, 반영 지점 이후의 저널 기록을 다시 적용하고 결과가 없는 예약을 정산한 뒤 즉시 반영
+ *
+ * 반영 시점의 스냅샷은 쓰기 락으로 잡으므로(변경은 읽기 락을 공유) "lastSeq 이하의 변경은 모두 포함,
+ * 이후 변경은 하나도 포함하지 않음"이 보장되어 재적용이 중복되지 않습니다. 스냅샷에는 예약 중인 차감을 더한 값(커밋된 잔액)을 씁니다.
+ * 엔진을 켠 동안에는 이 엔진이 잔액의 원본이므로, 다른 경로(테스트 초기화 API 등)로 users.point를 직접 바꾸면
+ * 다음 반영 때 덮어써집니다. DB에서 잔액을 더하는 경로(환불 복원, 대량 적립)는 creditThroughDatabase로 감쌉니다.
+ */
+@Slf4j
+@Component
+public class BalanceEngine implements SmartLifecycle {
+
+    static final String ENGINE_ID = "balance-engine";
+
+    private final BalanceEngineProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceCheckpointRepository checkpointRepository;
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicLongArray balances;   // 사용 가능 잔액 (예약 중인 차감을 뺀 값)
+    private final AtomicLongArray reserved;   // 커밋을 기다리는 차감 합계
+    private final AtomicReferenceArray<String> userIds;
+    private int nextSlot; // register()에서만 증가 (synchronized)
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final ConcurrentSkipListSet<Long> openReservations = new ConcurrentSkipListSet<>(); // 결과를 기록하지 못한 RESERVE seq
+
+    // 변경(읽기 락 공유)과 반영 스냅샷(쓰기 락)을 구분
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+
+    private BalanceJournal journal;
+    private ScheduledExecutorService flusher;
+    private long lastCheckpoint;
+    private volatile boolean running;
+
+    public BalanceEngine(BalanceEngineProperties properties, JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate, BalanceCheckpointRepository checkpointRepository) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        int capacity = properties.isEnabled() ? properties.getCapacity() : 0; // 끈 상태에서는 메모리를 잡지 않음
+        this.balances = new AtomicLongArray(capacity);
+        this.reserved = new AtomicLongArray(capacity);
+        this.userIds = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long deduct(String userId, long amount) {
+        return deduct(userId, amount, () -> null);
+    }
+
+    /**
+     * 포인트를 차감합니다. 트랜잭션 안이면 커밋 직전에 예약을, 끝난 뒤 결과를 저널에 기록하고,
+     * 롤백되면(주문 저장 실패 등) 차감분을 되돌립니다.
+     * @param orderId 커밋 직전에 읽을 주문 ID. 재기동 시 결과가 없는 예약을 이 주문이 있는지로 정산합니다. (null이면 버림)
+     * @return 차감 후 잔액
+     * @throws CustomException 사용자가 없거나(USER_NOT_FOUND) 잔액이 부족할 때(INSUFFICIENT_POINT)
+     */
+    public long deduct(String userId, long amount, Supplier<String> orderId) {
+        requireRunning();
+        int slot = slotOf(userId);
+        long balance = reserve(slot, amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long reservationSeq; // 0이면 아직 기록 전
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    reservationSeq = journalReservation(userId, amount, orderId.get()); // 실패하면 커밋하지 않고 롤백
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        confirm(slot, userId, amount, reservationSeq);
+                    } else {
+                        log.info("트랜잭션 롤백으로 차감 포인트를 되돌립니다: userId={}, amount={}", userId, amount);
+                        abort(slot, userId, amount, reservationSeq);
+                    }
+                }
+            });
+            return balance;
+        }
+        try {
+            settle(slot, userId, amount, false);
+        } catch (IOException e) {
+            release(slot, amount);
+            log.error("잔액 저널 기록 실패: userId={}, delta={}", userId, -amount, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "포인트 변경 기록에 실패했습니다.");
+        }
+        return balance;
+    }
+
+    /**
+     * 포인트를 충전합니다. 저널에 기록한 뒤 잔액에 더하므로, 기록에 실패하면 다른 요청이 그 잔액을 쓸 수 없습니다.
+     * @return 충전 후 잔액
+     */
+    public long charge(String userId, long amount) {
+        requireRunning();
+        int slot = slotOf(userId);
+        snapshotLock.readLock().lock();
+        try {
+            try {
+                journal.append(userId, amount);
+            } catch (IOException e) {
+                log.error("잔액 저널 기록 실패: userId={}, delta={}", userId, amount, e);
+                throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "포인트 변경 기록에 실패했습니다.");
+            }
+            long updated = balances.addAndGet(slot, amount);
+            dirty.add(slot);
+            return updated;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * users.point에 직접 더하는 DB 작업(work)을 실행하고, 커밋되면 같은 금액을 메모리 잔액에도 더합니다.
+     * (환불 복원처럼 "반영 완료 표시"와 충전이 한 DB 트랜잭션에서 함께 커밋되어야 하는 경우)
+     *
+     * 반영(flush)과 겹치지 않도록 flushLock을 잡고 실행하므로, 반영의 절대값 UPDATE가 이 충전을 덮어쓰지 않습니다.
+     * DB에 이미 더해졌으므로 저널에는 기록하지 않습니다. 커밋 직후 죽어도 재기동 시 DB 잔액에서 다시 읽습니다.
+     *
+     * @param work 트랜잭션을 실행하고 커밋했으면 true를 반환
+     * @return work의 결과
+     */
+    public boolean creditThroughDatabase(Map<String, Long> amounts, BooleanSupplier work) {
+        synchronized (flushLock) {
+            requireRunning();
+            Map<Integer, Long> slotAmounts = new HashMap<>();
+            amounts.forEach((userId, amount) -> {
+                try {
+                    slotAmounts.merge(slotOf(userId), amount, Long::sum); // 커밋 전에 올려 두어야 DB에서 두 번 읽지 않음
+                } catch (CustomException e) {
+                    log.warn("메모리에 올릴 사용자가 없어 DB에만 반영합니다: userId={}", userId);
+                }
+            });
+            if (!work.getAsBoolean()) {
+                return false;
+            }
+            snapshotLock.readLock().lock();
+            try {
+                slotAmounts.forEach((slot, amount) -> balances.addAndGet(slot, amount));
+            } finally {
+                snapshotLock.readLock().unlock();
+            }
+            return true;
+        }
+    }
+
+    public long balanceOf(String userId) {
+        return balances.get(slotOf(userId));
+    }
+
+    // 사용 가능 잔액에서 빼고 예약으로 옮깁니다. (커밋된 잔액 = 사용 가능 + 예약 은 그대로)
+    private long reserve(int slot, long amount) {
+        snapshotLock.readLock().lock();
+        try {
+            while (true) {
+                long current = balances.get(slot);
+                long updated = current - amount;
+                if (updated < 0) {
+                    throw new CustomException(ErrorCode.INSUFFICIENT_POINT, "포인트가 부족합니다.");
+                }
+                if (balances.compareAndSet(slot, current, updated)) {
+                    reserved.addAndGet(slot, amount);
+                    return updated;
+                }
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // 예약을 확정합니다. 저널에 기록한 뒤 예약을 지우므로 반영 스냅샷에는 둘 중 하나로만 포함됩니다.
+    // committed(트랜잭션 커밋 후)이면 기록에 실패해도 예약을 확정합니다. (커밋된 주문의 차감은 되돌리지 않음)
+    // 트랜잭션 밖의 차감은 실패 시 호출한 쪽이 release로 되돌립니다.
+    private void settle(int slot, String userId, long amount, boolean committed) throws IOException {
+        snapshotLock.readLock().lock();
+        try {
+            try {
+                journal.append(userId, -amount);
+            } catch (IOException e) {
+                if (committed) {
+                    reserved.addAndGet(slot, -amount);
+                    dirty.add(slot);
+                }
+                throw e;
+            }
+            reserved.addAndGet(slot, -amount);
+            dirty.add(slot);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // 커밋 직전 예약 기록. 반영의 세그먼트 전환(쓰기 락)과 겹치지 않게 기록과 openReservations 등록을 함께 합니다.
+    private long journalReservation(String userId, long amount, String orderId) {
+        snapshotLock.readLock().lock();
+        try {
+            long seq = journal.appendReserve(userId, -amount, orderId);
+            openReservations.add(seq);
+            return seq;
+        } catch (IOException e) {
+            log.error("차감 예약 저널 기록 실패: userId={}, amount={}", userId, amount, e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "포인트 변경 기록에 실패했습니다.");
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // 커밋된 예약을 확정합니다. CONFIRM 기록에 실패하면 예약을 그대로 두어(반영 스냅샷에서 제외) 재기동 때 주문 행으로 정산합니다.
+    private void confirm(int slot, String userId, long amount, long reservationSeq) {
+        if (reservationSeq == 0) {
+            try {
+                settle(slot, userId, amount, true); // 예약 기록 없이 커밋된 경우 (beforeCommit을 거치지 않는 트랜잭션)
+            } catch (IOException e) {
+                log.error("커밋된 차감의 잔액 저널 기록 실패: userId={}, amount={}", userId, amount, e);
+            }
+            return;
+        }
+        snapshotLock.readLock().lock();
+        try {
+            journal.appendResult(reservationSeq, true, userId, -amount);
+            reserved.addAndGet(slot, -amount);
+            dirty.add(slot);
+            openReservations.remove(reservationSeq);
+        } catch (IOException e) {
+            log.error("차감 확정 저널 기록 실패. 재기동 시 주문 행으로 정산합니다: userId={}, amount={}, seq={}",
+                    userId, amount, reservationSeq, e);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // 롤백된 예약을 풉니다. ABORT 기록에 실패해도 재기동 시 주문 행이 없어 버려지므로 결과를 기다리지 않습니다.
+    private void abort(int slot, String userId, long amount, long reservationSeq) {
+        release(slot, amount);
+        if (reservationSeq == 0) {
+            return;
+        }
+        try {
+            journal.appendResult(reservationSeq, false, userId, -amount);
+        } catch (IOException e) {
+            log.warn("차감 취소 저널 기록 실패: userId={}, seq={}", userId, reservationSeq, e);
+        }
+        openReservations.remove(reservationSeq);
+    }
+
+    // 예약을 풀어 사용 가능 잔액으로 되돌립니다. (차감을 되돌리는 것이라 잔액이 음수가 되지 않음)
+    private void release(int slot, long amount) {
+        snapshotLock.readLock().lock();
+        try {
+            reserved.addAndGet(slot, -amount);
+            balances.addAndGet(slot, amount);
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // 메모리에 없는 사용자(엔진 기동 후 가입 등)는 DB에서 한 번 읽어 올립니다.
+    private int slotOf(String userId) {
+        Integer slot = slots.get(userId);
+        if (slot != null) {
+            return slot;
+        }
+        List<Long> points = jdbcTemplate.queryForList("SELECT point FROM users WHERE user_id = ?", Long.class, userId);
+        if (points.isEmpty()) {
+            throw new CustomException(ErrorCode.USER_NOT_FOUND, "사용자를 찾을 수 없습니다.");
+        }
+        return register(userId, points.get(0));
+    }
+
+    private synchronized int register(String userId, long point) {
+        Integer existing = slots.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        if (nextSlot >= balances.length()) {
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "잔액 엔진 용량을 초과했습니다.");
+        }
+        int slot = nextSlot++;
+        balances.set(slot, point);
+        userIds.set(slot, userId);
+        slots.put(userId, slot); // 값을 채운 뒤 공개
+        return slot;
+    }
+
+    /**
+     * 변경된 잔액을 users 테이블에 반영합니다. 실패하면 다음 주기에 다시 시도합니다.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            long watermark;
+            List<Integer> flushedSlots;
+            List<Object[]> rows;
+            snapshotLock.writeLock().lock();
+            try {
+                if (dirty.isEmpty() && journal.lastSeq() == lastCheckpoint) {
+                    return;
+                }
+                watermark = journal.rotate();
+                flushedSlots = new ArrayList<>(dirty);
+                dirty.clear();
+                rows = new ArrayList<>(flushedSlots.size());
+                for (int slot : flushedSlots) {
+                    rows.add(new Object[] {balances.get(slot) + reserved.get(slot), userIds.get(slot)});
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("잔액 저널 세그먼트 전환 실패", e);
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int batchSize = Math.max(1, properties.getFlushBatchSize());
+                    for (int from = 0; from < rows.size(); from += batchSize) {
+                        jdbcTemplate.batchUpdate("UPDATE users SET point = ?, version = version + 1 WHERE user_id = ?",
+                                rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                    }
+                    checkpointRepository.save(new BalanceCheckpoint(ENGINE_ID, watermark));
+                });
+                lastCheckpoint = watermark;
+                Long oldestOpen = openReservations.isEmpty() ? null : openReservations.first();
+                journal.deleteSegmentsUpTo(oldestOpen == null ? watermark : Math.min(watermark, oldestOpen - 1));
+                log.debug("잔액 반영 완료: 사용자 수={}, lastSeq={}", rows.size(), watermark);
+            } catch (RuntimeException | IOException e) {
+                dirty.addAll(flushedSlots); // 다음 주기에 다시 반영 (반영 지점이 그대로이므로 저널도 남아 있음)
+                log.error("잔액 반영 실패: 사용자 수={}, lastSeq={}", rows.size(), watermark, e);
+            }
+        }
+    }
+
+    private void requireRunning() {
+        if (!running) {
+            throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE, "잔액 엔진이 기동 중이 아닙니다.");
+        }
+    }
+
+    // --- 생명주기: 웹 서버보다 먼저 기동(복구)하고 웹 서버가 멈춘 뒤 마지막으로 반영 ---
+
+    @Override
+    public void start() {
+        long checkpoint = checkpointRepository.findById(ENGINE_ID).map(BalanceCheckpoint::getLastSeq).orElse(0L);
+        jdbcTemplate.query("SELECT user_id, point FROM users", rs -> {
+            register(rs.getString(1), rs.getLong(2));
+        });
+
+        journal = new BalanceJournal(Path.of(properties.getJournalDir()), properties.isSyncOnWrite());
+        List<BalanceJournal.Entry> entries;
+        try {
+            entries = journal.open(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 저널을 열 수 없습니다: " + properties.getJournalDir(), e);
+        }
+        int replayed = 0;
+        Map<Long, BalanceJournal.Entry> unresolved = new LinkedHashMap<>(); // 결과가 없는 예약 (반영 지점 이전 포함)
+        for (BalanceJournal.Entry entry : entries) {
+            switch (entry.type()) {
+                case RESERVE -> unresolved.put(entry.seq(), entry);
+                case ABORT -> unresolved.remove(entry.reservationSeq());
+                case CONFIRM, DELTA -> {
+                    unresolved.remove(entry.reservationSeq());
+                    if (entry.seq() > checkpoint && replay(entry)) {
+                        replayed++;
+                    }
+                }
+            }
+        }
+        int settled = 0;
+        for (BalanceJournal.Entry reservation : unresolved.values()) {
+            boolean committed = reservation.orderId() != null && jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE order_id = ?", Integer.class, reservation.orderId()) > 0;
+            try {
+                journal.appendResult(reservation.seq(), committed, reservation.userId(), reservation.delta());
+            } catch (IOException e) {
+                throw new UncheckedIOException("잔액 저널에 예약 정산을 기록할 수 없습니다: " + properties.getJournalDir(), e);
+            }
+            log.info("결과가 없는 차감 예약 정산: userId={}, delta={}, orderId={}, 커밋됨={}",
+                    reservation.userId(), reservation.delta(), reservation.orderId(), committed);
+            if (committed && replay(reservation)) {
+                settled++;
+            }
+        }
+        lastCheckpoint = checkpoint;
+        running = true;
+        log.info("잔액 엔진 기동: 사용자 수={}, 반영 지점={}, 저널 재적용={}건, 예약 정산={}건",
+                slots.size(), checkpoint, replayed, settled);
+        if (replayed > 0 || !unresolved.isEmpty()) {
+            flush();
+        }
+
+        if (properties.getFlushIntervalMillis() > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "balance-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, properties.getFlushIntervalMillis(),
+                    properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private boolean replay(BalanceJournal.Entry entry) {
+        Integer slot = slots.get(entry.userId());
+        if (slot == null) {
+            log.warn("저널 재적용 대상 사용자가 없어 건너뜁니다: userId={}, seq={}", entry.userId(), entry.seq());
+            return false;
+        }
+        balances.addAndGet(slot, entry.delta());
+        dirty.add(slot);
+        return true;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("잔액 반영 주기 실행 중 오류", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        running = false;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("잔액 저널 닫기 실패", e);
+        }
+        log.info("잔액 엔진 종료: 반영 지점={}", lastCheckpoint);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public int getPhase() {
+        return 0; // 웹 서버(Integer.MAX_VALUE 부근)보다 먼저 시작하고 나중에 멈춤
+    }
+}
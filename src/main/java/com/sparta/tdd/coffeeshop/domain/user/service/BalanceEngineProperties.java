@@ -0,0 +1,34 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 인메모리 잔액 엔진 설정 (coffeeshop.balance-engine.*)
+ * 단일 인스턴스 전용입니다. 여러 인스턴스가 같은 users 테이블에 대해 동시에 켜면 서로의 잔액을 덮어씁니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.balance-engine")
+public class BalanceEngineProperties {
+
+    // true면 주문 차감/포인트 충전이 DB 대신 메모리 잔액 + 로컬 저널로 처리됩니다.
+    private boolean enabled = false;
+
+    // 저널 세그먼트 파일 디렉터리 (로컬 디스크)
+    private String journalDir = "./data/balance-journal";
+
+    // true면 변경 1건마다 fsync. false면 OS 페이지 캐시에 맡기므로 빠르지만 전원 장애 시 마지막 몇 건을 잃을 수 있습니다.
+    private boolean syncOnWrite = true;
+
+    // 메모리 잔액을 users 테이블에 반영하는 주기 (밀리초). 0 이하면 자동 반영하지 않습니다.
+    private long flushIntervalMillis = 1000;
+
+    // 반영 시 JDBC 배치 크기
+    private int flushBatchSize = 500;
+
+    // 메모리에 올릴 수 있는 최대 사용자 수 (사용자당 약 8바이트 + 키)
+    private int capacity = 1 << 20;
+}
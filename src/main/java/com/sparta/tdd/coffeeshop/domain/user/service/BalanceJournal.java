@@ -0,0 +1,237 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 잔액 변경 저널. 변경 1건 = 레코드 1개를 세그먼트 파일 끝에 추가합니다.
+ *
+ * 레코드: [길이 int][seq long][종류 byte][delta long][예약 seq long][userId 길이 short][userId UTF-8]
+ *        [주문 ID 길이 short][주문 ID UTF-8][CRC32 int]
+ * 종류: DELTA(바로 확정된 변경), RESERVE(트랜잭션 커밋 전 차감 예약, 주문 ID), CONFIRM/ABORT(예약 seq의 커밋/롤백 결과)
+ * 세그먼트 파일명은 첫 seq(journal-00000000000000000001.log)이며, BalanceEngine이 DB 반영 시점마다 새 세그먼트로 넘기고
+ * 반영이 끝난 세그먼트를 지웁니다. 기동 시에는 기존 세그먼트에 이어 쓰지 않고 항상 새 세그먼트를 만들어,
+ * 비정상 종료로 잘린 꼬리 뒤에 새 기록이 붙지 않도록 합니다.
+ */
+@Slf4j
+class BalanceJournal implements Closeable {
+
+    enum Type {
+        DELTA, RESERVE, CONFIRM, ABORT
+    }
+
+    // reservationSeq: CONFIRM/ABORT가 가리키는 RESERVE의 seq (그 밖에는 0), orderId: RESERVE의 주문 ID (없으면 null)
+    record Entry(long seq, Type type, String userId, long delta, long reservationSeq, String orderId) {
+    }
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_USER_ID_BYTES = 1024;
+    private static final int FIXED_BYTES = 8 + 1 + 8 + 8 + 2 + 2; // seq, 종류, delta, 예약 seq, 두 문자열 길이
+
+    private final Path directory;
+    private final boolean syncOnWrite;
+    private final ByteBuffer buffer = ByteBuffer.allocate(4 + FIXED_BYTES + 2 * MAX_USER_ID_BYTES + 4);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private Path currentSegment;
+    private long lastSeq;
+    private boolean broken; // 쓰기 실패 후 잘린 레코드를 되돌리지 못한 상태
+
+    BalanceJournal(Path directory, boolean syncOnWrite) {
+        this.directory = directory;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * 남아 있는 세그먼트의 레코드를 모두 반환하고, 새 세그먼트를 열어 쓰기 준비를 합니다.
+     * 반영 지점 이전 레코드도 돌려주므로(아직 결과가 없는 예약 확인용) 다시 적용할지는 호출한 쪽이 seq로 판단합니다.
+     *
+     * @param afterSeq 반영 지점. 남은 레코드가 없으면 이 다음 seq부터 씁니다.
+     */
+    synchronized List<Entry> open(long afterSeq) throws IOException {
+        Files.createDirectories(directory);
+        List<Entry> entries = new ArrayList<>();
+        long maxSeq = afterSeq;
+        for (Path segment : segments()) {
+            for (Entry entry : read(segment)) {
+                maxSeq = Math.max(maxSeq, entry.seq());
+                entries.add(entry);
+            }
+        }
+        this.lastSeq = maxSeq;
+        openSegment();
+        return entries;
+    }
+
+    synchronized long append(String userId, long delta) throws IOException {
+        return append(Type.DELTA, userId, delta, 0, null);
+    }
+
+    synchronized long appendReserve(String userId, long delta, String orderId) throws IOException {
+        return append(Type.RESERVE, userId, delta, 0, orderId);
+    }
+
+    // 예약의 결과. CONFIRM은 예약 레코드 없이도 다시 적용할 수 있도록 userId와 delta를 함께 남깁니다.
+    synchronized long appendResult(long reservationSeq, boolean committed, String userId, long delta) throws IOException {
+        return append(committed ? Type.CONFIRM : Type.ABORT, userId, delta, reservationSeq, null);
+    }
+
+    private long append(Type type, String userId, long delta, long reservationSeq, String orderId) throws IOException {
+        if (broken) {
+            throw new IOException("저널이 손상되어 더 이상 기록할 수 없습니다: " + currentSegment);
+        }
+        byte[] id = userId.getBytes(StandardCharsets.UTF_8);
+        byte[] order = orderId == null ? new byte[0] : orderId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_USER_ID_BYTES || order.length > MAX_USER_ID_BYTES) {
+            throw new IOException("userId 또는 주문 ID가 너무 깁니다: " + Math.max(id.length, order.length) + " bytes");
+        }
+        long seq = lastSeq + 1;
+        int bodyLength = FIXED_BYTES + id.length + order.length;
+        crc.reset();
+        buffer.clear();
+        buffer.putInt(bodyLength + 4).putLong(seq).put((byte) type.ordinal()).putLong(delta).putLong(reservationSeq)
+                .putShort((short) id.length).put(id).putShort((short) order.length).put(order);
+        crc.update(buffer.array(), 4, bodyLength);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (syncOnWrite) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(start); // 잘린 레코드 제거 후 다음 기록을 이어감
+                channel.position(start);
+            } catch (IOException truncateFailure) {
+                broken = true;
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        lastSeq = seq;
+        return seq;
+    }
+
+    synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 새 세그먼트로 넘깁니다.
+     * @return 닫은 세그먼트까지의 마지막 seq (DB 반영 기준점)
+     */
+    synchronized long rotate() throws IOException {
+        closeChannel();
+        openSegment();
+        broken = false;
+        return lastSeq;
+    }
+
+    // 현재 세그먼트를 제외하고, 모든 레코드가 seq 이하인 세그먼트를 지웁니다.
+    synchronized void deleteSegmentsUpTo(long seq) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Path segment = segments.get(i);
+            if (segment.equals(currentSegment)) {
+                continue;
+            }
+            long nextFirstSeq = firstSeqOf(segments.get(i + 1));
+            if (nextFirstSeq - 1 <= seq) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(String.format("%s%020d%s", PREFIX, lastSeq + 1, SUFFIX));
+        channel = FileChannel.open(currentSegment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList(); // 0으로 채운 seq라 이름순 = seq순
+        }
+    }
+
+    private static long firstSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private List<Entry> read(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<Entry> entries = new ArrayList<>();
+        CRC32 check = new CRC32();
+        while (data.remaining() >= 4) {
+            int length = data.getInt();
+            if (length < FIXED_BYTES + 4 || length > data.remaining()) {
+                log.warn("저널 꼬리가 잘려 있어 이후 레코드를 무시합니다: segment={}, offset={}", segment, data.position() - 4);
+                break;
+            }
+            int bodyStart = data.position();
+            long seq = data.getLong();
+            int type = data.get();
+            long delta = data.getLong();
+            long reservationSeq = data.getLong();
+            int idLength = data.getShort();
+            if (type < 0 || type >= Type.values().length || idLength < 0 || idLength > length - (FIXED_BYTES + 4)) {
+                log.warn("저널 레코드 형식이 올바르지 않아 이후 레코드를 무시합니다: segment={}, seq={}", segment, seq);
+                break;
+            }
+            byte[] id = new byte[idLength];
+            data.get(id);
+            int orderLength = data.getShort();
+            if (orderLength < 0 || orderLength != length - (FIXED_BYTES + 4) - idLength) {
+                log.warn("저널 레코드 형식이 올바르지 않아 이후 레코드를 무시합니다: segment={}, seq={}", segment, seq);
+                break;
+            }
+            byte[] order = new byte[orderLength];
+            data.get(order);
+            int storedCrc = data.getInt();
+            check.reset();
+            check.update(data.array(), bodyStart, length - 4);
+            if ((int) check.getValue() != storedCrc) {
+                log.warn("저널 레코드 CRC 불일치로 이후 레코드를 무시합니다: segment={}, seq={}", segment, seq);
+                break;
+            }
+            entries.add(new Entry(seq, Type.values()[type], new String(id, StandardCharsets.UTF_8), delta, reservationSeq,
+                    orderLength == 0 ? null : new String(order, StandardCharsets.UTF_8)));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 포인트 충전 요청 병합 단계.
+ *
+ * 같은 userId로 짧은 시간 창(windowMillis) 안에 들어온 충전 요청을 모아 UserService.chargePointsCoalesced로 한 번에 반영합니다.
+ * 요청마다 비관적 락을 잡던 방식과 달리, 행 락 보유 횟수가 요청 수가 아닌 (사용자 수 × 시간 창 수)에 비례합니다.
+ * 호출자는 자신의 요청이 반영된 직후의 잔액을 담은 개별 PointChargeResponse를 받습니다.
+ */
+@Component
+@Slf4j
+public class PointChargeCoalescer {
+
+    private final UserService userService;
+    private final PointChargeCoalescerProperties properties;
+
+    // userId -> 아직 반영되지 않은 충전 요청들. 배치 리스트는 compute/remove 안에서만 다루므로 별도 동기화가 필요 없습니다.
+    private final ConcurrentHashMap<String, List<PendingCharge>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public PointChargeCoalescer(UserService userService, PointChargeCoalescerProperties properties) {
+        this.userService = userService;
+        this.properties = properties;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(properties.getFlushThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "point-coalescer-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 충전 요청을 병합 대기열에 넣고, 반영될 때까지 기다린 뒤 결과를 반환합니다.
+     *
+     * @throws CustomException 금액이 0 이하이거나 사용자를 찾을 수 없을 때
+     */
+    public PointChargeResponse charge(String userId, long amount) {
+        if (amount <= 0) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "충전 금액은 0보다 커야 합니다.");
+        }
+
+        PendingCharge charge = new PendingCharge(amount);
+        boolean[] opened = new boolean[1];
+        boolean[] full = new boolean[1];
+        pending.compute(userId, (key, batch) -> {
+            if (batch == null) {
+                batch = new ArrayList<>();
+                opened[0] = true;
+            }
+            batch.add(charge);
+            full[0] = batch.size() >= properties.getMaxBatchSize();
+            return batch;
+        });
+
+        if (full[0]) {
+            flusher.execute(() -> flush(userId));
+        } else if (opened[0]) {
+            // 이 사용자에 대한 새 시간 창이 열렸을 때만 반영 작업을 예약
+            flusher.schedule(() -> flush(userId), properties.getWindowMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            return charge.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CustomException customException) {
+                throw customException;
+            }
+            log.error("병합 충전 반영 중 예상치 못한 오류: userId={}, error={}", userId, e.getCause().getMessage(), e.getCause());
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 해당 사용자의 현재 배치를 떼어내 한 번에 반영하고, 대기 중인 호출자들에게 각자의 결과를 돌려줍니다.
+    void flush(String userId) {
+        List<PendingCharge> batch = pending.remove(userId);
+        if (batch == null || batch.isEmpty()) {
+            return; // 이미 크기 초과로 먼저 반영된 경우
+        }
+
+        try {
+            List<Long> amounts = batch.stream().map(c -> c.amount).toList();
+            List<PointChargeResponse> responses = userService.chargePointsCoalesced(userId, amounts);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(responses.get(i));
+            }
+            log.debug("병합 충전 완료: userId={}, 요청 수={}", userId, batch.size());
+        } catch (Throwable e) {
+            batch.forEach(c -> c.result.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        // 예약되지 못하고 남은 요청은 즉시 반영
+        pending.keySet().forEach(this::flush);
+    }
+
+    private static final class PendingCharge {
+        private final long amount;
+        private final CompletableFuture<PointChargeResponse> result = new CompletableFuture<>();
+
+        private PendingCharge(long amount) {
+            this.amount = amount;
+        }
+    }
+}
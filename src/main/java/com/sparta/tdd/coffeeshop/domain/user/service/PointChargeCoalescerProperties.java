@@ -0,0 +1,27 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 포인트 충전 병합(coalescing) 설정 (coffeeshop.point.coalescing.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.point.coalescing")
+public class PointChargeCoalescerProperties {
+
+    // true면 POST /api/user/points/charge 요청이 병합 단계를 거칩니다.
+    private boolean enabled = false;
+
+    // 같은 사용자의 충전 요청을 모으는 시간 창 (밀리초)
+    private long windowMillis = 5;
+
+    // 시간 창이 끝나기 전이라도 이 개수만큼 모이면 즉시 반영
+    private int maxBatchSize = 256;
+
+    // 병합된 충전을 DB에 반영하는 스레드 수 (서로 다른 사용자는 병렬로 반영)
+    private int flushThreads = 4;
+}
@@ -0,0 +1,24 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 대량 포인트 적립 작업 설정 (coffeeshop.point.bulk-credit.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.point.bulk-credit")
+public class PointCreditJobProperties {
+
+    // 청크 크기: 한 트랜잭션에서 잠그는 users 행 수. 작게 유지해야 일반 트래픽의 락 대기가 짧아집니다.
+    private int chunkSize = 200;
+
+    // 기본 워커(파티션) 수
+    private int workers = 4;
+
+    // 요청으로 지정할 수 있는 최대 워커 수
+    private int maxWorkers = 16;
+}
@@ -0,0 +1,328 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditCheckpoint;
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditJob;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointCreditJobResponse;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditCheckpointRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditJobRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 프로모션용 대량 포인트 적립 작업을 처리합니다.
+ *
+ * - 입력((userId, amount) 목록)은 userId 기준으로 정렬/합산한 뒤 userId 범위 파티션으로 나누어 워커가 병렬 처리합니다.
+ * - 각 워커는 작은 청크 단위로 한 번의 집합 UPDATE(CASE WHEN)를 실행하고, 같은 트랜잭션에서 체크포인트를 갱신합니다.
+ * - 청크 내부는 userId 오름차순이고 파티션끼리는 범위가 겹치지 않으므로, 락 획득 순서가 항상 결정적입니다.
+ * - 같은 jobId로 다시 제출하면 파티션별 체크포인트 이후부터 재개합니다. (이미 적립된 사용자는 다시 적립되지 않음)
+ * - 잔액 엔진을 켠 경우 청크 트랜잭션을 BalanceEngine.creditThroughDatabase로 감싸, 커밋된 적립을 엔진 메모리 잔액에도 더합니다.
+ *   (감싸지 않으면 엔진의 다음 반영이 적립 전 잔액으로 users.point를 덮어씀)
+ */
+@Service
+@Slf4j
+public class PointCreditJobService {
+
+    private final PointCreditJobRepository jobRepository;
+    private final PointCreditCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PointCreditJobProperties properties;
+    private final BalanceEngine balanceEngine;
+
+    private final ExecutorService workerPool;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet(); // 이 노드에서 실행 중인 jobId
+
+    public PointCreditJobService(PointCreditJobRepository jobRepository,
+                                 PointCreditCheckpointRepository checkpointRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 PointCreditJobProperties properties,
+                                 BalanceEngine balanceEngine) {
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.balanceEngine = balanceEngine;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(properties.getMaxWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "point-credit-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 대량 적립 작업을 제출합니다. 처리는 비동기로 진행되며, 즉시 현재 진행 상태를 반환합니다.
+     *
+     * @param jobId   작업 ID (null이면 새로 생성). 기존 작업 ID를 주면 체크포인트부터 재개합니다.
+     * @param workers 워커(파티션) 수 (null이면 기본값). 재개 시에는 최초 파티션 수를 그대로 사용합니다.
+     * @param input   "userId,amount" 형식의 줄 단위 입력 스트림
+     * @return 작업 진행 상태 DTO
+     * @throws CustomException 입력 형식 오류, 기존 작업과 입력 불일치, 동일 작업 실행 중일 때 발생
+     */
+    public PointCreditJobResponse submit(String jobId, Integer workers, InputStream input) {
+        TreeMap<String, Long> entries = readEntries(input);
+        if (entries.isEmpty()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "적립 대상이 없습니다.");
+        }
+
+        String resolvedJobId = (jobId == null || jobId.isBlank()) ? UUID.randomUUID().toString() : jobId;
+        int requestedWorkers = (workers == null) ? properties.getWorkers() : workers;
+        if (requestedWorkers <= 0 || requestedWorkers > properties.getMaxWorkers()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "워커 수는 1 이상 " + properties.getMaxWorkers() + " 이하여야 합니다.");
+        }
+
+        // 같은 작업을 동시에 두 번 실행하지 않도록 먼저 자리를 잡아 둡니다.
+        if (!runningJobs.add(resolvedJobId)) {
+            throw new CustomException(ErrorCode.JOB_ALREADY_RUNNING, "이미 실행 중인 작업입니다: " + resolvedJobId);
+        }
+
+        try {
+            long totalAmount = entries.values().stream().mapToLong(Long::longValue).sum();
+            PointCreditJob job = prepareJob(resolvedJobId, entries.size(), totalAmount, Math.min(requestedWorkers, entries.size()));
+
+            if (job.getStatus() == PointCreditJob.JobStatus.COMPLETED) {
+                log.info("이미 완료된 대량 적립 작업입니다. 재실행하지 않습니다: jobId={}", resolvedJobId);
+                runningJobs.remove(resolvedJobId);
+                return getProgress(resolvedJobId);
+            }
+
+            launch(job, entries);
+            return getProgress(resolvedJobId);
+        } catch (RuntimeException e) {
+            runningJobs.remove(resolvedJobId);
+            throw e;
+        }
+    }
+
+    /**
+     * 작업 진행 상태를 조회합니다.
+     */
+    public PointCreditJobResponse getProgress(String jobId) {
+        PointCreditJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new CustomException(ErrorCode.JOB_NOT_FOUND));
+        return PointCreditJobResponse.from(job, checkpointRepository.findByJobIdOrderByPartitionNoAsc(jobId));
+    }
+
+    // 작업/체크포인트 행을 만들거나, 기존 작업이면 입력 동일성을 확인하고 RUNNING으로 되돌립니다.
+    private PointCreditJob prepareJob(String jobId, int totalUsers, long totalAmount, int partitionCount) {
+        return transactionTemplate.execute(status -> {
+            PointCreditJob existing = jobRepository.findById(jobId).orElse(null);
+            if (existing != null) {
+                if (!existing.matches(totalUsers, totalAmount)) {
+                    throw new CustomException(ErrorCode.INVALID_INPUT, "기존 작업과 입력이 다릅니다. 같은 파일로 재제출해야 재개할 수 있습니다.");
+                }
+                if (existing.getStatus() != PointCreditJob.JobStatus.COMPLETED) {
+                    existing.markRunning();
+                    log.info("대량 적립 작업 재개: jobId={}, partitions={}", jobId, existing.getPartitionCount());
+                }
+                return existing;
+            }
+
+            PointCreditJob job = jobRepository.save(new PointCreditJob(jobId, totalUsers, totalAmount, partitionCount));
+            List<PointCreditCheckpoint> checkpoints = new ArrayList<>();
+            for (int p = 0; p < partitionCount; p++) {
+                checkpoints.add(new PointCreditCheckpoint(jobId, p, partitionEnd(p, totalUsers, partitionCount) - partitionStart(p, totalUsers, partitionCount)));
+            }
+            checkpointRepository.saveAll(checkpoints);
+            log.info("대량 적립 작업 생성: jobId={}, users={}, totalAmount={}, partitions={}", jobId, totalUsers, totalAmount, partitionCount);
+            return job;
+        });
+    }
+
+    private void launch(PointCreditJob job, TreeMap<String, Long> entries) {
+        String jobId = job.getJobId();
+        int partitionCount = job.getPartitionCount();
+
+        // 정렬된 userId/금액 배열 (파티션 범위 계산과 체크포인트 탐색에 사용)
+        List<String> userIds = new ArrayList<>(entries.keySet());
+        long[] amounts = entries.values().stream().mapToLong(Long::longValue).toArray();
+
+        List<CompletableFuture<Void>> partitions = new ArrayList<>();
+        for (int p = 0; p < partitionCount; p++) {
+            int partitionNo = p;
+            int start = partitionStart(p, userIds.size(), partitionCount);
+            int end = partitionEnd(p, userIds.size(), partitionCount);
+            partitions.add(CompletableFuture.runAsync(
+                    () -> runPartition(jobId, partitionNo, userIds, amounts, start, end), workerPool));
+        }
+
+        CompletableFuture.allOf(partitions.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> {
+                    try {
+                        finish(jobId, error);
+                    } finally {
+                        runningJobs.remove(jobId);
+                    }
+                });
+    }
+
+    private void runPartition(String jobId, int partitionNo, List<String> userIds, long[] amounts, int start, int end) {
+        PointCreditCheckpoint initial = checkpointRepository.findById(PointCreditCheckpoint.idOf(jobId, partitionNo))
+                .orElseThrow(() -> new IllegalStateException("체크포인트가 없습니다: " + jobId + ":" + partitionNo));
+
+        // 체크포인트의 lastUserId 다음 위치부터 재개
+        int from = start;
+        if (initial.getLastUserId() != null) {
+            int found = Collections.binarySearch(userIds.subList(start, end), initial.getLastUserId());
+            from = start + (found >= 0 ? found + 1 : -found - 1);
+        }
+        if (from > start) {
+            log.info("파티션 재개: jobId={}, partition={}, skip={}명", jobId, partitionNo, from - start);
+        }
+
+        int chunkSize = properties.getChunkSize();
+        for (int chunkStart = from; chunkStart < end; chunkStart += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("대량 적립 워커가 중단되었습니다.");
+            }
+            int chunkEnd = Math.min(chunkStart + chunkSize, end);
+            List<String> chunkUserIds = userIds.subList(chunkStart, chunkEnd);
+            long[] chunkAmounts = Arrays.copyOfRange(amounts, chunkStart, chunkEnd);
+
+            Runnable chunk = () -> transactionTemplate.executeWithoutResult(status -> {
+                int credited = creditChunk(chunkUserIds, chunkAmounts);
+                PointCreditCheckpoint checkpoint = checkpointRepository.findById(PointCreditCheckpoint.idOf(jobId, partitionNo))
+                        .orElseThrow();
+                checkpoint.advance(chunkUserIds.get(chunkUserIds.size() - 1), chunkUserIds.size(), credited);
+            });
+            if (balanceEngine.isEnabled()) {
+                Map<String, Long> chunkCredits = new LinkedHashMap<>();
+                for (int i = 0; i < chunkUserIds.size(); i++) {
+                    chunkCredits.put(chunkUserIds.get(i), chunkAmounts[i]);
+                }
+                balanceEngine.creditThroughDatabase(chunkCredits, () -> {
+                    chunk.run();
+                    return true;
+                });
+            } else {
+                chunk.run();
+            }
+        }
+        log.debug("파티션 처리 완료: jobId={}, partition={}", jobId, partitionNo);
+    }
+
+    /**
+     * 청크 하나를 단일 집합 UPDATE로 적립합니다.
+     * UPDATE users SET point = point + CASE user_id WHEN ? THEN ? ... END, version = version + 1 WHERE user_id IN (...)
+     * version을 함께 올려서, 동시에 진행 중인 주문(낙관적 락)이 적립 전 잔액으로 덮어쓰지 못하게 합니다.
+     *
+     * @return 실제로 갱신된 사용자 수 (존재하지 않는 userId는 제외)
+     */
+    private int creditChunk(List<String> chunkUserIds, long[] chunkAmounts) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET point = point + CASE user_id");
+        List<Object> args = new ArrayList<>(chunkUserIds.size() * 3);
+        for (int i = 0; i < chunkUserIds.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(chunkUserIds.get(i));
+            args.add(chunkAmounts[i]);
+        }
+        sql.append(" ELSE 0 END, version = COALESCE(version, 0) + 1 WHERE user_id IN (");
+        for (int i = 0; i < chunkUserIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(chunkUserIds.get(i));
+        }
+        sql.append(")");
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void finish(String jobId, Throwable error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PointCreditJob job = jobRepository.findById(jobId).orElseThrow();
+            if (error == null) {
+                job.markCompleted();
+                log.info("대량 적립 작업 완료: jobId={}", jobId);
+            } else {
+                Throwable cause = (error.getCause() != null) ? error.getCause() : error;
+                job.markFailed(cause.getMessage());
+                log.error("대량 적립 작업 실패 (같은 jobId로 재제출하면 재개됩니다): jobId={}, error={}", jobId, cause.getMessage(), cause);
+            }
+        });
+    }
+
+    /**
+     * "userId,amount" 줄 단위 입력을 읽어 userId 오름차순으로 합산합니다.
+     * 빈 줄과 '#' 주석, 첫 줄의 헤더(userId,amount)는 건너뜁니다. 구분자는 쉼표, 탭, 공백을 허용합니다.
+     */
+    static TreeMap<String, Long> readEntries(InputStream input) {
+        TreeMap<String, Long> entries = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = trimmed.split("[,\\t ]+");
+                if (lineNo == 1 && parts.length == 2 && parts[0].equalsIgnoreCase("userId")) {
+                    continue; // 헤더
+                }
+                if (parts.length != 2) {
+                    throw new CustomException(ErrorCode.INVALID_INPUT, lineNo + "번째 줄 형식이 올바르지 않습니다. (userId,amount)");
+                }
+                long amount;
+                try {
+                    amount = Long.parseLong(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new CustomException(ErrorCode.INVALID_INPUT, lineNo + "번째 줄의 금액이 숫자가 아닙니다.");
+                }
+                if (amount <= 0) {
+                    throw new CustomException(ErrorCode.INVALID_INPUT, lineNo + "번째 줄: 적립 금액은 0보다 커야 합니다.");
+                }
+                entries.merge(parts[0], amount, Math::addExact);
+            }
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "적립 입력을 읽을 수 없습니다: " + e.getMessage());
+        } catch (ArithmeticException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT, "사용자별 적립 합계가 허용 범위를 넘었습니다.");
+        }
+        return entries;
+    }
+
+    // 파티션 p가 담당하는 정렬 인덱스 범위 [start, end)
+    private static int partitionStart(int p, int total, int partitions) {
+        return (int) ((long) p * total / partitions);
+    }
+
+    private static int partitionEnd(int p, int total, int partitions) {
+        return (int) ((long) (p + 1) * total / partitions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행 중인 작업은 마지막 커밋된 체크포인트에서 멈추며, 같은 jobId로 재제출하면 재개됩니다.
+        workerPool.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 사용자 주문 통계 읽기 모델 설정 (coffeeshop.user-stats.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coffeeshop.user-stats")
+public class UserOrderStatsProperties {
+
+    // true면 주문 커밋마다 통계를 증분 갱신합니다. 처음 켤 때는 재구축(rebuild)을 한 번 실행해 과거 주문을 채우세요.
+    private boolean enabled = false;
+
+    // 재구축 기본 파티션(워커) 수
+    private int rebuildPartitions = 4;
+
+    // 요청으로 지정할 수 있는 최대 파티션 수
+    private int maxRebuildPartitions = 16;
+}
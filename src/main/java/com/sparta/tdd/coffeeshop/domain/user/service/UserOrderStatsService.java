@@ -0,0 +1,341 @@
+package com.sparta.tdd.coffeeshop.domain.user.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardByUser;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.OrderCompletedEvent;
+import com.sparta.tdd.coffeeshop.domain.order.OrderRefundedEvent;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService.UserMenuTotal;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionProperties;
+import com.sparta.tdd.coffeeshop.domain.user.UserOrderStats;
+import com.sparta.tdd.coffeeshop.domain.user.dto.UserOrderStatsRebuildResponse;
+import com.sparta.tdd.coffeeshop.domain.user.dto.UserOrderStatsResponse;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserOrderStatsRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자별 주문 통계 읽기 모델(user_order_stats)을 관리합니다.
+ *
+ * - 증분 갱신: 주문 트랜잭션이 커밋된 뒤 OrderCompletedEvent를 받아 별도 트랜잭션에서 UPSERT (주문 건수/총액/최근 주문 시각, 선호 메뉴)
+ *   환불(OrderRefundedEvent)은 같은 방식으로 해당 주문만큼 빼고 선호 메뉴를 다시 계산
+ *   갱신이 실패해도 이미 커밋된 주문에는 영향이 없으며, 누락분은 재구축으로 바로잡습니다.
+ * - 조회: userId 기본키 조회 한 번 (+ 선호 메뉴 이름 조회)
+ * - 재구축: users의 userId 범위로 파티션을 나누어 워커가 병렬로 orders를 집계해 다시 채움 (파티션마다 한 트랜잭션)
+ *   보관(§27)된 완료 주문은 파티션이 모두 끝난 뒤 사용자 묶음마다 한 트랜잭션으로 더하고, 그동안 보관은 멈춥니다.
+ *   보관 없이 보관 기간 삭제(§26)를 쓰면 지워진 주문을 알 수 없으므로 재구축을 거절합니다.
+ *   재구축 중 같은 범위에 커밋된 주문은 집계와 증분 갱신에 모두 반영될 수 있으므로, 트래픽이 적을 때 실행하세요.
+ */
+@Service
+@Slf4j
+public class UserOrderStatsService {
+
+    private static final int ARCHIVE_FOLD_USERS = 500; // 보관분을 더할 때 한 트랜잭션에서 다룰 사용자 수
+
+    private final UserOrderStatsRepository statsRepository;
+    private final UserRepository userRepository;
+    private final MenuRepository menuRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final UserOrderStatsProperties properties;
+    private final OrderArchiveService archiveService;
+    private final OrderPartitionProperties partitionProperties;
+    private final Counter updateFailures;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public UserOrderStatsService(UserOrderStatsRepository statsRepository, UserRepository userRepository,
+                                 MenuRepository menuRepository, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager, UserOrderStatsProperties properties,
+                                 OrderArchiveService archiveService, OrderPartitionProperties partitionProperties,
+                                 MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.userRepository = userRepository;
+        this.menuRepository = menuRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.archiveService = archiveService;
+        this.partitionProperties = partitionProperties;
+        this.updateFailures = meterRegistry.counter("coffeeshop.user.stats.update.failed");
+    }
+
+    // --- 증분 갱신 ---
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCompleted(OrderCompletedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> apply(event));
+        } catch (RuntimeException e) {
+            // 주문은 이미 커밋되었으므로 실패를 주문 응답으로 전파하지 않음
+            updateFailures.increment();
+            log.error("주문 통계 갱신 실패: orderId={}, userId={}", event.orderId(), event.userId(), e);
+        }
+    }
+
+    void apply(OrderCompletedEvent event) {
+        // 1. 메뉴별 주문 건수 증가 (이 행 락으로 같은 사용자·메뉴의 동시 갱신이 직렬화됨)
+        jdbcTemplate.update("INSERT INTO user_menu_order_count (user_id, menu_id, order_count) VALUES (?, ?, 1) "
+                + "ON DUPLICATE KEY UPDATE order_count = order_count + 1", event.userId(), event.menuId());
+        Long menuCount = jdbcTemplate.queryForObject(
+                "SELECT order_count FROM user_menu_order_count WHERE user_id = ? AND menu_id = ?",
+                Long.class, event.userId(), event.menuId());
+
+        // 2. 사용자 통계 누적
+        Timestamp orderedAt = Timestamp.valueOf(event.orderDate());
+        jdbcTemplate.update("INSERT INTO user_order_stats "
+                + "(user_id, order_count, total_spend, last_order_at, favorite_menu_id, favorite_menu_count) "
+                + "VALUES (?, 1, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE order_count = order_count + 1, total_spend = total_spend + ?, "
+                + "last_order_at = GREATEST(COALESCE(last_order_at, ?), ?)",
+                event.userId(), event.totalPrice(), orderedAt, event.menuId(), menuCount,
+                event.totalPrice(), orderedAt, orderedAt);
+
+        // 3. 이 메뉴의 건수가 기존 선호 메뉴를 넘어섰으면 교체 (동률이면 기존 선호 메뉴 유지)
+        jdbcTemplate.update("UPDATE user_order_stats SET favorite_menu_id = ?, favorite_menu_count = ? "
+                + "WHERE user_id = ? AND favorite_menu_count < ?",
+                event.menuId(), menuCount, event.userId(), menuCount);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderRefunded(OrderRefundedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            requiresNew.executeWithoutResult(status -> revert(event));
+        } catch (RuntimeException e) {
+            updateFailures.increment();
+            log.error("주문 통계 환불 반영 실패: orderId={}, userId={}", event.orderId(), event.userId(), e);
+        }
+    }
+
+    // 환불된 주문을 통계에서 뺌. 최근 주문 시각은 "마지막으로 주문한 시각"이므로 그대로 둡니다.
+    void revert(OrderRefundedEvent event) {
+        jdbcTemplate.update("UPDATE user_menu_order_count SET order_count = order_count - 1 "
+                + "WHERE user_id = ? AND menu_id = ? AND order_count > 0", event.userId(), event.menuId());
+        jdbcTemplate.update("UPDATE user_order_stats SET order_count = order_count - 1, total_spend = total_spend - ? "
+                + "WHERE user_id = ? AND order_count > 0", event.totalPrice(), event.userId());
+        refreshFavorite(" WHERE user_id = ?", new Object[]{event.userId()}); // 선호 메뉴가 바뀌었을 수 있음
+    }
+
+    // --- 조회 ---
+
+    @ShardByUser
+    @Transactional(readOnly = true)
+    public UserOrderStatsResponse getStats(String userId) {
+        UserOrderStats stats = statsRepository.findById(userId).orElse(null);
+        if (stats == null) {
+            if (!userRepository.existsById(userId)) {
+                throw new CustomException(ErrorCode.USER_NOT_FOUND, "사용자를 찾을 수 없습니다.");
+            }
+            return UserOrderStatsResponse.builder().userId(userId).build(); // 주문 이력 없음
+        }
+        String favoriteMenuName = stats.getFavoriteMenuId() == null ? null
+                : menuRepository.findById(stats.getFavoriteMenuId()).map(Menu::getName).orElse(null);
+        return UserOrderStatsResponse.builder()
+                .userId(userId)
+                .orderCount(stats.getOrderCount())
+                .totalSpend(stats.getTotalSpend())
+                .favoriteMenuId(stats.getFavoriteMenuId())
+                .favoriteMenuName(favoriteMenuName)
+                .favoriteMenuOrderCount(stats.getFavoriteMenuCount())
+                .lastOrderAt(stats.getLastOrderAt())
+                .build();
+    }
+
+    // --- 재구축 ---
+
+    /**
+     * orders 이력과 보관 세그먼트로 통계를 다시 만듭니다. 끝날 때까지 기다린 뒤 결과를 반환합니다.
+     *
+     * @param partitions 파티션(워커) 수 (null이면 설정값)
+     */
+    public UserOrderStatsRebuildResponse rebuild(Integer partitions) {
+        int requested = partitions != null ? partitions : properties.getRebuildPartitions();
+        if (requested < 1 || requested > properties.getMaxRebuildPartitions()) {
+            throw new CustomException(ErrorCode.INVALID_INPUT,
+                    "파티션 수는 1 ~ " + properties.getMaxRebuildPartitions() + " 사이여야 합니다.");
+        }
+        if (partitionProperties.getRetentionMonths() > 0 && !archiveService.isEnabled()) {
+            throw new CustomException(ErrorCode.ORDER_HISTORY_INCOMPLETE,
+                    "coffeeshop.order.partition.retention-months로 지워진 주문은 보관(coffeeshop.order.archive)이 꺼져 있어 집계할 수 없습니다.");
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new CustomException(ErrorCode.JOB_ALREADY_RUNNING, "주문 통계 재구축이 이미 실행 중입니다.");
+        }
+        long startedAt = System.currentTimeMillis();
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(requested, runnable -> {
+            Thread thread = new Thread(runnable, "user-stats-rebuild-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return archiveService.holdArchiving(() -> {
+                NavigableMap<String, Map<Long, UserMenuTotal>> archived = archiveService.completedTotalsByUser();
+                List<String> bounds = partitionBounds(requested);
+                List<CompletableFuture<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i <= bounds.size(); i++) {
+                    String from = i == 0 ? null : bounds.get(i - 1); // 첫 파티션은 하한 없음 (users에 없는 userId의 주문 포함)
+                    String to = i == bounds.size() ? null : bounds.get(i);
+                    futures.add(CompletableFuture.supplyAsync(() -> rebuildRange(from, to), workers));
+                }
+                long rebuiltUsers = futures.stream().mapToLong(CompletableFuture::join).sum();
+                rebuiltUsers += foldArchived(archived);
+                long elapsed = System.currentTimeMillis() - startedAt;
+                log.info("주문 통계 재구축 완료: 파티션={}, 사용자={}, 보관 주문 사용자={}, 소요={}ms",
+                        futures.size(), rebuiltUsers, archived.size(), elapsed);
+                return UserOrderStatsRebuildResponse.builder()
+                        .partitions(futures.size())
+                        .rebuiltUsers(rebuiltUsers)
+                        .elapsedMillis(elapsed)
+                        .build();
+            });
+        } catch (RuntimeException e) {
+            log.error("주문 통계 재구축 실패", e);
+            throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "주문 통계 재구축에 실패했습니다.");
+        } finally {
+            workers.shutdown();
+            rebuilding.set(false);
+        }
+    }
+
+    // users를 userId 순으로 나눈 경계값 (partitions - 1개 이하). 사용자가 적으면 파티션 수도 줄어듭니다.
+    private List<String> partitionBounds(int partitions) {
+        long users = userRepository.count();
+        List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions; i++) {
+            long offset = users * i / partitions;
+            if (offset == 0) {
+                continue;
+            }
+            List<String> bound = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM users ORDER BY user_id LIMIT 1 OFFSET ?", String.class, offset);
+            if (!bound.isEmpty() && (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(bound.get(0)))) {
+                bounds.add(bound.get(0));
+            }
+        }
+        return bounds;
+    }
+
+    // 조건에 맞는 사용자의 선호 메뉴를 메뉴별 주문 건수로 다시 계산 (동률이면 menu_id가 작은 메뉴, 건수가 모두 0이면 없음)
+    private void refreshFavorite(String where, Object[] args) {
+        jdbcTemplate.update("UPDATE user_order_stats SET favorite_menu_count = COALESCE("
+                + "(SELECT MAX(c.order_count) FROM user_menu_order_count c WHERE c.user_id = user_order_stats.user_id), 0)"
+                + where, args);
+        jdbcTemplate.update("UPDATE user_order_stats SET favorite_menu_id = "
+                + "(SELECT MIN(c.menu_id) FROM user_menu_order_count c WHERE c.user_id = user_order_stats.user_id "
+                + "AND c.order_count > 0 AND c.order_count = user_order_stats.favorite_menu_count)" + where, args);
+    }
+
+    // 보관된 완료 주문을 재구축한 통계에 더함 (사용자 묶음마다 한 트랜잭션). orders에 주문이 없어 새로 생긴 사용자 수를 반환
+    private long foldArchived(NavigableMap<String, Map<Long, UserMenuTotal>> archived) {
+        List<String> userIds = new ArrayList<>(archived.keySet());
+        long added = 0;
+        for (int from = 0; from < userIds.size(); from += ARCHIVE_FOLD_USERS) {
+            List<String> chunk = userIds.subList(from, Math.min(userIds.size(), from + ARCHIVE_FOLD_USERS));
+            Integer created = requiresNew.execute(status -> {
+                String in = " WHERE user_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+                Object[] inArgs = chunk.toArray();
+                int existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_order_stats" + in, Integer.class, inArgs);
+                List<Object[]> menuCounts = new ArrayList<>();
+                List<Object[]> userTotals = new ArrayList<>();
+                for (String userId : chunk) {
+                    long orders = 0;
+                    long spend = 0;
+                    LocalDateTime lastOrderAt = null;
+                    for (Map.Entry<Long, UserMenuTotal> menu : archived.get(userId).entrySet()) {
+                        UserMenuTotal total = menu.getValue();
+                        menuCounts.add(new Object[]{userId, menu.getKey(), total.orders(), total.orders()});
+                        orders += total.orders();
+                        spend += total.totalPrice();
+                        if (lastOrderAt == null || total.lastOrderAt().isAfter(lastOrderAt)) {
+                            lastOrderAt = total.lastOrderAt();
+                        }
+                    }
+                    Timestamp lastAt = Timestamp.valueOf(lastOrderAt);
+                    userTotals.add(new Object[]{userId, orders, spend, lastAt, orders, spend, lastAt, lastAt});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO user_menu_order_count (user_id, menu_id, order_count) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE order_count = order_count + ?", menuCounts);
+                jdbcTemplate.batchUpdate("INSERT INTO user_order_stats "
+                        + "(user_id, order_count, total_spend, last_order_at, favorite_menu_count) VALUES (?, ?, ?, ?, 0) "
+                        + "ON DUPLICATE KEY UPDATE order_count = order_count + ?, total_spend = total_spend + ?, "
+                        + "last_order_at = GREATEST(COALESCE(last_order_at, ?), ?)", userTotals);
+                refreshFavorite(in, inArgs);
+                return chunk.size() - existing;
+            });
+            added += created != null ? created : 0;
+        }
+        return added;
+    }
+
+    // [from, to) 범위의 통계를 지우고 orders에서 다시 집계 (한 트랜잭션)
+    private int rebuildRange(String from, String to) {
+        StringBuilder condition = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            condition.append(" AND user_id >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            condition.append(" AND user_id < ?");
+            args.add(to);
+        }
+        String range = " WHERE 1 = 1" + condition;
+        String orderRange = " WHERE status = ?" + condition;
+        Object[] rangeArgs = args.toArray();
+        List<Object> completedArgs = new ArrayList<>();
+        completedArgs.add(Order.OrderStatus.COMPLETED.ordinal()); // status는 ORDINAL로 저장됨
+        completedArgs.addAll(args);
+        Object[] orderArgs = completedArgs.toArray();
+
+        Integer rebuilt = requiresNew.execute(status -> {
+            jdbcTemplate.update("DELETE FROM user_menu_order_count" + range, rangeArgs);
+            jdbcTemplate.update("DELETE FROM user_order_stats" + range, rangeArgs);
+            jdbcTemplate.update("INSERT INTO user_menu_order_count (user_id, menu_id, order_count) "
+                    + "SELECT user_id, menu_id, COUNT(*) FROM orders" + orderRange + " GROUP BY user_id, menu_id", orderArgs);
+            int users = jdbcTemplate.update("INSERT INTO user_order_stats "
+                    + "(user_id, order_count, total_spend, last_order_at, favorite_menu_count) "
+                    + "SELECT user_id, COUNT(*), SUM(total_price), MAX(order_date), 0 FROM orders" + orderRange
+                    + " GROUP BY user_id", orderArgs);
+            refreshFavorite(range, rangeArgs);
+            return users;
+        });
+        log.info("주문 통계 파티션 재구축: from={}, to={}, 사용자={}", from, to, rebuilt);
+        return rebuilt != null ? rebuilt : 0;
+    }
+}
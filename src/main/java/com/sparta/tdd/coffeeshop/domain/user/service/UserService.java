@@ -4,7 +4,7 @@ package com.sparta.tdd.coffeeshop.domain.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,11 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardByUser;
 import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
 import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
-import com.sparta.tdd.coffeeshop.domain.menu.Menu;
-import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
-import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.cmmn.jfr.PointChargeEvent;
 import com.sparta.tdd.coffeeshop.domain.user.User;
 import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeResponse;
 import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
@@ -32,17 +32,31 @@ import jakarta.persistence.LockModeType;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final OrderRepository orderRepository; // 주문 초기화를 위해 주입
-    private final MenuRepository menuRepository; // 메뉴 초기화를 위해 주입
     private final EntityManager entityManager; 
+    private final ContentionTracker contentionTracker; // 행 락 대기가 긴 userId 추적
+    private final BalanceEngine balanceEngine; // 켜져 있으면 충전을 메모리 잔액 엔진으로 처리
 
     @Transactional(readOnly = false, propagation = Propagation.REQUIRED) // 포인트 충전은 데이터 변경이므로 @Transactional 필수
+    @ShardByUser
     public PointChargeResponse chargePoint(String userId, long amount) {
+        PointChargeEvent jfrEvent = new PointChargeEvent(); // JFR 녹화 중이 아니면 기록되지 않음
+        jfrEvent.begin();
+        jfrEvent.userId = userId;
+        jfrEvent.amount = amount;
+        jfrEvent.batchSize = 1;
+
         // 1. 금액 유효성 검증 (User 조회보다 먼저 수행하여 불필요한 DB 접근 방지)
         if (amount <= 0) {
+            jfrEvent.finish(ErrorCode.INVALID_INPUT.getCode());
             throw new CustomException(ErrorCode.INVALID_INPUT, "충전 금액은 0보다 커야 합니다.");
         }
 
+        if (balanceEngine.isEnabled()) { // 잔액 엔진: 행 락 없이 메모리 CAS + 로컬 저널 (DB 반영은 엔진이 주기적으로 일괄 처리)
+            long currentPoint = balanceEngine.charge(userId, amount); // 사용자가 없으면 USER_NOT_FOUND
+            jfrEvent.finish("SUCCESS");
+            return PointChargeResponse.builder().userId(userId).currentPoint(currentPoint).build();
+        }
+
         // 2. 사용자 조회 (UserRepository에 @Lock(PESSIMISTIC_WRITE)가 적용되어 락이 걸릴 것임)
         //User user = userRepository.findById(userId)
         //        .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
@@ -52,11 +66,15 @@ public class UserService {
         // LockModeType을 힌트 맵에 명시적으로 추가하여 find 메서드 호출
         Map<String, Object> properties = new HashMap<>();
         properties.put("jakarta.persistence.lock.scope", LockModeType.PESSIMISTIC_WRITE);
+        long lockStart = System.nanoTime();
         User user = entityManager.find(User.class, userId, properties);
+        jfrEvent.lockWait = System.nanoTime() - lockStart;
+        contentionTracker.recordLockWait(userId, jfrEvent.lockWait);
 
         // properties.put("javax.persistence.lock.scope", LockModeType.PESSIMISTIC_WRITE); // JPA 2.1 이전 버전 (javax.*)
                 
         if (user == null) { // user가 null이면
+            jfrEvent.finish(ErrorCode.USER_NOT_FOUND.getCode());
             throw new CustomException(ErrorCode.USER_NOT_FOUND); // CustomException을 던져야 합니다.
         }
         
@@ -65,46 +83,78 @@ public class UserService {
         userRepository.save(user); // 변경된 User 엔티티 저장 (JPA dirty checking으로 자동 저장되지만 명시적으로)
 
         // 4. 응답 DTO 생성 및 반환
+        jfrEvent.finish("SUCCESS");
         return PointChargeResponse.from(user);
     }
     
     /**
-     * 동시 주문 테스트를 위해 모든 사용자, 주문, 메뉴 데이터를 초기화하고 기본 사용자와 메뉴를 생성합니다.
-     * 이 메서드는 테스트 용도로만 사용되어야 하며, 실제 운영 환경에서는 절대로 호출해서는 안 됩니다.
+     * 같은 사용자에게 몰린 여러 충전 요청을 한 번에 반영합니다. (PointChargeCoalescer에서 호출)
+     * 합계를 point = point + sum 단일 UPDATE로 적용하므로 행 락은 요청 수와 관계없이 한 번만 잡힙니다.
+     * 각 요청의 충전 후 잔액은 요청 순서대로 누적한 값으로 계산합니다.
+     *
+     * @param userId  충전 대상 사용자 ID
+     * @param amounts 요청 순서대로 정렬된 충전 금액 목록 (모두 0보다 커야 함)
+     * @return 요청 순서와 같은 순서의 충전 결과 목록
+     * @throws CustomException 사용자를 찾을 수 없을 때 (ErrorCode.USER_NOT_FOUND)
      */
     @Transactional
-    public void resetUsersAndOrdersForConcurrentOrderTest() {
-        // 1. 모든 주문 데이터 삭제
-        orderRepository.deleteAll();
-        // 2. 모든 사용자 데이터 삭제
-        userRepository.deleteAll();
-        // 3. 모든 메뉴 데이터 삭제 (만약 테스트마다 초기화가 필요하다면)
-        // JpaRepository의 deleteAll()은 DELETE 문을 실행하며, MySQL에서 auto_increment를 자동으로 리셋하지 않을 수 있습니다.
-        // 테스트 환경에서는 'TRUNCATE TABLE'을 사용하는 것이 가장 확실하나, 여기서는 deleteAll() 유지.
-        menuRepository.deleteAll();
-
-        // 4. 테스트를 위한 기본 사용자 재삽입 (초기 포인트 넉넉하게)
-        List<User> initialUsers = Arrays.asList(
-                new User("testUser1", "테스트 사용자1", 1000000L, 0L), // String, String, long, Long
-                new User("testUser2", "테스트 사용자2", 1000000L, 0L),
-                new User("user001", "테스트 사용자001", 1000000L, 0L),
-                new User("concurrentUser", "동시성테스트용", 1000000L, 0L),
-                new User("eodnjsdl", "당신_사용자", 1000000L, 0L)
-        );
-        userRepository.saveAll(initialUsers);
-
-        // 5. 테스트를 위한 기본 메뉴 재삽입 (ID 1인 아메리카노가 존재하도록)
-        List<Menu> initialMenus = Arrays.asList(
-            new Menu("아메리카노", 4000), // ID 1
-            new Menu("카페 라떼", 4500)   // ID 2
-        );
-        menuRepository.saveAll(initialMenus);
-
-        // Note: Menu 엔티티의 ID가 @GeneratedValue가 아니라면, 직접 ID를 설정해야 합니다.
-        // 위 예시에서는 Menu 엔티티에 @AllArgsConstructor가 있고, ID를 직접 지정할 수 있다고 가정합니다.
+    @ShardByUser
+    public List<PointChargeResponse> chargePointsCoalesced(String userId, List<Long> amounts) {
+        PointChargeEvent jfrEvent = new PointChargeEvent();
+        jfrEvent.begin();
+        jfrEvent.userId = userId;
+        jfrEvent.batchSize = amounts.size();
+
+        long sum = 0;
+        for (long amount : amounts) {
+            if (amount <= 0) {
+                throw new CustomException(ErrorCode.INVALID_INPUT, "충전 금액은 0보다 커야 합니다.");
+            }
+            sum = Math.addExact(sum, amount);
+        }
+
+        if (balanceEngine.isEnabled()) { // 잔액 엔진을 켠 경우에는 병합할 필요 없이 요청 순서대로 메모리에 반영
+            List<PointChargeResponse> responses = new ArrayList<>(amounts.size());
+            for (long amount : amounts) {
+                responses.add(PointChargeResponse.builder()
+                        .userId(userId)
+                        .currentPoint(balanceEngine.charge(userId, amount))
+                        .build());
+            }
+            jfrEvent.amount = sum;
+            jfrEvent.finish("SUCCESS");
+            return responses;
+        }
+
+        long lockStart = System.nanoTime();
+        int updated = userRepository.addPoint(userId, sum); // 행 락을 잡는 UPDATE
+        jfrEvent.lockWait = System.nanoTime() - lockStart;
+        jfrEvent.amount = sum;
+        contentionTracker.recordLockWait(userId, jfrEvent.lockWait);
+        if (updated == 0) {
+            jfrEvent.finish(ErrorCode.USER_NOT_FOUND.getCode());
+            throw new CustomException(ErrorCode.USER_NOT_FOUND);
+        }
+        // UPDATE가 이미 행 락을 잡고 있으므로, 이 시점의 값은 이번 합산까지 반영된 잔액입니다.
+        long finalPoint = userRepository.findPointByUserId(userId)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+
+        List<PointChargeResponse> responses = new ArrayList<>(amounts.size());
+        long balance = finalPoint - sum;
+        for (long amount : amounts) {
+            balance += amount;
+            responses.add(PointChargeResponse.builder()
+                    .userId(userId)
+                    .currentPoint(balance)
+                    .build());
+        }
+        log.debug("포인트 충전 병합 반영: userId={}, 요청 수={}, 합계={}, 최종 포인트={}", userId, amounts.size(), sum, finalPoint);
+        jfrEvent.finish("SUCCESS");
+        return responses;
     }
     
     @Transactional(readOnly = false, propagation = Propagation.REQUIRED) // readOnly = false 가 기본값입니다.
+    @ShardByUser
     public void resetUserPointAndVersion(String userId) {
         log.info("resetUserPointAndVersion 실행: 사용자 ID {}", userId);
         userRepository.findById(userId) // PESSIMISTIC_WRITE 락이 여기서 걸림
@@ -0,0 +1,23 @@
+-- orders를 order_date 기준 RANGE COLUMNS 파티션 테이블로 전환합니다. (MySQL 8, 1회 실행)
+-- 테이블을 다시 쓰므로 점검 시간에 실행하세요. 이후 월 파티션 추가/만료 파티션 삭제는 OrderPartitionManager가 합니다.
+-- (coffeeshop.order.partition.enabled=true 또는 POST /api/admin/orders/partitions)
+
+-- 1) 파티션 테이블은 외래 키를 가질 수 없습니다. orders → menu 외래 키가 있으면 이름을 확인해 삭제합니다.
+--    (Order.menu는 NO_CONSTRAINT로 매핑되어 새로 만든 스키마에는 외래 키가 없습니다.)
+--    SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+--     WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'orders';
+--    ALTER TABLE orders DROP FOREIGN KEY <CONSTRAINT_NAME>;
+
+-- 2) 기본 키를 포함한 모든 UNIQUE 키에 파티션 키(order_date)가 있어야 합니다.
+--    이전 스키마에서 만들어진 order_id 단독 UNIQUE 인덱스가 있으면 이름을 확인해 삭제합니다.
+--    SHOW INDEX FROM orders WHERE Non_unique = 0 AND Key_name <> 'PRIMARY';
+--    ALTER TABLE orders DROP INDEX <Key_name>;
+ALTER TABLE orders DROP PRIMARY KEY, ADD PRIMARY KEY (order_id, order_date);
+
+-- 3) 기존 주문 전체와 이번 달은 p_old에, 아직 오지 않은 날짜는 pmax에 둡니다.
+--    '2026-11-01 00:00:00'은 실행하는 달의 다음 달 1일로 바꾸세요. 전환 직후 pmax가 비어 있어야 파티션 관리가 행을 옮기지 않습니다.
+--    p_old는 상한이 보관 기간 기준 시각보다 오래되면 통째로 삭제됩니다.
+ALTER TABLE orders PARTITION BY RANGE COLUMNS(order_date) (
+    PARTITION p_old VALUES LESS THAN ('2026-11-01 00:00:00'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,114 @@
+package com.sparta.tdd.coffeeshop.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 두 JMH JSON 결과(기준 커밋 / 현재 커밋)를 비교해 회귀를 찾습니다.
+ * 벤치마크 + 스레드 수 + 파라미터가 같은 항목끼리 비교하며, 아래 두 조건을 모두 만족할 때만 회귀로 봅니다.
+ *  1) 점수가 threshold(예: 0.10 = 10%) 이상 나빠졌다. (thrpt는 낮아질수록, 그 외 모드는 높아질수록 나쁨)
+ *  2) 두 결과의 오차 범위(score ± scoreError)가 겹치지 않는다. (측정 노이즈로 인한 오탐 방지)
+ *
+ * 단독 실행: java ... BenchmarkComparator baseline.json current.json [threshold]
+ * 회귀가 하나라도 있으면 종료 코드 1을 반환합니다.
+ */
+public final class BenchmarkComparator {
+
+    public static final double DEFAULT_THRESHOLD = 0.10;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("사용법: BenchmarkComparator <baseline.json> <current.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        int regressions = compare(Path.of(args[0]), Path.of(args[1]), threshold, System.out);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * @return 회귀로 판정된 항목 수
+     */
+    public static int compare(Path baselineFile, Path currentFile, double threshold, PrintStream out) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(currentFile);
+
+        int regressions = 0;
+        out.printf("%n벤치마크 비교: 기준=%s, 현재=%s, 허용 악화율=%.1f%%%n", baselineFile, currentFile, threshold * 100);
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                out.printf("  [신규]   %s: %.3f %s%n", entry.getKey(), now.score, now.unit);
+                continue;
+            }
+            double change = (now.score - before.score) / before.score; // +면 증가
+            double worsening = now.higherIsBetter() ? -change : change;
+            boolean regressed = worsening > threshold && !overlaps(before, now);
+            if (regressed) {
+                regressions++;
+            }
+            out.printf("  [%s] %s: %.3f → %.3f %s (%+.1f%%)%n",
+                    regressed ? "회귀" : "정상", entry.getKey(), before.score, now.score, now.unit, change * 100);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                out.printf("  [누락]   %s (현재 결과에 없음)%n", key);
+            }
+        }
+        out.printf("회귀 %d건%n", regressions);
+        return regressions;
+    }
+
+    private static boolean overlaps(Score a, Score b) {
+        return a.score - a.error <= b.score + b.error && b.score - b.error <= a.score + a.error;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : OBJECT_MAPPER.readTree(file.toFile())) {
+            JsonNode primary = result.get("primaryMetric");
+            double error = primary.path("scoreError").asDouble(0);
+            scores.put(keyOf(result), new Score(
+                    result.get("mode").asText(),
+                    primary.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    primary.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    // 예: CoffeeShopServiceBenchmark.placeOrder [threads=4, datasetSize=1000, skew=ZIPFIAN]
+    private static String keyOf(JsonNode result) {
+        String benchmark = result.get("benchmark").asText();
+        StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        key.append(" [threads=").append(result.get("threads").asInt());
+        Map<String, String> params = new TreeMap<>();
+        JsonNode paramsNode = result.path("params");
+        for (Iterator<Map.Entry<String, JsonNode>> it = paramsNode.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+        return key.append(']').toString();
+    }
+
+    private record Score(String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.sparta.tdd.coffeeshop.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH 벤치마크 실행기. ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.args="..." 로 실행합니다.
+ *
+ * 커밋 간 결과를 비교할 수 있도록 워밍업/측정 횟수, 포크 수, 힙 크기를 고정하고,
+ * 결과는 target/jmh/jmh-{커밋}.json 으로 남깁니다. (작업 트리가 변경된 상태면 커밋 뒤에 -dirty가 붙음)
+ *
+ * 옵션
+ *   --threads 1,4,16        스레드 수 목록 (목록 순서대로 각각 실행)
+ *   --include regex         실행할 벤치마크 (기본: CoffeeShopServiceBenchmark 전체)
+ *   --param name=v1,v2      @Param 값 덮어쓰기 (예: --param datasetSize=1000)
+ *   --forks n               포크 수 (기본 1)
+ *   --output dir            결과 디렉터리 (기본 target/jmh)
+ *   --baseline file         기준 결과 JSON. 지정하면 실행 후 비교하고 회귀가 있으면 종료 코드 1
+ *   --threshold 0.10        회귀로 판정할 악화율 (기본 10%)
+ */
+public final class BenchmarkRunner {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final TimeValue ITERATION_TIME = TimeValue.seconds(2);
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        List<Integer> threadCounts = List.of(1, 4, 16);
+        String include = CoffeeShopServiceBenchmark.class.getSimpleName();
+        Map<String, String[]> params = new LinkedHashMap<>();
+        int forks = 1;
+        Path outputDir = Path.of("target", "jmh");
+        Path baseline = null;
+        double threshold = BenchmarkComparator.DEFAULT_THRESHOLD;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--threads" -> threadCounts = Arrays.stream(require(args[i], value).split(",")).map(String::trim).map(Integer::valueOf).toList();
+                case "--include" -> include = require(args[i], value);
+                case "--param" -> {
+                    String[] nameAndValues = require(args[i], value).split("=", 2);
+                    params.put(nameAndValues[0], nameAndValues[1].split(","));
+                }
+                case "--forks" -> forks = Integer.parseInt(require(args[i], value));
+                case "--output" -> outputDir = Path.of(require(args[i], value));
+                case "--baseline" -> baseline = Path.of(require(args[i], value));
+                case "--threshold" -> threshold = Double.parseDouble(require(args[i], value));
+                default -> throw new IllegalArgumentException("알 수 없는 옵션입니다: " + args[i]);
+            }
+            i++;
+        }
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .forks(forks)
+                    .warmupIterations(WARMUP_ITERATIONS)
+                    .warmupTime(ITERATION_TIME)
+                    .measurementIterations(MEASUREMENT_ITERATIONS)
+                    .measurementTime(ITERATION_TIME)
+                    .jvmArgsAppend("-Xms1g", "-Xmx1g", "-Dspring.devtools.restart.enabled=false")
+                    .shouldFailOnError(true);
+            params.forEach(options::param);
+            results.addAll(new Runner(options.build()).run());
+        }
+
+        Files.createDirectories(outputDir);
+        Path resultFile = outputDir.resolve("jmh-" + currentCommit() + ".json");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(resultFile), true, StandardCharsets.UTF_8)) {
+            ResultFormatFactory.getInstance(ResultFormatType.JSON, out).writeOut(results);
+        }
+        System.out.println("벤치마크 결과 저장: " + resultFile.toAbsolutePath());
+
+        if (baseline != null && BenchmarkComparator.compare(baseline, resultFile, threshold, System.out) > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String require(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException(option + " 옵션에 값이 필요합니다.");
+        }
+        return value;
+    }
+
+    // 결과 파일 이름에 쓸 커밋 해시. git이 없으면 "unknown"
+    private static String currentCommit() {
+        String commit = git("rev-parse", "--short", "HEAD");
+        if (commit.isEmpty()) {
+            return "unknown";
+        }
+        return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? commit : commit + "-dirty";
+    }
+
+    private static String git(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (InputStream in = process.getInputStream()) {
+                String output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor() == 0 ? output : "";
+            }
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
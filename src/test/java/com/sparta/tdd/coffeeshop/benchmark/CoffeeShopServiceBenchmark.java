@@ -0,0 +1,257 @@
+package com.sparta.tdd.coffeeshop.benchmark;
+
+import com.sparta.tdd.CoffeeOrderSystemApplication;
+import com.sparta.tdd.coffeeshop.cmmn.client.DataCollectionPlatformClient;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.cmmn.fixture.FixtureResetService;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.PopularMenuResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuService;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderResponse;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserService;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 주문(placeOrder) / 포인트 충전(chargePoint) / 인기 메뉴 조회(getPopularMenus) 서비스 경로 벤치마크.
+ * 트라이얼마다 test 프로파일(H2, MySQL 모드)로 스프링 컨텍스트를 새로 띄우고 고정 시드로 데이터를 적재합니다.
+ * 외부 데이터 수집 플랫폼 호출(100ms 지연 모의)은 측정 대상이 아니므로 아무 일도 하지 않는 구현으로 바꿔 끼웁니다.
+ *
+ * 직접 실행하지 말고 BenchmarkRunner(./mvnw -Pbenchmark test-compile exec:exec)를 통해 실행하세요.
+ * 스레드 수는 러너가 1, 4, 16... 으로 바꿔 가며 실행합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CoffeeShopServiceBenchmark {
+
+    private static final int MENU_COUNT = 10;
+    private static final long INITIAL_POINT = 1_000_000_000_000L; // 측정 중 잔액 부족이 나지 않도록 충분히 크게
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final String DATASET = "benchmark"; // 적재 직후 스냅샷 이름
+    private static final long SEED = 20240601L; // 커밋 간 비교를 위해 데이터는 항상 같은 시드로 생성
+
+    public enum Skew {
+        UNIFORM, // 모든 사용자에게 고르게 요청
+        ZIPFIAN  // 소수 사용자에게 요청이 몰림 (행 락/낙관적 락 경합 재현)
+    }
+
+    @Param({"1000", "10000"})
+    public int datasetSize; // 사용자 수 (= 미리 적재하는 최근 7일 주문 수)
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public Skew skew;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private UserService userService;
+    private MenuService menuService;
+    private FixtureResetService fixtureResetService;
+
+    private String[] userIds;
+    private long[] menuIds;
+    private ZipfianGenerator zipfian;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CoffeeOrderSystemApplication.class, NoOpDataCollectionPlatformClient.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                // 커맨드라인 인자는 application(-test).properties보다 우선하므로 DB, 테스트 데이터 초기화 허용, 상세 로그 설정만 덮어씁니다.
+                .run("--spring.datasource.url=jdbc:h2:mem:bench_" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--coffeeshop.fixtures.enabled=true",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sparta.tdd.coffeeshop=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql=WARN",
+                        "--logging.level.org.hibernate.resource.transaction=WARN",
+                        "--logging.level.org.hibernate.engine.jdbc.connections.internal=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN");
+
+        orderService = context.getBean(OrderService.class);
+        userService = context.getBean(UserService.class);
+        menuService = context.getBean(MenuService.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+        fixtureResetService = context.getBean(FixtureResetService.class);
+        fixtureResetService.snapshot(DATASET);
+        zipfian = new ZipfianGenerator(datasetSize);
+    }
+
+    // 이터레이션마다 적재 직후 데이터로 되돌려, 앞선 이터레이션의 주문/충전이 다음 측정에 쌓이지 않게 합니다.
+    @Setup(Level.Iteration)
+    public void restoreDataset() {
+        fixtureResetService.restore(DATASET);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public OrderResponse placeOrder(Worker worker) {
+        OrderRequest request = new OrderRequest(pickUser(worker.random), menuIds[worker.random.nextInt(MENU_COUNT)], 1);
+        try {
+            OrderResponse response = orderService.placeOrder(request);
+            worker.succeeded++;
+            return response;
+        } catch (CustomException e) {
+            if (e.getErrorCode() != ErrorCode.CONCURRENCY_FAILURE) {
+                throw e;
+            }
+            worker.conflicted++;
+            return null;
+        } catch (ConcurrencyFailureException e) {
+            worker.conflicted++; // 커밋 시점(flush)에 발생한 낙관적 락 충돌은 CustomException으로 변환되지 않고 그대로 올라옴
+            return null;
+        }
+    }
+
+    @Benchmark
+    public PointChargeResponse chargePoint(Worker worker) {
+        try {
+            PointChargeResponse response = userService.chargePoint(pickUser(worker.random), 100L);
+            worker.succeeded++;
+            return response;
+        } catch (ConcurrencyFailureException e) {
+            worker.conflicted++; // 낙관적 락 충돌 또는 H2 락 대기 시간 초과
+            return null;
+        }
+    }
+
+    @Benchmark
+    public List<PopularMenuResponse> getPopularMenus() {
+        return menuService.getPopularMenus();
+    }
+
+    private String pickUser(SplittableRandom random) {
+        int index = skew == Skew.ZIPFIAN ? zipfian.next(random.nextDouble()) : random.nextInt(datasetSize);
+        return userIds[index];
+    }
+
+    // JDBC 배치로 사용자, 메뉴, 최근 7일 주문을 적재합니다. (JPA save 반복은 10,000건에서 트라이얼 준비가 너무 오래 걸림)
+    private void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        List<Object[]> menus = new ArrayList<>();
+        for (int i = 0; i < MENU_COUNT; i++) {
+            menus.add(new Object[]{"벤치메뉴-" + i, 2000 + i * 500});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu (name, price) VALUES (?, ?)", menus);
+        menuIds = jdbcTemplate.queryForList("SELECT id FROM menu ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        userIds = new String[datasetSize];
+        List<Object[]> users = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < datasetSize; i++) {
+            userIds[i] = String.format("bench-user-%06d", i);
+            users.add(new Object[]{userIds[i], "벤치사용자" + i, INITIAL_POINT});
+            if (users.size() == SEED_BATCH_SIZE || i == datasetSize - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (user_id, user_name, point, version) VALUES (?, ?, ?, 0)", users);
+                users.clear();
+            }
+        }
+
+        // 주문의 메뉴 분포도 Zipf로 치우치게 해서 인기 메뉴 집계가 실제와 비슷한 모양이 되도록 합니다.
+        ZipfianGenerator menuPopularity = new ZipfianGenerator(MENU_COUNT);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> orders = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < datasetSize; i++) {
+            int menuIndex = menuPopularity.next(random.nextDouble());
+            int quantity = 1 + random.nextInt(3);
+            orders.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    userIds[i],
+                    menuIds[menuIndex],
+                    "벤치메뉴-" + menuIndex,
+                    2000 + menuIndex * 500,
+                    quantity,
+                    (long) (2000 + menuIndex * 500) * quantity,
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(7 * 24 * 60))),
+                    1 // OrderStatus.COMPLETED (ORDINAL 저장)
+            });
+            if (orders.size() == SEED_BATCH_SIZE || i == datasetSize - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, order_date, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", orders);
+                orders.clear();
+            }
+        }
+    }
+
+    /**
+     * 스레드별 난수와 결과 카운터. AuxCounters로 처리량과 함께 성공/충돌 건수가 리포트됩니다.
+     * (ZIPFIAN에서는 충돌 비율 자체가 회귀 지표가 되므로 함께 봅니다.)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Worker {
+
+        private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+        private SplittableRandom random;
+
+        public long succeeded;
+        public long conflicted;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // 스레드마다 고정된 시드 → 같은 스레드 수라면 커밋 간 요청 순서가 같음
+            random = new SplittableRandom(SEED + THREAD_SEQ.getAndIncrement());
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            conflicted = 0;
+        }
+    }
+
+    /**
+     * 데이터 수집 플랫폼 전송을 생략하는 구현. @Component가 아니므로 컴포넌트 스캔에는 잡히지 않고,
+     * 벤치마크 컨텍스트를 띄울 때 소스 클래스로 직접 등록했을 때만 @Primary로 기존 구현을 대신합니다.
+     */
+    @Primary
+    static class NoOpDataCollectionPlatformClient implements DataCollectionPlatformClient {
+        @Override
+        public void sendOrderData(Map<String, Object> orderData) {
+            // 측정 대상 아님
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sparta.tdd.coffeeshop.benchmark;
+
+/**
+ * [0, itemCount) 범위의 인덱스를 Zipf 분포로 뽑는 생성기. (YCSB ZipfianGenerator와 같은 근사식)
+ * 작은 인덱스일수록 자주 뽑히므로, 소수의 사용자에게 요청이 몰리는 경합 상황을 재현할 때 사용합니다.
+ * 상태가 없어 여러 스레드가 공유할 수 있고, 난수는 호출하는 쪽에서 넘겨받습니다.
+ */
+public final class ZipfianGenerator {
+
+    public static final double DEFAULT_THETA = 0.99; // YCSB 기본값
+
+    private final int itemCount;
+    private final double theta;
+    private final double alpha;
+    private final double zetaN;
+    private final double eta;
+
+    public ZipfianGenerator(int itemCount) {
+        this(itemCount, DEFAULT_THETA);
+    }
+
+    public ZipfianGenerator(int itemCount, double theta) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("itemCount는 0보다 커야 합니다: " + itemCount);
+        }
+        this.itemCount = itemCount;
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zetaN = zeta(itemCount, theta);
+        double zeta2 = zeta(2, theta);
+        this.eta = (1 - Math.pow(2.0 / itemCount, 1 - theta)) / (1 - zeta2 / zetaN);
+    }
+
+    /**
+     * @param uniform [0, 1) 범위의 균등 난수
+     * @return Zipf 분포를 따르는 [0, itemCount) 인덱스
+     */
+    public int next(double uniform) {
+        double uz = uniform * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(1, itemCount - 1);
+        }
+        int index = (int) (itemCount * Math.pow(eta * uniform - eta + 1, alpha));
+        return Math.min(index, itemCount - 1);
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,105 @@
+package com.sparta.tdd.coffeeshop.cmmn.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorResponseWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setEnabled(true);
+        properties.getPartitions().put(BulkheadPartition.ANALYTICS, new BulkheadProperties.Partition(1, 0, 1, 0));
+        bulkhead = new Bulkhead(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BulkheadContext.clear();
+    }
+
+    @Test
+    @DisplayName("분석 구획이 가득 차면 분석 요청은 503으로 거절되지만 주문 요청은 그대로 처리된다.")
+    void fullPartitionRejectsOnlyItsOwnRequests() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(bulkhead, new ErrorResponseWriter(new ObjectMapper()));
+        assertThat(bulkhead.tryAcquireRequest(BulkheadPartition.ANALYTICS)).isTrue(); // 진행 중인 집계 요청 1건
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/menus/popular"), rejected, new MockFilterChain());
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), accepted, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getContentAsString()).contains("SERVICE_UNAVAILABLE");
+        assertThat(accepted.getStatus()).isEqualTo(200);
+        assertThat(registry.get("coffeeshop.bulkhead.rejected")
+                .tags("partition", "analytics", "resource", "request").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("구획의 커넥션 자리를 다 쓰면 같은 구획은 커넥션을 얻지 못하고, 반납하면 다시 얻는다.")
+    void connectionPartitionLimitsConnectionsPerPartition() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(pool, bulkhead);
+
+        BulkheadContext.set(BulkheadPartition.ANALYTICS);
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        BulkheadContext.set(BulkheadPartition.ORDER_WRITE);
+        dataSource.getConnection().close(); // 다른 구획은 영향 없음
+
+        first.close();
+        first.close(); // 중복 close는 한 번만 반납
+        BulkheadContext.set(BulkheadPartition.ANALYTICS);
+        dataSource.getConnection().close();
+
+        assertThat(registry.get("coffeeshop.bulkhead.active")
+                .tags("partition", "analytics", "resource", "connection").gauge().value()).isZero();
+        assertThat(registry.get("coffeeshop.bulkhead.rejected")
+                .tags("partition", "analytics", "resource", "connection").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("구획의 항목 하나만 설정하면 나머지 항목은 기본값을 유지한다.")
+    void partialOverrideKeepsDefaults() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(
+                Map.of("coffeeshop.bulkhead.partitions.order-write.max-concurrent", "20")));
+        BulkheadProperties properties = binder.bind("coffeeshop.bulkhead", BulkheadProperties.class).get();
+
+        BulkheadProperties.Partition orderWrite = properties.partition(BulkheadPartition.ORDER_WRITE);
+        assertThat(orderWrite.getMaxConcurrent()).isEqualTo(20);
+        assertThat(orderWrite.getMaxWaitMillis()).isEqualTo(50);
+        assertThat(orderWrite.getMaxConnections()).isEqualTo(5);
+        assertThat(orderWrite.getConnectionWaitMillis()).isEqualTo(1000);
+        assertThat(properties.partition(BulkheadPartition.ANALYTICS).getMaxConcurrent()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sparta.tdd.coffeeshop.cmmn.contention;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentionTrackerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L); // 테스트용 시계 (밀리초)
+    private ContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        ContentionProperties properties = new ContentionProperties();
+        properties.setCapacity(4);
+        properties.setBucketSeconds(10);
+        properties.setBucketCount(6); // 최대 60초 구간
+        properties.setLockWaitThresholdMillis(50);
+        properties.setRetryWindowMillis(1000);
+        tracker = new ContentionTracker(properties, now::get);
+    }
+
+    @Test
+    @DisplayName("충돌이 몰린 사용자가 상위에 오고, 추적 용량을 넘는 키가 들어와도 전체 건수는 정확하다.")
+    void report_ReturnsHeavyHittersWithinCapacity() {
+        // Given: hot 사용자 50건 + 서로 다른 사용자 20명이 1건씩 (capacity 4를 크게 초과)
+        for (int i = 0; i < 50; i++) {
+            tracker.recordConflict("hotUser");
+        }
+        for (int i = 0; i < 20; i++) {
+            tracker.recordConflict("coldUser" + i);
+        }
+
+        // When
+        ContentionReport report = tracker.report(60, 3, null);
+
+        // Then
+        assertThat(report.getTotals().get(ContentionEvent.CONFLICT)).isEqualTo(70L);
+        assertThat(report.getHotKeys()).hasSizeLessThanOrEqualTo(3);
+        ContentionReport.HotKey top = report.getHotKeys().get(0);
+        assertThat(top.getUserId()).isEqualTo("hotUser");
+        assertThat(top.getCount()).isEqualTo(50L);
+        assertThat(top.getErrorBound()).isZero(); // 한 번도 밀려나지 않았으므로 정확한 값
+        assertThat(top.getEvents().get(ContentionEvent.CONFLICT)).isEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("조회 구간을 벗어난 버킷은 집계에서 빠지고, 한 바퀴 돈 버킷은 재사용된다.")
+    void report_SlidingWindowExcludesOldBuckets() {
+        tracker.recordConflict("oldUser");
+        now.addAndGet(TimeUnit.SECONDS.toMillis(30));
+        tracker.recordConflict("recentUser");
+
+        assertThat(tracker.report(10, 10, null).getHotKeys())
+                .extracting(ContentionReport.HotKey::getUserId).containsExactly("recentUser");
+        assertThat(tracker.report(60, 10, null).getHotKeys())
+                .extracting(ContentionReport.HotKey::getUserId).containsExactlyInAnyOrder("recentUser", "oldUser");
+
+        // 보관 기간(60초)이 지나면 같은 슬롯을 쓰는 새 구간이 오래된 데이터를 덮어씀
+        now.addAndGet(TimeUnit.SECONDS.toMillis(60));
+        tracker.recordConflict("newUser");
+        assertThat(tracker.report(60, 10, null).getHotKeys())
+                .extracting(ContentionReport.HotKey::getUserId).containsExactly("newUser");
+    }
+
+    @Test
+    @DisplayName("임계값 이상의 락 대기와 충돌 직후의 재요청만 기록된다.")
+    void lockWaitAndRetryAreRecorded() {
+        tracker.recordLockWait("slowUser", TimeUnit.MILLISECONDS.toNanos(80));
+        tracker.recordLockWait("fastUser", TimeUnit.MILLISECONDS.toNanos(5)); // 임계값 미만
+
+        tracker.recordConflict("retryUser");
+        now.addAndGet(500);
+        tracker.recordAttempt("retryUser"); // 충돌 후 0.5초 내 재요청
+        tracker.recordAttempt("retryUser"); // 이미 재요청으로 처리된 충돌이므로 다시 세지 않음
+
+        tracker.recordConflict("lateUser");
+        now.addAndGet(5_000);
+        tracker.recordAttempt("lateUser"); // 재요청 판정 시간(1초) 초과
+
+        ContentionReport report = tracker.report(60, 10, ContentionEvent.RETRY);
+        assertThat(report.getTotals().get(ContentionEvent.LOCK_WAIT)).isEqualTo(1L);
+        assertThat(report.getTotals().get(ContentionEvent.RETRY)).isEqualTo(1L);
+        assertThat(report.getHotKeys().get(0).getUserId()).isEqualTo("retryUser");
+        assertThat(report.getHotKeys()).extracting(ContentionReport.HotKey::getUserId).doesNotContain("fastUser");
+    }
+}
@@ -0,0 +1,104 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+/**
+ * H2 인메모리 DB 두 개를 primary / replica로 띄워 라우팅을 확인합니다.
+ * replica는 primary의 스냅샷(SCRIPT)으로 만들고, 이후 primary에만 쓰기를 해 복제 지연 상황을 흉내 냅니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.datasource.routing.enabled=true",
+        "coffeeshop.datasource.routing.pin-millis=60000",
+        "coffeeshop.datasource.routing.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.datasource.routing.replica.username=sa",
+        "coffeeshop.datasource.routing.replica.password=",
+        "coffeeshop.datasource.routing.replica.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        menuRepository.deleteAll();
+        userRepository.deleteAll();
+        menuRepository.save(new Menu("아메리카노", 3000));
+        userRepository.save(new User("routingUser", 0L));
+
+        // replica = 지금 시점 primary의 스냅샷
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        script.forEach(replica::execute);
+
+        // 스냅샷 이후 primary에만 반영된 쓰기 (아직 복제되지 않은 상태)
+        menuRepository.save(new Menu("카페라떼", 4000));
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션(메뉴 조회)은 replica로 간다.")
+    void readOnlyTransactionGoesToReplica() throws Exception {
+        mockMvc.perform(get("/api/menus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("쓰기를 커밋한 사용자의 읽기는 잠시 primary로 고정되고, 다른 사용자는 계속 replica를 읽는다.")
+    void readsArePinnedToPrimaryAfterWrite() throws Exception {
+        mockMvc.perform(post("/api/user/points/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"routingUser\",\"amount\":1000}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/menus").header(UserRoutingInterceptor.USER_ID_HEADER, "routingUser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/api/menus").header(UserRoutingInterceptor.USER_ID_HEADER, "otherUser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
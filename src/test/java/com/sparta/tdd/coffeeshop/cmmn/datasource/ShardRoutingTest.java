@@ -0,0 +1,246 @@
+package com.sparta.tdd.coffeeshop.cmmn.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.PopularMenuResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuService;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderFulfillmentProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderQueryService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderRefundService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.order.service.PointRestorationProcessor;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngineProperties;
+
+/**
+ * H2 인메모리 DB 세 개를 샤드로 띄워 사용자 해시 라우팅과 scatter-gather를 확인합니다.
+ * 스키마와 메뉴(참조 데이터)는 0번 샤드의 스냅샷(SCRIPT)을 나머지 샤드에 복사해 맞춥니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard_0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.datasource.sharding.enabled=true",
+        "coffeeshop.datasource.sharding.shards[0].url=jdbc:h2:mem:shard_1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.datasource.sharding.shards[0].username=sa",
+        "coffeeshop.datasource.sharding.shards[0].password=",
+        "coffeeshop.datasource.sharding.shards[0].driver-class-name=org.h2.Driver",
+        "coffeeshop.datasource.sharding.shards[1].url=jdbc:h2:mem:shard_2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.datasource.sharding.shards[1].username=sa",
+        "coffeeshop.datasource.sharding.shards[1].password=",
+        "coffeeshop.datasource.sharding.shards[1].driver-class-name=org.h2.Driver"
+})
+@ActiveProfiles("test")
+class ShardRoutingTest {
+
+    private static final int USERS = 12;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRefundService orderRefundService;
+
+    @Autowired
+    private PointRestorationProcessor pointRestorationProcessor;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Menu americano;
+    private Menu latte;
+    private final List<String> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<String> script = shardRouter.onShard(0, () -> {
+            jdbcTemplate.update("DELETE FROM point_restoration");
+            jdbcTemplate.update("DELETE FROM menu_stock_shard");
+            jdbcTemplate.update("DELETE FROM orders");
+            jdbcTemplate.update("DELETE FROM users");
+            menuRepository.deleteAll();
+            americano = menuRepository.save(new Menu("아메리카노", 3000));
+            latte = menuRepository.save(new Menu("카페라떼", 4000));
+            return jdbcTemplate.queryForList("SCRIPT", String.class);
+        });
+        for (int shard = 1; shard < shardRouter.getShardCount(); shard++) {
+            shardRouter.onShard(shard, () -> {
+                jdbcTemplate.execute("DROP ALL OBJECTS");
+                script.forEach(jdbcTemplate::execute);
+                return null;
+            });
+        }
+        for (int i = 0; i < USERS; i++) {
+            String userId = "shardUser" + i;
+            userIds.add(userId);
+            shardRouter.onUser(userId, () -> userRepository.save(new User(userId, 10000L)));
+        }
+        menuStockService.refresh(); // 이전 테스트의 한정 메뉴 상태 정리
+    }
+
+    private int countOnShard(int shard, String sql, Object... args) {
+        return shardRouter.onShard(shard, () -> jdbcTemplate.queryForObject(sql, Integer.class, args));
+    }
+
+    @Test
+    @DisplayName("사용자 행과 주문은 userId 해시 샤드 하나에만 있고, 내역은 그 샤드에서, 주문 ID 조회는 모든 샤드에서 찾는다.")
+    void ordersAreColocatedWithUserShard() {
+        assertThat(shardRouter.getShardCount()).isEqualTo(3);
+        Set<Integer> usedShards = new HashSet<>();
+        List<String> orderIds = new ArrayList<>();
+        for (String userId : userIds) {
+            orderIds.add(orderService.placeOrder(new OrderRequest(userId, americano.getId(), 1)).getOrderId());
+        }
+
+        for (String userId : userIds) {
+            int home = shardRouter.shardOf(userId);
+            usedShards.add(home);
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                assertThat(countOnShard(shard, "SELECT COUNT(*) FROM orders WHERE user_id = ?", userId))
+                        .isEqualTo(shard == home ? 1 : 0);
+                assertThat(countOnShard(shard, "SELECT COUNT(*) FROM users WHERE user_id = ?", userId))
+                        .isEqualTo(shard == home ? 1 : 0);
+            }
+            assertThat(countOnShard(home, "SELECT point FROM users WHERE user_id = ?", userId)).isEqualTo(7000);
+            assertThat(orderQueryService.getHistory(userId, 0, 20).getOrders()).hasSize(1);
+        }
+        assertThat(usedShards).hasSize(3);
+        for (String orderId : orderIds) {
+            assertThat(orderQueryService.getOrder(orderId).getOrderId()).isEqualTo(orderId);
+        }
+    }
+
+    @Test
+    @DisplayName("인기 메뉴는 모든 샤드의 메뉴별 주문 수를 동시에 집계해 합친 순위다.")
+    void popularMenusAreMergedAcrossShards() {
+        for (String userId : userIds) {
+            orderService.placeOrder(new OrderRequest(userId, americano.getId(), 1));
+        }
+        orderService.placeOrder(new OrderRequest(userIds.get(0), latte.getId(), 1));
+        orderService.placeOrder(new OrderRequest(userIds.get(1), latte.getId(), 1));
+
+        List<PopularMenuResponse> popular = menuService.getPopularMenus();
+        assertThat(popular).extracting(PopularMenuResponse::getId).containsExactly(americano.getId(), latte.getId());
+        assertThat(popular).extracting(PopularMenuResponse::getOrderCount).containsExactly((long) USERS, 2L);
+    }
+
+    @Test
+    @DisplayName("주문 ID로 취소/환불하면 주문이 있는 샤드에서 처리되고, 포인트는 그 샤드의 사용자 행에 복원된다.")
+    void refundByOrderIdIsRoutedToOwningShard() {
+        for (String userId : userIds) {
+            String orderId = orderService.placeOrder(new OrderRequest(userId, americano.getId(), 1)).getOrderId();
+            assertThat(orderRefundService.refund(orderId).getStatus()).isEqualTo(Order.OrderStatus.REFUNDED);
+        }
+
+        pointRestorationProcessor.processAll();
+        for (String userId : userIds) {
+            int home = shardRouter.shardOf(userId);
+            assertThat(countOnShard(home, "SELECT point FROM users WHERE user_id = ?", userId)).isEqualTo(10000);
+            assertThat(countOnShard(home, "SELECT COUNT(*) FROM point_restoration WHERE user_id = ? AND status = 'APPLIED'",
+                    userId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("한정 메뉴 재고는 샤드마다 나눠 두어, 1번 샤드 사용자 주문도 차감되고 전체 판매량은 설정한 재고를 넘지 않는다.")
+    void limitedMenuStockIsSplitAcrossShards() {
+        menuStockService.setStock(latte.getId(), new MenuStockRequest(3, 2)); // 샤드마다 1개
+        String shard1User = userIds.stream().filter(userId -> shardRouter.shardOf(userId) == 1).findFirst().orElseThrow();
+
+        orderService.placeOrder(new OrderRequest(shard1User, latte.getId(), 1));
+        assertThat(countOnShard(1, "SELECT SUM(quantity) FROM menu_stock_shard WHERE menu_id = ?", latte.getId())).isZero();
+        assertThat(menuStockService.getStock(latte.getId()).getRemaining()).isEqualTo(2);
+
+        int sold = 1;
+        for (String userId : userIds) {
+            if (userId.equals(shard1User)) {
+                continue;
+            }
+            try {
+                orderService.placeOrder(new OrderRequest(userId, latte.getId(), 1));
+                sold++;
+            } catch (CustomException e) {
+                assertThat(e.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+            }
+        }
+        assertThat(sold).isEqualTo(3);
+        assertThat(menuStockService.getStock(latte.getId()).getRemaining()).isZero();
+        assertThat(menuStockService.isSoldOut(latte.getId())).isTrue();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            assertThat(countOnShard(shard, "SELECT COUNT(*) FROM orders WHERE menu_id = ?", latte.getId())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("한 샤드에서 진행 중인 트랜잭션 안에서 다른 샤드로 바꾸면 거절한다.")
+    void crossShardTransactionIsRejected() {
+        assertThrows(IllegalStateException.class, () -> shardRouter.onShard(0,
+                () -> transactionTemplate.execute(status -> shardRouter.onShard(1, () -> null))));
+    }
+
+    @Test
+    @DisplayName("샤드를 모르는 기능(잔액 엔진, 제조 워커 등)과 함께 켜면 데이터소스를 만들기 전에 거절한다.")
+    void shardUnawareFeaturesAreRejectedAtStartup() {
+        BalanceEngineProperties balanceEngine = new BalanceEngineProperties();
+        balanceEngine.setEnabled(true);
+        OrderFulfillmentProperties fulfillment = new OrderFulfillmentProperties();
+        fulfillment.setEnabled(true);
+
+        IllegalStateException engine = assertThrows(IllegalStateException.class,
+                () -> new ShardingDataSourceConfig().shardRoutingDataSource(null, new ShardingProperties(),
+                        new DataSourceRoutingProperties(), balanceEngine, new OrderIntakeProperties(),
+                        new OrderFulfillmentProperties(), new OrderArchiveProperties(), new OrderPartitionProperties()));
+        assertThat(engine.getMessage()).contains("coffeeshop.balance-engine");
+        IllegalStateException worker = assertThrows(IllegalStateException.class,
+                () -> new ShardingDataSourceConfig().shardRoutingDataSource(null, new ShardingProperties(),
+                        new DataSourceRoutingProperties(), new BalanceEngineProperties(), new OrderIntakeProperties(),
+                        fulfillment, new OrderArchiveProperties(), new OrderPartitionProperties()));
+        assertThat(worker.getMessage()).contains("coffeeshop.fulfillment");
+    }
+}
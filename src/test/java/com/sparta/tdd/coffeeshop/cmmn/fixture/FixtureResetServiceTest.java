@@ -0,0 +1,121 @@
+package com.sparta.tdd.coffeeshop.cmmn.fixture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.controller.domain.FixtureController;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditCheckpoint;
+import com.sparta.tdd.coffeeshop.domain.user.PointCreditJob;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditCheckpointRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditJobRepository;
+
+/**
+ * 전체 테이블을 비우므로 다른 테스트와 공유하는 DB가 아닌 전용 H2 DB에서 실행합니다.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:fixture_reset;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "coffeeshop.fixtures.enabled=true"})
+@ActiveProfiles("test")
+class FixtureResetServiceTest {
+
+    @Autowired
+    private FixtureResetService fixtureResetService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private PointCreditJobRepository pointCreditJobRepository;
+
+    @Autowired
+    private PointCreditCheckpointRepository pointCreditCheckpointRepository;
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private void insertOrders(String userId, long menuId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{UUID.randomUUID().toString(), userId, menuId, Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, "
+                + "order_date, status) VALUES (?, ?, ?, '아메리카노', 4000, 1, 4000, ?, 1)", rows);
+    }
+
+    @Test
+    @DisplayName("초기화는 모든 주문을 지우고 자동 증가 값을 처음으로 돌려 기본 메뉴가 id 1, 2로 들어간다.")
+    void resetTruncatesAndSeedsDefaults() {
+        menuRepository.save(new Menu("임시 메뉴", 1000));
+        insertOrders("user001", 1L, 3);
+        pointCreditJobRepository.save(new PointCreditJob("fixture-job", 5, 5000L, 1));
+        pointCreditCheckpointRepository.save(new PointCreditCheckpoint("fixture-job", 0, 5));
+
+        FixtureResetResponse response = fixtureResetService.reset();
+
+        assertThat(response.getRows()).containsEntry("orders", 0).containsEntry("users", 5).containsEntry("menu", 2)
+                .containsEntry("point_credit_job", 0).containsEntry("point_credit_checkpoint", 0);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM menu ORDER BY id", Long.class)).containsExactly(1L, 2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT point FROM users WHERE user_id = 'concurrentUser'", Long.class))
+                .isEqualTo(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("스냅샷을 복원하면 이후 변경이 사라지고, 새로 넣는 메뉴 id는 복원한 최댓값 다음부터 이어진다.")
+    void restoreBringsBackSnapshot() {
+        fixtureResetService.reset();
+        Menu mocha = menuRepository.save(new Menu("모카", 5000)); // id 3
+        insertOrders("user001", mocha.getId(), 50);
+        fixtureResetService.snapshot("demo");
+
+        insertOrders("testUser1", 1L, 20);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = 'testUser2'");
+        jdbcTemplate.update("DELETE FROM menu WHERE id = ?", mocha.getId());
+
+        FixtureResetResponse restored = fixtureResetService.restore("demo");
+        assertThat(restored.getRows()).containsEntry("orders", 50).containsEntry("users", 5).containsEntry("menu", 3);
+        assertThat(count("orders")).isEqualTo(50);
+        assertThat(menuRepository.findById(mocha.getId())).get().extracting(Menu::getName).isEqualTo("모카");
+        assertThat(menuRepository.save(new Menu("카라멜 마키아토", 5500)).getId()).isEqualTo(mocha.getId() + 1);
+
+        CustomException missing = assertThrows(CustomException.class, () -> fixtureResetService.restore("none"));
+        assertThat(missing.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+
+    @Test
+    @DisplayName("coffeeshop.fixtures.enabled를 켜지 않으면 테스트 데이터 API는 등록되지 않고, 초기화/스냅샷/복원은 거절된다.")
+    void fixturesAreDisabledByDefault() {
+        new ApplicationContextRunner()
+                .withBean(FixtureResetService.class, () -> mock(FixtureResetService.class))
+                .withUserConfiguration(FixtureController.class)
+                .run(context -> assertThat(context).doesNotHaveBean(FixtureController.class));
+
+        FixtureResetService disabled = new FixtureResetService(jdbcTemplate, null, null, new FixtureProperties());
+        assertThat(assertThrows(CustomException.class, disabled::reset).getErrorCode()).isEqualTo(ErrorCode.FIXTURES_DISABLED);
+        assertThat(assertThrows(CustomException.class, () -> disabled.snapshot("demo")).getErrorCode())
+                .isEqualTo(ErrorCode.FIXTURES_DISABLED);
+        assertThat(assertThrows(CustomException.class, () -> disabled.restore("demo")).getErrorCode())
+                .isEqualTo(ErrorCode.FIXTURES_DISABLED);
+    }
+}
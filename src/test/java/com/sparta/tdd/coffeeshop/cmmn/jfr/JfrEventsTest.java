@@ -0,0 +1,57 @@
+package com.sparta.tdd.coffeeshop.cmmn.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventsTest {
+
+    @Test
+    @DisplayName("번들된 coffeeshop.jfc 설정으로 녹화하면 주문 이벤트가 단계별 소요 시간과 함께 기록된다.")
+    void orderPlacedEventIsRecordedWithBundledSettings(@TempDir Path tempDir) throws Exception {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/coffeeshop.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        assertThat(configuration.getSettings()).containsEntry("coffeeshop.OrderPlaced#enabled", "true");
+
+        Path file = tempDir.resolve("coffeeshop.jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+
+            OrderPlacedEvent event = new OrderPlacedEvent();
+            event.begin();
+            event.userId = "jfrUser";
+            event.menuId = 1L;
+            event.userFetch = Duration.ofMillis(3).toNanos();
+            event.finish("SUCCESS");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("coffeeshop.OrderPlaced"))
+                .toList();
+        assertThat(events).hasSize(1);
+        RecordedEvent recorded = events.get(0);
+        assertThat(recorded.getString("userId")).isEqualTo("jfrUser");
+        assertThat(recorded.getString("outcome")).isEqualTo("SUCCESS");
+        assertThat(recorded.getDuration("userFetch")).isEqualTo(Duration.ofMillis(3));
+    }
+}
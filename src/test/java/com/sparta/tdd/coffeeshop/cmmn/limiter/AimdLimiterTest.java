@@ -0,0 +1,57 @@
+package com.sparta.tdd.coffeeshop.cmmn.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AimdLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(800);
+
+    @Test
+    @DisplayName("한도만큼 처리 중이면 추가 요청은 거절된다.")
+    void rejectsBeyondLimit() {
+        AimdLimiter limiter = new AimdLimiter(3, 1, 10, 0.5, THRESHOLD);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("응답이 느려지거나 실패하면 한도가 곱셈으로 줄고, 빠른 응답이 이어지면 1씩 회복한다.")
+    void limitFollowsObservedLatency() {
+        AimdLimiter limiter = new AimdLimiter(20, 2, 40, 0.5, THRESHOLD);
+
+        // DB 지연: 느린 응답 두 번이면 20 → 10 → 5
+        for (int i = 0; i < 2; i++) {
+            limiter.tryAcquire();
+            limiter.onComplete(SLOW, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        limiter.tryAcquire();
+        limiter.onComplete(FAST, true); // 5xx도 과부하 신호
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        // 회복: 한도를 꽉 채운 상태에서 빠른 응답이 오면 +1
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.onComplete(FAST, false);
+        limiter.onComplete(FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        // 한가할 때(한도의 절반 미만 사용)는 늘리지 않음
+        AimdLimiter idle = new AimdLimiter(20, 2, 40, 0.5, THRESHOLD);
+        idle.tryAcquire();
+        idle.onComplete(FAST, false);
+        assertThat(idle.getLimit()).isEqualTo(20);
+    }
+}
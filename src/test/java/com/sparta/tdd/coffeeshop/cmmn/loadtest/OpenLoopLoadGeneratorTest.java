@@ -0,0 +1,132 @@
+package com.sparta.tdd.coffeeshop.cmmn.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OpenLoopLoadGeneratorTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private OpenLoopLoadGenerator generator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 충전 API는 20ms 지연 후 200, 주문 API는 즉시 409를 돌려주는 가짜 서버
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 요청 본문을 읽지 않고 응답하면 keep-alive 연결이 끊겨 간헐적으로 IOException이 나므로 먼저 비웁니다.
+        server.createContext("/api/user/points/charge", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/api/orders", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(409, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        generator = new OpenLoopLoadGenerator(new LoadTestProperties(), new ObjectMapper(), new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("목표 rps만큼 요청을 보내고 엔드포인트별 성공/실패와 지연 분포를 집계한다.")
+    void run_ReportsPerEndpointStats() {
+        LoadTestRequest request = LoadTestRequest.builder()
+                .targetRps(100)
+                .durationSeconds(1)
+                .baseUrl(baseUrl)
+                .mix(Map.of(LoadTestEndpoint.CHARGE, 1, LoadTestEndpoint.ORDER, 1))
+                .userIds(List.of("loadUser"))
+                .menuId(1L)
+                .quantity(1)
+                .chargeAmount(100L)
+                .build();
+
+        LoadTestReport report = generator.run(request);
+
+        assertThat(report.getTotalRequests()).isEqualTo(100);
+        assertThat(report.getEndpoints()).hasSize(2);
+        long completed = report.getEndpoints().stream().mapToLong(LoadTestReport.EndpointReport::getRequests).sum();
+        assertThat(completed).isEqualTo(100);
+
+        LoadTestReport.EndpointReport charge = report.getEndpoints().stream()
+                .filter(e -> e.getEndpoint() == LoadTestEndpoint.CHARGE).findFirst().orElseThrow();
+        assertThat(charge.getFailure()).isZero();
+        assertThat(charge.getResponseTimeMillis().getP50()).isGreaterThanOrEqualTo(20.0);
+        // 보정된 응답 시간은 실제 서비스 시간보다 짧을 수 없다
+        assertThat(charge.getResponseTimeMillis().getP99()).isGreaterThanOrEqualTo(charge.getServiceTimeMillis().getP99());
+
+        LoadTestReport.EndpointReport order = report.getEndpoints().stream()
+                .filter(e -> e.getEndpoint() == LoadTestEndpoint.ORDER).findFirst().orElseThrow();
+        assertThat(order.getSuccess()).isZero();
+        assertThat(order.getStatusCounts()).containsOnlyKeys("409");
+    }
+
+    @Test
+    @DisplayName("동시 대기 한도를 넘어 보내지 못한 요청도 응답 시간 분포에 타임아웃 값으로 기록한다.")
+    void run_SaturatedRequestsAreRecordedAsTimeouts() {
+        LoadTestProperties properties = new LoadTestProperties();
+        properties.setMaxInFlight(1);
+        properties.setRequestTimeoutSeconds(2);
+        generator = new OpenLoopLoadGenerator(properties, new ObjectMapper(), new MockEnvironment());
+        LoadTestRequest request = LoadTestRequest.builder()
+                .targetRps(200)
+                .durationSeconds(1)
+                .baseUrl(baseUrl)
+                .mix(Map.of(LoadTestEndpoint.CHARGE, 1))
+                .userIds(List.of("loadUser"))
+                .chargeAmount(100L)
+                .build();
+
+        LoadTestReport.EndpointReport charge = generator.run(request).getEndpoints().get(0);
+
+        assertThat(charge.getSaturated()).isGreaterThan(0);
+        assertThat(charge.getRequests() + charge.getSaturated()).isEqualTo(200);
+        assertThat(charge.getResponseTimeMillis().getMax()).isGreaterThanOrEqualTo(2000.0);
+        assertThat(charge.getServiceTimeMillis().getMax()).isLessThan(2000.0);
+    }
+
+    @Test
+    @DisplayName("주문 부하에 menuId가 없으면 INVALID_INPUT 예외가 발생한다.")
+    void run_OrderWithoutMenuId_Failure() {
+        LoadTestRequest request = LoadTestRequest.builder()
+                .targetRps(10)
+                .durationSeconds(1)
+                .baseUrl(baseUrl)
+                .mix(Map.of(LoadTestEndpoint.ORDER, 1))
+                .build();
+
+        CustomException exception = assertThrows(CustomException.class, () -> generator.run(request));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+}
@@ -0,0 +1,141 @@
+package com.sparta.tdd.coffeeshop.cmmn.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
+import com.sparta.tdd.coffeeshop.cmmn.exception.GlobalExceptionHandler;
+import com.sparta.tdd.coffeeshop.controller.domain.OrderController;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.service.FlashSaleService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100)); // 테스트용 시계 (나노초)
+
+    @Test
+    @DisplayName("버스트만큼은 바로 허용하고, 이후에는 초당 허용 수에 맞춰 다시 허용한다.")
+    void gcraAllowsBurstThenRefillsAtRate() {
+        GcraRateLimiter limiter = new GcraRateLimiter(100, 60, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u1", 10, 3)).isZero();
+        }
+        long wait = limiter.tryAcquire("u1", 10, 3);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100)); // 초당 10건 → 100ms 후 1건
+        assertThat(limiter.tryAcquire("u2", 10, 3)).isZero(); // 다른 키는 독립
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("u1", 10, 3)).isZero();
+        assertThat(limiter.tryAcquire("u1", 10, 3)).isPositive();
+    }
+
+    @Test
+    @DisplayName("키 수 상한에 닿으면 오래 쉬던 키를 정리하고 새 키를 받는다.")
+    void idleKeysAreEvictedAtCapacity() {
+        GcraRateLimiter limiter = new GcraRateLimiter(2, 60, now::get);
+        limiter.tryAcquire("idle1", 10, 1);
+        limiter.tryAcquire("idle2", 10, 1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertThat(limiter.tryAcquire("fresh", 10, 1)).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 userId로 한도를 넘으면 서비스 호출 전에 429와 Retry-After로 거절된다.")
+    void orderEndpointReturns429BeforeService() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.getEndpoints().put("order",
+                new RateLimitProperties.Endpoint(new RateLimitProperties.Limit(1, 2), null));
+        RateLimitRequestBodyAdvice advice = new RateLimitRequestBodyAdvice(properties, new SimpleMeterRegistry(),
+                new GcraRateLimiter(100, 60, now::get));
+        OrderService orderService = mock(OrderService.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService, mock(OrderIntakeService.class),
+                        mock(FlashSaleService.class)))
+                .setControllerAdvice(advice, new GlobalExceptionHandler(mock(ContentionTracker.class)))
+                .build();
+        String body = "{\"userId\":\"loopingTerminalUser\",\"menuId\":1,\"quantity\":1}";
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"));
+
+        verify(orderService, times(2)).placeOrder(any(OrderRequest.class));
+    }
+
+    @Test
+    @DisplayName("사용자 초당 허용 수만 설정해도 사용자 버스트와 단말 한도는 기본값을 유지한다.")
+    void partialOverrideKeepsDefaults() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(
+                Map.of("coffeeshop.rate-limit.endpoints.order.user.rate-per-second", "2")));
+        RateLimitProperties properties = binder.bind("coffeeshop.rate-limit", RateLimitProperties.class).get();
+
+        RateLimitProperties.Endpoint order = properties.endpoint("order");
+        assertThat(order.getUser().getRatePerSecond()).isEqualTo(2.0);
+        assertThat(order.getUser().getBurst()).isEqualTo(10);
+        assertThat(order.getClient().getRatePerSecond()).isEqualTo(50.0);
+        assertThat(order.getClient().getBurst()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("단말 한도로 거절된 요청은 사용자 버킷을 소모하지 않는다.")
+    void clientRejectionDoesNotChargeUserBucket() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.getEndpoints().put("order", new RateLimitProperties.Endpoint(
+                new RateLimitProperties.Limit(1, 2), new RateLimitProperties.Limit(1, 1)));
+        RateLimitRequestBodyAdvice advice = new RateLimitRequestBodyAdvice(properties, new SimpleMeterRegistry(),
+                new GcraRateLimiter(100, 60, now::get));
+        OrderService orderService = mock(OrderService.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService, mock(OrderIntakeService.class),
+                        mock(FlashSaleService.class)))
+                .setControllerAdvice(advice, new GlobalExceptionHandler(mock(ContentionTracker.class)))
+                .build();
+        String body = "{\"userId\":\"sharedTerminalUser\",\"menuId\":1,\"quantity\":1}";
+
+        mockMvc.perform(post("/api/orders").header("X-Terminal-Id", "kiosk-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 3; i++) { // 같은 단말에서 연달아 거절
+            mockMvc.perform(post("/api/orders").header("X-Terminal-Id", "kiosk-1")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isTooManyRequests());
+        }
+        // 사용자 버스트 2 중 1건만 썼으므로 다른 단말에서는 허용
+        mockMvc.perform(post("/api/orders").header("X-Terminal-Id", "kiosk-2")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        verify(orderService, times(2)).placeOrder(any(OrderRequest.class));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sparta.tdd.coffeeshop.cmmn.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 테스트용 SQL 문 예산 가드. Hibernate가 실행하는 SQL을 스레드별로 기록하고, 요청 하나가 예산보다 많은 SQL을 내면 실패시킵니다.
+ * (N+1처럼 조회 건수에 비례해 SQL이 늘어나는 회귀를 잡기 위한 용도)
+ *
+ * 사용법: 테스트 컨텍스트에
+ *   spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sparta.tdd.coffeeshop.cmmn.sql.SqlStatementCounter
+ * 를 지정하고, 검사할 구간을 {@link #assertAtMost(int, ThrowingRunnable)}로 감쌉니다.
+ * JdbcTemplate으로 직접 실행하는 SQL은 Hibernate를 거치지 않으므로 세지 않습니다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 현재 스레드에서 action이 실행한 SQL 문 수가 budget 이하인지 확인합니다.
+     *
+     * @return 기록된 SQL 목록 (추가 검증용)
+     * @throws AssertionError 예산을 넘었을 때 (실행된 SQL 전체를 메시지에 포함)
+     */
+    public static List<String> assertAtMost(int budget, ThrowingRunnable action) throws Exception {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        if (recorded.size() > budget) {
+            throw new AssertionError("SQL 문 예산 초과: 예산 " + budget + "개, 실행 " + recorded.size() + "개\n"
+                    + String.join("\n", recorded));
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sparta.tdd.coffeeshop.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.sql.SqlStatementCounter;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+// 요청마다 실행되는 SQL 문 수를 SqlStatementCounter로 세어 예산을 넘으면 실패시킵니다.
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sparta.tdd.coffeeshop.cmmn.sql.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderQueryControllerTest {
+
+    private static final String USER_ID = "historyUser";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Menu> menus = new ArrayList<>();
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USER_ID, 100_000L));
+        menus.add(menuRepository.save(new Menu("아메리카노", 3000)));
+        menus.add(menuRepository.save(new Menu("카페라떼", 4000)));
+        menus.add(menuRepository.save(new Menu("바닐라라떼", 4500)));
+        for (int i = 0; i < 6; i++) {
+            orderIds.add(orderService.placeOrder(new OrderRequest(USER_ID, menus.get(i % 3).getId(), 1)).getOrderId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        userRepository.deleteById(USER_ID);
+        menuRepository.deleteAll(menus);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders: 주문 내역은 메뉴 이름을 포함해 SQL 한 번으로 조회되고, 다음 페이지 여부를 알려준다.")
+    void historyIsReadWithSingleStatement() throws Exception {
+        SqlStatementCounter.assertAtMost(1, () ->
+                mockMvc.perform(get("/api/orders").param("userId", USER_ID).param("size", "4"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.orders.length()").value(4))
+                        .andExpect(jsonPath("$.orders[0].menuName").exists())
+                        .andExpect(jsonPath("$.hasNext").value(true)));
+
+        mockMvc.perform(get("/api/orders").param("userId", USER_ID).param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{orderId}: 주문 상세는 주문 스냅샷으로 SQL 한 번에 조회된다.")
+    void detailIsReadWithSingleStatement() throws Exception {
+        String orderId = orderIds.get(1);
+        SqlStatementCounter.assertAtMost(1, () ->
+                mockMvc.perform(get("/api/orders/" + orderId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.menuName").value("카페라떼"))
+                        .andExpect(jsonPath("$.unitPrice").value(4000)));
+
+        mockMvc.perform(get("/api/orders/no-such-order"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("엔티티 목록을 읽고 메뉴를 지연 로딩하면(N+1) 예산 초과로 실패한다.")
+    void lazyMenuAccessExceedsBudget() {
+        assertThatThrownBy(() -> SqlStatementCounter.assertAtMost(1, () -> transactionTemplate.executeWithoutResult(status -> {
+            List<Order> orders = entityManager
+                    .createQuery("SELECT o FROM Order o WHERE o.userId = :userId", Order.class)
+                    .setParameter("userId", USER_ID)
+                    .getResultList();
+            orders.forEach(order -> assertThat(order.getMenu().getName()).isNotBlank());
+        })))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("실행 4개"); // 주문 목록 1 + 메뉴 3
+    }
+}
@@ -0,0 +1,138 @@
+package com.sparta.tdd.coffeeshop.domain.menu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuPriceChangeRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuPriceVersionRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceCatalog;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceService;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+// 다른 노드의 가격 변경이 반영되는 주기를 짧게 둡니다.
+@SpringBootTest(properties = "coffeeshop.menu.price.refresh-millis=100")
+@ActiveProfiles("test")
+class MenuPriceCatalogTest {
+
+    private static final String USER_ID = "priceUser";
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private MenuPriceCatalog menuPriceCatalog;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MenuPriceVersionRepository menuPriceVersionRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Menu menu;
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USER_ID, 100_000L));
+        menu = menuRepository.save(new Menu("아메리카노", 3000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        menuPriceVersionRepository.deleteAll(menuPriceVersionRepository.findByMenuIdOrderByEffectiveFromDescIdDesc(menu.getId()));
+        menuPriceCatalog.reload();
+        userRepository.deleteById(USER_ID);
+        menuRepository.delete(menu);
+    }
+
+    private long order() {
+        var response = orderService.placeOrder(new OrderRequest(USER_ID, menu.getId(), 1));
+        orderIds.add(response.getOrderId());
+        return response.getTotalPrice();
+    }
+
+    @Test
+    @DisplayName("즉시 변경은 커밋 직후, 예약 변경은 적용 시각에 주문 가격에 반영된다.")
+    void immediateAndScheduledPriceChanges() throws Exception {
+        assertThat(order()).isEqualTo(3000L); // 버전 없음 → menu.price
+
+        menuPriceService.changePrice(menu.getId(), new MenuPriceChangeRequest(3200, null));
+        assertThat(order()).isEqualTo(3200L);
+
+        LocalDateTime effectiveFrom = LocalDateTime.now().plusSeconds(1);
+        menuPriceService.changePrice(menu.getId(), new MenuPriceChangeRequest(3500, effectiveFrom));
+        assertThat(order()).isEqualTo(3200L); // 아직 적용 전
+
+        while (!LocalDateTime.now().isAfter(effectiveFrom)) {
+            Thread.sleep(50);
+        }
+        assertThat(order()).isEqualTo(3500L); // 카탈로그에 미리 올라와 있어 다시 읽지 않아도 적용됨
+        assertThat(menuPriceService.getPriceHistory(menu.getId()))
+                .extracting("price").containsExactly(3500, 3200);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 추가한 가격 버전은 변경 확인 주기 안에 반영된다.")
+    void versionsAddedElsewhereAreRefreshedWithinBoundedDelay() throws Exception {
+        // 다른 노드가 커밋한 변경 (이 노드의 이벤트 없음)
+        jdbcTemplate.update("INSERT INTO menu_price_version (menu_id, price, effective_from, created_at) VALUES (?, ?, ?, ?)",
+                menu.getId(), 4000, Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (menuPriceCatalog.currentPrice(menu.getId()).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(menuPriceCatalog.currentPrice(menu.getId())).hasValue(4000);
+        assertThat(order()).isEqualTo(4000L);
+    }
+
+    @Test
+    @DisplayName("과거 시각, 0 이하 가격, 없는 메뉴에 대한 가격 변경은 거절된다.")
+    void invalidPriceChangesAreRejected() {
+        CustomException past = assertThrows(CustomException.class, () -> menuPriceService.changePrice(menu.getId(),
+                new MenuPriceChangeRequest(3500, LocalDateTime.now().minusMinutes(1))));
+        assertThat(past.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+
+        CustomException zero = assertThrows(CustomException.class, () -> menuPriceService.changePrice(menu.getId(),
+                new MenuPriceChangeRequest(0, null)));
+        assertThat(zero.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+
+        CustomException missing = assertThrows(CustomException.class, () -> menuPriceService.changePrice(-1L,
+                new MenuPriceChangeRequest(3500, null)));
+        assertThat(missing.getErrorCode()).isEqualTo(ErrorCode.MENU_NOT_FOUND);
+    }
+}
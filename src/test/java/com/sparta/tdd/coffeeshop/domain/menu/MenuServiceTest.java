@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalInt;
 
 
 import org.junit.jupiter.api.DisplayName;
@@ -27,9 +28,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import com.sparta.tdd.coffeeshop.cmmn.datasource.ShardRouter;
 import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuResponse;
 import com.sparta.tdd.coffeeshop.domain.menu.dto.PopularMenuResponse;
 import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceCatalog;
 import com.sparta.tdd.coffeeshop.domain.menu.service.MenuService;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +43,12 @@ class MenuServiceTest {
     @Mock // MenuRepository를 Mock 객체로 만듭니다. 실제 DB와 상호작용하지 않고 가짜 객체를 사용합니다.
     private MenuRepository menuRepository;
 
+    @Mock
+    private MenuPriceCatalog menuPriceCatalog; // 가격 버전 없음(OptionalInt.empty) → menu.price
+
+    @Mock
+    private ShardRouter shardRouter; // 샤딩 꺼짐(isEnabled=false) → 단일 DB 집계
+
     @InjectMocks // MenuService 객체를 생성하고, @Mock으로 만든 menuRepository를 주입합니다.
     private MenuService menuService;
     
@@ -145,6 +154,23 @@ class MenuServiceTest {
         assertThat(result.get(2).getMenuName()).isEqualTo("Espresso");
     }
 
+    @Test
+    @DisplayName("인기 메뉴 조회: 이름과 가격은 주문 스냅샷의 최댓값이 아니라 현재 메뉴 이름과 적용 중인 가격으로 표시한다.")
+    void getPopularMenus_ShouldShowCurrentNameAndPrice() {
+        // 기간 중 5000 → 3500으로 가격이 내렸고 이름도 바뀐 메뉴
+        when(menuRepository.findPopularMenuProjectionsInLast7Days(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(new PopularMenuProjectionImpl(1L, "Latte", 5000, 10L)));
+        when(menuRepository.findAllById(List.of(1L))).thenReturn(List.of(new Menu(1L, "카페 라떼", 5000)));
+        when(menuPriceCatalog.currentPrice(1L)).thenReturn(OptionalInt.of(3500));
+
+        List<PopularMenuResponse> result = menuService.getPopularMenus();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getMenuName()).isEqualTo("카페 라떼");
+        assertThat(result.get(0).getPrice()).isEqualTo(3500);
+        assertThat(result.get(0).getOrderCount()).isEqualTo(10L);
+    }
+
     // Projection 인터페이스 Mocking을 위한 헬퍼 클래스
     static class PopularMenuProjectionImpl implements PopularMenuResponse.PopularMenuProjection {
         private long id;
@@ -0,0 +1,146 @@
+package com.sparta.tdd.coffeeshop.domain.menu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockRequest;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MenuStockServiceTest {
+
+    private static final int USERS = 30;
+
+    @Autowired
+    private MenuStockService menuStockService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Menu menu;
+    private final List<String> userIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> orderIds = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        menu = menuRepository.save(new Menu("시즌 한정 라떼", 5000));
+        for (int i = 0; i < USERS; i++) {
+            userIds.add("stockUser-" + i);
+            userRepository.save(new User("stockUser-" + i, 100_000L));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        menuStockService.removeStock(menu.getId());
+        orderRepository.deleteAllById(orderIds);
+        userRepository.deleteAllById(userIds);
+        menuRepository.delete(menu);
+    }
+
+    private void order(String userId, int quantity) {
+        orderIds.add(orderService.placeOrder(new OrderRequest(userId, menu.getId(), quantity)).getOrderId());
+    }
+
+    @Test
+    @DisplayName("동시 주문은 재고만큼만 성공하고, 품절 후 주문은 DB 조회 전에 거절되며 재입고하면 다시 주문할 수 있다.")
+    void concurrentOrdersNeverOversell() throws Exception {
+        menuStockService.setStock(menu.getId(), new MenuStockRequest(20, 4));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        for (String userId : userIds) {
+            executor.submit(() -> {
+                start.await();
+                while (true) {
+                    try {
+                        order(userId, 1);
+                        succeeded.incrementAndGet();
+                        return null;
+                    } catch (CustomException e) {
+                        if (e.getErrorCode() == ErrorCode.MENU_SOLD_OUT) {
+                            soldOut.incrementAndGet();
+                            return null;
+                        }
+                        if (e.getErrorCode() != ErrorCode.CONCURRENCY_FAILURE) { // 동시성 충돌은 클라이언트처럼 재시도
+                            throw e;
+                        }
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(succeeded.get()).isEqualTo(20);
+        assertThat(soldOut.get()).isEqualTo(USERS - 20);
+        assertThat(menuStockService.getStock(menu.getId()).getRemaining()).isZero();
+        assertThat(menuStockService.getStock(menu.getId()).isSoldOut()).isTrue();
+
+        // 없는 사용자여도 USER_NOT_FOUND가 아니라 품절로 거절됨 = 사용자/메뉴 조회 전에 거절
+        CustomException rejected = assertThrows(CustomException.class, () -> order("no-such-user", 1));
+        assertThat(rejected.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+
+        menuStockService.setStock(menu.getId(), new MenuStockRequest(1, 4)); // 재입고
+        order(userIds.get(0), 1);
+        assertThat(menuStockService.getStock(menu.getId()).getRemaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("고른 조각이 모자라도 전체 합계가 충분하면 조각을 재분배해 차감하고, 합계가 부족하면 주문 전체가 롤백된다.")
+    void skewedShardsAreRebalanced() {
+        menuStockService.setStock(menu.getId(), new MenuStockRequest(4, 4)); // 조각마다 1개
+
+        order(userIds.get(0), 3); // 어느 조각도 3개가 없으므로 재분배
+        assertThat(menuStockService.getStock(menu.getId()).getRemaining()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT quantity FROM menu_stock_shard WHERE menu_id = ? ORDER BY shard_no",
+                Long.class, menu.getId())).containsExactly(1L, 0L, 0L, 0L);
+
+        CustomException insufficient = assertThrows(CustomException.class, () -> order(userIds.get(1), 2));
+        assertThat(insufficient.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+        assertThat(userRepository.findPointByUserId(userIds.get(1)).orElseThrow()).isEqualTo(100_000L); // 포인트 차감도 롤백
+        assertThat(menuStockService.getStock(menu.getId()).isSoldOut()).isFalse(); // 1개 남아 있으므로 품절 아님
+    }
+}
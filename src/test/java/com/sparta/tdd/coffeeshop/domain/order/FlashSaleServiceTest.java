@@ -0,0 +1,127 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.dto.MenuStockResponse;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleRequest;
+import com.sparta.tdd.coffeeshop.domain.order.dto.FlashSaleTicketResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.service.FlashSaleProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.FlashSaleService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FlashSaleServiceTest {
+
+    private static final Long MENU_ID = 7L;
+
+    @Mock
+    private MenuStockService menuStockService;
+
+    private final FlashSaleProperties properties = new FlashSaleProperties();
+    private FlashSaleService flashSaleService;
+
+    @BeforeEach
+    void setUp() {
+        flashSaleService = new FlashSaleService(properties, menuStockService, new SimpleMeterRegistry());
+    }
+
+    private void openWithStock(long stock, double ratePerSecond) {
+        given(menuStockService.getStock(MENU_ID)).willReturn(MenuStockResponse.builder()
+                .menuId(MENU_ID).limited(true).remaining(stock).shards(4).build());
+        flashSaleService.open(MENU_ID, new FlashSaleRequest(ratePerSecond));
+    }
+
+    private static OrderRequest request(String userId) {
+        return new OrderRequest(userId, MENU_ID, 1);
+    }
+
+    @Test
+    @DisplayName("입장권은 남은 재고만큼만 발급되고, 발급 순서대로 정해진 속도로 입장하며, 입장한 입장권만 한 번 주문할 수 있다.")
+    void ticketsAreAdmittedInOrderAtFixedRate() throws Exception {
+        openWithStock(3, 5); // 200ms마다 한 명
+        FlashSaleTicketResponse first = flashSaleService.enqueue(request("u0"));
+        FlashSaleTicketResponse second = flashSaleService.enqueue(request("u1"));
+        FlashSaleTicketResponse third = flashSaleService.enqueue(request("u2"));
+
+        assertThat(first.getStatus()).isEqualTo(FlashSaleTicketResponse.Status.ADMITTED);
+        assertThat(second.getStatus()).isEqualTo(FlashSaleTicketResponse.Status.WAITING);
+        assertThat(second.getPosition()).isEqualTo(1);
+        assertThat(third.getPosition()).isEqualTo(2);
+        assertThat(third.getEtaMillis()).isGreaterThan(second.getEtaMillis());
+        assertThat(flashSaleService.enqueue(request("u1")).getTicketId()).isEqualTo(second.getTicketId()); // 다시 줄 서도 같은 입장권
+
+        CustomException closed = assertThrows(CustomException.class, () -> flashSaleService.enqueue(request("u3")));
+        assertThat(closed.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT); // 재고만큼 발급하면 바로 마감
+
+        AtomicInteger orders = new AtomicInteger();
+        CustomException early = assertThrows(CustomException.class,
+                () -> flashSaleService.withAdmission(second.getTicketId(), request("u1"), orders::incrementAndGet));
+        assertThat(early.getErrorCode()).isEqualTo(ErrorCode.ADMISSION_REQUIRED);
+        CustomException stolen = assertThrows(CustomException.class,
+                () -> flashSaleService.withAdmission(first.getTicketId(), request("u1"), orders::incrementAndGet));
+        assertThat(stolen.getErrorCode()).isEqualTo(ErrorCode.ADMISSION_REQUIRED);
+
+        flashSaleService.withAdmission(first.getTicketId(), request("u0"), orders::incrementAndGet);
+        assertThrows(CustomException.class,
+                () -> flashSaleService.withAdmission(first.getTicketId(), request("u0"), orders::incrementAndGet));
+        assertThat(flashSaleService.status(first.getTicketId()).getStatus()).isEqualTo(FlashSaleTicketResponse.Status.USED);
+
+        Thread.sleep(flashSaleService.status(second.getTicketId()).getEtaMillis() + 20);
+        assertThat(flashSaleService.status(second.getTicketId()).getStatus()).isEqualTo(FlashSaleTicketResponse.Status.ADMITTED);
+        flashSaleService.withAdmission(second.getTicketId(), request("u1"), orders::incrementAndGet);
+        assertThat(orders.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("입장 후 쓰지 않은 입장권은 만료되어 자리가 돌아오고, 품절이 확인되면 대기 중인 입장권은 SOLD_OUT이 된다.")
+    void expiredTicketsReleaseSeatsAndSoldOutClosesQueue() throws Exception {
+        properties.setTokenTtlMillis(100);
+        openWithStock(1, 1000);
+        FlashSaleTicketResponse idle = flashSaleService.enqueue(request("u0"));
+        assertThrows(CustomException.class, () -> flashSaleService.enqueue(request("u1")));
+
+        Thread.sleep(150);
+        assertThat(flashSaleService.status(idle.getTicketId()).getStatus()).isEqualTo(FlashSaleTicketResponse.Status.EXPIRED);
+        FlashSaleTicketResponse next = flashSaleService.enqueue(request("u1")); // 만료된 자리를 받음
+        assertThat(next.getStatus()).isEqualTo(FlashSaleTicketResponse.Status.ADMITTED);
+
+        // 주문 수량보다 남은 재고가 적을 뿐(품절 플래그 없음)이면 대기열은 열린 채, 같은 입장권으로 다시 주문할 수 있음
+        CustomException notEnough = assertThrows(CustomException.class, () -> flashSaleService.withAdmission(next.getTicketId(),
+                request("u1"), () -> { throw new CustomException(ErrorCode.MENU_SOLD_OUT, "메뉴 재고가 부족합니다. 남은 수량: 2"); }));
+        assertThat(notEnough.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+        assertThat(flashSaleService.getStatus(MENU_ID).isSoldOut()).isFalse();
+        assertThat(flashSaleService.status(next.getTicketId()).getStatus()).isEqualTo(FlashSaleTicketResponse.Status.ADMITTED);
+
+        given(menuStockService.isSoldOut(MENU_ID)).willReturn(true); // 모든 조각이 0임을 확인한 품절
+        CustomException failed = assertThrows(CustomException.class, () -> flashSaleService.withAdmission(next.getTicketId(),
+                request("u1"), () -> { throw new CustomException(ErrorCode.MENU_SOLD_OUT, "품절"); }));
+        assertThat(failed.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+        assertThat(flashSaleService.getStatus(MENU_ID).isSoldOut()).isTrue();
+
+        CustomException soldOut = assertThrows(CustomException.class, () -> flashSaleService.enqueue(request("u2")));
+        assertThat(soldOut.getErrorCode()).isEqualTo(ErrorCode.MENU_SOLD_OUT);
+
+        flashSaleService.close(MENU_ID);
+        assertThat(flashSaleService.isActive(MENU_ID)).isFalse();
+        assertThat(flashSaleService.status(next.getTicketId()).getStatus()).isEqualTo(FlashSaleTicketResponse.Status.EXPIRED);
+    }
+}
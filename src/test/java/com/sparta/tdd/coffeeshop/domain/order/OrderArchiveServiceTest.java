@@ -0,0 +1,134 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveAggregateResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveAggregateResponse.MenuAggregate;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderArchiveResponse;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderArchiveServiceTest {
+
+    private static final String USER_ID = "archiveUser";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private OrderArchiveService archiveService;
+    private Menu latte;
+    private Menu mocha;
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        OrderArchiveProperties properties = new OrderArchiveProperties();
+        properties.setDir(tempDir.toString());
+        properties.setAgeMonths(24);
+        properties.setSegmentRows(2);
+        properties.setDeleteChunkSize(1);
+        properties.setScanThreads(2);
+        archiveService = new OrderArchiveService(jdbcTemplate, properties);
+        latte = menuRepository.save(new Menu("라떼", 4000));
+        mocha = menuRepository.save(new Menu("모카", 4500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        menuRepository.deleteAll(List.of(latte, mocha));
+        archiveService.shutdown();
+    }
+
+    private void insertOrder(Menu menu, int quantity, LocalDateTime orderDate) {
+        String orderId = UUID.randomUUID().toString();
+        orderIds.add(orderId);
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, "
+                + "order_date, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 1)",
+                orderId, USER_ID, menu.getId(), menu.getName(), menu.getPrice(), quantity, menu.getPrice() * quantity,
+                Timestamp.valueOf(orderDate));
+    }
+
+    private static MenuAggregate find(OrderArchiveAggregateResponse response, Menu menu) {
+        return response.getMenus().stream().filter(m -> m.getMenuId().equals(menu.getId())).findFirst().orElse(null);
+    }
+
+    @Test
+    @DisplayName("오래된 주문은 세그먼트로 옮겨 DB에서 지우고, 집계는 헤더 색인으로 건너뛰거나 색인만 쓰고 나머지만 열을 풀어 읽는다.")
+    void archivesOldOrdersAndAggregatesFromSegments() {
+        LocalDateTime base = LocalDateTime.now().minusYears(3).withNano(0);
+        insertOrder(latte, 1, base);
+        insertOrder(latte, 2, base.plusDays(1));
+        insertOrder(latte, 3, base.plusDays(2));
+        insertOrder(mocha, 1, base.plusDays(3));
+        insertOrder(mocha, 2, base.plusDays(4));
+        insertOrder(latte, 1, LocalDateTime.now().minusDays(1)); // 보관 대상 아님
+
+        OrderArchiveResponse archived = archiveService.archive();
+        assertThat(archived.getSegmentsWritten()).isGreaterThanOrEqualTo(3); // 2건씩: [라떼, 라떼] [라떼, 모카] [모카]
+        assertThat(archived.getArchivedOrders()).isGreaterThanOrEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, USER_ID))
+                .isEqualTo(1);
+        assertThat(archiveService.archive().getSegmentsWritten()).isZero(); // 이어서 보관할 주문 없음
+
+        OrderArchiveAggregateResponse all = archiveService.aggregate(base.minusDays(1), base.plusDays(5), null);
+        assertThat(find(all, latte).getOrderCount()).isEqualTo(3);
+        assertThat(find(all, latte).getQuantity()).isEqualTo(6);
+        assertThat(find(all, latte).getTotalPrice()).isEqualTo(24000);
+        assertThat(find(all, mocha).getOrderCount()).isEqualTo(2);
+        assertThat(find(all, mocha).getMenuName()).isEqualTo("모카");
+        assertThat(all.getSegmentsScanned()).isZero(); // 세그먼트 전체가 기간 안 → 색인만 사용
+
+        // [base+1일, base+3일): 첫 세그먼트는 일부만 기간 안이라 열을 읽고, 두 번째는 라떼 색인만, 세 번째는 건너뜀
+        OrderArchiveAggregateResponse partial = archiveService.aggregate(base.plusDays(1), base.plusDays(3), null);
+        assertThat(find(partial, latte).getOrderCount()).isEqualTo(2);
+        assertThat(find(partial, latte).getQuantity()).isEqualTo(5);
+        assertThat(find(partial, mocha)).isNull();
+        assertThat(partial.getSegmentsScanned()).isPositive();
+        assertThat(partial.getSegmentsFromIndex()).isPositive();
+        assertThat(partial.getSegmentsSkipped()).isPositive();
+
+        OrderArchiveAggregateResponse mochaOnly = archiveService.aggregate(base.minusDays(1), base.plusDays(5), mocha.getId());
+        assertThat(mochaOnly.getMenus()).singleElement()
+                .satisfies(m -> assertThat(m.getTotalPrice()).isEqualTo(13500));
+        assertThat(mochaOnly.getSegmentsSkipped()).isPositive(); // 모카가 없는 첫 세그먼트
+
+        CustomException invalid = assertThrows(CustomException.class,
+                () -> archiveService.aggregate(base.plusDays(1), base, null));
+        assertThat(invalid.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+}
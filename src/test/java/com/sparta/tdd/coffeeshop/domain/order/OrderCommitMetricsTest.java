@@ -0,0 +1,120 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 커밋 단계에서 롤백된 주문의 실패 사유가 실제 예외대로 집계되는지 확인합니다.
+// 주문 완료 이벤트(트랜잭션 안에서 발행)를 받아 커밋 직전에 실패하는 동기화를 등록해 커밋 실패를 흉내 냅니다.
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderCommitMetricsTest {
+
+    private static volatile Supplier<RuntimeException> commitFailure;
+
+    @TestConfiguration
+    static class FailingCommitConfig {
+
+        @EventListener
+        public void onOrderCompleted(OrderCompletedEvent event) {
+            Supplier<RuntimeException> failure = commitFailure;
+            if (failure == null) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    throw failure.get();
+                }
+            });
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("commitMetricsUser", "커밋집계", 10_000L, 0L));
+        menuId = menuRepository.save(new Menu("아메리카노", 1000)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commitFailure = null;
+        orderRepository.deleteAll();
+        userRepository.deleteById("commitMetricsUser");
+        menuRepository.deleteById(menuId);
+    }
+
+    private double failures(String reason) {
+        return meterRegistry.get("coffeeshop.order.failures").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("커밋 중 충돌이 아닌 실패는 낙관적 락 충돌이 아니라 unexpected로 집계된다")
+    void nonConflictCommitFailureIsUnexpected() {
+        double conflicts = failures("optimistic_conflict");
+        double unexpected = failures("unexpected");
+        commitFailure = () -> new IllegalStateException("커밋 직전 실패");
+
+        assertThatThrownBy(() -> orderService.placeOrder(new OrderRequest("commitMetricsUser", menuId, 1)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(failures("optimistic_conflict")).isEqualTo(conflicts);
+        assertThat(failures("unexpected")).isEqualTo(unexpected + 1);
+        assertThat(userRepository.findById("commitMetricsUser").orElseThrow().getPoint()).isEqualTo(10_000L); // 롤백됨
+    }
+
+    @Test
+    @DisplayName("커밋 중 버전 충돌은 낙관적 락 충돌로 한 번만 집계된다")
+    void commitConflictIsCountedOnce() {
+        double conflicts = failures("optimistic_conflict");
+        double unexpected = failures("unexpected");
+        commitFailure = () -> new ObjectOptimisticLockingFailureException(User.class, "commitMetricsUser");
+
+        assertThatThrownBy(() -> orderService.placeOrder(new OrderRequest("commitMetricsUser", menuId, 1)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(failures("optimistic_conflict")).isEqualTo(conflicts + 1);
+        assertThat(failures("unexpected")).isEqualTo(unexpected);
+    }
+}
@@ -0,0 +1,135 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderFulfillmentService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 자동 워커는 0개로 두고(대기열 점검만 실행), processBatch를 여러 스레드에서 직접 호출해 여러 워커/노드를 흉내 냅니다.
+@SpringBootTest(properties = {
+        "coffeeshop.fulfillment.enabled=true",
+        "coffeeshop.fulfillment.workers=0",
+        "coffeeshop.fulfillment.batch-size=5",
+        "coffeeshop.fulfillment.prep-millis=2",
+        "coffeeshop.fulfillment.metrics-refresh-millis=100"
+})
+@ActiveProfiles("test")
+class OrderFulfillmentServiceTest {
+
+    private static final int ORDERS = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderFulfillmentService fulfillmentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Menu menu;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("baristaUser", "제조사용자", 1_000_000L, 0L));
+        menu = menuRepository.save(new Menu("아메리카노", 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        userRepository.deleteById("baristaUser");
+        menuRepository.delete(menu);
+    }
+
+    private long countByStatus(Order.OrderStatus status) {
+        return orderRepository.findAll().stream().filter(o -> o.getStatus() == status).count();
+    }
+
+    @Test
+    @DisplayName("주문은 PENDING으로 남고, 여러 워커가 동시에 가져가도 각 주문은 정확히 한 번만 완료된다.")
+    void concurrentWorkersCompleteEachOrderExactlyOnce() throws Exception {
+        for (int i = 0; i < ORDERS; i++) {
+            assertThat(orderService.placeOrder(new OrderRequest("baristaUser", menu.getId(), 1)).getStatus())
+                    .isEqualTo(Order.OrderStatus.PENDING);
+        }
+        awaitQueueDepth(ORDERS);
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            String workerId = "test-worker-" + w;
+            results.add(workers.submit(() -> {
+                int done = 0;
+                int processed;
+                while ((processed = fulfillmentService.processBatch(workerId)) > 0) {
+                    done += processed;
+                }
+                return done;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        workers.shutdown();
+
+        assertThat(total).isEqualTo(ORDERS);
+        assertThat(countByStatus(Order.OrderStatus.COMPLETED)).isEqualTo(ORDERS);
+        assertThat(meterRegistry.get("coffeeshop.fulfillment.conflicts").counter().count()).isZero();
+        awaitQueueDepth(0);
+    }
+
+    @Test
+    @DisplayName("제조 전에 취소된 주문은 대기열에서 빠져 워커가 가져가지 않는다.")
+    void cancelledOrderIsNotClaimed() {
+        String orderId = orderService.placeOrder(new OrderRequest("baristaUser", menu.getId(), 1)).getOrderId();
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        order.markAsCancelled();
+        orderRepository.save(order);
+
+        assertThat(fulfillmentService.processBatch("test-worker")).isZero(); // 대기열에 없음
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+    }
+
+    private void awaitQueueDepth(long expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (meterRegistry.get("coffeeshop.fulfillment.queue.depth").gauge().value() == expected) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        assertThat(meterRegistry.get("coffeeshop.fulfillment.queue.depth").gauge().value()).isEqualTo(expected);
+    }
+}
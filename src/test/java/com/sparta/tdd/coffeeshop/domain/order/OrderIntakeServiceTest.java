@@ -0,0 +1,192 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderIntakeResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderIntakeService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 스프링 빈으로 등록된 접수 서비스는 꺼 둔 채(기본값), 같은 DB와 로그 디렉터리를 쓰는 서비스를 직접 만들어 재기동을 흉내 냅니다.
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderIntakeServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @TempDir
+    Path intakeDir;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        userRepository.save(new User("intakeUser", "접수사용자", 10_000L, 0L));
+        menuId = menuRepository.save(new Menu("아메리카노", 1000)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        userRepository.deleteById("intakeUser");
+        menuRepository.deleteById(menuId);
+    }
+
+    private OrderIntakeService newService(SimpleMeterRegistry registry) {
+        return newService(registry, orderService);
+    }
+
+    private OrderIntakeService newService(SimpleMeterRegistry registry, OrderService orderService) {
+        OrderIntakeProperties properties = new OrderIntakeProperties();
+        properties.setEnabled(true);
+        properties.setDir(intakeDir.toString());
+        properties.setSegmentBytes(64 * 1024);
+        properties.setMaxApplyAttempts(3);
+        properties.setMaxRetryBackoffMillis(50);
+        return new OrderIntakeService(properties, orderService, orderRepository, registry);
+    }
+
+    private OrderIntakeResponse awaitSettled(OrderIntakeService service, String intakeId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            OrderIntakeResponse status = service.status(intakeId);
+            if (status.getStatus() != OrderIntakeResponse.Status.PENDING) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        return service.status(intakeId);
+    }
+
+    @Test
+    @DisplayName("접수된 주문은 백그라운드에서 기존 주문 로직으로 반영되고, 업무 오류는 FAILED로 조회된다.")
+    void acceptedOrdersAreAppliedInBackground() throws Exception {
+        OrderIntakeService service = newService(new SimpleMeterRegistry());
+        service.start();
+        try {
+            OrderIntakeResponse ok = service.accept(new OrderRequest("intakeUser", menuId, 3));
+            OrderIntakeResponse tooMuch = service.accept(new OrderRequest("intakeUser", menuId, 100));
+            assertThat(ok.getStatus()).isEqualTo(OrderIntakeResponse.Status.ACCEPTED);
+
+            OrderIntakeResponse completed = awaitSettled(service, ok.getIntakeId());
+            assertThat(completed.getStatus()).isEqualTo(OrderIntakeResponse.Status.COMPLETED);
+            assertThat(completed.getOrderId()).isNotNull();
+
+            OrderIntakeResponse failed = awaitSettled(service, tooMuch.getIntakeId());
+            assertThat(failed.getStatus()).isEqualTo(OrderIntakeResponse.Status.FAILED);
+            assertThat(failed.getErrorCode()).isEqualTo("INSUFFICIENT_POINT");
+        } finally {
+            service.stop();
+        }
+        assertThat(userRepository.findPointByUserId("intakeUser")).contains(7_000L);
+    }
+
+    @Test
+    @DisplayName("반영 지점을 기록하기 전에 재시작되어 로그를 처음부터 다시 읽어도 주문과 차감은 한 번만 반영된다.")
+    void replayAfterRestartIsIdempotent() throws Exception {
+        OrderIntakeService first = newService(new SimpleMeterRegistry());
+        first.start();
+        List<String> intakeIds = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                intakeIds.add(first.accept(new OrderRequest("intakeUser", menuId, 1)).getIntakeId());
+            }
+            for (String intakeId : intakeIds) {
+                assertThat(awaitSettled(first, intakeId).getStatus()).isEqualTo(OrderIntakeResponse.Status.COMPLETED);
+            }
+        } finally {
+            first.stop();
+        }
+
+        Files.delete(intakeDir.resolve("applied.seq")); // 반영 지점 유실 = 모든 레코드 재반영
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderIntakeService second = newService(registry);
+        second.start();
+        try {
+            for (int i = 0; i < 200 && registry.counter("coffeeshop.order.intake", "result", "duplicate").count() < 5; i++) {
+                Thread.sleep(20);
+            }
+            String next = second.accept(new OrderRequest("intakeUser", menuId, 1)).getIntakeId();
+            assertThat(awaitSettled(second, next).getStatus()).isEqualTo(OrderIntakeResponse.Status.COMPLETED);
+        } finally {
+            second.stop();
+        }
+
+        assertThat(registry.counter("coffeeshop.order.intake", "result", "duplicate").count()).isEqualTo(5.0);
+        assertThat(orderRepository.count()).isEqualTo(6);
+        assertThat(userRepository.findPointByUserId("intakeUser")).contains(4_000L);
+    }
+
+    @Test
+    @DisplayName("계속 실패하는 접수는 재시도 한도 후 실패로 기록되어 뒤의 접수를 막지 않고, 재기동 후에도 FAILED로 조회된다.")
+    void poisonRecordIsDeadLetteredAfterMaxAttempts() throws Exception {
+        OrderService poisoned = mock(OrderService.class); // 수량 13인 주문만 예상치 못한 오류
+        doAnswer(invocation -> {
+            OrderRequest request = invocation.getArgument(0);
+            if (request.getQuantity() == 13) {
+                throw new IllegalStateException("예상치 못한 오류");
+            }
+            return orderService.placeOrder(request, invocation.getArgument(1));
+        }).when(poisoned).placeOrder(any(OrderRequest.class), anyString());
+
+        OrderIntakeService first = newService(new SimpleMeterRegistry(), poisoned);
+        first.start();
+        String poison;
+        try {
+            poison = first.accept(new OrderRequest("intakeUser", menuId, 13)).getIntakeId();
+            String next = first.accept(new OrderRequest("intakeUser", menuId, 1)).getIntakeId();
+
+            assertThat(awaitSettled(first, next).getStatus()).isEqualTo(OrderIntakeResponse.Status.COMPLETED);
+            OrderIntakeResponse failed = first.status(poison);
+            assertThat(failed.getStatus()).isEqualTo(OrderIntakeResponse.Status.FAILED);
+            assertThat(failed.getErrorCode()).isEqualTo("INTERNAL_SERVER_ERROR");
+        } finally {
+            first.stop();
+        }
+        assertThat(Files.readString(intakeDir.resolve("failed.log"))).startsWith(poison + "\t");
+
+        OrderIntakeService restarted = newService(new SimpleMeterRegistry());
+        restarted.start();
+        try {
+            assertThat(restarted.status(poison).getStatus()).isEqualTo(OrderIntakeResponse.Status.FAILED);
+        } finally {
+            restarted.stop();
+        }
+    }
+}
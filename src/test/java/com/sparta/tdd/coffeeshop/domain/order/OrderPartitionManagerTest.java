@@ -0,0 +1,159 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderPartitionResponse.Partition;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionManager;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderQueryService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPartitionManagerTest {
+
+    private static final String USER_ID = "partitionUser";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final OrderPartitionProperties properties = new OrderPartitionProperties();
+    private final OrderArchiveProperties archiveProperties = new OrderArchiveProperties();
+    private OrderArchiveService archiveService;
+    private OrderPartitionManager manager;
+    private Menu menu;
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setFutureMonths(2);
+        properties.setRetentionMonths(24);
+        properties.setDeleteChunkSize(2);
+        properties.setPauseMillis(0);
+        archiveProperties.setDir(tempDir.toString());
+        archiveService = new OrderArchiveService(jdbcTemplate, archiveProperties);
+        manager = new OrderPartitionManager(jdbcTemplate, properties, archiveService);
+        menu = menuRepository.save(new Menu("아메리카노", 3000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        menuRepository.delete(menu);
+        archiveService.shutdown();
+    }
+
+    private void insertOrder(LocalDateTime orderDate) {
+        String orderId = UUID.randomUUID().toString();
+        orderIds.add(orderId);
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, "
+                + "order_date, status) VALUES (?, ?, ?, '아메리카노', 3000, 1, 3000, ?, 1)",
+                orderId, USER_ID, menu.getId(), Timestamp.valueOf(orderDate));
+    }
+
+    @Test
+    @DisplayName("전환 직후(p_old, pmax)에는 pmax를 나눠 다음 달들을 만들고, 보관 기간이 지난 파티션은 통째로 삭제한다.")
+    void planCreatesFutureMonthsAndDropsExpiredPartitions() {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        List<String> afterMigration = manager.plan(List.of(
+                new Partition("p_old", LocalDateTime.of(2026, 11, 1, 0, 0)),
+                new Partition("pmax", null)), today);
+        assertThat(afterMigration).containsExactly("ALTER TABLE orders REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202611 VALUES LESS THAN ('2026-12-01 00:00:00'), "
+                + "PARTITION p202612 VALUES LESS THAN ('2027-01-01 00:00:00'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+
+        List<String> twoYearsLater = manager.plan(List.of(
+                new Partition("p_old", LocalDateTime.of(2026, 11, 1, 0, 0)),
+                new Partition("p202611", LocalDateTime.of(2026, 12, 1, 0, 0)),
+                new Partition("p202612", LocalDateTime.of(2027, 1, 1, 0, 0)),
+                new Partition("pmax", null)), LocalDate.of(2028, 12, 5)); // 보관 기준: 2026-12-01 이전
+        assertThat(twoYearsLater.get(0)).isEqualTo("ALTER TABLE orders DROP PARTITION p_old, p202611");
+        assertThat(twoYearsLater.get(1)).startsWith("ALTER TABLE orders REORGANIZE PARTITION pmax INTO (PARTITION p202701 ")
+                .endsWith("PARTITION p202902 VALUES LESS THAN ('2029-03-01 00:00:00'), PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+
+        properties.setRetentionMonths(0);
+        assertThat(manager.plan(List.of(new Partition("p202612", LocalDateTime.of(2027, 1, 1, 0, 0))), today))
+                .isEmpty(); // 이미 충분히 있고 보관 기간 미설정
+    }
+
+    @Test
+    @DisplayName("파티션이 없는 DB(H2)에서는 보관 기간이 지난 주문을 청크 단위로 지우고, 주문 내역은 최근 기간만 조회한다.")
+    void fallbackDeletesExpiredRowsInChunks() {
+        for (int i = 0; i < 3; i++) {
+            insertOrder(LocalDateTime.now().minusYears(3).minusDays(i));
+        }
+        insertOrder(LocalDateTime.now().minusMonths(18)); // 보관 기간 안, 내역 조회 범위(12개월) 밖
+        insertOrder(LocalDateTime.now().minusDays(1));
+
+        OrderPartitionResponse inspected = manager.inspect();
+        assertThat(inspected.getMode()).isEqualTo(OrderPartitionResponse.Mode.FALLBACK);
+        assertThat(inspected.getDeletedRows()).isZero();
+
+        OrderPartitionResponse result = manager.run();
+        assertThat(result.getDeletedRows()).isGreaterThanOrEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, USER_ID))
+                .isEqualTo(2);
+        assertThat(orderQueryService.getHistory(USER_ID, 0, 20).getOrders()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("보관이 켜져 있으면 세그먼트로 옮겨진 시각 이전까지만 지우고, 보관 기준이 보관 기간보다 길면 기동하지 않는다.")
+    void retentionWaitsForArchive() {
+        archiveProperties.setEnabled(true);
+        archiveProperties.setAgeMonths(36);
+        assertThrows(IllegalStateException.class, () -> new OrderPartitionManager(jdbcTemplate, properties, archiveService));
+
+        archiveProperties.setAgeMonths(12);
+        manager = new OrderPartitionManager(jdbcTemplate, properties, archiveService);
+        LocalDateTime orderDate = LocalDateTime.now().minusYears(3).withNano(0);
+        List<Partition> partitions = List.of(
+                new Partition("p_old", orderDate.toLocalDate().withDayOfMonth(1).atStartOfDay()),
+                new Partition("pmax", null));
+        insertOrder(orderDate);
+        assertThat(manager.plan(partitions, LocalDate.now()))
+                .noneMatch(statement -> statement.contains("DROP PARTITION")); // 아직 보관한 주문 없음
+        assertThat(manager.run().getDeletedRows()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, USER_ID))
+                .isEqualTo(1);
+
+        archiveService.archive();
+        assertThat(manager.plan(partitions, LocalDate.now())).contains("ALTER TABLE orders DROP PARTITION p_old");
+    }
+}
@@ -0,0 +1,121 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderBulkRefundResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.repo.PointRestorationRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderRefundService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.order.service.PointRestorationProcessor;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+// 처리기 자동 실행을 끄고 processAll()을 직접 호출합니다.
+// 테스트 컨텍스트끼리 같은 인메모리 DB를 쓰므로 다른 컨텍스트의 처리기가 일부를 먼저 반영할 수 있어, 반영 건수 대신 최종 잔액을 검증합니다.
+@SpringBootTest(properties = {"coffeeshop.refund.processor-enabled=false", "coffeeshop.refund.batch-size=50"})
+@ActiveProfiles("test")
+class OrderRefundServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRefundService orderRefundService;
+
+    @Autowired
+    private PointRestorationProcessor pointRestorationProcessor;
+
+    @Autowired
+    private PointRestorationRepository pointRestorationRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    private Menu menu;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("refundUser1", "환불사용자1", 100_000L, 0L));
+        userRepository.save(new User("refundUser2", "환불사용자2", 100_000L, 0L));
+        menu = menuRepository.save(new Menu("아메리카노", 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointRestorationRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAllById(List.of("refundUser1", "refundUser2"));
+        menuRepository.delete(menu);
+    }
+
+    private long point(String userId) {
+        return userRepository.findPointByUserId(userId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("완료 주문은 환불되고 포인트는 일괄 반영 후 복원되며, 같은 주문을 다시 환불하거나 취소할 수 없다.")
+    void refundValidatesStateAndRestoresPointsInBatch() {
+        String orderId = orderService.placeOrder(new OrderRequest("refundUser1", menu.getId(), 3)).getOrderId();
+        assertThat(point("refundUser1")).isEqualTo(97_000L);
+
+        assertThat(orderRefundService.refund(orderId).getStatus()).isEqualTo(Order.OrderStatus.REFUNDED);
+
+        CustomException again = assertThrows(CustomException.class, () -> orderRefundService.refund(orderId));
+        assertThat(again.getErrorCode()).isEqualTo(ErrorCode.INVALID_ORDER_STATE);
+        CustomException cancel = assertThrows(CustomException.class, () -> orderRefundService.cancel(orderId));
+        assertThat(cancel.getErrorCode()).isEqualTo(ErrorCode.INVALID_ORDER_STATE);
+        CustomException missing = assertThrows(CustomException.class, () -> orderRefundService.refund("no-such-order"));
+        assertThat(missing.getErrorCode()).isEqualTo(ErrorCode.ORDER_NOT_FOUND);
+
+        pointRestorationProcessor.processAll();
+        assertThat(point("refundUser1")).isEqualTo(100_000L);
+        assertThat(pointRestorationProcessor.processAll()).isZero(); // 중복 반영 없음
+    }
+
+    @Test
+    @DisplayName("대량 환불은 사용자별로 합산되어 배치마다 한 번씩 반영되고, 실패한 주문은 사유와 함께 건너뛴다.")
+    void bulkRefundIsAggregatedPerUser() {
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            orderIds.add(orderService.placeOrder(new OrderRequest(i % 2 == 0 ? "refundUser1" : "refundUser2", menu.getId(), 1)).getOrderId());
+        }
+        orderRefundService.refund(orderIds.get(0)); // 이미 환불된 주문 포함
+        orderIds.add("no-such-order");
+
+        OrderBulkRefundResponse response = orderRefundService.refundAll(orderIds);
+
+        assertThat(response.getRequested()).isEqualTo(61);
+        assertThat(response.getRefunded()).isEqualTo(59);
+        assertThat(response.getFailures()).containsEntry(orderIds.get(0), "INVALID_ORDER_STATE")
+                .containsEntry("no-such-order", "ORDER_NOT_FOUND");
+
+        pointRestorationProcessor.processAll(); // 배치 크기 50 → 2배치
+        assertThat(pointRestorationRepository.countByStatus(PointRestoration.Status.PENDING)).isZero();
+        assertThat(point("refundUser1")).isEqualTo(100_000L);
+        assertThat(point("refundUser2")).isEqualTo(100_000L);
+    }
+}
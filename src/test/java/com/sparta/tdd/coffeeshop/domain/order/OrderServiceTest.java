@@ -1,16 +1,24 @@
 package com.sparta.tdd.coffeeshop.domain.order;
 
 import com.sparta.tdd.coffeeshop.cmmn.client.DataCollectionPlatformClient;
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
 import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
 import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
 import com.sparta.tdd.coffeeshop.domain.menu.Menu;
 import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuPriceCatalog;
+import com.sparta.tdd.coffeeshop.domain.menu.service.MenuStockService;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
 import com.sparta.tdd.coffeeshop.domain.order.dto.OrderResponse;
 import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderFulfillmentProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderMetrics;
 import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
 import com.sparta.tdd.coffeeshop.domain.user.User;
 import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,9 +27,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -50,9 +60,26 @@ class OrderServiceTest {
     @Mock
     private MenuRepository menuRepository;
     @Mock
+    private MenuPriceCatalog menuPriceCatalog; // 가격 버전 없음(OptionalInt.empty) → menu.price
+    @Mock
+    private MenuStockService menuStockService; // 재고 제한 없는 메뉴로 동작 (no-op)
+    @Mock
     private OrderRepository orderRepository;
     @Mock
     private DataCollectionPlatformClient dataCollectionPlatformClient;
+    @Mock
+    private ContentionTracker contentionTracker;
+    @Mock
+    private BalanceEngine balanceEngine; // 기본(isEnabled=false)이므로 기존 낙관적 락 경로를 검증
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OrderFulfillmentProperties fulfillmentProperties; // 기본(isEnabled=false)이므로 주문은 바로 COMPLETED
+
+    // 메트릭은 실제 객체를 메모리 레지스트리에 붙여 사용합니다. (기록된 값을 검증할 수 있도록)
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
 
     // @Mock으로 선언된 객체들을 이 객체(orderService)에 자동으로 주입합니다.
     @InjectMocks
@@ -185,6 +212,8 @@ class OrderServiceTest {
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
         verify(orderRepository, times(1)).save(orderCaptor.capture()); // orderRepository.save가 1번 호출되었고, Order 객체 캡처
         verify(dataCollectionPlatformClient, times(1)).sendOrderData(anyMap()); // dataCollectionPlatformClient.sendOrderData가 1회 호출되었는지
+        assertThat(meterRegistry.get("coffeeshop.order.completed").counter().count()).isEqualTo(1.0); // 완료 건수 집계
+        assertThat(meterRegistry.get("coffeeshop.order.stage").tag("stage", "data_collection").timer().count()).isEqualTo(1L);
 
         // 3. 캡처된 User 객체의 상태 검증: 서비스 로직에 의해 변경된 User 객체의 상태를 확인
         User capturedUser = userCaptor.getValue(); // Mockito가 캡처한 User 객체
@@ -241,6 +270,11 @@ class OrderServiceTest {
         verify(userRepository, times(0)).save(any(User.class)); // 포인트 부족으로 save는 호출 안 됨
         verify(orderRepository, times(0)).save(any(Order.class)); // 주문 저장도 호출 안 됨
         verify(dataCollectionPlatformClient, times(0)).sendOrderData(anyMap()); // 데이터 전송도 호출 안 됨
+
+        // 잔액 부족 실패 카운터가 증가하고, 도달하지 못한 단계(user_save)는 기록되지 않음
+        assertThat(meterRegistry.get("coffeeshop.order.failures").tag("reason", "insufficient_point").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("coffeeshop.order.stage").tag("stage", "user_fetch").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("coffeeshop.order.stage").tag("stage", "user_save").timer().count()).isZero();
     }
 
     @Test
@@ -0,0 +1,108 @@
+package com.sparta.tdd.coffeeshop.domain.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderDetailResponse;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderQueryService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderSnapshotBackfill;
+import com.sparta.tdd.coffeeshop.domain.user.User;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+
+// 기동 시 자동 백필은 끄고 backfill()을 직접 호출합니다. 청크 경계를 지나도록 chunk-size를 작게 둡니다.
+@SpringBootTest(properties = {"coffeeshop.order.snapshot-backfill.enabled=false",
+        "coffeeshop.order.snapshot-backfill.chunk-size=2",
+        "coffeeshop.order.snapshot-backfill.pause-millis=0"})
+@ActiveProfiles("test")
+class OrderSnapshotBackfillTest {
+
+    private static final String USER_ID = "snapshotUser";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderSnapshotBackfill orderSnapshotBackfill;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Menu menu;
+    private final List<String> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USER_ID, 100_000L));
+        menu = menuRepository.save(new Menu("아메리카노", 3000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        userRepository.deleteById(USER_ID);
+        menuRepository.delete(menu);
+    }
+
+    @Test
+    @DisplayName("새 주문은 주문 시점 메뉴 이름/단가를 저장해 메뉴가 바뀌어도 유지되고, 기존 주문은 청크 단위 백필로 채워진다.")
+    void snapshotSurvivesMenuChangeAndLegacyRowsAreBackfilled() {
+        String placedOrderId = orderService.placeOrder(new OrderRequest(USER_ID, menu.getId(), 2)).getOrderId();
+        orderIds.add(placedOrderId);
+
+        // 스냅샷 컬럼 추가 전에 저장된 주문 (당시 단가 2500원)
+        for (int quantity = 1; quantity <= 5; quantity++) {
+            String orderId = UUID.randomUUID().toString();
+            orderIds.add(orderId);
+            jdbcTemplate.update("INSERT INTO orders (order_id, user_id, menu_id, quantity, total_price, order_date, status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 1)", orderId, USER_ID, menu.getId(), quantity, 2500L * quantity,
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+        }
+        jdbcTemplate.update("UPDATE menu SET name = ?, price = ? WHERE id = ?", "아메리카노(리뉴얼)", 3500, menu.getId());
+
+        orderSnapshotBackfill.backfill();
+
+        OrderDetailResponse placed = orderQueryService.getOrder(placedOrderId);
+        assertThat(placed.getMenuName()).isEqualTo("아메리카노");
+        assertThat(placed.getUnitPrice()).isEqualTo(3000);
+
+        List<Map<String, Object>> legacy = jdbcTemplate.queryForList(
+                "SELECT menu_name, unit_price FROM orders WHERE user_id = ? AND order_id <> ?", USER_ID, placedOrderId);
+        assertThat(legacy).hasSize(5).allSatisfy(row -> {
+            assertThat(row.get("MENU_NAME")).isEqualTo("아메리카노(리뉴얼)"); // 과거 이름은 남아 있지 않으므로 현재 이름
+            assertThat(((Number) row.get("UNIT_PRICE")).intValue()).isEqualTo(2500); // 실제 결제 단가
+        });
+        assertThat(orderSnapshotBackfill.backfill()).isZero(); // 다시 실행해도 바뀌는 행 없음
+    }
+}
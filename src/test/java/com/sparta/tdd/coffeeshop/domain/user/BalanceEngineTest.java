@@ -0,0 +1,320 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.user.repo.BalanceCheckpointRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditCheckpointRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditJobRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngine;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngineProperties;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointCreditJobProperties;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointCreditJobService;
+
+// 스프링 빈으로 등록된 엔진은 꺼 둔 채(기본값), 같은 DB와 저널 디렉터리를 쓰는 엔진을 직접 만들어 재기동을 흉내 냅니다.
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceEngineTest {
+
+    private static final List<String> USER_IDS = List.of("engineUser1", "engineUser2");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointCreditJobRepository pointCreditJobRepository;
+
+    @Autowired
+    private PointCreditCheckpointRepository pointCreditCheckpointRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("engineUser1", "엔진사용자1", 10_000L, 0L));
+        userRepository.save(new User("engineUser2", "엔진사용자2", 500L, 0L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(USER_IDS);
+        checkpointRepository.deleteAll();
+    }
+
+    private BalanceEngine newEngine() {
+        return newEngine(journalDir);
+    }
+
+    private BalanceEngine newEngine(Path dir) {
+        BalanceEngineProperties properties = new BalanceEngineProperties();
+        properties.setEnabled(true);
+        properties.setJournalDir(dir.toString());
+        properties.setFlushIntervalMillis(0); // 자동 반영 없이 flush()를 직접 호출
+        properties.setCapacity(1024);
+        return new BalanceEngine(properties, jdbcTemplate, transactionTemplate, checkpointRepository);
+    }
+
+    private long pointInDb(String userId) {
+        return userRepository.findPointByUserId(userId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("차감/충전은 메모리에서 처리되고, flush 시 users 테이블에 일괄 반영된다.")
+    void mutationsAreServedInMemoryAndFlushedInBatch() {
+        BalanceEngine engine = newEngine();
+        engine.start();
+
+        assertThat(engine.deduct("engineUser1", 3_000L)).isEqualTo(7_000L);
+        assertThat(engine.charge("engineUser2", 1_500L)).isEqualTo(2_000L);
+        CustomException e = assertThrows(CustomException.class, () -> engine.deduct("engineUser2", 5_000L));
+        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_POINT);
+        assertThat(pointInDb("engineUser1")).isEqualTo(10_000L); // 아직 반영 전
+
+        engine.flush();
+
+        assertThat(pointInDb("engineUser1")).isEqualTo(7_000L);
+        assertThat(pointInDb("engineUser2")).isEqualTo(2_000L);
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("반영되지 않은 변경은 재기동 시 저널에서 다시 적용되고, 이미 반영된 변경은 중복 적용되지 않는다.")
+    void restartRecoversFromCheckpointAndJournal() {
+        BalanceEngine crashed = newEngine();
+        crashed.start();
+        crashed.deduct("engineUser1", 1_000L);
+        crashed.flush(); // DB: 9,000 / 반영 지점 = seq 1
+        crashed.deduct("engineUser1", 2_000L);
+        crashed.charge("engineUser2", 100L);
+        // 여기서 비정상 종료 (stop/flush 없음)
+
+        BalanceEngine restarted = newEngine();
+        restarted.start();
+
+        assertThat(restarted.balanceOf("engineUser1")).isEqualTo(7_000L);
+        assertThat(restarted.balanceOf("engineUser2")).isEqualTo(600L);
+        assertThat(pointInDb("engineUser1")).isEqualTo(7_000L); // 복구 직후 바로 반영
+        assertThat(pointInDb("engineUser2")).isEqualTo(600L);
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("잔액 엔진을 켠 상태의 대량 적립은 엔진 잔액에도 더해져, 이후 반영이 적립을 덮어쓰지 않는다.")
+    void bulkCreditSurvivesEngineFlush() throws InterruptedException {
+        BalanceEngine engine = newEngine();
+        engine.start();
+        engine.deduct("engineUser1", 1_000L); // 적립 전에 메모리에 올라와 있는 사용자
+        PointCreditJobService jobService = new PointCreditJobService(pointCreditJobRepository, pointCreditCheckpointRepository,
+                jdbcTemplate, transactionTemplate, new PointCreditJobProperties(), engine);
+        try {
+            jobService.submit("engine-bulk-credit", 1, new ByteArrayInputStream(
+                    "engineUser1,300\nengineUser2,200".getBytes(StandardCharsets.UTF_8)));
+            for (int i = 0; i < 100 && jobService.getProgress("engine-bulk-credit").getStatus() == PointCreditJob.JobStatus.RUNNING; i++) {
+                Thread.sleep(50);
+            }
+            assertThat(jobService.getProgress("engine-bulk-credit").getStatus()).isEqualTo(PointCreditJob.JobStatus.COMPLETED);
+
+            engine.flush();
+
+            assertThat(engine.balanceOf("engineUser1")).isEqualTo(9_300L);
+            assertThat(engine.balanceOf("engineUser2")).isEqualTo(700L);
+            assertThat(pointInDb("engineUser1")).isEqualTo(9_300L);
+            assertThat(pointInDb("engineUser2")).isEqualTo(700L);
+        } finally {
+            engine.stop();
+            jobService.shutdown();
+            pointCreditCheckpointRepository.deleteAll();
+            pointCreditJobRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 차감한 뒤 롤백되면 차감분이 되돌아간다.")
+    void deductIsCompensatedOnRollback() {
+        BalanceEngine engine = newEngine();
+        engine.start();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            engine.deduct("engineUser1", 4_000L);
+            status.setRollbackOnly(); // 주문 저장 실패 등
+        });
+
+        assertThat(engine.balanceOf("engineUser1")).isEqualTo(10_000L);
+        engine.stop();
+        assertThat(pointInDb("engineUser1")).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("커밋 전의 차감은 저널과 DB 반영에 포함되지 않아, 그 사이에 죽어도 재기동 후 잔액이 줄지 않는다.")
+    void uncommittedDeductIsNeitherJournaledNorFlushed() {
+        BalanceEngine crashed = newEngine();
+        crashed.start();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(crashed.deduct("engineUser1", 4_000L)).isEqualTo(6_000L); // 예약: 다른 요청은 6,000만 쓸 수 있음
+            assertThrows(CustomException.class, () -> crashed.deduct("engineUser1", 7_000L));
+            crashed.flush(); // 반영 주기가 커밋 전에 돌아도
+            assertThat(pointInDb("engineUser1")).isEqualTo(10_000L);
+
+            // 주문 커밋 전에 비정상 종료 → 새 엔진은 저널에 차감이 없음
+            BalanceEngine restarted = newEngine();
+            restarted.start();
+            assertThat(restarted.balanceOf("engineUser1")).isEqualTo(10_000L);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    @DisplayName("커밋된 차감만 저널에 기록되어 재기동 시 다시 적용된다.")
+    void committedDeductIsJournaled() {
+        BalanceEngine crashed = newEngine();
+        crashed.start();
+        transactionTemplate.executeWithoutResult(status -> crashed.deduct("engineUser1", 4_000L));
+        transactionTemplate.executeWithoutResult(status -> {
+            crashed.deduct("engineUser1", 1_000L);
+            status.setRollbackOnly();
+        });
+        // flush 없이 비정상 종료
+
+        BalanceEngine restarted = newEngine();
+        restarted.start();
+        assertThat(restarted.balanceOf("engineUser1")).isEqualTo(6_000L);
+        assertThat(pointInDb("engineUser1")).isEqualTo(6_000L);
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("DB 트랜잭션으로 더한 충전은 커밋된 뒤 메모리에도 반영되고, 이후 반영이나 재기동에서 유실/중복되지 않는다.")
+    void creditThroughDatabaseIsAtomicWithCommit() {
+        BalanceEngine engine = newEngine();
+        engine.start();
+        engine.deduct("engineUser1", 1_000L); // 반영 전 메모리 변경
+
+        boolean rolledBack = engine.creditThroughDatabase(Map.of("engineUser1", 500L),
+                () -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    jdbcTemplate.update("UPDATE users SET point = point + 500 WHERE user_id = 'engineUser1'");
+                    status.setRollbackOnly();
+                    return false;
+                })));
+        assertThat(rolledBack).isFalse();
+        assertThat(engine.balanceOf("engineUser1")).isEqualTo(9_000L);
+
+        boolean committed = engine.creditThroughDatabase(Map.of("engineUser1", 2_000L),
+                () -> Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                        jdbcTemplate.update("UPDATE users SET point = point + 2000 WHERE user_id = 'engineUser1'") == 1)));
+        assertThat(committed).isTrue();
+        assertThat(engine.balanceOf("engineUser1")).isEqualTo(11_000L);
+        assertThat(pointInDb("engineUser1")).isEqualTo(12_000L); // DB: 10,000 + 2,000 (차감은 아직 반영 전)
+
+        // 반영 없이 비정상 종료 → DB 잔액(충전 포함) + 저널(차감)
+        BalanceEngine restarted = newEngine();
+        restarted.start();
+        assertThat(restarted.balanceOf("engineUser1")).isEqualTo(11_000L);
+        restarted.flush();
+        assertThat(pointInDb("engineUser1")).isEqualTo(11_000L);
+        restarted.stop();
+    }
+
+    // 그 순간의 저널 파일을 복사해 두어, 그 시점에 프로세스가 죽은 것처럼 재기동합니다.
+    private static void copyJournal(Path from, Path to) {
+        try (Stream<Path> files = Files.list(from)) {
+            Files.createDirectories(to);
+            for (Path file : files.toList()) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("주문이 커밋된 직후 확정 기록 전에 죽어도, 재기동 시 커밋 전에 기록한 예약을 주문 행으로 정산해 차감이 유실되지 않는다.")
+    void reservationIsSettledAfterCrashBetweenCommitAndConfirm() {
+        Menu menu = menuRepository.save(new Menu("엔진메뉴", 4000));
+        String orderId = UUID.randomUUID().toString();
+        Path live = journalDir.resolve("live");
+        Path crashed = journalDir.resolve("crashed");
+        BalanceEngine engine = newEngine(live);
+        engine.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                engine.deduct("engineUser1", 4_000L, () -> orderId);
+                jdbcTemplate.update("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, "
+                        + "total_price, order_date, status) VALUES (?, 'engineUser1', ?, '엔진메뉴', 4000, 1, 4000, ?, ?)",
+                        orderId, menu.getId(), Timestamp.valueOf(LocalDateTime.now()), Order.OrderStatus.COMPLETED.ordinal());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public int getOrder() {
+                        return Ordered.HIGHEST_PRECEDENCE; // 엔진의 afterCompletion(CONFIRM 기록)보다 먼저
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        copyJournal(live, crashed); // DB는 커밋됨, 저널에는 RESERVE만 있음
+                    }
+                });
+            });
+
+            BalanceEngine restarted = newEngine(crashed);
+            restarted.start();
+            assertThat(restarted.balanceOf("engineUser1")).isEqualTo(6_000L);
+            assertThat(pointInDb("engineUser1")).isEqualTo(6_000L);
+            restarted.stop();
+
+            BalanceEngine again = newEngine(crashed); // 정산 결과(CONFIRM)가 기록되어 다시 적용되지 않음
+            again.start();
+            assertThat(again.balanceOf("engineUser1")).isEqualTo(6_000L);
+            again.stop();
+        } finally {
+            engine.stop();
+            jdbcTemplate.update("DELETE FROM orders WHERE order_id = ?", orderId);
+            menuRepository.delete(menu);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointChargeResponse;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointChargeCoalescer;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointChargeCoalescerProperties;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PointChargeCoalescerTest {
+
+    @Mock
+    private UserService userService;
+
+    private PointChargeCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        PointChargeCoalescerProperties properties = new PointChargeCoalescerProperties();
+        properties.setEnabled(true);
+        properties.setWindowMillis(50); // 동시 요청이 한 창에 모이도록 넉넉하게
+        coalescer = new PointChargeCoalescer(userService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 동시 충전 요청은 병합되어 반영되고, 각 요청은 서로 다른 충전 후 잔액을 받는다.")
+    void concurrentChargesForSameUserAreCoalesced() throws InterruptedException {
+        // Given: DB 잔액을 흉내 내는 카운터. 병합 반영 호출 횟수도 센다.
+        String userId = "coalesceUser";
+        AtomicLong point = new AtomicLong(1000L);
+        AtomicInteger applyCalls = new AtomicInteger();
+        given(userService.chargePointsCoalesced(eq(userId), anyList())).willAnswer(invocation -> {
+            applyCalls.incrementAndGet();
+            List<Long> amounts = invocation.getArgument(1);
+            List<PointChargeResponse> responses = new ArrayList<>();
+            for (long amount : amounts) {
+                responses.add(PointChargeResponse.builder().userId(userId).currentPoint(point.addAndGet(amount)).build());
+            }
+            return responses;
+        });
+
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(numberOfThreads);
+        Set<Long> balances = ConcurrentHashMap.newKeySet();
+
+        // When
+        for (int i = 0; i < numberOfThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    balances.add(coalescer.charge(userId, 100L).getCurrentPoint());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    endLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        endLatch.await(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertThat(point.get()).isEqualTo(1000L + 100L * numberOfThreads);
+        assertThat(balances).hasSize(numberOfThreads); // 모든 호출자가 고유한 잔액을 받음
+        assertThat(balances).contains(1000L + 100L * numberOfThreads);
+        assertThat(applyCalls.get()).isLessThan(numberOfThreads); // 요청 수보다 적은 횟수로 반영
+    }
+
+    @Test
+    @DisplayName("병합 반영 중 사용자가 없으면 대기 중인 모든 호출자에게 USER_NOT_FOUND가 전달된다.")
+    void userNotFoundIsPropagatedToCaller() {
+        given(userService.chargePointsCoalesced(eq("ghost"), anyList()))
+                .willThrow(new CustomException(ErrorCode.USER_NOT_FOUND));
+
+        CustomException exception = assertThrows(CustomException.class, () -> coalescer.charge("ghost", 100L));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.USER_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("0 이하 금액은 대기열에 들어가지 않고 즉시 INVALID_INPUT 예외가 발생한다.")
+    void invalidAmountIsRejectedImmediately() {
+        CustomException exception = assertThrows(CustomException.class, () -> coalescer.charge("anyUser", 0L));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+        verify(userService, never()).chargePointsCoalesced(eq("anyUser"), anyList());
+    }
+}
@@ -0,0 +1,140 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.user.dto.PointCreditJobResponse;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditCheckpointRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.PointCreditJobRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.PointCreditJobService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 워커 스레드가 각자 트랜잭션을 커밋하므로 @Transactional 롤백 대신 @AfterEach에서 직접 정리합니다.
+@SpringBootTest(properties = "coffeeshop.point.bulk-credit.chunk-size=7")
+@ActiveProfiles("test")
+class PointCreditJobServiceTest {
+
+    private static final int USER_COUNT = 50;
+
+    @Autowired
+    private PointCreditJobService pointCreditJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointCreditJobRepository jobRepository;
+
+    @Autowired
+    private PointCreditCheckpointRepository checkpointRepository;
+
+    private final List<String> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USER_COUNT; i++) {
+            String userId = String.format("bulk-user-%03d", i);
+            userIds.add(userId);
+            userRepository.save(new User(userId, "대량적립" + i, 1000L, 0L));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+        checkpointRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("대량 적립: 중복 userId는 합산되고, 없는 사용자는 건너뛰며 모든 사용자에게 적립된다.")
+    void submit_CreditsAllUsers() throws Exception {
+        // Given: 모든 사용자에게 100, 첫 사용자에게는 한 번 더 50, 존재하지 않는 사용자 1명
+        StringBuilder input = new StringBuilder("userId,amount\n");
+        userIds.forEach(id -> input.append(id).append(",100\n"));
+        input.append(userIds.get(0)).append(",50\n");
+        input.append("no-such-user,999\n");
+
+        // When
+        PointCreditJobResponse submitted = pointCreditJobService.submit("job-credit-all", 3, toStream(input.toString()));
+        PointCreditJobResponse done = awaitFinished(submitted.getJobId());
+
+        // Then
+        assertThat(done.getStatus()).isEqualTo(PointCreditJob.JobStatus.COMPLETED);
+        assertThat(done.getTotalUsers()).isEqualTo(USER_COUNT + 1);
+        assertThat(done.getProcessedUsers()).isEqualTo(USER_COUNT + 1);
+        assertThat(done.getCreditedUsers()).isEqualTo(USER_COUNT);
+        assertThat(done.getMissingUsers()).isEqualTo(1);
+        assertThat(done.getPartitions()).hasSize(3);
+
+        assertThat(userRepository.findById(userIds.get(0)).orElseThrow().getPoint()).isEqualTo(1150L);
+        assertThat(userRepository.findById(userIds.get(USER_COUNT - 1)).orElseThrow().getPoint()).isEqualTo(1100L);
+        assertThat(userRepository.findById(userIds.get(1)).orElseThrow().getVersion()).isEqualTo(1L); // 낙관적 락 버전 증가
+    }
+
+    @Test
+    @DisplayName("대량 적립: 완료된 작업을 같은 jobId로 재제출해도 중복 적립되지 않는다.")
+    void submit_SameJobIdIsIdempotent() throws Exception {
+        String input = String.join("\n", userIds.stream().map(id -> id + ",10").toList());
+
+        pointCreditJobService.submit("job-idempotent", 2, toStream(input));
+        awaitFinished("job-idempotent");
+
+        // When: 같은 입력으로 재제출
+        PointCreditJobResponse resubmitted = pointCreditJobService.submit("job-idempotent", 2, toStream(input));
+
+        // Then
+        assertThat(resubmitted.getStatus()).isEqualTo(PointCreditJob.JobStatus.COMPLETED);
+        assertThat(userRepository.findById(userIds.get(0)).orElseThrow().getPoint()).isEqualTo(1010L);
+    }
+
+    @Test
+    @DisplayName("대량 적립: 입력이 다른 파일로 기존 jobId를 재제출하면 INVALID_INPUT 예외가 발생한다.")
+    void submit_DifferentInputForExistingJob_Failure() throws Exception {
+        pointCreditJobService.submit("job-mismatch", 1, toStream(userIds.get(0) + ",10"));
+        awaitFinished("job-mismatch");
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> pointCreditJobService.submit("job-mismatch", 1, toStream(userIds.get(0) + ",20")));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+
+    @Test
+    @DisplayName("대량 적립: 금액이 0 이하인 줄이 있으면 INVALID_INPUT 예외가 발생한다.")
+    void submit_InvalidAmount_Failure() {
+        CustomException exception = assertThrows(CustomException.class,
+                () -> pointCreditJobService.submit(null, 1, toStream("userA,100\nuserB,-5")));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+        assertThat(exception.getMessage()).contains("2번째 줄");
+    }
+
+    private ByteArrayInputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PointCreditJobResponse awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            PointCreditJobResponse progress = pointCreditJobService.getProgress(jobId);
+            if (progress.getStatus() != PointCreditJob.JobStatus.RUNNING) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("대량 적립 작업이 제한 시간 내에 끝나지 않았습니다: " + jobId);
+    }
+}
@@ -0,0 +1,217 @@
+package com.sparta.tdd.coffeeshop.domain.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
+import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
+import com.sparta.tdd.coffeeshop.domain.menu.Menu;
+import com.sparta.tdd.coffeeshop.domain.menu.repo.MenuRepository;
+import com.sparta.tdd.coffeeshop.domain.order.Order;
+import com.sparta.tdd.coffeeshop.domain.order.dto.OrderRequest;
+import com.sparta.tdd.coffeeshop.domain.order.repo.OrderRepository;
+import com.sparta.tdd.coffeeshop.domain.order.repo.PointRestorationRepository;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderArchiveService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderPartitionProperties;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderRefundService;
+import com.sparta.tdd.coffeeshop.domain.order.service.OrderService;
+import com.sparta.tdd.coffeeshop.domain.user.dto.UserOrderStatsResponse;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.repo.UserOrderStatsRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserOrderStatsProperties;
+import com.sparta.tdd.coffeeshop.domain.user.service.UserOrderStatsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(properties = "coffeeshop.user-stats.enabled=true")
+@ActiveProfiles("test")
+class UserOrderStatsServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserOrderStatsService userOrderStatsService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private OrderRefundService orderRefundService;
+
+    @Autowired
+    private PointRestorationRepository pointRestorationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserOrderStatsRepository userOrderStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserOrderStatsProperties userOrderStatsProperties;
+
+    @TempDir
+    Path tempDir;
+
+    private Menu americano;
+    private Menu latte;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("statsUser1", "통계사용자1", 100_000L, 0L));
+        userRepository.save(new User("statsUser2", "통계사용자2", 100_000L, 0L));
+        americano = menuRepository.save(new Menu("아메리카노", 3000));
+        latte = menuRepository.save(new Menu("카페라떼", 4000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointRestorationRepository.deleteAll();
+        orderRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM user_menu_order_count");
+        jdbcTemplate.update("DELETE FROM user_order_stats");
+        userRepository.deleteAllById(List.of("statsUser1", "statsUser2"));
+        menuRepository.deleteAll(List.of(americano, latte));
+    }
+
+    @Test
+    @DisplayName("주문이 커밋될 때마다 통계가 증분 갱신되고, 재구축 결과도 같다.")
+    void statsAreMaintainedIncrementallyAndMatchRebuild() {
+        orderService.placeOrder(new OrderRequest("statsUser1", americano.getId(), 1));
+        orderService.placeOrder(new OrderRequest("statsUser1", latte.getId(), 2));
+        orderService.placeOrder(new OrderRequest("statsUser1", latte.getId(), 1));
+
+        UserOrderStatsResponse incremental = userOrderStatsService.getStats("statsUser1");
+        assertThat(incremental.getOrderCount()).isEqualTo(3);
+        assertThat(incremental.getTotalSpend()).isEqualTo(3000 + 8000 + 4000);
+        assertThat(incremental.getFavoriteMenuId()).isEqualTo(latte.getId());
+        assertThat(incremental.getFavoriteMenuName()).isEqualTo("카페라떼");
+        assertThat(incremental.getFavoriteMenuOrderCount()).isEqualTo(2);
+        assertThat(incremental.getLastOrderAt()).isNotNull();
+
+        userOrderStatsService.rebuild(3);
+        UserOrderStatsResponse rebuilt = userOrderStatsService.getStats("statsUser1");
+        assertThat(rebuilt.getOrderCount()).isEqualTo(incremental.getOrderCount());
+        assertThat(rebuilt.getTotalSpend()).isEqualTo(incremental.getTotalSpend());
+        assertThat(rebuilt.getFavoriteMenuId()).isEqualTo(incremental.getFavoriteMenuId());
+        assertThat(rebuilt.getFavoriteMenuOrderCount()).isEqualTo(incremental.getFavoriteMenuOrderCount());
+    }
+
+    @Test
+    @DisplayName("환불된 주문은 통계에서 빠지고 선호 메뉴도 다시 계산된다.")
+    void refundIsSubtractedFromStats() {
+        orderService.placeOrder(new OrderRequest("statsUser1", americano.getId(), 1));
+        String latteOrder1 = orderService.placeOrder(new OrderRequest("statsUser1", latte.getId(), 1)).getOrderId();
+        String latteOrder2 = orderService.placeOrder(new OrderRequest("statsUser1", latte.getId(), 1)).getOrderId();
+
+        orderRefundService.refund(latteOrder1);
+        orderRefundService.refund(latteOrder2);
+
+        UserOrderStatsResponse stats = userOrderStatsService.getStats("statsUser1");
+        assertThat(stats.getOrderCount()).isEqualTo(1);
+        assertThat(stats.getTotalSpend()).isEqualTo(3000);
+        assertThat(stats.getFavoriteMenuId()).isEqualTo(americano.getId());
+    }
+
+    @Test
+    @DisplayName("이벤트 없이 쌓인 과거 주문은 재구축으로 채워지고, 완료되지 않은 주문은 집계하지 않는다.")
+    void rebuildBackfillsHistoryFromCompletedOrders() {
+        Order completed = Order.builder().userId("statsUser2").menu(americano).quantity(2).totalPrice(6000L)
+                .orderDate(LocalDateTime.of(2025, 1, 1, 9, 0)).build();
+        completed.markAsCompleted();
+        orderRepository.save(completed);
+        orderRepository.save(Order.builder().userId("statsUser2").menu(latte).quantity(1).totalPrice(4000L).build()); // PENDING
+
+        assertThat(userOrderStatsService.getStats("statsUser2").getOrderCount()).isZero();
+
+        userOrderStatsService.rebuild(2);
+
+        UserOrderStatsResponse stats = userOrderStatsService.getStats("statsUser2");
+        assertThat(stats.getOrderCount()).isEqualTo(1);
+        assertThat(stats.getTotalSpend()).isEqualTo(6000);
+        assertThat(stats.getFavoriteMenuId()).isEqualTo(americano.getId());
+        assertThat(stats.getLastOrderAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 9, 0));
+    }
+
+    private void insertOrder(String userId, Menu menu, Order.OrderStatus status, LocalDateTime orderDate) {
+        jdbcTemplate.update("INSERT INTO orders (order_id, user_id, menu_id, menu_name, unit_price, quantity, total_price, "
+                + "order_date, status) VALUES (?, ?, ?, ?, ?, 1, ?, ?, ?)",
+                UUID.randomUUID().toString(), userId, menu.getId(), menu.getName(), menu.getPrice(), menu.getPrice(),
+                Timestamp.valueOf(orderDate), status.ordinal());
+    }
+
+    private UserOrderStatsService statsService(OrderArchiveService archiveService, OrderPartitionProperties partitionProperties) {
+        return new UserOrderStatsService(userOrderStatsRepository, userRepository, menuRepository, jdbcTemplate,
+                transactionManager, userOrderStatsProperties, archiveService, partitionProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("재구축은 보관 세그먼트로 옮겨진 완료 주문도 더하고, 보관 없이 보관 기간 삭제를 쓰면 재구축을 거절한다.")
+    void rebuildFoldsArchivedOrders() {
+        OrderArchiveProperties archiveProperties = new OrderArchiveProperties();
+        archiveProperties.setEnabled(true);
+        archiveProperties.setDir(tempDir.toString());
+        archiveProperties.setSegmentRows(2);
+        OrderArchiveService archiveService = new OrderArchiveService(jdbcTemplate, archiveProperties);
+        try {
+            LocalDateTime old = LocalDateTime.now().minusYears(3).withNano(0);
+            LocalDateTime recent = LocalDateTime.now().minusDays(1).withNano(0);
+            insertOrder("statsUser1", americano, Order.OrderStatus.COMPLETED, old);
+            insertOrder("statsUser1", americano, Order.OrderStatus.COMPLETED, old.plusDays(1));
+            insertOrder("statsUser1", latte, Order.OrderStatus.REFUNDED, old.plusDays(2)); // 집계 제외
+            insertOrder("statsUser1", latte, Order.OrderStatus.COMPLETED, recent);
+            insertOrder("statsUser2", latte, Order.OrderStatus.COMPLETED, old.plusDays(3)); // 보관 주문만 있음
+            assertThat(archiveService.archive().getArchivedOrders()).isGreaterThanOrEqualTo(4);
+
+            UserOrderStatsService service = statsService(archiveService, new OrderPartitionProperties());
+            service.rebuild(2);
+
+            UserOrderStatsResponse stats1 = service.getStats("statsUser1");
+            assertThat(stats1.getOrderCount()).isEqualTo(3);
+            assertThat(stats1.getTotalSpend()).isEqualTo(3000 + 3000 + 4000);
+            assertThat(stats1.getFavoriteMenuId()).isEqualTo(americano.getId());
+            assertThat(stats1.getFavoriteMenuOrderCount()).isEqualTo(2);
+            assertThat(stats1.getLastOrderAt()).isEqualTo(recent);
+            UserOrderStatsResponse stats2 = service.getStats("statsUser2");
+            assertThat(stats2.getOrderCount()).isEqualTo(1);
+            assertThat(stats2.getFavoriteMenuId()).isEqualTo(latte.getId());
+            assertThat(stats2.getLastOrderAt()).isEqualTo(old.plusDays(3));
+
+            OrderPartitionProperties retention = new OrderPartitionProperties();
+            retention.setRetentionMonths(24);
+            archiveProperties.setEnabled(false);
+            CustomException refused = assertThrows(CustomException.class, () -> statsService(archiveService, retention).rebuild(2));
+            assertThat(refused.getErrorCode()).isEqualTo(ErrorCode.ORDER_HISTORY_INCOMPLETE);
+        } finally {
+            archiveService.shutdown();
+        }
+    }
+}
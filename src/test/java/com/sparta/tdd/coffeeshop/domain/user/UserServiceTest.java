@@ -9,9 +9,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.sparta.tdd.coffeeshop.cmmn.contention.ContentionTracker;
 import com.sparta.tdd.coffeeshop.cmmn.exception.CustomException;
 import com.sparta.tdd.coffeeshop.cmmn.exception.ErrorCode;
 import com.sparta.tdd.coffeeshop.domain.user.repo.UserRepository;
+import com.sparta.tdd.coffeeshop.domain.user.service.BalanceEngine;
 import com.sparta.tdd.coffeeshop.domain.user.service.UserService;
 
 import jakarta.persistence.EntityManager;
@@ -44,6 +46,12 @@ class UserServiceTest {
     @Mock 
     private EntityManager entityManager; // EntityManager Nock 추가
 
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private BalanceEngine balanceEngine; // 기본(isEnabled=false)이므로 기존 DB 경로를 검증
+
     @InjectMocks
     private UserService userService;
 